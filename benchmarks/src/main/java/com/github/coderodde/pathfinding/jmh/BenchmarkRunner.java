@@ -0,0 +1,28 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with the GC profiler attached, so that the
+ * allocation rate is always reported next to the throughput and the latency
+ * percentiles. The command line accepts all the JMH options; for example,
+ * {@code -p family=GRID_4_UNIFORM -p nodes=100000 bidirectionalDijkstra}
+ * runs a single benchmark on large grids.
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args)
+            throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                           .parent(new CommandLineOptions(args))
+                           .addProfiler(GCProfiler.class)
+                           .build()).run();
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.BidirectionalAStarAlgorithm;
+import com.github.coderodde.pathfinding.DoubleBidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleSearchWorkspace;
+import com.github.coderodde.pathfinding.EuclideanHeuristicFunction;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import com.github.coderodde.pathfinding.generator.GeneratedGraph;
+import com.github.coderodde.pathfinding.generator.GeometricGraphGenerator;
+import com.github.coderodde.pathfinding.generator.QueryGenerator;
+import com.github.coderodde.pathfinding.generator.QuerySet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the bidirectional A* search with the straight-line
+ * heuristic on random geometric graphs, the only family with node
+ * coordinates, against the bidirectional Dijkstra's algorithm on the same
+ * queries. The graphs are those of {@link GraphFamily#GEOMETRIC_4} and
+ * {@link GraphFamily#GEOMETRIC_8}; the arc weights are never lighter than
+ * the distances, so the heuristic is consistent.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeometricSearchBenchmark {
+    
+    private final BidirectionalAStarAlgorithm<Integer> aStar =
+            new BidirectionalAStarAlgorithm<>();
+    
+    private final DoubleBidirectionalDijkstrasAlgorithm<Integer>
+            doubleBidirectionalDijkstra =
+            new DoubleBidirectionalDijkstrasAlgorithm<>();
+    
+    /**
+     * This class holds the geometric graph, the heuristic over its
+     * coordinates and a fixed sequence of queries on it.
+     */
+    @State(Scope.Benchmark)
+    public static class GeometricGraph {
+        
+        @Param({ "10000", "100000" })
+        public int nodes;
+        
+        @Param({ "4", "8" })
+        public int degree;
+        
+        @Param({ "GLOBAL", "LOCAL" })
+        public QueryLocality locality;
+        
+        @Param("12")
+        public int logRank;
+        
+        @Param("42")
+        public long seed;
+        
+        StaticGraphAdapter adapter;
+        EuclideanHeuristicFunction heuristicFunction;
+        int[] sources;
+        int[] targets;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(seed);
+            GeneratedGraph generatedGraph =
+                    new GeometricGraphGenerator(nodes)
+                            .setAverageDegree(degree)
+                            .setWeightNoise(0.5)
+                            .generate(random.nextLong());
+            
+            adapter = new StaticGraphAdapter(generatedGraph.getGraph());
+            heuristicFunction =
+                    new EuclideanHeuristicFunction(generatedGraph.getXs(),
+                                                   generatedGraph.getYs());
+            
+            QuerySet querySet = locality.generate(
+                    new QueryGenerator(generatedGraph.getGraph()),
+                    GraphState.NUMBER_OF_QUERIES,
+                    logRank,
+                    random.nextLong());
+            
+            sources = new int[querySet.size()];
+            targets = new int[querySet.size()];
+            
+            for (int i = 0; i < querySet.size(); i++) {
+                sources[i] = querySet.getSource(i);
+                targets[i] = querySet.getTarget(i);
+            }
+        }
+    }
+    
+    /**
+     * This class holds the workspace of a benchmark thread and its position
+     * in the query cycle.
+     */
+    @State(Scope.Thread)
+    public static class Workspace {
+        
+        DoubleSearchWorkspace<Integer> workspace;
+        int numberOfQueries;
+        int query;
+        
+        @Setup(Level.Trial)
+        public void setUp(GeometricGraph geometricGraph) {
+            numberOfQueries = geometricGraph.sources.length;
+            workspace = new DoubleSearchWorkspace<>(
+                    geometricGraph.adapter.getNodeIndexer());
+        }
+        
+        int nextQuery() {
+            int current = query;
+            query = (query + 1) % numberOfQueries;
+            return current;
+        }
+    }
+    
+    @Benchmark
+    public List<Integer> aStar(GeometricGraph geometricGraph,
+                               Workspace workspace) {
+        StaticGraphAdapter adapter = geometricGraph.adapter;
+        int query = workspace.nextQuery();
+        
+        return aStar.findShortestPath(
+                adapter.getNode(geometricGraph.sources[query]),
+                adapter.getNode(geometricGraph.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                geometricGraph.heuristicFunction,
+                workspace.workspace);
+    }
+    
+    @Benchmark
+    public List<Integer> doubleBidirectionalDijkstra(
+            GeometricGraph geometricGraph,
+            Workspace workspace) {
+        StaticGraphAdapter adapter = geometricGraph.adapter;
+        int query = workspace.nextQuery();
+        
+        return doubleBidirectionalDijkstra.findShortestPath(
+                adapter.getNode(geometricGraph.sources[query]),
+                adapter.getNode(geometricGraph.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                workspace.workspace);
+    }
+}
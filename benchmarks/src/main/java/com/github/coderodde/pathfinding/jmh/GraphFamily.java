@@ -0,0 +1,260 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.generator.BarabasiAlbertGraphGenerator;
+import com.github.coderodde.pathfinding.generator.GeometricGraphGenerator;
+import com.github.coderodde.pathfinding.generator.GridGraphGenerator;
+import java.util.Random;
+
+/**
+ * This enumeration lists the graph families the benchmarks run on. The name 
+ * of a family is its topology followed by the average out-degree and the arc
+ * weight distribution, where the topology takes them, so that no two 
+ * families build the same graphs. The families with obstacles or sparse 
+ * regions are not strongly connected, so the queries are chosen among the 
+ * reachable pairs; see {@link QueryLocality}.
+ */
+public enum GraphFamily {
+    
+    RANDOM_4_UNIFORM(Topology.RANDOM, 4, WeightDistribution.UNIFORM),
+    RANDOM_4_INTEGRAL(Topology.RANDOM, 4, WeightDistribution.INTEGRAL),
+    RANDOM_4_EXPONENTIAL(Topology.RANDOM, 4, WeightDistribution.EXPONENTIAL),
+    RANDOM_8_UNIFORM(Topology.RANDOM, 8, WeightDistribution.UNIFORM),
+    RANDOM_8_INTEGRAL(Topology.RANDOM, 8, WeightDistribution.INTEGRAL),
+    RANDOM_8_EXPONENTIAL(Topology.RANDOM, 8, WeightDistribution.EXPONENTIAL),
+    GRID_4_UNIFORM(Topology.GRID, 4, WeightDistribution.UNIFORM),
+    GRID_4_INTEGRAL(Topology.GRID, 4, WeightDistribution.INTEGRAL),
+    GRID_4_EXPONENTIAL(Topology.GRID, 4, WeightDistribution.EXPONENTIAL),
+    GRID_8_UNIFORM(Topology.GRID, 8, WeightDistribution.UNIFORM),
+    GRID_8_INTEGRAL(Topology.GRID, 8, WeightDistribution.INTEGRAL),
+    GRID_8_EXPONENTIAL(Topology.GRID, 8, WeightDistribution.EXPONENTIAL),
+    OBSTACLE_GRID(Topology.OBSTACLE_GRID, 0, null),
+    GEOMETRIC_4(Topology.GEOMETRIC, 4, null),
+    GEOMETRIC_8(Topology.GEOMETRIC, 8, null),
+    POWER_LAW_4(Topology.POWER_LAW, 4, null),
+    POWER_LAW_8(Topology.POWER_LAW, 8, null);
+    
+    /**
+     * The probability of an obstacle grid cell being blocked.
+     */
+    private static final double OBSTACLE_DENSITY = 0.2;
+    
+    /**
+     * The largest coordinate difference of the ends of a random grid arc.
+     */
+    private static final int SPAN = 3;
+    
+    private final Topology topology;
+    private final int degree;
+    private final WeightDistribution weightDistribution;
+    
+    GraphFamily(Topology topology,
+                int degree,
+                WeightDistribution weightDistribution) {
+        this.topology = topology;
+        this.degree = degree;
+        this.weightDistribution = weightDistribution;
+    }
+    
+    /**
+     * Builds a graph of this family.
+     * 
+     * @param numberOfNodes the requested number of nodes.
+     * @param random        the random number generator.
+     * @return the graph.
+     */
+    CsrGraph build(int numberOfNodes, Random random) {
+        return topology.build(numberOfNodes,
+                              degree,
+                              weightDistribution,
+                              random);
+    }
+    
+    /**
+     * This enumeration lists the shapes of the benchmark graphs.
+     */
+    private enum Topology {
+        
+        /**
+         * A random cycle through all the nodes plus uniformly random arcs up
+         * to the requested average out-degree.
+         */
+        RANDOM {
+            @Override
+            CsrGraph build(int numberOfNodes,
+                           int degree,
+                           WeightDistribution weightDistribution,
+                           Random random) {
+                CsrGraph.Builder builder =
+                        new CsrGraph.Builder(numberOfNodes);
+                int[] cycle = getRandomPermutation(numberOfNodes, random);
+                
+                for (int i = 0; i < numberOfNodes; i++) {
+                    builder.addArc(cycle[i],
+                                   cycle[(i + 1) % numberOfNodes],
+                                   weightDistribution.next(random));
+                }
+                
+                for (long i = numberOfNodes;
+                        i < (long) degree * numberOfNodes;
+                        i++) {
+                    builder.addArc(random.nextInt(numberOfNodes),
+                                   random.nextInt(numberOfNodes),
+                                   weightDistribution.next(random));
+                }
+                
+                return builder.build();
+            }
+        },
+        
+        /**
+         * A square grid whose neighbouring cells are joined by arcs in both
+         * directions, plus random arcs between nearby cells up to the
+         * requested average out-degree. The number of nodes is rounded down
+         * to a square.
+         */
+        GRID {
+            @Override
+            CsrGraph build(int numberOfNodes,
+                           int degree,
+                           WeightDistribution weightDistribution,
+                           Random random) {
+                int width = Math.max(1, (int) Math.sqrt(numberOfNodes));
+                int size = width * width;
+                CsrGraph.Builder builder = new CsrGraph.Builder(size);
+                long numberOfArcs = 0L;
+                
+                for (int y = 0; y < width; y++) {
+                    for (int x = 0; x < width; x++) {
+                        int node = y * width + x;
+                        
+                        if (x + 1 < width) {
+                            builder.addArc(node,
+                                           node + 1,
+                                           weightDistribution.next(random));
+                            builder.addArc(node + 1,
+                                           node,
+                                           weightDistribution.next(random));
+                            numberOfArcs += 2;
+                        }
+                        
+                        if (y + 1 < width) {
+                            builder.addArc(node,
+                                           node + width,
+                                           weightDistribution.next(random));
+                            builder.addArc(node + width,
+                                           node,
+                                           weightDistribution.next(random));
+                            numberOfArcs += 2;
+                        }
+                    }
+                }
+                
+                for (; numberOfArcs < (long) degree * size; numberOfArcs++) {
+                    int x = random.nextInt(width);
+                    int y = random.nextInt(width);
+                    int headX = getNearbyCoordinate(x, width, random);
+                    int headY = getNearbyCoordinate(y, width, random);
+                    
+                    builder.addArc(y * width + x,
+                                   headY * width + headX,
+                                   weightDistribution.next(random));
+                }
+                
+                return builder.build();
+            }
+        },
+        
+        /**
+         * A square grid with a fifth of the cells blocked, like a game map.
+         * The number of nodes is rounded down to a square, the requested
+         * degree is ignored, and the weights are one plus a uniform noise
+         * below one.
+         */
+        OBSTACLE_GRID {
+            @Override
+            CsrGraph build(int numberOfNodes,
+                           int degree,
+                           WeightDistribution weightDistribution,
+                           Random random) {
+                int width = Math.max(1, (int) Math.sqrt(numberOfNodes));
+                
+                return new GridGraphGenerator(width, width)
+                        .setObstacleDensity(OBSTACLE_DENSITY)
+                        .setWeightNoise(1.0)
+                        .generate(random.nextLong())
+                        .getGraph();
+            }
+        },
+        
+        /**
+         * A random geometric graph, a stand-in for a road network. The
+         * weights are the distances times one plus a uniform noise below a
+         * half.
+         */
+        GEOMETRIC {
+            @Override
+            CsrGraph build(int numberOfNodes,
+                           int degree,
+                           WeightDistribution weightDistribution,
+                           Random random) {
+                return new GeometricGraphGenerator(numberOfNodes)
+                        .setAverageDegree(degree)
+                        .setWeightNoise(0.5)
+                        .generate(random.nextLong())
+                        .getGraph();
+            }
+        },
+        
+        /**
+         * A Barabási–Albert graph with a few hubs of a very high degree.
+         * Every edge yields two arcs, so a node brings half the requested
+         * degree of edges. The weights are uniform in {@code [1, 100)}.
+         */
+        POWER_LAW {
+            @Override
+            CsrGraph build(int numberOfNodes,
+                           int degree,
+                           WeightDistribution weightDistribution,
+                           Random random) {
+                return new BarabasiAlbertGraphGenerator(numberOfNodes)
+                        .setEdgesPerNode(Math.max(1, degree / 2))
+                        .generate(random.nextLong())
+                        .getGraph();
+            }
+        };
+        
+        /**
+         * Builds a graph of this topology.
+         * 
+         * @param numberOfNodes      the requested number of nodes.
+         * @param degree             the requested average out-degree.
+         * @param weightDistribution the arc weight distribution.
+         * @param random             the random number generator.
+         * @return the graph.
+         */
+        abstract CsrGraph build(int numberOfNodes,
+                                int degree,
+                                WeightDistribution weightDistribution,
+                                Random random);
+    }
+    
+    private static int[] getRandomPermutation(int size, Random random) {
+        int[] permutation = new int[size];
+        
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+        
+        return permutation;
+    }
+    
+    private static int getNearbyCoordinate(int coordinate,
+                                           int width,
+                                           Random random) {
+        coordinate += random.nextInt(2 * SPAN + 1) - SPAN;
+        return Math.max(0, Math.min(width - 1, coordinate));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import com.github.coderodde.pathfinding.generator.QueryGenerator;
+import com.github.coderodde.pathfinding.generator.QuerySet;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This class holds the benchmark graph and a fixed sequence of queries on
+ * it. The graph and the queries depend only on the parameters, so that the
+ * results of different runs and different engines are comparable.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    
+    /**
+     * The number of queries generated for every benchmark.
+     */
+    static final int NUMBER_OF_QUERIES = 256;
+    
+    @Param({ "RANDOM_4_UNIFORM",
+             "RANDOM_4_INTEGRAL",
+             "RANDOM_4_EXPONENTIAL",
+             "RANDOM_8_UNIFORM",
+             "RANDOM_8_INTEGRAL",
+             "RANDOM_8_EXPONENTIAL",
+             "GRID_4_UNIFORM",
+             "GRID_4_INTEGRAL",
+             "GRID_4_EXPONENTIAL",
+             "GRID_8_UNIFORM",
+             "GRID_8_INTEGRAL",
+             "GRID_8_EXPONENTIAL",
+             "OBSTACLE_GRID",
+             "GEOMETRIC_4",
+             "GEOMETRIC_8",
+             "POWER_LAW_4",
+             "POWER_LAW_8" })
+    public GraphFamily family;
+    
+    @Param({ "10000", "100000" })
+    public int nodes;
+    
+    @Param({ "GLOBAL", "LOCAL" })
+    public QueryLocality locality;
+    
+    /**
+     * The base-two logarithm of the Dijkstra rank of the
+     * {@link QueryLocality#DIJKSTRA_RANK} queries.
+     */
+    @Param("12")
+    public int logRank;
+    
+    @Param("42")
+    public long seed;
+    
+    CsrGraph graph;
+    StaticGraphAdapter adapter;
+    int[] sources;
+    int[] targets;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(seed);
+        graph = family.build(nodes, random);
+        adapter = new StaticGraphAdapter(graph);
+        
+        QuerySet querySet = locality.generate(new QueryGenerator(graph),
+                                              NUMBER_OF_QUERIES,
+                                              logRank,
+                                              random.nextLong());
+        
+        sources = new int[querySet.size()];
+        targets = new int[querySet.size()];
+        
+        for (int i = 0; i < querySet.size(); i++) {
+            sources[i] = querySet.getSource(i);
+            targets[i] = querySet.getTarget(i);
+        }
+    }
+}
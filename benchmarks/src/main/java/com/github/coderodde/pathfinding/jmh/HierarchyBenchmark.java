@@ -0,0 +1,272 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.DistanceMatrix;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import com.github.coderodde.pathfinding.ch.ContractionHierarchy;
+import com.github.coderodde.pathfinding.ch.ContractionHierarchyAlgorithm;
+import com.github.coderodde.pathfinding.ch.ContractionHierarchyBuilder;
+import com.github.coderodde.pathfinding.ch.ContractionHierarchyDistanceMatrixAlgorithm;
+import com.github.coderodde.pathfinding.ch.ContractionHierarchyWorkspace;
+import com.github.coderodde.pathfinding.ch.CustomizableContractionHierarchy;
+import com.github.coderodde.pathfinding.generator.QueryGenerator;
+import com.github.coderodde.pathfinding.generator.QuerySet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the contraction hierarchy engines on the grids and
+ * the geometric graphs. The contraction of the hubs of a power-law graph
+ * adds a number of shortcuts quadratic in their degree, so the
+ * preprocessing would not finish on it. The
+ * preprocessing runs once per trial and is not measured, except for the
+ * customization of the customizable contraction hierarchy, which has a
+ * benchmark of its own.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyBenchmark {
+    
+    /**
+     * This class holds the benchmark graph and a fixed sequence of queries
+     * on it, like {@link GraphState} does for the families the hierarchies
+     * can be built on.
+     */
+    @State(Scope.Benchmark)
+    public static class HierarchyGraph {
+        
+        @Param({ "GRID_4_UNIFORM",
+                 "GRID_4_INTEGRAL",
+                 "GRID_4_EXPONENTIAL",
+                 "GRID_8_UNIFORM",
+                 "GRID_8_INTEGRAL",
+                 "GRID_8_EXPONENTIAL",
+                 "OBSTACLE_GRID",
+                 "GEOMETRIC_4",
+                 "GEOMETRIC_8" })
+        public GraphFamily family;
+        
+        @Param({ "10000", "100000" })
+        public int nodes;
+        
+        @Param({ "GLOBAL", "LOCAL" })
+        public QueryLocality locality;
+        
+        @Param("12")
+        public int logRank;
+        
+        @Param("42")
+        public long seed;
+        
+        CsrGraph graph;
+        StaticGraphAdapter adapter;
+        int[] sources;
+        int[] targets;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(seed);
+            graph = family.build(nodes, random);
+            adapter = new StaticGraphAdapter(graph);
+            
+            QuerySet querySet = locality.generate(new QueryGenerator(graph),
+                                                  GraphState.NUMBER_OF_QUERIES,
+                                                  logRank,
+                                                  random.nextLong());
+            
+            sources = new int[querySet.size()];
+            targets = new int[querySet.size()];
+            
+            for (int i = 0; i < querySet.size(); i++) {
+                sources[i] = querySet.getSource(i);
+                targets[i] = querySet.getTarget(i);
+            }
+        }
+    }
+    
+    /**
+     * This class holds the contraction hierarchy of the graph.
+     */
+    @State(Scope.Benchmark)
+    public static class Hierarchy {
+        
+        ContractionHierarchy hierarchy;
+        ContractionHierarchyAlgorithm<Integer> algorithm;
+        
+        @Setup(Level.Trial)
+        public void setUp(HierarchyGraph hierarchyGraph) {
+            hierarchy = new ContractionHierarchyBuilder(hierarchyGraph.graph)
+                                .build();
+            algorithm = new ContractionHierarchyAlgorithm<>(
+                    hierarchy,
+                    hierarchyGraph.adapter.getNodeIndexer());
+        }
+    }
+    
+    /**
+     * This class holds the contraction hierarchy workspace of a benchmark
+     * thread and its position in the query cycle.
+     */
+    @State(Scope.Thread)
+    public static class HierarchyWorkspace {
+        
+        ContractionHierarchyWorkspace workspace;
+        int numberOfQueries;
+        int query;
+        
+        @Setup(Level.Trial)
+        public void setUp(HierarchyGraph hierarchyGraph, Hierarchy hierarchy) {
+            numberOfQueries = hierarchyGraph.sources.length;
+            workspace = new ContractionHierarchyWorkspace(hierarchy.hierarchy);
+        }
+        
+        int nextQuery() {
+            int current = query;
+            query = (query + 1) % numberOfQueries;
+            return current;
+        }
+    }
+    
+    /**
+     * This class holds the rows and the columns of the distance matrices,
+     * which are the sources and the targets of the first queries.
+     */
+    @State(Scope.Benchmark)
+    public static class Matrix {
+        
+        @Param("32")
+        public int size;
+        
+        List<Integer> sources;
+        List<Integer> targets;
+        ContractionHierarchyDistanceMatrixAlgorithm<Integer> algorithm;
+        
+        @Setup(Level.Trial)
+        public void setUp(HierarchyGraph hierarchyGraph, Hierarchy hierarchy) {
+            int rows = Math.min(size, hierarchyGraph.sources.length);
+            sources = new ArrayList<>(rows);
+            targets = new ArrayList<>(rows);
+            
+            for (int i = 0; i < rows; i++) {
+                sources.add(hierarchyGraph.sources[i]);
+                targets.add(hierarchyGraph.targets[i]);
+            }
+            
+            algorithm = new ContractionHierarchyDistanceMatrixAlgorithm<>(
+                    hierarchy.hierarchy,
+                    hierarchyGraph.adapter.getNodeIndexer());
+        }
+    }
+    
+    /**
+     * This class holds the customizable contraction hierarchy of the graph
+     * and the hierarchy customized by the weights of the graph.
+     */
+    @State(Scope.Benchmark)
+    public static class Customizable {
+        
+        CustomizableContractionHierarchy hierarchy;
+        ContractionHierarchy customizedHierarchy;
+        ContractionHierarchyAlgorithm<Integer> algorithm;
+        
+        @Setup(Level.Trial)
+        public void setUp(HierarchyGraph hierarchyGraph) {
+            hierarchy = new CustomizableContractionHierarchy(
+                    hierarchyGraph.graph);
+            customizedHierarchy = hierarchy.customize(
+                    hierarchyGraph.adapter.getDoubleWeightFunction());
+            algorithm = new ContractionHierarchyAlgorithm<>(
+                    customizedHierarchy,
+                    hierarchyGraph.adapter.getNodeIndexer());
+        }
+    }
+    
+    /**
+     * This class holds the customized contraction hierarchy workspace of a
+     * benchmark thread and its position in the query cycle.
+     */
+    @State(Scope.Thread)
+    public static class CustomizedWorkspace {
+        
+        ContractionHierarchyWorkspace workspace;
+        int numberOfQueries;
+        int query;
+        
+        @Setup(Level.Trial)
+        public void setUp(HierarchyGraph hierarchyGraph,
+                          Customizable customizable) {
+            numberOfQueries = hierarchyGraph.sources.length;
+            workspace = new ContractionHierarchyWorkspace(
+                    customizable.customizedHierarchy);
+        }
+        
+        int nextQuery() {
+            int current = query;
+            query = (query + 1) % numberOfQueries;
+            return current;
+        }
+    }
+    
+    @Benchmark
+    public List<Integer> contractionHierarchy(
+            HierarchyGraph hierarchyGraph,
+            Hierarchy hierarchy,
+            HierarchyWorkspace hierarchyWorkspace) {
+        StaticGraphAdapter adapter = hierarchyGraph.adapter;
+        int query = hierarchyWorkspace.nextQuery();
+        
+        return hierarchy.algorithm.findShortestPath(
+                adapter.getNode(hierarchyGraph.sources[query]),
+                adapter.getNode(hierarchyGraph.targets[query]),
+                hierarchyWorkspace.workspace);
+    }
+    
+    @Benchmark
+    public DistanceMatrix contractionHierarchyDistanceMatrix(Matrix matrix) {
+        return matrix.algorithm.computeDistanceMatrix(matrix.sources,
+                                                      matrix.targets);
+    }
+    
+    /**
+     * Applies the weights of the graph to the customizable contraction
+     * hierarchy, which is what every change of the metric costs.
+     */
+    @Benchmark
+    public ContractionHierarchy customization(HierarchyGraph hierarchyGraph,
+                                              Customizable customizable) {
+        return customizable.hierarchy.customize(
+                hierarchyGraph.adapter.getDoubleWeightFunction());
+    }
+    
+    @Benchmark
+    public List<Integer> customizedContractionHierarchy(
+            HierarchyGraph hierarchyGraph,
+            Customizable customizable,
+            CustomizedWorkspace customizedWorkspace) {
+        StaticGraphAdapter adapter = hierarchyGraph.adapter;
+        int query = customizedWorkspace.nextQuery();
+        
+        return customizable.algorithm.findShortestPath(
+                adapter.getNode(hierarchyGraph.sources[query]),
+                adapter.getNode(hierarchyGraph.targets[query]),
+                customizedWorkspace.workspace);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.generator.QueryGenerator;
+import com.github.coderodde.pathfinding.generator.QuerySet;
+
+/**
+ * This enumeration lists the ways the benchmark queries choose their target
+ * nodes. The target of every query is reachable from its source.
+ */
+public enum QueryLocality {
+    
+    /**
+     * The target is chosen uniformly at random among the nodes reachable
+     * from the source.
+     */
+    GLOBAL {
+        @Override
+        QuerySet generate(QueryGenerator generator,
+                          int numberOfQueries,
+                          int logRank,
+                          long seed) {
+            return generator.generateRandomQueries(numberOfQueries, seed);
+        }
+    },
+    
+    /**
+     * The target is among the nodes closest to the source, like in most
+     * queries of a navigation service.
+     */
+    LOCAL {
+        @Override
+        QuerySet generate(QueryGenerator generator,
+                          int numberOfQueries,
+                          int logRank,
+                          long seed) {
+            return generator.generateLocalQueries(numberOfQueries,
+                                                  LOCAL_RANK,
+                                                  seed);
+        }
+    },
+    
+    /**
+     * The target is the {@code 2^logRank}th node settled by Dijkstra's
+     * algorithm from the source. The sources reaching fewer nodes are 
+     * skipped, so there may be fewer queries than requested.
+     * Running the benchmarks for a range of ranks shows how the running time
+     * grows with the query difficulty.
+     */
+    DIJKSTRA_RANK {
+        @Override
+        QuerySet generate(QueryGenerator generator,
+                          int numberOfQueries,
+                          int logRank,
+                          long seed) {
+            QuerySet[] querySets =
+                    generator.generateDijkstraRankQueries(numberOfQueries,
+                                                          seed);
+            
+            // A set holds only the queries from the sources reaching enough 
+            // nodes, so fall back to a smaller rank if no source does:
+            int index = Math.min(logRank, querySets.length - 1);
+            
+            while (index > 0 && querySets[index].size() == 0) {
+                index--;
+            }
+            
+            return querySets[index];
+        }
+    };
+    
+    /**
+     * The largest Dijkstra rank of the target of a local query.
+     */
+    private static final int LOCAL_RANK = 1_000;
+    
+    /**
+     * Generates the queries.
+     * 
+     * @param generator       the query generator on the benchmark graph.
+     * @param numberOfQueries the number of queries.
+     * @param logRank         the base-two logarithm of the Dijkstra rank,
+     *                        used only by {@link #DIJKSTRA_RANK}.
+     * @param seed            the seed of the random number generator.
+     * @return the queries.
+     */
+    abstract QuerySet generate(QueryGenerator generator,
+                               int numberOfQueries,
+                               int logRank,
+                               long seed);
+}
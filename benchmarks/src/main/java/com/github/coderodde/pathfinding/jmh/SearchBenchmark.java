@@ -0,0 +1,486 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import com.github.coderodde.pathfinding.BidirectionalAStarAlgorithm;
+import com.github.coderodde.pathfinding.BidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DeltaSteppingAlgorithm;
+import com.github.coderodde.pathfinding.DijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DirectionStrategy;
+import com.github.coderodde.pathfinding.DistanceMatrix;
+import com.github.coderodde.pathfinding.DistanceMatrixAlgorithm;
+import com.github.coderodde.pathfinding.DoubleBidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleDaryHeap;
+import com.github.coderodde.pathfinding.DoubleDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleNearestTarget;
+import com.github.coderodde.pathfinding.DoubleSearchWorkspace;
+import com.github.coderodde.pathfinding.DoubleShortestPathTree;
+import com.github.coderodde.pathfinding.FlightRecorderSearchListener;
+import com.github.coderodde.pathfinding.MappedCsrGraph;
+import com.github.coderodde.pathfinding.ParallelBidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.ParallelSearchWorkspace;
+import com.github.coderodde.pathfinding.SearchWorkspace;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import com.github.coderodde.pathfinding.alt.LandmarkSelection;
+import com.github.coderodde.pathfinding.alt.LandmarkTable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks every search engine of the library on the queries of
+ * {@link GraphState}. Each invocation answers the next query of the cycle
+ * with workspaces reused across invocations, as a service would. The
+ * one-to-many engines take their sources and targets from the queries too.
+ * The A* search with the straight-line heuristic needs node coordinates,
+ * which only some of the families have, so {@link GeometricSearchBenchmark}
+ * covers it.
+ * <p>
+ * Both the throughput and the sampled latency distribution (including its
+ * percentiles) are reported. {@link BenchmarkRunner} adds the GC profiler,
+ * which reports the allocation rate per operation. The preprocessing of the
+ * landmark engine runs once per trial and is not measured. The contraction
+ * hierarchy engines cannot preprocess every family, so
+ * {@link HierarchyBenchmark} covers them. The engines keep no state between
+ * queries, so the threads share them.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    
+    private static final int NUMBER_OF_LANDMARKS = 16;
+    
+    /**
+     * The number of targets the nearest target searches look for.
+     */
+    private static final int NUMBER_OF_NEAREST_TARGETS = 4;
+    
+    private final DijkstrasAlgorithm<Integer, Double> dijkstra =
+            new DijkstrasAlgorithm<>();
+    
+    private final BidirectionalDijkstrasAlgorithm<Integer, Double>
+            bidirectionalDijkstra = new BidirectionalDijkstrasAlgorithm<>();
+    
+    private final DoubleDijkstrasAlgorithm<Integer> doubleDijkstra =
+            new DoubleDijkstrasAlgorithm<>();
+    
+    private final DoubleBidirectionalDijkstrasAlgorithm<Integer>
+            doubleBidirectionalDijkstra =
+            new DoubleBidirectionalDijkstrasAlgorithm<>();
+    
+    private final ParallelBidirectionalDijkstrasAlgorithm<Integer>
+            parallelBidirectionalDijkstra =
+            new ParallelBidirectionalDijkstrasAlgorithm<>();
+    
+    private final BidirectionalAStarAlgorithm<Integer> alt =
+            new BidirectionalAStarAlgorithm<>();
+    
+    private final DistanceMatrixAlgorithm<Integer> distanceMatrix =
+            new DistanceMatrixAlgorithm<>();
+    
+    /**
+     * This class holds the workspaces of a benchmark thread and its position
+     * in the query cycle.
+     */
+    @State(Scope.Thread)
+    public static class Workspaces {
+        
+        SearchWorkspace<Integer, Double> searchWorkspace;
+        SearchWorkspace<Integer, Double> instrumentedSearchWorkspace;
+        DoubleSearchWorkspace<Integer> doubleSearchWorkspace;
+        ParallelSearchWorkspace<Integer> parallelSearchWorkspace;
+        int numberOfQueries;
+        int query;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) {
+            StaticGraphAdapter adapter = graphState.adapter;
+            numberOfQueries = graphState.sources.length;
+            searchWorkspace = new SearchWorkspace<>(adapter.getNodeIndexer());
+            instrumentedSearchWorkspace =
+                    new SearchWorkspace<>(adapter.getNodeIndexer());
+            instrumentedSearchWorkspace.setSearchListener(
+                    new FlightRecorderSearchListener());
+            doubleSearchWorkspace =
+                    new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+            parallelSearchWorkspace =
+                    new ParallelSearchWorkspace<>(adapter.getNodeIndexer());
+        }
+        
+        int nextQuery() {
+            int current = query;
+            query = (query + 1) % numberOfQueries;
+            return current;
+        }
+    }
+    
+    /**
+     * This class holds the landmark table of the graph.
+     */
+    @State(Scope.Benchmark)
+    public static class Landmarks {
+        
+        LandmarkTable landmarkTable;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) {
+            landmarkTable = LandmarkTable.compute(graphState.graph,
+                                                  NUMBER_OF_LANDMARKS,
+                                                  LandmarkSelection.AVOID,
+                                                  new Random(graphState.seed));
+        }
+    }
+    
+    /**
+     * This class holds the graph written to a temporary file in the
+     * {@link MappedCsrGraph} format and mapped back into memory.
+     */
+    @State(Scope.Benchmark)
+    public static class MappedGraph {
+        
+        Path file;
+        StaticGraphAdapter adapter;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) throws IOException {
+            file = Files.createTempFile("graph", ".csr");
+            MappedCsrGraph.write(graphState.graph, file);
+            adapter = new StaticGraphAdapter(MappedCsrGraph.open(file));
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            adapter = null;
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    /**
+     * This class holds the delta-stepping engine tuned to the graph.
+     */
+    @State(Scope.Benchmark)
+    public static class DeltaStepping {
+        
+        DeltaSteppingAlgorithm algorithm;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) {
+            algorithm = new DeltaSteppingAlgorithm(
+                    DeltaSteppingAlgorithm.estimateDelta(graphState.graph));
+        }
+    }
+    
+    /**
+     * This class holds the bidirectional search choosing its directions by
+     * the strategy under test.
+     */
+    @State(Scope.Benchmark)
+    public static class Strategy {
+        
+        @Param({ "ALTERNATE", "SMALLER_QUEUE", "SMALLER_KEY" })
+        public DirectionStrategy directionStrategy;
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> algorithm;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            algorithm = new DoubleBidirectionalDijkstrasAlgorithm<>(
+                    DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE),
+                    directionStrategy);
+        }
+    }
+    
+    /**
+     * This class holds the rows and the columns of the distance matrices,
+     * which are the sources and the targets of the first queries.
+     */
+    @State(Scope.Benchmark)
+    public static class Matrix {
+        
+        @Param("32")
+        public int size;
+        
+        List<Integer> sources;
+        List<Integer> targets;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) {
+            int rows = Math.min(size, graphState.sources.length);
+            sources = new ArrayList<>(rows);
+            targets = new ArrayList<>(rows);
+            
+            for (int i = 0; i < rows; i++) {
+                sources.add(graphState.sources[i]);
+                targets.add(graphState.targets[i]);
+            }
+        }
+    }
+    
+    /**
+     * This class holds the candidate targets of the nearest target searches.
+     * They are the targets of all the queries, so every source reaches at
+     * least one of them.
+     */
+    @State(Scope.Benchmark)
+    public static class Targets {
+        
+        List<Integer> targets;
+        
+        @Setup(Level.Trial)
+        public void setUp(GraphState graphState) {
+            targets = new ArrayList<>(graphState.targets.length);
+            
+            for (int target : graphState.targets) {
+                targets.add(target);
+            }
+        }
+    }
+    
+    @Benchmark
+    public List<Integer> dijkstra(GraphState graphState,
+                                  Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return dijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getChildrenArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                workspaces.searchWorkspace);
+    }
+    
+    @Benchmark
+    public List<Integer> bidirectionalDijkstra(GraphState graphState,
+                                               Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return bidirectionalDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getChildrenArcExpander(),
+                adapter.getParentsArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                workspaces.searchWorkspace);
+    }
+    
+    /**
+     * Runs {@link #bidirectionalDijkstra} with the search metrics and the
+     * Flight Recorder listener on, which shows the cost of the
+     * instrumentation.
+     */
+    @Benchmark
+    public List<Integer> instrumentedBidirectionalDijkstra(
+            GraphState graphState,
+            Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return bidirectionalDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getChildrenArcExpander(),
+                adapter.getParentsArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                workspaces.instrumentedSearchWorkspace);
+    }
+    
+    @Benchmark
+    public List<Integer> doubleDijkstra(GraphState graphState,
+                                        Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    @Benchmark
+    public List<Integer> doubleBidirectionalDijkstra(GraphState graphState,
+                                                     Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleBidirectionalDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    /**
+     * Runs {@link #doubleBidirectionalDijkstra} on the memory-mapped copy of
+     * the graph.
+     */
+    @Benchmark
+    public List<Integer> mappedDoubleBidirectionalDijkstra(
+            GraphState graphState,
+            MappedGraph mappedGraph,
+            Workspaces workspaces) {
+        StaticGraphAdapter adapter = mappedGraph.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleBidirectionalDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    @Benchmark
+    public List<Integer> parallelBidirectionalDijkstra(
+            GraphState graphState,
+            Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return parallelBidirectionalDijkstra.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                workspaces.parallelSearchWorkspace);
+    }
+    
+    @Benchmark
+    public List<Integer> alt(GraphState graphState,
+                             Landmarks landmarks,
+                             Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return alt.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                landmarks.landmarkTable,
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    /**
+     * Runs {@link #doubleBidirectionalDijkstra} choosing the directions by
+     * each of the direction strategies.
+     */
+    @Benchmark
+    public List<Integer> directionStrategy(GraphState graphState,
+                                           Strategy strategy,
+                                           Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return strategy.algorithm.findShortestPath(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getNode(graphState.targets[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    /**
+     * Computes the shortest path tree of all the nodes reachable from the
+     * source of the next query.
+     */
+    @Benchmark
+    public DoubleShortestPathTree<Integer> 
+        shortestPathTree(GraphState graphState, Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleDijkstra.computeShortestPathTree(
+                adapter.getNode(graphState.sources[query]),
+                adapter.getDoubleChildrenArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    @Benchmark
+    public List<DoubleNearestTarget<Integer>> 
+        nearestTargets(GraphState graphState,
+                       Targets targets,
+                       Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleDijkstra.findNearestTargets(
+                adapter.getNode(graphState.sources[query]),
+                targets.targets,
+                NUMBER_OF_NEAREST_TARGETS,
+                adapter.getDoubleChildrenArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    /**
+     * Finds the nearest target by the backward search starting from all the
+     * targets at once.
+     */
+    @Benchmark
+    public DoubleNearestTarget<Integer> 
+        nearestTarget(GraphState graphState,
+                      Targets targets,
+                      Workspaces workspaces) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        int query = workspaces.nextQuery();
+        
+        return doubleDijkstra.findNearestTarget(
+                adapter.getNode(graphState.sources[query]),
+                targets.targets,
+                adapter.getDoubleParentsArcExpander(),
+                workspaces.doubleSearchWorkspace);
+    }
+    
+    @Benchmark
+    public DistanceMatrix distanceMatrix(GraphState graphState,
+                                         Matrix matrix) {
+        StaticGraphAdapter adapter = graphState.adapter;
+        
+        return distanceMatrix.computeDistanceMatrix(
+                matrix.sources,
+                matrix.targets,
+                adapter.getDoubleChildrenArcExpander(),
+                adapter.getDoubleParentsArcExpander(),
+                adapter.getNodeIndexer());
+    }
+    
+    /**
+     * Computes all the distances from the source of the next query, as the
+     * delta-stepping engine answers one-to-all queries only.
+     */
+    @Benchmark
+    public double deltaStepping(GraphState graphState,
+                                DeltaStepping deltaStepping,
+                                Workspaces workspaces) {
+        int query = workspaces.nextQuery();
+        
+        return deltaStepping.algorithm.computeDistances(
+                graphState.graph,
+                graphState.sources[query])[graphState.targets[query]];
+    }
+}
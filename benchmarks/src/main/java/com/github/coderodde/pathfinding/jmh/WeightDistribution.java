@@ -0,0 +1,50 @@
+package com.github.coderodde.pathfinding.jmh;
+
+import java.util.Random;
+
+/**
+ * This enumeration lists the arc weight distributions of the benchmark
+ * graphs.
+ */
+public enum WeightDistribution {
+    
+    /**
+     * Uniform weights in {@code [0, 100)}.
+     */
+    UNIFORM {
+        @Override
+        double next(Random random) {
+            return 100.0 * random.nextDouble();
+        }
+    },
+    
+    /**
+     * Uniform integral weights in {@code [1, 100]}, with many ties among the
+     * distances.
+     */
+    INTEGRAL {
+        @Override
+        double next(Random random) {
+            return 1 + random.nextInt(100);
+        }
+    },
+    
+    /**
+     * Exponentially distributed weights with mean 10, mostly light arcs with
+     * a few heavy ones.
+     */
+    EXPONENTIAL {
+        @Override
+        double next(Random random) {
+            return -10.0 * Math.log(1.0 - random.nextDouble());
+        }
+    };
+    
+    /**
+     * Draws an arc weight.
+     * 
+     * @param random the random number generator.
+     * @return the weight.
+     */
+    abstract double next(Random random);
+}
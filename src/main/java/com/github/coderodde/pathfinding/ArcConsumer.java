@@ -0,0 +1,19 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for receiving the arcs generated by an 
+ * {@link ArcExpander}.
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the type of the weight values.
+ */
+public interface ArcConsumer<N, W> {
+    
+    /**
+     * Accepts an arc between the expanded node and the input node.
+     * 
+     * @param node   the node at the other end of the arc.
+     * @param weight the weight of the arc.
+     */
+    void accept(N node, W weight);
+}
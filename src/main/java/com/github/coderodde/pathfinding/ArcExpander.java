@@ -0,0 +1,65 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for arc expanders. Unlike a 
+ * {@link NodeExpander}, an arc expander delivers each neighbour together with
+ * the weight of the connecting arc to a callback. Consequently, the search 
+ * algorithms read every arc exactly once and need neither a neighbour 
+ * collection nor a separate weight lookup.
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the type of the weight values.
+ */
+public interface ArcExpander<N, W> {
+    
+    /**
+     * Passes every arc incident to the input node to the consumer. A children
+     * expander passes the outgoing arcs as {@code (head, weight)} pairs, and a
+     * parents expander passes the incoming arcs as {@code (tail, weight)}
+     * pairs.
+     * 
+     * @param node     the node to expand.
+     * @param consumer the arc consumer.
+     */
+    void expand(N node, ArcConsumer<N, W> consumer);
+    
+    /**
+     * Returns an arc expander generating the outgoing arcs of the nodes 
+     * expanded by the input children expander.
+     * 
+     * @param <N>              the actual graph node type.
+     * @param <W>              the type of the weight values.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the weight function.
+     * @return the arc expander.
+     */
+    static <N, W> ArcExpander<N, W> 
+        ofChildren(NodeExpander<N> childrenExpander,
+                   WeightFunction<N, W> weightFunction) {
+        return (node, consumer) -> {
+            for (N child : childrenExpander.expand(node)) {
+                consumer.accept(child, weightFunction.getWeight(node, child));
+            }
+        };
+    }
+    
+    /**
+     * Returns an arc expander generating the incoming arcs of the nodes 
+     * expanded by the input parents expander.
+     * 
+     * @param <N>             the actual graph node type.
+     * @param <W>             the type of the weight values.
+     * @param parentsExpander the parents expander.
+     * @param weightFunction  the weight function.
+     * @return the arc expander.
+     */
+    static <N, W> ArcExpander<N, W> 
+        ofParents(NodeExpander<N> parentsExpander,
+                  WeightFunction<N, W> weightFunction) {
+        return (node, consumer) -> {
+            for (N parent : parentsExpander.expand(node)) {
+                consumer.accept(parent, weightFunction.getWeight(parent, node));
+            }
+        };
+    }
+}
@@ -0,0 +1,324 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a bidirectional A* search over primitive 
+ * {@code double} arc weights with the average potentials of Ikeda et al. 
+ * Given a consistent {@link HeuristicFunction} {@code h}, the forward 
+ * potential of a node {@code v} is 
+ * {@code p(v) = (h(v, target) - h(source, v)) / 2} and the backward potential 
+ * is {@code -p(v)}. Both potentials are consistent, so the search is a 
+ * bidirectional Dijkstra's algorithm on the arc weights reduced by the 
+ * potentials, and it may stop as soon as the sum of the minimum keys of the 
+ * two queues reaches the length of the shortest path found so far.
+ * <p>
+ * The directions are chosen by a {@link DirectionStrategy} and the search 
+ * state is kept in a {@link DoubleSearchWorkspace}, as in 
+ * {@link DoubleBidirectionalDijkstrasAlgorithm}.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class BidirectionalAStarAlgorithm<N> {
+    
+    private final DoubleIndexedHeapFactory heapFactory;
+    private final DirectionStrategy directionStrategy;
+    
+    /**
+     * Constructs this algorithm using {@link DoubleDaryHeap}s of degree 
+     * {@link DoubleDaryHeap#DEFAULT_DEGREE} and alternating the directions.
+     */
+    public BidirectionalAStarAlgorithm() {
+        this(DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE),
+             DirectionStrategy.ALTERNATE);
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory
+     * and choosing the directions via the input strategy.
+     * 
+     * @param heapFactory       the heap factory.
+     * @param directionStrategy the direction strategy.
+     */
+    public BidirectionalAStarAlgorithm(DoubleIndexedHeapFactory heapFactory,
+                                       DirectionStrategy directionStrategy) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.directionStrategy = 
+                Objects.requireNonNull(directionStrategy, 
+                                       "directionStrategy is null.");
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source            the source node.
+     * @param target            the target node.
+     * @param childrenExpander  the node expander generating child nodes.
+     * @param parentsExpander   the node expander generating parent nodes.
+     * @param weightFunction    the weight function of the graph.
+     * @param heuristicFunction the consistent heuristic function.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    DoubleWeightFunction<N> weightFunction,
+                                    HeuristicFunction<N> heuristicFunction) {
+        return findShortestPath(
+                source, 
+                target, 
+                DoubleArcExpander.ofChildren(childrenExpander, weightFunction), 
+                DoubleArcExpander.ofParents(parentsExpander, weightFunction), 
+                heuristicFunction,
+                new DoubleSearchWorkspace<>());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. All the search state is kept in the input workspace, 
+     * which may be reused by subsequent queries.
+     * 
+     * @param source            the source node.
+     * @param target            the target node.
+     * @param childrenExpander  the expander generating the outgoing arcs.
+     * @param parentsExpander   the expander generating the incoming arcs.
+     * @param heuristicFunction the consistent heuristic function.
+     * @param workspace         the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander,
+                                    DoubleArcExpander<N> parentsExpander,
+                                    HeuristicFunction<N> heuristicFunction,
+                                    DoubleSearchWorkspace<N> workspace) {
+        if (source.equals(target)) {
+            // We need to handle this special case, since the actual algorithm
+            // cannot deal with it.
+            return Arrays.asList(target);
+        }
+        
+        NodeIndexer<N> indexer   = workspace.getIndexer();
+        DoubleSearchState stateF = workspace.getForwardState();
+        DoubleSearchState stateB = workspace.getBackwardState();
+        
+        stateF.reset(heapFactory);
+        stateB.reset(heapFactory);
+        
+        DoubleIndexedHeap queueF = stateF.getHeap();
+        DoubleIndexedHeap queueB = stateB.getHeap();
+        Search<N> search = new Search<>(source,
+                                        target,
+                                        indexer, 
+                                        stateF, 
+                                        stateB, 
+                                        childrenExpander, 
+                                        parentsExpander,
+                                        heuristicFunction);
+        
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        queueF.insert(sourceIndex, search.getPotential(source));
+        queueB.insert(targetIndex, -search.getPotential(target));
+        
+        stateF.setDistance(sourceIndex, 0.0);
+        stateB.setDistance(targetIndex, 0.0);
+        
+        stateF.setParent(sourceIndex, DoubleSearchState.NO_PARENT);
+        stateB.setParent(targetIndex, DoubleSearchState.NO_PARENT);
+        
+        boolean forwardExpandedLast = false;
+        
+        // The keys are the distances shifted by the potentials, whose sum 
+        // over the two directions is zero, so the usual stopping condition 
+        // compares the sum of the minimum keys directly to mu:
+        while (!queueF.isEmpty() && !queueB.isEmpty()) {
+            double topKeyF = queueF.getMinimumKey();
+            double topKeyB = queueB.getMinimumKey();
+            
+            if (topKeyF + topKeyB >= search.mu) {
+                break;
+            }
+            
+            forwardExpandedLast = 
+                    directionStrategy.expandForward(
+                            queueF.size(), 
+                            queueB.size(), 
+                            Double.compare(topKeyF, topKeyB), 
+                            forwardExpandedLast);
+            
+            if (forwardExpandedLast) {
+                search.forwardSearch.settleMinimum();
+            } else {
+                search.backwardSearch.settleMinimum();
+            }
+        }
+        
+        if (search.touchNodeF == DoubleSearchState.NO_PARENT) {
+            throw new IllegalStateException(
+                    "The target node is not reachable from the source node.");
+        }
+        
+        return tracebackPath(search.touchNodeF,
+                             search.touchNodeB,
+                             stateF,
+                             stateB,
+                             indexer);
+    }
+    
+    private static <N> List<N> tracebackPath(int touchNodeF,
+                                             int touchNodeB,
+                                             DoubleSearchState stateF,
+                                             DoubleSearchState stateB,
+                                             NodeIndexer<N> indexer) {
+        List<N> path = new ArrayList<>();
+        
+        int node = touchNodeF;
+        
+        while (node != DoubleSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateF.getParent(node);
+        }
+        
+        Collections.reverse(path);
+        node = touchNodeB;
+        
+        while (node != DoubleSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateB.getParent(node);
+        }
+        
+        return path;
+    }
+    
+    /**
+     * This class holds the best meeting point found so far and the searches 
+     * of both directions.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Search<N> {
+        
+        private final N source;
+        private final N target;
+        private final NodeIndexer<N> indexer;
+        private final HeuristicFunction<N> heuristicFunction;
+        final DirectionSearch forwardSearch;
+        final DirectionSearch backwardSearch;
+        double mu = Double.POSITIVE_INFINITY;
+        int touchNodeF = DoubleSearchState.NO_PARENT;
+        int touchNodeB = DoubleSearchState.NO_PARENT;
+        
+        Search(N source,
+               N target,
+               NodeIndexer<N> indexer,
+               DoubleSearchState stateF,
+               DoubleSearchState stateB,
+               DoubleArcExpander<N> childrenExpander,
+               DoubleArcExpander<N> parentsExpander,
+               HeuristicFunction<N> heuristicFunction) {
+            this.source = source;
+            this.target = target;
+            this.indexer = indexer;
+            this.heuristicFunction = heuristicFunction;
+            this.forwardSearch = 
+                    new DirectionSearch(stateF, stateB, childrenExpander, true);
+            
+            this.backwardSearch = 
+                    new DirectionSearch(stateB, stateF, parentsExpander, false);
+        }
+        
+        /**
+         * Returns the forward potential of the input node. The backward 
+         * potential is its negation.
+         */
+        double getPotential(N node) {
+            return 0.5 * (heuristicFunction.estimate(node, target) - 
+                          heuristicFunction.estimate(source, node));
+        }
+        
+        /**
+         * This class settles the nodes of one search direction, relaxes their
+         * arcs and updates the meeting point against the opposite direction.
+         */
+        final class DirectionSearch implements DoubleArcConsumer<N> {
+            
+            private final DoubleSearchState state;
+            private final DoubleSearchState oppositeState;
+            private final DoubleIndexedHeap queue;
+            private final DoubleArcExpander<N> expander;
+            private final boolean forward;
+            private int currentIndex;
+            private double currentDistance;
+            
+            DirectionSearch(DoubleSearchState state, 
+                            DoubleSearchState oppositeState, 
+                            DoubleArcExpander<N> expander,
+                            boolean forward) {
+                this.state = state;
+                this.oppositeState = oppositeState;
+                this.queue = state.getHeap();
+                this.expander = expander;
+                this.forward = forward;
+            }
+            
+            /**
+             * Settles the node with the minimum key and relaxes its arcs.
+             */
+            void settleMinimum() {
+                currentIndex = queue.extractMinimum();
+                currentDistance = state.getDistance(currentIndex);
+                state.setSettled(currentIndex);
+                expander.expand(indexer.getNode(currentIndex), this);
+            }
+            
+            @Override
+            public void accept(N node, double weight) {
+                int index = indexer.getIndex(node);
+                
+                if (state.isSettled(index)) {
+                    return;
+                }
+                
+                double tentativeDistance = currentDistance + weight;
+                
+                if (state.getDistance(index) > tentativeDistance) {
+                    double potential = getPotential(node);
+                    double key = tentativeDistance + 
+                                 (forward ? potential : -potential);
+                    
+                    if (queue.contains(index)) {
+                        queue.decreaseKey(index, key);
+                    } else {
+                        queue.insert(index, key);
+                    }
+                    
+                    state.setDistance(index, tentativeDistance);
+                    state.setParent(index, currentIndex);
+                }
+                
+                double shortestPathUpperBound =
+                        tentativeDistance + oppositeState.getDistance(index);
+                
+                if (mu > shortestPathUpperBound) {
+                    mu = shortestPathUpperBound;
+                    touchNodeF = forward ? currentIndex : index;
+                    touchNodeB = forward ? index : currentIndex;
+                }
+            }
+        }
+    }
+}
@@ -4,22 +4,88 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Objects;
 
 /**
- * This class implements a bidirectional Dijkstra's algorithm. 
+ * This class implements a bidirectional Dijkstra's algorithm. Each step 
+ * settles one node in the direction chosen by a {@link DirectionStrategy}, 
+ * and the search stops as soon as the sum of the minimum keys of the two 
+ * queues reaches the length of the shortest path found so far.
  * 
  * @param <N> the actual graph node type.
  * @param <W> the value type of arc weights.
  */
 public final class BidirectionalDijkstrasAlgorithm<N, W> {
     
+    private final IndexedHeapFactory<W> heapFactory;
+    private final DirectionStrategy directionStrategy;
+    private final ConnectivityIndex<N> connectivityIndex;
+    
+    /**
+     * Constructs this algorithm using {@link DaryHeap}s of degree 
+     * {@link DaryHeap#DEFAULT_DEGREE}.
+     */
+    public BidirectionalDijkstrasAlgorithm() {
+        this(DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE));
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * The directions are alternated.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    public BidirectionalDijkstrasAlgorithm(IndexedHeapFactory<W> heapFactory) {
+        this(heapFactory, DirectionStrategy.ALTERNATE);
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory
+     * and choosing the directions via the input strategy.
+     * 
+     * @param heapFactory       the heap factory.
+     * @param directionStrategy the direction strategy.
+     */
+    public BidirectionalDijkstrasAlgorithm(
+            IndexedHeapFactory<W> heapFactory,
+            DirectionStrategy directionStrategy) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.directionStrategy = 
+                Objects.requireNonNull(directionStrategy, 
+                                       "directionStrategy is null.");
+        
+        this.connectivityIndex = null;
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory
+     * and choosing the directions via the input strategy. A query whose 
+     * target is not reachable according to the input connectivity index is 
+     * answered without searching.
+     * 
+     * @param heapFactory       the heap factory.
+     * @param directionStrategy the direction strategy.
+     * @param connectivityIndex the connectivity index of the graph.
+     */
+    public BidirectionalDijkstrasAlgorithm(
+            IndexedHeapFactory<W> heapFactory,
+            DirectionStrategy directionStrategy,
+            ConnectivityIndex<N> connectivityIndex) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.directionStrategy = 
+                Objects.requireNonNull(directionStrategy, 
+                                       "directionStrategy is null.");
+        
+        this.connectivityIndex = 
+                Objects.requireNonNull(connectivityIndex, 
+                                       "connectivityIndex is null.");
+    }
+    
     /**
      * Searches for a shortest {@code source/target} path. Throws an 
      * {@link IllegalStateException} if the target node is not reachable from 
@@ -41,176 +107,748 @@ public final class BidirectionalDijkstrasAlgorithm<N, W> {
                                     NodeExpander<N> parentsExpander,
                                     WeightFunction<N, W> weightFunction,
                                     Comparator<W> scoreComparator) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                parentsExpander, 
+                                weightFunction, 
+                                scoreComparator, 
+                                new SearchWorkspace<>());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. All the search state is kept in the input workspace, 
+     * which may be reused by subsequent queries.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the node expander generating child nodes.
+     * @param parentsExpander  the node expander generating parent nodes.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace) {
+        return findShortestPath(
+                source, 
+                target, 
+                ArcExpander.ofChildren(childrenExpander, weightFunction), 
+                ArcExpander.ofParents(parentsExpander, weightFunction), 
+                weightFunction, 
+                scoreComparator, 
+                workspace);
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. Each arc is read exactly once via the input arc 
+     * expanders; only the zero, infinity and sum operations of the weight 
+     * function are used.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    ArcExpander<N, W> childrenExpander,
+                                    ArcExpander<N, W> parentsExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                parentsExpander, 
+                                weightFunction, 
+                                scoreComparator, 
+                                new SearchWorkspace<>());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. Each arc is read exactly once via the input arc 
+     * expanders; only the zero, infinity and sum operations of the weight 
+     * function are used. All the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    ArcExpander<N, W> childrenExpander,
+                                    ArcExpander<N, W> parentsExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace) {
+        return findShortestPath(source,
+                                target,
+                                childrenExpander,
+                                parentsExpander,
+                                weightFunction,
+                                scoreComparator,
+                                workspace,
+                                SearchBudget.unlimited());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path within the input 
+     * budget. Throws an {@link IllegalStateException} if the target node is 
+     * not reachable from the source node, and a 
+     * {@link SearchBudgetExceededException} if the budget runs out first. All
+     * the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the node expander generating child nodes.
+     * @param parentsExpander  the node expander generating parent nodes.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace,
+                                    SearchBudget<W> budget) {
+        return findShortestPath(
+                source, 
+                target, 
+                ArcExpander.ofChildren(childrenExpander, weightFunction), 
+                ArcExpander.ofParents(parentsExpander, weightFunction), 
+                weightFunction, 
+                scoreComparator, 
+                workspace,
+                budget);
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path within the input 
+     * budget. Throws an {@link IllegalStateException} if the target node is 
+     * not reachable from the source node, and a 
+     * {@link SearchBudgetExceededException} if the budget runs out first. 
+     * Each arc is read exactly once via the input arc expanders. All the 
+     * search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    ArcExpander<N, W> childrenExpander,
+                                    ArcExpander<N, W> parentsExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace,
+                                    SearchBudget<W> budget) {
+        SearchResult<N, W> result = search(source,
+                                           target,
+                                           childrenExpander,
+                                           parentsExpander,
+                                           weightFunction,
+                                           scoreComparator,
+                                           workspace,
+                                           budget,
+                                           true);
+        
+        if (result.isBudgetExceeded()) {
+            throw new SearchBudgetExceededException(
+                    result.getBudgetExceededReason(),
+                    result.getSettledCount());
+        }
+        
+        if (!result.isReachable()) {
+            throw new IllegalStateException(
+                    "The target node is not reachable from the source node.");
+        }
+        
+        return result.getPath();
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path and returns the 
+     * outcome without throwing on an unreachable target. The path is traced
+     * back lazily by the result. All the search state is kept in the input 
+     * workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> search(N source,
+                                     N target,
+                                     ArcExpander<N, W> childrenExpander,
+                                     ArcExpander<N, W> parentsExpander,
+                                     WeightFunction<N, W> weightFunction,
+                                     Comparator<W> scoreComparator,
+                                     SearchWorkspace<N, W> workspace) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      parentsExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      SearchBudget.unlimited(),
+                      true);
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path within the input 
+     * budget and returns the outcome without throwing on an unreachable 
+     * target. If the budget runs out first, the result reports it via 
+     * {@link SearchResult#isBudgetExceeded()}. All the search state is kept 
+     * in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> search(N source,
+                                     N target,
+                                     ArcExpander<N, W> childrenExpander,
+                                     ArcExpander<N, W> parentsExpander,
+                                     WeightFunction<N, W> weightFunction,
+                                     Comparator<W> scoreComparator,
+                                     SearchWorkspace<N, W> workspace,
+                                     SearchBudget<W> budget) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      parentsExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      budget,
+                      true);
+    }
+    
+    /**
+     * Computes the {@code source/target} distance without recording the 
+     * parents of the nodes, so the result has no path. All the search state
+     * is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> searchDistance(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            ArcExpander<N, W> parentsExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      parentsExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      SearchBudget.unlimited(),
+                      false);
+    }
+    
+    /**
+     * Computes the {@code source/target} distance within the input budget 
+     * without recording the parents of the nodes, so the result has no path.
+     * If the budget runs out first, the result reports it via 
+     * {@link SearchResult#isBudgetExceeded()}. All the search state is kept 
+     * in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param weightFunction   the weight function of the graph.
+     * @param scoreComparator  the comparator for comparing weights/node 
+     *                         g-scores.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> searchDistance(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            ArcExpander<N, W> parentsExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace,
+            SearchBudget<W> budget) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      parentsExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      budget,
+                      false);
+    }
+    
+    private SearchResult<N, W> search(N source,
+                                      N target,
+                                      ArcExpander<N, W> childrenExpander,
+                                      ArcExpander<N, W> parentsExpander,
+                                      WeightFunction<N, W> weightFunction,
+                                      Comparator<W> scoreComparator,
+                                      SearchWorkspace<N, W> workspace,
+                                      SearchBudget<W> budget,
+                                      boolean trackParents) {
+        SearchListener<? super N, ? super W> listener = 
+                workspace.getSearchListener();
+        
+        if (listener == null) {
+            return search(source,
+                          target,
+                          childrenExpander,
+                          parentsExpander,
+                          weightFunction,
+                          scoreComparator,
+                          workspace,
+                          budget,
+                          trackParents,
+                          null,
+                          null);
+        }
+        
+        SearchMetrics metrics = workspace.startMetrics(true);
+        SearchResult<N, W> result = null;
+        listener.onSearchStarted(source, target);
+        long startTime = System.nanoTime();
+        
+        try {
+            result = search(source,
+                            target,
+                            childrenExpander,
+                            parentsExpander,
+                            weightFunction,
+                            scoreComparator,
+                            workspace,
+                            budget,
+                            trackParents,
+                            listener,
+                            metrics);
+            return result;
+        } finally {
+            metrics.finish(result, System.nanoTime() - startTime);
+            listener.onSearchFinished(source, target, metrics);
+        }
+    }
+    
+    /**
+     * Runs the search. The listener and the metrics are {@code null} unless
+     * the workspace collects metrics.
+     */
+    private SearchResult<N, W> search(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            ArcExpander<N, W> parentsExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace,
+            SearchBudget<W> budget,
+            boolean trackParents,
+            SearchListener<? super N, ? super W> listener,
+            SearchMetrics metrics) {
+        SearchBudget.Monitor<W> monitor = 
+                Objects.requireNonNull(budget, "budget is null.")
+                       .startMonitor(scoreComparator);
+        
         if (source.equals(target)) {
             // We need to handle this special case, since the actual algorithm
             // cannot deal with it.
-            return Arrays.asList(target);
+            return new SearchResult<>(
+                    true,
+                    weightFunction.getZero(),
+                    0,
+                    0,
+                    trackParents ? () -> Arrays.asList(target) : null);
         }
         
-        Queue<HeapNodeWrapper<N, W>> queueF = new PriorityQueue<>();
-        Queue<HeapNodeWrapper<N, W>> queueB = new PriorityQueue<>();
-        Map<N, W> distancesF = new HashMap<>();
-        Map<N, W> distancesB = new HashMap<>();
-        Map<N, N> parentsF = new HashMap<>();
-        Map<N, N> parentsB = new HashMap<>();
-        Set<N> settledF = new HashSet<>();
-        Set<N> settledB = new HashSet<>();
-        
-        queueF.add(new HeapNodeWrapper<>(
-                weightFunction.getZero(),
-                source, 
-                scoreComparator));
+        if (connectivityIndex != null && 
+            !connectivityIndex.mayReach(source, target)) {
+            return new SearchResult<>(false, 
+                                      weightFunction.getInfinity(),
+                                      0,
+                                      0,
+                                      null);
+        }
         
-        queueB.add(new HeapNodeWrapper<>(
-                weightFunction.getZero(), 
-                target,
-                scoreComparator));
+        NodeIndexer<N> indexer = workspace.getIndexer();
+        SearchState<W> stateF = workspace.getForwardState();
+        SearchState<W> stateB = workspace.getBackwardState();
         
-        distancesF.put(source, weightFunction.getZero());
-        distancesB.put(target, weightFunction.getZero());
+        stateF.reset(heapFactory, scoreComparator);
+        stateB.reset(heapFactory, scoreComparator);
         
-        parentsF.put(source, null);
-        parentsB.put(target, null);
+        IndexedHeap<W> queueF = stateF.getHeap();
+        IndexedHeap<W> queueB = stateB.getHeap();
         
-        W mu = weightFunction.getInfinity();
-        N touchNodeF = null;
-        N touchNodeB = null;
+        Search<N, W> search = new Search<>(indexer, 
+                                           stateF, 
+                                           stateB, 
+                                           childrenExpander,
+                                           parentsExpander,
+                                           weightFunction, 
+                                           scoreComparator,
+                                           trackParents,
+                                           listener,
+                                           metrics);
         
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        queueF.insert(sourceIndex, weightFunction.getZero());
+        queueB.insert(targetIndex, weightFunction.getZero());
+        
+        stateF.setDistance(sourceIndex, weightFunction.getZero());
+        stateB.setDistance(targetIndex, weightFunction.getZero());
+        
+        stateF.setParent(sourceIndex, SearchState.NO_PARENT);
+        stateB.setParent(targetIndex, SearchState.NO_PARENT);
+        
+        if (metrics != null) {
+            metrics.forwardCounters.heapInsertionCount++;
+            metrics.backwardCounters.heapInsertionCount++;
+        }
+        
+        boolean forwardExpandedLast = false;
+        
+        // If one of the searches gets exhausted, mu is optimal, since the
+        // meeting points are updated on every labelled node:
         while (!queueF.isEmpty() && !queueB.isEmpty()) {
-            N currentNodeF = queueF.remove().getNode();
-            N currentNodeB = queueB.remove().getNode();
-            
-            settledF.add(currentNodeF);
-            settledB.add(currentNodeB);
+            W topKeyF = queueF.getMinimumKey();
+            W topKeyB = queueB.getMinimumKey();
+            W lowerBound = weightFunction.sum(topKeyF, topKeyB);
             
-            for (N childNode : childrenExpander.expand(currentNodeF)) {
-                if (settledF.contains(childNode)) {
-                    continue;
-                }
-                
-                if (!distancesF.containsKey(childNode) ||
-                     scoreComparator.compare(
-                           distancesF.get(childNode),        
-                           weightFunction.sum(
-                                distancesF.get(currentNodeF),
-                                weightFunction.getWeight(currentNodeF, 
-                                                         childNode))) > 0) {
-                    
-                    W tentativeDistance = 
-                            weightFunction.sum(
-                                    distancesF.get(currentNodeF), 
-                                    weightFunction.getWeight(currentNodeF, 
-                                                             childNode));
-                    
-                    distancesF.put(childNode, tentativeDistance);
-                    parentsF.put(childNode, currentNodeF);
-                    queueF.add(new HeapNodeWrapper<>(tentativeDistance,
-                                                     childNode,
-                                                     scoreComparator));
-                } 
-                
-                if (settledB.contains(childNode)) {
-                    W shortestPathUpperBound = 
-                            weightFunction.sum(
-                                    distancesF.get(currentNodeF),
-                                    weightFunction.getWeight(currentNodeF, 
-                                                             childNode),
-                                    distancesB.get(childNode));
-                    
-                    if (scoreComparator.compare(mu, 
-                                                shortestPathUpperBound) > 0) {
-                        
-                        mu = shortestPathUpperBound;
-                        touchNodeF = currentNodeF;
-                        touchNodeB = childNode;
-                    }
-                }
+            if (scoreComparator.compare(lowerBound, search.mu) >= 0) {
+                // No path through an unsettled node can be shorter than mu:
+                break;
             }
             
-            for (N parentNode : parentsExpander.expand(currentNodeB)) {
-                if (settledB.contains(parentNode)) {
-                    continue;
-                }
-                
-                if (!distancesB.containsKey(parentNode) ||
-                     scoreComparator.compare(
-                           distancesB.get(parentNode),        
-                           weightFunction.sum(
-                                distancesB.get(currentNodeB),
-                                weightFunction.getWeight(parentNode, 
-                                                         currentNodeB))) > 0) {
-                    
-                    W tentativeDistance = 
-                            weightFunction.sum(
-                                    distancesB.get(currentNodeB), 
-                                    weightFunction.getWeight(parentNode,
-                                                             currentNodeB));
-                    
-                    distancesB.put(parentNode, tentativeDistance);
-                    parentsB.put(parentNode, currentNodeB);
-                    queueB.add(new HeapNodeWrapper<>(tentativeDistance,
-                                                     parentNode,
-                                                     scoreComparator));
-                } 
-                
-                if (settledF.contains(parentNode)) {
-                    W shortestPathUpperBound = 
-                            weightFunction.sum(
-                                    distancesF.get(parentNode),
-                                    weightFunction.getWeight(parentNode,
-                                                             currentNodeB),
-                                    distancesB.get(currentNodeB));
-                    
-                    if (scoreComparator.compare(mu, 
-                                                shortestPathUpperBound) > 0) {
-                        
-                        mu = shortestPathUpperBound;
-                        touchNodeF = parentNode;
-                        touchNodeB = currentNodeB;
-                    }
-                }   
+            // The shortest path is now at least as long as lowerBound:
+            if (!monitor.check(lowerBound)) {
+                return new SearchResult<>(monitor.getReason(),
+                                          weightFunction.getInfinity(),
+                                          stateF.getSettledCount(),
+                                          stateB.getSettledCount());
             }
             
-            if (distancesF.containsKey(currentNodeF) && 
-                distancesB.containsKey(currentNodeB) &&
-                scoreComparator.compare(
-                        weightFunction.sum(
-                                distancesF.get(currentNodeF),
-                                distancesB.get(currentNodeB)), 
-                        mu) > 0) {
-                
-                return tracebackPath(touchNodeF, 
-                                     touchNodeB,
-                                     parentsF,
-                                     parentsB);
+            forwardExpandedLast = 
+                    directionStrategy.expandForward(
+                            queueF.size(), 
+                            queueB.size(), 
+                            scoreComparator.compare(topKeyF, topKeyB), 
+                            forwardExpandedLast);
+            
+            if (forwardExpandedLast) {
+                search.forwardSearch.settleMinimum();
+            } else {
+                search.backwardSearch.settleMinimum();
             }
         }
         
-        throw new IllegalStateException(
-                "The target node is not reachable from the source node.");
+        if (search.touchNodeF == SearchState.NO_PARENT) {
+            return new SearchResult<>(false,
+                                      weightFunction.getInfinity(),
+                                      stateF.getSettledCount(),
+                                      stateB.getSettledCount(),
+                                      null);
+        }
+        
+        if (!monitor.checkPathLength(search.mu)) {
+            return new SearchResult<>(monitor.getReason(),
+                                      weightFunction.getInfinity(),
+                                      stateF.getSettledCount(),
+                                      stateB.getSettledCount());
+        }
+        
+        if (!trackParents) {
+            return new SearchResult<>(true,
+                                      search.mu,
+                                      stateF.getSettledCount(),
+                                      stateB.getSettledCount(),
+                                      null);
+        }
+        
+        int touchNodeF = search.touchNodeF;
+        int touchNodeB = search.touchNodeB;
+        int generation = stateF.getGeneration();
+        
+        return new SearchResult<>(
+                true,
+                search.mu,
+                stateF.getSettledCount(),
+                stateB.getSettledCount(),
+                () -> {
+                    if (stateF.getGeneration() != generation) {
+                        throw new IllegalStateException(
+                                "The workspace has served another query.");
+                    }
+                    
+                    return tracebackPath(touchNodeF,
+                                         touchNodeB,
+                                         stateF,
+                                         stateB,
+                                         indexer);
+                });
     }
     
-    private static <N> List<N> tracebackPath(N touchNodeF,
-                                             N touchNodeB,
-                                             Map<N, N> parentsF,
-                                             Map<N, N> parentsB) {
+    private static <N, W> List<N> tracebackPath(int touchNodeF,
+                                                int touchNodeB,
+                                                SearchState<W> stateF,
+                                                SearchState<W> stateB,
+                                                NodeIndexer<N> indexer) {
         List<N> path = new ArrayList<>();
         
-        N node = touchNodeF;
+        int node = touchNodeF;
         
-        while (node != null) {
-            path.add(node);
-            node = parentsF.get(node);
+        while (node != SearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateF.getParent(node);
         }
         
         Collections.reverse(path);
         node = touchNodeB;
         
-        while (node != null) {
-            path.add(node);
-            node = parentsB.get(node);
+        while (node != SearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateB.getParent(node);
         }
         
         return path;
     }
+    
+    /**
+     * This class holds the best meeting point found so far and the searches 
+     * of both directions.
+     * 
+     * @param <N> the actual graph node type.
+     * @param <W> the weight value type.
+     */
+    private static final class Search<N, W> {
+        
+        private final NodeIndexer<N> indexer;
+        private final WeightFunction<N, W> weightFunction;
+        private final Comparator<W> scoreComparator;
+        private final boolean trackParents;
+        private final SearchListener<? super N, ? super W> listener;
+        private final SearchMetrics metrics;
+        final DirectionSearch forwardSearch;
+        final DirectionSearch backwardSearch;
+        W mu;
+        int touchNodeF = SearchState.NO_PARENT;
+        int touchNodeB = SearchState.NO_PARENT;
+        
+        Search(NodeIndexer<N> indexer,
+               SearchState<W> stateF,
+               SearchState<W> stateB,
+               ArcExpander<N, W> childrenExpander,
+               ArcExpander<N, W> parentsExpander,
+               WeightFunction<N, W> weightFunction,
+               Comparator<W> scoreComparator,
+               boolean trackParents,
+               SearchListener<? super N, ? super W> listener,
+               SearchMetrics metrics) {
+            this.indexer = indexer;
+            this.weightFunction = weightFunction;
+            this.scoreComparator = scoreComparator;
+            this.trackParents = trackParents;
+            this.listener = listener;
+            this.metrics = metrics;
+            this.forwardSearch = 
+                    new DirectionSearch(stateF, stateB, childrenExpander, true);
+            
+            this.backwardSearch = 
+                    new DirectionSearch(stateB, stateF, parentsExpander, false);
+            
+            this.mu = weightFunction.getInfinity();
+        }
+        
+        /**
+         * This class settles the nodes of one search direction, relaxes their
+         * arcs and updates the meeting point against the nodes labelled by 
+         * the opposite direction.
+         */
+        final class DirectionSearch implements ArcConsumer<N, W> {
+            
+            private final SearchState<W> state;
+            private final SearchState<W> oppositeState;
+            private final IndexedHeap<W> queue;
+            private final ArcExpander<N, W> expander;
+            private final boolean forward;
+            private final SearchMetrics.DirectionCounters counters;
+            private int currentIndex;
+            private W currentDistance;
+            
+            DirectionSearch(SearchState<W> state, 
+                            SearchState<W> oppositeState, 
+                            ArcExpander<N, W> expander,
+                            boolean forward) {
+                this.state = state;
+                this.oppositeState = oppositeState;
+                this.queue = state.getHeap();
+                this.expander = expander;
+                this.forward = forward;
+                this.counters = metrics == null ? null :
+                                forward ? metrics.forwardCounters :
+                                          metrics.backwardCounters;
+            }
+            
+            /**
+             * Settles the node with the minimum key and relaxes its arcs.
+             */
+            void settleMinimum() {
+                currentDistance = queue.getMinimumKey();
+                currentIndex = queue.extractMinimum();
+                state.setSettled(currentIndex);
+                N currentNode = indexer.getNode(currentIndex);
+                
+                if (counters != null) {
+                    counters.settledCount++;
+                    listener.onNodeSettled(currentNode, 
+                                           currentDistance, 
+                                           forward);
+                }
+                
+                expander.expand(currentNode, this);
+            }
+            
+            @Override
+            public void accept(N node, W weight) {
+                int index = indexer.getIndex(node);
+                
+                if (counters != null) {
+                    counters.relaxationCount++;
+                }
+                
+                if (state.isSettled(index)) {
+                    return;
+                }
+                
+                W tentativeDistance = 
+                        weightFunction.sum(currentDistance, weight);
+                
+                if (!state.isLabelled(index)) {
+                    state.setDistance(index, tentativeDistance);
+                    
+                    if (trackParents) {
+                        state.setParent(index, currentIndex);
+                    }
+                    
+                    queue.insert(index, tentativeDistance);
+                    
+                    if (counters != null) {
+                        counters.heapInsertionCount++;
+                    }
+                } else if (scoreComparator.compare(
+                        state.getDistance(index), 
+                        tentativeDistance) > 0) {
+                    
+                    state.setDistance(index, tentativeDistance);
+                    
+                    if (trackParents) {
+                        state.setParent(index, currentIndex);
+                    }
+                    
+                    queue.decreaseKey(index, tentativeDistance);
+                    
+                    if (counters != null) {
+                        counters.decreaseKeyCount++;
+                    }
+                }
+                
+                if (!oppositeState.isLabelled(index)) {
+                    return;
+                }
+                
+                W shortestPathUpperBound = 
+                        forward ?
+                        weightFunction.sum(tentativeDistance, 
+                                           oppositeState.getDistance(index)) :
+                        weightFunction.sum(oppositeState.getDistance(index),
+                                           tentativeDistance);
+                
+                if (scoreComparator.compare(mu, shortestPathUpperBound) > 0) {
+                    mu = shortestPathUpperBound;
+                    touchNodeF = forward ? currentIndex : index;
+                    touchNodeB = forward ? index : currentIndex;
+                    
+                    if (metrics != null) {
+                        metrics.updateMeetingPoint();
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class implements a cooperative cancellation flag. A search running
+ * under a {@link SearchBudget} holding this token checks the flag before
+ * settling each node and throws a {@link SearchBudgetExceededException} once
+ * the flag is raised from any thread.
+ */
+public final class CancellationToken {
+    
+    private volatile boolean cancelled;
+    
+    /**
+     * Requests the cancellation of the searches holding this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    /**
+     * Returns {@code true} if the cancellation was requested.
+     * 
+     * @return {@code true} if cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
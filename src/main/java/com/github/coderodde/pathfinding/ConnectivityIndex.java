@@ -0,0 +1,283 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * This class holds the strongly connected components of a directed graph and
+ * its weakly connected components, so that many queries whose target is not
+ * reachable from the source are rejected in constant time instead of
+ * exhausting the component of the source.
+ * <p>
+ * The strongly connected components are computed by an iterative version of
+ * Tarjan's algorithm, which numbers them in reverse topological order of the
+ * condensation: if a component {@code A} has an arc into a component
+ * {@code B}, then {@code B} is numbered below {@code A}. Hence a target whose
+ * component is numbered above the component of the source, or whose weakly
+ * connected component differs, is not reachable. The other queries may or
+ * may not have a path and must be searched.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class ConnectivityIndex<N> {
+    
+    private static final int UNVISITED = -1;
+    
+    private final NodeIndexer<N> indexer;
+    private final int[] components;
+    private final int[] weakComponents;
+    private final int numberOfComponents;
+    
+    private ConnectivityIndex(NodeIndexer<N> indexer,
+                              int[] components,
+                              int[] weakComponents,
+                              int numberOfComponents) {
+        this.indexer = indexer;
+        this.components = components;
+        this.weakComponents = weakComponents;
+        this.numberOfComponents = numberOfComponents;
+    }
+    
+    /**
+     * Computes the connectivity index of the input graph. The nodes of the
+     * index are the node IDs of the graph.
+     * 
+     * @param graph the graph.
+     * @return the connectivity index.
+     */
+    public static ConnectivityIndex<Integer> compute(StaticGraph graph) {
+        Objects.requireNonNull(graph, "graph is null.");
+        return compute(graph, new StaticGraphAdapter(graph).getNodeIndexer());
+    }
+    
+    /**
+     * Computes the connectivity index of the graph spanned by the input
+     * nodes. The children of every node must be among the input nodes.
+     * 
+     * @param <N>              the actual graph node type.
+     * @param nodes            all the nodes of the graph.
+     * @param childrenExpander the children expander.
+     * @param indexer          the node indexer.
+     * @return the connectivity index.
+     */
+    public static <N> ConnectivityIndex<N>
+        compute(Collection<N> nodes,
+                NodeExpander<N> childrenExpander,
+                NodeIndexer<N> indexer) {
+        Objects.requireNonNull(nodes, "nodes is null.");
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(indexer, "indexer is null.");
+        
+        int numberOfNodes = nodes.size();
+        
+        for (N node : nodes) {
+            checkIndex(indexer.getIndex(node), numberOfNodes);
+        }
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(numberOfNodes);
+        
+        for (N node : nodes) {
+            int tail = indexer.getIndex(node);
+            
+            for (N child : childrenExpander.expand(node)) {
+                builder.addArc(tail,
+                               checkIndex(indexer.getIndex(child),
+                                          numberOfNodes),
+                               0.0);
+            }
+        }
+        
+        return compute(builder.build(), indexer);
+    }
+    
+    /**
+     * Returns {@code false} if the target node is certainly not reachable
+     * from the source node. A node unknown to this index may reach and be
+     * reached by any node.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     * @return {@code false} if no path exists, {@code true} if a path may
+     *         exist.
+     */
+    public boolean mayReach(N source, N target) {
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        if (sourceIndex >= components.length ||
+            targetIndex >= components.length) {
+            return true;
+        }
+        
+        return weakComponents[sourceIndex] == weakComponents[targetIndex] &&
+               components[targetIndex] <= components[sourceIndex];
+    }
+    
+    /**
+     * Returns {@code true} if the input nodes lie in the same strongly
+     * connected component, that is, each of them is reachable from the
+     * other.
+     * 
+     * @param node1 the first node.
+     * @param node2 the second node.
+     * @return {@code true} if the nodes are strongly connected.
+     */
+    public boolean areStronglyConnected(N node1, N node2) {
+        return getComponent(node1) == getComponent(node2);
+    }
+    
+    /**
+     * Returns the strongly connected component of the input node. The
+     * components are numbered in reverse topological order of the
+     * condensation.
+     * 
+     * @param node the node.
+     * @return the component of the node.
+     */
+    public int getComponent(N node) {
+        int index = indexer.getIndex(node);
+        
+        if (index >= components.length) {
+            throw new IllegalArgumentException(
+                    "Node " + node + " is not in the index.");
+        }
+        
+        return components[index];
+    }
+    
+    /**
+     * Returns the number of the strongly connected components.
+     * 
+     * @return the number of components.
+     */
+    public int getNumberOfComponents() {
+        return numberOfComponents;
+    }
+    
+    private static <N> ConnectivityIndex<N> compute(StaticGraph graph,
+                                                    NodeIndexer<N> indexer) {
+        int numberOfNodes = graph.size();
+        int[] components = new int[numberOfNodes];
+        int[] preorder = new int[numberOfNodes];
+        int[] lowlinks = new int[numberOfNodes];
+        int[] nextArcs = new int[numberOfNodes];
+        int[] callStack = new int[numberOfNodes];
+        int[] componentStack = new int[numberOfNodes];
+        int numberOfComponents = 0;
+        int preorderCounter = 0;
+        
+        Arrays.fill(components, UNVISITED);
+        Arrays.fill(preorder, UNVISITED);
+        
+        for (int root = 0; root < numberOfNodes; root++) {
+            if (preorder[root] != UNVISITED) {
+                continue;
+            }
+            
+            int callStackSize = 0;
+            int componentStackSize = 0;
+            
+            preorder[root] = lowlinks[root] = preorderCounter++;
+            nextArcs[root] = graph.getOutgoingArcsBegin(root);
+            callStack[callStackSize++] = root;
+            componentStack[componentStackSize++] = root;
+            
+            while (callStackSize > 0) {
+                int node = callStack[callStackSize - 1];
+                
+                if (nextArcs[node] < graph.getOutgoingArcsEnd(node)) {
+                    int child = graph.getArcHead(nextArcs[node]++);
+                    
+                    if (preorder[child] == UNVISITED) {
+                        preorder[child] = lowlinks[child] = preorderCounter++;
+                        nextArcs[child] = graph.getOutgoingArcsBegin(child);
+                        callStack[callStackSize++] = child;
+                        componentStack[componentStackSize++] = child;
+                    } else if (components[child] == UNVISITED) {
+                        // The child is still on the component stack:
+                        lowlinks[node] = Math.min(lowlinks[node],
+                                                  preorder[child]);
+                    }
+                    
+                    continue;
+                }
+                
+                callStackSize--;
+                
+                if (lowlinks[node] == preorder[node]) {
+                    int member;
+                    
+                    do {
+                        member = componentStack[--componentStackSize];
+                        components[member] = numberOfComponents;
+                    } while (member != node);
+                    
+                    numberOfComponents++;
+                }
+                
+                if (callStackSize > 0) {
+                    int parent = callStack[callStackSize - 1];
+                    lowlinks[parent] = Math.min(lowlinks[parent],
+                                                lowlinks[node]);
+                }
+            }
+        }
+        
+        return new ConnectivityIndex<>(indexer,
+                                       components,
+                                       computeWeakComponents(graph),
+                                       numberOfComponents);
+    }
+    
+    /**
+     * Labels every node with the root of its weakly connected component,
+     * joining the end nodes of every arc in a disjoint-set forest.
+     */
+    private static int[] computeWeakComponents(StaticGraph graph) {
+        int[] roots = new int[graph.size()];
+        
+        for (int node = 0; node < roots.length; node++) {
+            roots[node] = node;
+        }
+        
+        for (int node = 0; node < roots.length; node++) {
+            for (int arc = graph.getOutgoingArcsBegin(node),
+                     end = graph.getOutgoingArcsEnd(node);
+                     arc < end;
+                     arc++) {
+                int root1 = find(roots, node);
+                int root2 = find(roots, graph.getArcHead(arc));
+                
+                if (root1 != root2) {
+                    roots[Math.max(root1, root2)] = Math.min(root1, root2);
+                }
+            }
+        }
+        
+        for (int node = 0; node < roots.length; node++) {
+            roots[node] = find(roots, node);
+        }
+        
+        return roots;
+    }
+    
+    private static int find(int[] roots, int node) {
+        while (roots[node] != node) {
+            roots[node] = roots[roots[node]];
+            node = roots[node];
+        }
+        
+        return node;
+    }
+    
+    private static int checkIndex(int index, int numberOfNodes) {
+        if (index >= numberOfNodes) {
+            throw new IllegalArgumentException(
+                    "A node reachable via the expander is not among the " +
+                    "input nodes.");
+        }
+        
+        return index;
+    }
+}
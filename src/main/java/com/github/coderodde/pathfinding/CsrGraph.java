@@ -0,0 +1,265 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an immutable directed graph stored in the compressed
+ * sparse row (CSR) format. The outgoing arcs of node {@code u} are stored in
+ * the index range {@code [outOffsets[u], outOffsets[u + 1])} of the
+ * {@code outHeads}/{@code outWeights} arrays, and the incoming arcs are stored
+ * likewise in a second, reverse CSR. Within each row, the arcs are sorted by
+ * the opposite end node, so that {@link #getWeight(int, int)} runs in
+ * logarithmic time.
+ * <p>
+ * Instances are created via {@link Builder}.
+ */
+public final class CsrGraph implements StaticGraph {
+    
+    private final int[] outOffsets;
+    private final int[] outHeads;
+    private final double[] outWeights;
+    private final int[] inOffsets;
+    private final int[] inTails;
+    private final double[] inWeights;
+    
+    CsrGraph(int[] outOffsets,
+             int[] outHeads,
+             double[] outWeights,
+             int[] inOffsets,
+             int[] inTails,
+             double[] inWeights) {
+        this.outOffsets = outOffsets;
+        this.outHeads = outHeads;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inTails = inTails;
+        this.inWeights = inWeights;
+    }
+    
+    @Override
+    public int size() {
+        return outOffsets.length - 1;
+    }
+    
+    @Override
+    public int getNumberOfArcs() {
+        return outHeads.length;
+    }
+    
+    @Override
+    public int getOutgoingArcsBegin(int node) {
+        return outOffsets[node];
+    }
+    
+    @Override
+    public int getOutgoingArcsEnd(int node) {
+        return outOffsets[node + 1];
+    }
+    
+    @Override
+    public int getArcHead(int arc) {
+        return outHeads[arc];
+    }
+    
+    @Override
+    public double getArcWeight(int arc) {
+        return outWeights[arc];
+    }
+    
+    @Override
+    public int getIncomingArcsBegin(int node) {
+        return inOffsets[node];
+    }
+    
+    @Override
+    public int getIncomingArcsEnd(int node) {
+        return inOffsets[node + 1];
+    }
+    
+    @Override
+    public int getIncomingArcTail(int arc) {
+        return inTails[arc];
+    }
+    
+    @Override
+    public double getIncomingArcWeight(int arc) {
+        return inWeights[arc];
+    }
+    
+    @Override
+    public double getWeight(int tail, int head) {
+        int arc = Arrays.binarySearch(outHeads,
+                                      outOffsets[tail],
+                                      outOffsets[tail + 1],
+                                      head);
+        
+        return arc < 0 ? Double.POSITIVE_INFINITY : outWeights[arc];
+    }
+    
+    /**
+     * This class builds {@link CsrGraph} instances. The arcs are buffered in
+     * primitive arrays, so no per-arc objects are created. Parallel arcs are
+     * collapsed into the lightest one.
+     */
+    public static final class Builder {
+        
+        private static final int INITIAL_CAPACITY = 16;
+        
+        private final int numberOfNodes;
+        private int[] tails = new int[INITIAL_CAPACITY];
+        private int[] heads = new int[INITIAL_CAPACITY];
+        private double[] weights = new double[INITIAL_CAPACITY];
+        private int numberOfArcs;
+        
+        /**
+         * Constructs a builder for a graph with the given number of nodes.
+         * 
+         * @param numberOfNodes the number of nodes.
+         */
+        public Builder(int numberOfNodes) {
+            if (numberOfNodes < 0) {
+                throw new IllegalArgumentException(
+                        "Negative number of nodes: " + numberOfNodes);
+            }
+            
+            this.numberOfNodes = numberOfNodes;
+        }
+        
+        /**
+         * Adds the arc {@code (tail, head)} with the given weight.
+         * 
+         * @param tail   the tail node.
+         * @param head   the head node.
+         * @param weight the non-negative weight of the arc.
+         * @return this builder.
+         */
+        public Builder addArc(int tail, int head, double weight) {
+            checkNode(tail);
+            checkNode(head);
+            
+            if (!(weight >= 0.0)) {
+                throw new IllegalArgumentException(
+                        "Invalid arc weight: " + weight);
+            }
+            
+            if (numberOfArcs == tails.length) {
+                int newCapacity = 2 * numberOfArcs;
+                tails = Arrays.copyOf(tails, newCapacity);
+                heads = Arrays.copyOf(heads, newCapacity);
+                weights = Arrays.copyOf(weights, newCapacity);
+            }
+            
+            tails[numberOfArcs] = tail;
+            heads[numberOfArcs] = head;
+            weights[numberOfArcs] = weight;
+            numberOfArcs++;
+            return this;
+        }
+        
+        /**
+         * Builds the graph.
+         * 
+         * @return the graph.
+         */
+        public CsrGraph build() {
+            // Two stable counting sorts, first by head and then by tail, order
+            // the arcs by (tail, head):
+            int[] byHead = countingSort(heads, null);
+            int[] byTailAndHead = countingSort(tails, byHead);
+            
+            int[] outOffsets = new int[numberOfNodes + 1];
+            int[] outHeads = new int[numberOfArcs];
+            double[] outWeights = new double[numberOfArcs];
+            int size = 0;
+            int previousTail = -1;
+            
+            for (int i = 0; i < numberOfArcs; i++) {
+                int arc = byTailAndHead[i];
+                int tail = tails[arc];
+                int head = heads[arc];
+                
+                if (tail == previousTail && outHeads[size - 1] == head) {
+                    // A parallel arc; keep the lighter one.
+                    outWeights[size - 1] = Math.min(outWeights[size - 1],
+                                                    weights[arc]);
+                    continue;
+                }
+                
+                outHeads[size] = head;
+                outWeights[size] = weights[arc];
+                outOffsets[tail + 1]++;
+                previousTail = tail;
+                size++;
+            }
+            
+            for (int node = 0; node < numberOfNodes; node++) {
+                outOffsets[node + 1] += outOffsets[node];
+            }
+            
+            outHeads = Arrays.copyOf(outHeads, size);
+            outWeights = Arrays.copyOf(outWeights, size);
+            
+            // Scanning the forward rows in order of the tail nodes yields the
+            // reverse rows already sorted by the tail nodes:
+            int[] inOffsets = new int[numberOfNodes + 1];
+            
+            for (int arc = 0; arc < size; arc++) {
+                inOffsets[outHeads[arc] + 1]++;
+            }
+            
+            for (int node = 0; node < numberOfNodes; node++) {
+                inOffsets[node + 1] += inOffsets[node];
+            }
+            
+            int[] inTails = new int[size];
+            double[] inWeights = new double[size];
+            int[] nextInArc = Arrays.copyOf(inOffsets, numberOfNodes);
+            
+            for (int tail = 0; tail < numberOfNodes; tail++) {
+                for (int arc = outOffsets[tail];
+                         arc < outOffsets[tail + 1];
+                         arc++) {
+                    int inArc = nextInArc[outHeads[arc]]++;
+                    inTails[inArc] = tail;
+                    inWeights[inArc] = outWeights[arc];
+                }
+            }
+            
+            return new CsrGraph(outOffsets,
+                                outHeads,
+                                outWeights,
+                                inOffsets,
+                                inTails,
+                                inWeights);
+        }
+        
+        private int[] countingSort(int[] keys, int[] order) {
+            int[] counts = new int[numberOfNodes + 1];
+            
+            for (int i = 0; i < numberOfArcs; i++) {
+                counts[keys[i] + 1]++;
+            }
+            
+            for (int i = 0; i < numberOfNodes; i++) {
+                counts[i + 1] += counts[i];
+            }
+            
+            int[] sorted = new int[numberOfArcs];
+            
+            for (int i = 0; i < numberOfArcs; i++) {
+                int arc = order == null ? i : order[i];
+                sorted[counts[keys[arc]]++] = arc;
+            }
+            
+            return sorted;
+        }
+        
+        private void checkNode(int node) {
+            if (node < 0 || node >= numberOfNodes) {
+                throw new IndexOutOfBoundsException(
+                        "Node " + node + " is out of range [0, " +
+                        numberOfNodes + ").");
+            }
+        }
+    }
+}
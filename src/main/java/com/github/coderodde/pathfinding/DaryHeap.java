@@ -0,0 +1,221 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed d-ary minimum heap. The heap is stored in
+ * an implicit array, and a position array maps each element to its slot in
+ * the heap so that {@link #decreaseKey(int, Object)} runs in
+ * {@code O(log_d n)} time.
+ * 
+ * @param <W> the key type.
+ */
+public final class DaryHeap<W> implements IndexedHeap<W> {
+    
+    /**
+     * The default degree of the heap.
+     */
+    public static final int DEFAULT_DEGREE = 4;
+    
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int ABSENT = -1;
+    
+    private final int degree;
+    private final Comparator<W> keyComparator;
+    private int[] elements = new int[INITIAL_CAPACITY];
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] positions = new int[0];
+    private int size;
+    
+    /**
+     * Constructs an empty heap.
+     * 
+     * @param degree        the degree of the heap; at least two.
+     * @param keyComparator the comparator for comparing the keys.
+     */
+    public DaryHeap(int degree, Comparator<W> keyComparator) {
+        if (degree < 2) {
+            throw new IllegalArgumentException(
+                    "The degree must be at least 2, was " + degree + ".");
+        }
+        
+        this.degree = degree;
+        this.keyComparator = keyComparator;
+    }
+    
+    /**
+     * Constructs an empty heap of degree {@link #DEFAULT_DEGREE}.
+     * 
+     * @param keyComparator the comparator for comparing the keys.
+     */
+    public DaryHeap(Comparator<W> keyComparator) {
+        this(DEFAULT_DEGREE, keyComparator);
+    }
+    
+    /**
+     * Returns a factory creating heaps of the given degree.
+     * 
+     * @param <W>    the key type.
+     * @param degree the degree of the heaps.
+     * @return the heap factory.
+     */
+    public static <W> IndexedHeapFactory<W> getFactory(int degree) {
+        return keyComparator -> new DaryHeap<>(degree, keyComparator);
+    }
+    
+    @Override
+    public void insert(int element, W key) {
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                    "Element " + element + " is already in the heap.");
+        }
+        
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(
+                    positions,
+                    Math.max(element + 1, 2 * oldLength));
+            
+            Arrays.fill(positions, oldLength, positions.length, ABSENT);
+        }
+        
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            keys = Arrays.copyOf(keys, 2 * size);
+        }
+        
+        siftUp(size++, element, key);
+    }
+    
+    @Override
+    public void decreaseKey(int element, W key) {
+        if (!contains(element)) {
+            throw new NoSuchElementException(
+                    "Element " + element + " is not in the heap.");
+        }
+        
+        int index = positions[element];
+        
+        if (keyComparator.compare(key, keyAt(index)) > 0) {
+            throw new IllegalArgumentException(
+                    "The new key is larger than the current key.");
+        }
+        
+        siftUp(index, element, key);
+    }
+    
+    @Override
+    public boolean contains(int element) {
+        return element < positions.length && positions[element] != ABSENT;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        int minimumElement = elements[0];
+        positions[minimumElement] = ABSENT;
+        size--;
+        
+        if (size > 0) {
+            siftDown(elements[size], keyAt(size));
+        }
+        
+        keys[size] = null;
+        return minimumElement;
+    }
+    
+    @Override
+    public W getMinimumKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        return keyAt(0);
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[elements[i]] = ABSENT;
+            keys[i] = null;
+        }
+        
+        size = 0;
+    }
+    
+    private void siftUp(int index, int element, W key) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / degree;
+            
+            if (keyComparator.compare(keyAt(parentIndex), key) <= 0) {
+                break;
+            }
+            
+            move(parentIndex, index);
+            index = parentIndex;
+        }
+        
+        place(index, element, key);
+    }
+    
+    private void siftDown(int element, W key) {
+        int index = 0;
+        
+        while (true) {
+            int firstChildIndex = degree * index + 1;
+            
+            if (firstChildIndex >= size) {
+                break;
+            }
+            
+            int lastChildIndex = Math.min(firstChildIndex + degree, size);
+            int minimumChildIndex = firstChildIndex;
+            W minimumChildKey = keyAt(firstChildIndex);
+            
+            for (int i = firstChildIndex + 1; i < lastChildIndex; i++) {
+                W childKey = keyAt(i);
+                
+                if (keyComparator.compare(childKey, minimumChildKey) < 0) {
+                    minimumChildIndex = i;
+                    minimumChildKey = childKey;
+                }
+            }
+            
+            if (keyComparator.compare(key, minimumChildKey) <= 0) {
+                break;
+            }
+            
+            move(minimumChildIndex, index);
+            index = minimumChildIndex;
+        }
+        
+        place(index, element, key);
+    }
+    
+    private void move(int sourceIndex, int targetIndex) {
+        elements[targetIndex] = elements[sourceIndex];
+        keys[targetIndex] = keys[sourceIndex];
+        positions[elements[targetIndex]] = targetIndex;
+    }
+    
+    private void place(int index, int element, W key) {
+        elements[index] = element;
+        keys[index] = key;
+        positions[element] = index;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private W keyAt(int index) {
+        return (W) keys[index];
+    }
+}
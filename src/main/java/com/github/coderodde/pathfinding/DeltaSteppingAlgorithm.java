@@ -0,0 +1,469 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class implements the delta-stepping single-source shortest path
+ * algorithm of Meyer and Sanders over a {@link StaticGraph}. The tentative
+ * distances are kept in buckets of width {@code delta}: the arcs no heavier
+ * than {@code delta} are light and the others are heavy. The algorithm
+ * empties the smallest non-empty bucket by relaxing the light arcs of its
+ * nodes in parallel, over and over as long as the relaxations refill the
+ * bucket, and then relaxes the heavy arcs of all the nodes removed from the
+ * bucket once, in parallel too.
+ * <p>
+ * A small {@code delta} approaches Dijkstra's algorithm with little parallel
+ * work per bucket, and a large one approaches the Bellman-Ford algorithm with
+ * many redundant relaxations; {@link #estimateDelta(StaticGraph)} returns the
+ * usual compromise. The tentative distances are updated by compare-and-set:
+ * the bit patterns of non-negative {@code double} values are ordered like the
+ * values themselves, so a distance decreases exactly when its bits do.
+ */
+public final class DeltaSteppingAlgorithm {
+    
+    /**
+     * The sets of nodes smaller than this are relaxed in the calling thread.
+     */
+    private static final int MINIMUM_PARALLEL_SIZE = 1_024;
+    
+    /**
+     * The number of tasks created per worker thread of the pool.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+    
+    /**
+     * The largest number of buckets kept at a time. A larger number means a
+     * delta far too small for the maximum arc weight.
+     */
+    private static final int MAXIMUM_NUMBER_OF_SLOTS = 1 << 20;
+    
+    private final double delta;
+    private final ForkJoinPool pool;
+    
+    /**
+     * Constructs this algorithm with the input bucket width, relaxing on the
+     * common fork/join pool.
+     * 
+     * @param delta the bucket width.
+     */
+    public DeltaSteppingAlgorithm(double delta) {
+        this(delta, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Constructs this algorithm with the input bucket width, relaxing on the
+     * input fork/join pool.
+     * 
+     * @param delta the bucket width.
+     * @param pool  the fork/join pool.
+     */
+    public DeltaSteppingAlgorithm(double delta, ForkJoinPool pool) {
+        if (!(delta > 0.0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("Invalid delta: " + delta);
+        }
+        
+        this.delta = delta;
+        this.pool = Objects.requireNonNull(pool, "pool is null.");
+    }
+    
+    /**
+     * Returns the bucket width suggested for the input graph: the maximum arc
+     * weight divided by the average out-degree, so that a node has about one
+     * light arc per bucket width of its distance.
+     * 
+     * @param graph the graph.
+     * @return the suggested bucket width.
+     */
+    public static double estimateDelta(StaticGraph graph) {
+        double maximumWeight = 0.0;
+        int numberOfArcs = 0;
+        
+        for (int node = 0; node < graph.size(); node++) {
+            for (int arc = graph.getOutgoingArcsBegin(node),
+                     end = graph.getOutgoingArcsEnd(node); arc < end; arc++) {
+                maximumWeight = Math.max(maximumWeight,
+                                         graph.getArcWeight(arc));
+                numberOfArcs++;
+            }
+        }
+        
+        if (maximumWeight == 0.0) {
+            return 1.0;
+        }
+        
+        double averageDegree = Math.max(1.0,
+                                        (double) numberOfArcs / graph.size());
+        return maximumWeight / averageDegree;
+    }
+    
+    /**
+     * Returns the bucket width of this algorithm.
+     * 
+     * @return the bucket width.
+     */
+    public double getDelta() {
+        return delta;
+    }
+    
+    /**
+     * Computes the distances from the source node to all the nodes of the
+     * graph. The distances of the nodes not reachable from the source node
+     * are {@link Double#POSITIVE_INFINITY}. The arc weights must be
+     * non-negative.
+     * 
+     * @param graph  the graph.
+     * @param source the source node.
+     * @return the distances indexed by the nodes.
+     */
+    public double[] computeDistances(StaticGraph graph, int source) {
+        Objects.requireNonNull(graph, "graph is null.");
+        
+        if (source < 0 || source >= graph.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Source " + source + " out of bounds for " +
+                    graph.size() + " nodes.");
+        }
+        
+        return new Run(graph).run(source);
+    }
+    
+    /**
+     * This class holds the state of a single run.
+     */
+    private final class Run {
+        
+        private final StaticGraph graph;
+        private final AtomicLongArray distanceBits;
+        
+        /**
+         * The cyclic array of buckets. A tentative distance exceeds the
+         * lower end of the current bucket by at most {@code delta} plus the
+         * maximum arc weight, so no two live buckets share a slot.
+         */
+        private final int[][] buckets;
+        private final int[] bucketSizes;
+        private int numberOfQueuedNodes;
+        
+        /**
+         * {@code stamps[v] == stampGeneration} if {@code v} was already taken
+         * into the current frontier or into the current bucket merge, and
+         * {@code removedStamps[v] == removedGeneration} if {@code v} was
+         * removed from the current bucket.
+         */
+        private final int[] stamps;
+        private final int[] removedStamps;
+        private int stampGeneration;
+        private int removedGeneration;
+        
+        Run(StaticGraph graph) {
+            this.graph = graph;
+            this.distanceBits = new AtomicLongArray(graph.size());
+            
+            double maximumWeight = 0.0;
+            
+            for (int node = 0; node < graph.size(); node++) {
+                distanceBits.set(
+                        node,
+                        Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+                
+                for (int arc = graph.getOutgoingArcsBegin(node),
+                         end = graph.getOutgoingArcsEnd(node);
+                         arc < end;
+                         arc++) {
+                    double weight = graph.getArcWeight(arc);
+                    
+                    if (!(weight >= 0.0)) {
+                        throw new IllegalArgumentException(
+                                "Invalid weight of the arc (" + node + ", " +
+                                graph.getArcHead(arc) + "): " + weight);
+                    }
+                    
+                    maximumWeight = Math.max(maximumWeight, weight);
+                }
+            }
+            
+            double numberOfSlots = Math.floor(maximumWeight / delta) + 2.0;
+            
+            if (numberOfSlots > MAXIMUM_NUMBER_OF_SLOTS) {
+                throw new IllegalArgumentException(
+                        "Delta " + delta + " is too small for the maximum " +
+                        "arc weight " + maximumWeight + ".");
+            }
+            
+            this.buckets = new int[(int) numberOfSlots][];
+            this.bucketSizes = new int[buckets.length];
+            this.stamps = new int[graph.size()];
+            this.removedStamps = new int[graph.size()];
+        }
+        
+        double[] run(int source) {
+            distanceBits.set(source, Double.doubleToRawLongBits(0.0));
+            enqueue(source);
+            
+            long bucket = 0;
+            
+            while (numberOfQueuedNodes > 0) {
+                while (bucketSizes[getSlot(bucket)] == 0) {
+                    bucket++;
+                }
+                
+                removedGeneration++;
+                List<int[]> removedNodeLists = new ArrayList<>();
+                
+                // Relax the light arcs until the bucket stays empty:
+                while (bucketSizes[getSlot(bucket)] > 0) {
+                    merge(relaxAll(takeFrontier(bucket, removedNodeLists),
+                                   true));
+                }
+                
+                for (int[] removedNodes : removedNodeLists) {
+                    merge(relaxAll(removedNodes, false));
+                }
+            }
+            
+            double[] distances = new double[graph.size()];
+            
+            for (int node = 0; node < distances.length; node++) {
+                distances[node] = getDistance(node);
+            }
+            
+            return distances;
+        }
+        
+        /**
+         * Empties the slot of the input bucket and returns the distinct nodes
+         * that are still in the bucket. The ones among them not removed from
+         * the bucket before are added to the removed node lists, since their
+         * heavy arcs are relaxed once the bucket stays empty.
+         */
+        private int[] takeFrontier(long bucket, List<int[]> removedNodeLists) {
+            int slot = getSlot(bucket);
+            int[] nodes = buckets[slot];
+            int size = bucketSizes[slot];
+            numberOfQueuedNodes -= size;
+            buckets[slot] = null;
+            bucketSizes[slot] = 0;
+            stampGeneration++;
+            
+            int frontierSize = 0;
+            
+            for (int i = 0; i < size; i++) {
+                int node = nodes[i];
+                
+                // Skip the stale entries of the nodes that have moved to a
+                // lower bucket, and the duplicates:
+                if (getBucket(getDistance(node)) != bucket ||
+                    stamps[node] == stampGeneration) {
+                    continue;
+                }
+                
+                stamps[node] = stampGeneration;
+                nodes[frontierSize++] = node;
+            }
+            
+            int[] frontier = Arrays.copyOf(nodes, frontierSize);
+            int removedSize = 0;
+            
+            for (int node : frontier) {
+                if (removedStamps[node] != removedGeneration) {
+                    removedStamps[node] = removedGeneration;
+                    nodes[removedSize++] = node;
+                }
+            }
+            
+            removedNodeLists.add(Arrays.copyOf(nodes, removedSize));
+            return frontier;
+        }
+        
+        /**
+         * Relaxes the light or the heavy arcs of the input nodes and returns
+         * the lists of the nodes whose distances have decreased.
+         */
+        private List<int[]> relaxAll(int[] nodes, boolean light) {
+            List<int[]> improvedNodeLists = new ArrayList<>();
+            
+            if (nodes.length < MINIMUM_PARALLEL_SIZE) {
+                improvedNodeLists.add(relax(nodes, 0, nodes.length, light));
+            } else {
+                int grain = Math.max(
+                        MINIMUM_PARALLEL_SIZE / TASKS_PER_THREAD,
+                        nodes.length /
+                                (TASKS_PER_THREAD * pool.getParallelism()));
+                
+                pool.invoke(new RelaxationTask(nodes,
+                                               0,
+                                               nodes.length,
+                                               grain,
+                                               light,
+                                               improvedNodeLists));
+            }
+            
+            return improvedNodeLists;
+        }
+        
+        /**
+         * Relaxes the light or the heavy arcs of the nodes
+         * {@code nodes[begin..end)} and returns the nodes whose distances
+         * have decreased.
+         */
+        int[] relax(int[] nodes, int begin, int end, boolean light) {
+            int[] improvedNodes = new int[16];
+            int size = 0;
+            
+            for (int i = begin; i < end; i++) {
+                int node = nodes[i];
+                double distance = getDistance(node);
+                
+                for (int arc = graph.getOutgoingArcsBegin(node),
+                         arcEnd = graph.getOutgoingArcsEnd(node);
+                         arc < arcEnd;
+                         arc++) {
+                    double weight = graph.getArcWeight(arc);
+                    
+                    if ((weight <= delta) != light) {
+                        continue;
+                    }
+                    
+                    int head = graph.getArcHead(arc);
+                    
+                    if (decreaseDistance(head, distance + weight)) {
+                        if (size == improvedNodes.length) {
+                            improvedNodes = Arrays.copyOf(improvedNodes,
+                                                          2 * size);
+                        }
+                        
+                        improvedNodes[size++] = head;
+                    }
+                }
+            }
+            
+            return Arrays.copyOf(improvedNodes, size);
+        }
+        
+        /**
+         * Lowers the distance of the input node to the input value unless it
+         * is already at most that. Returns {@code true} if the distance was
+         * lowered.
+         */
+        private boolean decreaseDistance(int node, double distance) {
+            long bits = Double.doubleToRawLongBits(distance);
+            
+            while (true) {
+                long currentBits = distanceBits.get(node);
+                
+                if (currentBits <= bits) {
+                    return false;
+                }
+                
+                if (distanceBits.compareAndSet(node, currentBits, bits)) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * Puts the nodes whose distances have decreased into their current
+         * buckets, each node once.
+         */
+        private void merge(List<int[]> improvedNodeLists) {
+            stampGeneration++;
+            
+            for (int[] improvedNodes : improvedNodeLists) {
+                for (int node : improvedNodes) {
+                    if (stamps[node] != stampGeneration) {
+                        stamps[node] = stampGeneration;
+                        enqueue(node);
+                    }
+                }
+            }
+        }
+        
+        private void enqueue(int node) {
+            int slot = getSlot(getBucket(getDistance(node)));
+            
+            if (buckets[slot] == null) {
+                buckets[slot] = new int[4];
+            } else if (bucketSizes[slot] == buckets[slot].length) {
+                buckets[slot] = Arrays.copyOf(buckets[slot],
+                                              2 * bucketSizes[slot]);
+            }
+            
+            buckets[slot][bucketSizes[slot]++] = node;
+            numberOfQueuedNodes++;
+        }
+        
+        private double getDistance(int node) {
+            return Double.longBitsToDouble(distanceBits.get(node));
+        }
+        
+        private long getBucket(double distance) {
+            return (long) Math.floor(distance / delta);
+        }
+        
+        private int getSlot(long bucket) {
+            return (int)(bucket % buckets.length);
+        }
+        
+        /**
+         * This class relaxes the arcs of a range of nodes, splitting the
+         * range in halves while it is larger than the grain.
+         */
+        private final class RelaxationTask extends RecursiveAction {
+            
+            private static final long serialVersionUID = 1L;
+            
+            private final int[] nodes;
+            private final int begin;
+            private final int end;
+            private final int grain;
+            private final boolean light;
+            private final transient List<int[]> improvedNodeLists;
+            
+            RelaxationTask(int[] nodes,
+                           int begin,
+                           int end,
+                           int grain,
+                           boolean light,
+                           List<int[]> improvedNodeLists) {
+                this.nodes = nodes;
+                this.begin = begin;
+                this.end = end;
+                this.grain = grain;
+                this.light = light;
+                this.improvedNodeLists = improvedNodeLists;
+            }
+            
+            @Override
+            protected void compute() {
+                if (end - begin > grain) {
+                    int middle = (begin + end) >>> 1;
+                    invokeAll(new RelaxationTask(nodes,
+                                                 begin,
+                                                 middle,
+                                                 grain,
+                                                 light,
+                                                 improvedNodeLists),
+                              new RelaxationTask(nodes,
+                                                 middle,
+                                                 end,
+                                                 grain,
+                                                 light,
+                                                 improvedNodeLists));
+                    return;
+                }
+                
+                int[] improvedNodes = relax(nodes, begin, end, light);
+                
+                synchronized (improvedNodeLists) {
+                    improvedNodeLists.add(improvedNodes);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements Dial's bucket queue: a monotone indexed minimum heap
+ * over non-negative integral keys. The queue keeps one bucket per key value
+ * in a cyclic array of {@code C + 1} buckets, where {@code C} is the maximum
+ * arc weight; all the keys present lie within {@code C} of the last extracted
+ * minimum, so no two present key values share a bucket. Insertions and key
+ * decreases run in constant time, and an extraction scans at most
+ * {@code C + 1} buckets.
+ * <p>
+ * The queue is monotone: a key inserted or decreased must be no smaller than
+ * the last extracted or queried minimum key, which holds in Dijkstra's
+ * algorithm over non-negative arc weights. The keys are compared by their
+ * {@link Number#longValue()}, so they must be integral.
+ * 
+ * @param <W> the key type.
+ */
+public final class DialHeap<W extends Number> implements IndexedHeap<W> {
+    
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int ABSENT = -1;
+    
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private long[] keys = new long[0];
+    private Object[] keyObjects = new Object[0];
+    private int[] positions = new int[0];
+    private long minimumKey;
+    private int size;
+    
+    /**
+     * Constructs an empty queue for the keys of the searches over arcs no
+     * heavier than the input weight.
+     * 
+     * @param maximumArcWeight the maximum arc weight.
+     */
+    public DialHeap(long maximumArcWeight) {
+        if (maximumArcWeight < 0 || maximumArcWeight >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Invalid maximum arc weight: " + maximumArcWeight);
+        }
+        
+        this.buckets = new int[(int) maximumArcWeight + 1][];
+        this.bucketSizes = new int[buckets.length];
+    }
+    
+    /**
+     * Returns a factory creating queues for the input maximum arc weight. The
+     * key comparators passed to the factory are ignored.
+     * 
+     * @param <W>              the key type.
+     * @param maximumArcWeight the maximum arc weight.
+     * @return the heap factory.
+     */
+    public static <W extends Number> IndexedHeapFactory<W>
+        getFactory(long maximumArcWeight) {
+        return keyComparator -> new DialHeap<>(maximumArcWeight);
+    }
+    
+    @Override
+    public void insert(int element, W key) {
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                    "Element " + element + " is already in the heap.");
+        }
+        
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(element + 1, 2 * oldLength);
+            positions = Arrays.copyOf(positions, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+            keyObjects = Arrays.copyOf(keyObjects, newLength);
+            Arrays.fill(positions, oldLength, newLength, ABSENT);
+        }
+        
+        add(element, checkKey(key), key);
+        size++;
+    }
+    
+    @Override
+    public void decreaseKey(int element, W key) {
+        if (!contains(element)) {
+            throw new NoSuchElementException(
+                    "Element " + element + " is not in the heap.");
+        }
+        
+        long longKey = checkKey(key);
+        
+        if (longKey > keys[element]) {
+            throw new IllegalArgumentException(
+                    "The new key is larger than the current key.");
+        }
+        
+        remove(element);
+        add(element, longKey, key);
+    }
+    
+    @Override
+    public boolean contains(int element) {
+        return element < positions.length && positions[element] != ABSENT;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        int slot = findMinimumSlot();
+        int element = buckets[slot][bucketSizes[slot] - 1];
+        remove(element);
+        keyObjects[element] = null;
+        size--;
+        return element;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public W getMinimumKey() {
+        int slot = findMinimumSlot();
+        return (W) keyObjects[buckets[slot][bucketSizes[slot] - 1]];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int slot = 0; slot < buckets.length; slot++) {
+            for (int i = 0; i < bucketSizes[slot]; i++) {
+                int element = buckets[slot][i];
+                positions[element] = ABSENT;
+                keyObjects[element] = null;
+            }
+            
+            bucketSizes[slot] = 0;
+        }
+        
+        minimumKey = 0;
+        size = 0;
+    }
+    
+    /**
+     * Advances the minimum key to the smallest key present and returns its
+     * bucket.
+     */
+    private int findMinimumSlot() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        int slot = getSlot(minimumKey);
+        
+        while (bucketSizes[slot] == 0) {
+            minimumKey++;
+            slot = slot + 1 == buckets.length ? 0 : slot + 1;
+        }
+        
+        return slot;
+    }
+    
+    private long checkKey(W key) {
+        long longKey = key.longValue();
+        
+        if (longKey < minimumKey ||
+            longKey - minimumKey >= buckets.length) {
+            throw new IllegalArgumentException(
+                    "Key " + key + " is outside of the range [" + minimumKey +
+                    ", " + (minimumKey + buckets.length - 1) + "].");
+        }
+        
+        return longKey;
+    }
+    
+    private void add(int element, long key, W keyObject) {
+        int slot = getSlot(key);
+        
+        if (buckets[slot] == null) {
+            buckets[slot] = new int[INITIAL_CAPACITY];
+        } else if (bucketSizes[slot] == buckets[slot].length) {
+            buckets[slot] = Arrays.copyOf(buckets[slot],
+                                          2 * bucketSizes[slot]);
+        }
+        
+        positions[element] = bucketSizes[slot];
+        buckets[slot][bucketSizes[slot]++] = element;
+        keys[element] = key;
+        keyObjects[element] = keyObject;
+    }
+    
+    /**
+     * Removes the input element from its bucket by moving the last element of
+     * the bucket to its position.
+     */
+    private void remove(int element) {
+        int slot = getSlot(keys[element]);
+        int position = positions[element];
+        int lastElement = buckets[slot][--bucketSizes[slot]];
+        buckets[slot][position] = lastElement;
+        positions[lastElement] = position;
+        positions[element] = ABSENT;
+    }
+    
+    private int getSlot(long key) {
+        return (int)(key % buckets.length);
+    }
+}
@@ -1,15 +1,13 @@
 package com.github.coderodde.pathfinding;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * This class implements the (unidirectional) Dijkstra's algorithm.
@@ -18,7 +16,48 @@ import java.util.Set;
  * @param <W> the weight value type.
  */
 public final class DijkstrasAlgorithm<N, W> {
-
+    
+    private final IndexedHeapFactory<W> heapFactory;
+    private final ConnectivityIndex<N> connectivityIndex;
+    
+    /**
+     * Constructs this algorithm using a {@link DaryHeap} of degree 
+     * {@link DaryHeap#DEFAULT_DEGREE}.
+     */
+    public DijkstrasAlgorithm() {
+        this(DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE));
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    public DijkstrasAlgorithm(IndexedHeapFactory<W> heapFactory) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.connectivityIndex = null;
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * A query whose target is not reachable according to the input 
+     * connectivity index is answered without searching.
+     * 
+     * @param heapFactory       the heap factory.
+     * @param connectivityIndex the connectivity index of the graph.
+     */
+    public DijkstrasAlgorithm(IndexedHeapFactory<W> heapFactory,
+                              ConnectivityIndex<N> connectivityIndex) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.connectivityIndex = 
+                Objects.requireNonNull(connectivityIndex, 
+                                       "connectivityIndex is null.");
+    }
+    
     /**
      * Finds the shortest {@code source/target} path or throws an 
      * {@link IllegalStateException} if the target node is not reachable from 
@@ -37,78 +76,985 @@ public final class DijkstrasAlgorithm<N, W> {
                                     NodeExpander<N> childrenExpander,
                                     WeightFunction<N, W> weightFunction,
                                     Comparator<W> scoreComparator) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                weightFunction, 
+                                scoreComparator, 
+                                new SearchWorkspace<>());
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. All the search state is kept in the input workspace, 
+     * which may be reused by subsequent queries.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target, 
+                                    NodeExpander<N> childrenExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace) {
+        return findShortestPath(
+                source, 
+                target, 
+                ArcExpander.ofChildren(childrenExpander, weightFunction), 
+                weightFunction, 
+                scoreComparator, 
+                workspace);
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. Each arc is read exactly once via the input arc 
+     * expander; only the zero and the sum operations of the weight function 
+     * are used.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target, 
+                                    ArcExpander<N, W> childrenExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                weightFunction, 
+                                scoreComparator, 
+                                new SearchWorkspace<>());
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an 
+     * {@link IllegalStateException} if the target node is not reachable from 
+     * the source node. Each arc is read exactly once via the input arc 
+     * expander; only the zero and the sum operations of the weight function 
+     * are used. All the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target, 
+                                    ArcExpander<N, W> childrenExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace) {
+        return findShortestPath(source,
+                                target,
+                                childrenExpander,
+                                weightFunction,
+                                scoreComparator,
+                                workspace,
+                                SearchBudget.unlimited());
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path within the input budget.
+     * Throws an {@link IllegalStateException} if the target node is not 
+     * reachable from the source node, and a 
+     * {@link SearchBudgetExceededException} if the budget runs out first.
+     * All the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target, 
+                                    NodeExpander<N> childrenExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace,
+                                    SearchBudget<W> budget) {
+        return findShortestPath(
+                source, 
+                target, 
+                ArcExpander.ofChildren(childrenExpander, weightFunction), 
+                weightFunction, 
+                scoreComparator, 
+                workspace,
+                budget);
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path within the input budget.
+     * Throws an {@link IllegalStateException} if the target node is not 
+     * reachable from the source node, and a 
+     * {@link SearchBudgetExceededException} if the budget runs out first. 
+     * Each arc is read exactly once via the input arc expander. All the 
+     * search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target, 
+                                    ArcExpander<N, W> childrenExpander,
+                                    WeightFunction<N, W> weightFunction,
+                                    Comparator<W> scoreComparator,
+                                    SearchWorkspace<N, W> workspace,
+                                    SearchBudget<W> budget) {
+        SearchResult<N, W> result = search(source,
+                                           target,
+                                           childrenExpander,
+                                           weightFunction,
+                                           scoreComparator,
+                                           workspace,
+                                           budget,
+                                           true);
         
-        Queue<HeapNodeWrapper<N, W>> open = new PriorityQueue<>();
-        Map<N, W> distanceMap             = new HashMap<>();
-        Map<N, N> parentMap               = new HashMap<>();
-        Set<N> closed                     = new HashSet<>();
+        if (result.isBudgetExceeded()) {
+            throw new SearchBudgetExceededException(
+                    result.getBudgetExceededReason(),
+                    result.getSettledCount());
+        }
         
-        open.add(new HeapNodeWrapper<>(
-                weightFunction.getZero(), 
+        if (!result.isReachable()) {
+            throw new IllegalStateException(
+                    "Target not reachable from the source.");
+        }
+        
+        return result.getPath();
+    }
+    
+    /**
+     * Searches for the shortest {@code source/target} path and returns the 
+     * outcome without throwing on an unreachable target. The path is traced
+     * back lazily by the result. All the search state is kept in the input 
+     * workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> search(N source,
+                                     N target,
+                                     ArcExpander<N, W> childrenExpander,
+                                     WeightFunction<N, W> weightFunction,
+                                     Comparator<W> scoreComparator,
+                                     SearchWorkspace<N, W> workspace) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      SearchBudget.unlimited(),
+                      true);
+    }
+    
+    /**
+     * Searches for the shortest {@code source/target} path within the input
+     * budget and returns the outcome without throwing on an unreachable 
+     * target. If the budget runs out first, the result reports it via 
+     * {@link SearchResult#isBudgetExceeded()}. All the search state is kept 
+     * in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> search(N source,
+                                     N target,
+                                     ArcExpander<N, W> childrenExpander,
+                                     WeightFunction<N, W> weightFunction,
+                                     Comparator<W> scoreComparator,
+                                     SearchWorkspace<N, W> workspace,
+                                     SearchBudget<W> budget) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      budget,
+                      true);
+    }
+    
+    /**
+     * Computes the {@code source/target} distance without recording the 
+     * parents of the nodes, so the result has no path. All the search state
+     * is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> searchDistance(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      SearchBudget.unlimited(),
+                      false);
+    }
+    
+    /**
+     * Computes the {@code source/target} distance within the input budget 
+     * without recording the parents of the nodes, so the result has no path.
+     * If the budget runs out first, the result reports it via 
+     * {@link SearchResult#isBudgetExceeded()}. All the search state is kept 
+     * in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * @param budget           the search budget.
+     * 
+     * @return the search result.
+     */
+    public SearchResult<N, W> searchDistance(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace,
+            SearchBudget<W> budget) {
+        return search(source,
+                      target,
+                      childrenExpander,
+                      weightFunction,
+                      scoreComparator,
+                      workspace,
+                      budget,
+                      false);
+    }
+    
+    /**
+     * Computes the shortest path tree of all the nodes reachable from the
+     * source node.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<N, W> 
+        computeShortestPathTree(N source,
+                                ArcExpander<N, W> childrenExpander,
+                                WeightFunction<N, W> weightFunction,
+                                Comparator<W> scoreComparator,
+                                SearchWorkspace<N, W> workspace) {
+        return computeShortestPathTree(source, 
+                                       childrenExpander, 
+                                       weightFunction, 
+                                       scoreComparator, 
+                                       weightFunction.getInfinity(), 
+                                       null, 
+                                       workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree of the nodes within the input distance
+     * from the source node, which is what an isochrone consists of.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param radius           the largest distance of a settled node.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<N, W> 
+        computeShortestPathTree(N source,
+                                ArcExpander<N, W> childrenExpander,
+                                WeightFunction<N, W> weightFunction,
+                                Comparator<W> scoreComparator,
+                                W radius,
+                                SearchWorkspace<N, W> workspace) {
+        return computeShortestPathTree(source, 
+                                       childrenExpander, 
+                                       weightFunction, 
+                                       scoreComparator, 
+                                       radius, 
+                                       null, 
+                                       workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree until all the input target nodes are
+     * settled. If some of them are not reachable, all the nodes reachable 
+     * from the source node are settled.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param targets          the target nodes.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<N, W> 
+        computeShortestPathTree(N source,
+                                ArcExpander<N, W> childrenExpander,
+                                WeightFunction<N, W> weightFunction,
+                                Comparator<W> scoreComparator,
+                                Collection<N> targets,
+                                SearchWorkspace<N, W> workspace) {
+        return computeShortestPathTree(
                 source, 
-                scoreComparator));
+                childrenExpander, 
+                weightFunction, 
+                scoreComparator, 
+                weightFunction.getInfinity(), 
+                Objects.requireNonNull(targets, "targets is null."), 
+                workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree until all the input target nodes are
+     * settled or the next node lies farther than the radius, whichever 
+     * happens first. Only the zero and the sum operations of the weight 
+     * function are used on the arc weights; the distances are compared by 
+     * the score comparator.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param radius           the largest distance of a settled node.
+     * @param targets          the target nodes.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<N, W> 
+        computeShortestPathTree(N source,
+                                ArcExpander<N, W> childrenExpander,
+                                WeightFunction<N, W> weightFunction,
+                                Comparator<W> scoreComparator,
+                                W radius,
+                                Collection<N> targets,
+                                SearchWorkspace<N, W> workspace) {
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(weightFunction, "weightFunction is null.");
+        Objects.requireNonNull(scoreComparator, "scoreComparator is null.");
+        Objects.requireNonNull(radius, "radius is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
         
-        distanceMap.put(source, weightFunction.getZero());
-        parentMap.put(source, null);
+        W zero = weightFunction.getZero();
         
-        while (!open.isEmpty()) {
-            N currentNode = open.remove().getNode();
+        if (scoreComparator.compare(radius, zero) < 0) {
+            throw new IllegalArgumentException("Invalid radius: " + radius);
+        }
+        
+        NodeIndexer<N> indexer = workspace.getIndexer();
+        SearchState<W> state   = workspace.getForwardState();
+        
+        state.reset(heapFactory, scoreComparator);
+        
+        int remainingTargets = -1;
+        SearchState<W> targetState = workspace.getBackwardState();
+        
+        if (targets != null) {
+            remainingTargets = markTargets(targets, 
+                                           indexer, 
+                                           targetState, 
+                                           scoreComparator);
+        }
+        
+        IndexedHeap<W> open = state.getHeap();
+        int sourceIndex     = indexer.getIndex(source);
+        
+        Relaxer<N, W> relaxer = new Relaxer<>(indexer,
+                                              state,
+                                              weightFunction,
+                                              scoreComparator,
+                                              true,
+                                              null);
+        
+        int[] nodes = new int[16];
+        Object[] distances = new Object[16];
+        int[] parents = new int[16];
+        int size = 0;
+        
+        open.insert(sourceIndex, zero);
+        state.setDistance(sourceIndex, zero);
+        state.setParent(sourceIndex, SearchState.NO_PARENT);
+        
+        while (!open.isEmpty() && remainingTargets != 0) {
+            W currentDistance = open.getMinimumKey();
+            
+            if (scoreComparator.compare(currentDistance, radius) > 0) {
+                break;
+            }
             
-            if (currentNode.equals(target)) {
-                return tracebackSolution(target, parentMap);
+            int currentIndex = open.extractMinimum();
+            state.setSettled(currentIndex);
+            
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+                parents = Arrays.copyOf(parents, 2 * size);
             }
             
-            closed.add(currentNode);
+            nodes[size] = currentIndex;
+            distances[size] = currentDistance;
+            parents[size] = state.getParent(currentIndex);
+            size++;
+            
+            if (targets != null && 
+                targetState.isLabelled(currentIndex) &&
+                --remainingTargets == 0) {
+                break;
+            }
+            
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            childrenExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        return new ShortestPathTree<>(indexer, 
+                                      weightFunction.getInfinity(),
+                                      nodes, 
+                                      distances, 
+                                      parents, 
+                                      size);
+    }
+    
+    /**
+     * Finds the {@code k} targets nearest to the source node in a single 
+     * search, which stops as soon as the {@code k}th target is settled. The 
+     * targets are returned in the order of their distances; if fewer than 
+     * {@code k} targets are reachable, all the reachable ones are returned.
+     * 
+     * @param source           the source node.
+     * @param targets          the candidate target nodes.
+     * @param k                the number of targets to find.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param weightFunction   the graph weight function.
+     * @param scoreComparator  the score comparator.
+     * @param workspace        the search workspace.
+     * 
+     * @return the nearest targets.
+     */
+    public List<NearestTarget<N, W>> 
+        findNearestTargets(N source,
+                           Collection<N> targets,
+                           int k,
+                           ArcExpander<N, W> childrenExpander,
+                           WeightFunction<N, W> weightFunction,
+                           Comparator<W> scoreComparator,
+                           SearchWorkspace<N, W> workspace) {
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(weightFunction, "weightFunction is null.");
+        Objects.requireNonNull(scoreComparator, "scoreComparator is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
+        
+        if (k < 1) {
+            throw new IllegalArgumentException(
+                    "The number of targets is not positive: " + k);
+        }
+        
+        NodeIndexer<N> indexer     = workspace.getIndexer();
+        SearchState<W> state       = workspace.getForwardState();
+        SearchState<W> targetState = workspace.getBackwardState();
+        
+        state.reset(heapFactory, scoreComparator);
+        
+        int remainingTargets = Math.min(
+                k, 
+                markTargets(targets, indexer, targetState, scoreComparator));
+        
+        List<NearestTarget<N, W>> nearestTargets = new ArrayList<>();
+        IndexedHeap<W> open = state.getHeap();
+        int sourceIndex     = indexer.getIndex(source);
+        
+        Relaxer<N, W> relaxer = new Relaxer<>(indexer,
+                                              state,
+                                              weightFunction,
+                                              scoreComparator,
+                                              true,
+                                              null);
+        
+        open.insert(sourceIndex, weightFunction.getZero());
+        state.setDistance(sourceIndex, weightFunction.getZero());
+        state.setParent(sourceIndex, SearchState.NO_PARENT);
+        
+        while (!open.isEmpty() && remainingTargets != 0) {
+            int currentIndex = open.extractMinimum();
+            W currentDistance = state.getDistance(currentIndex);
+            state.setSettled(currentIndex);
             
-            for (N childNode : childrenExpander.expand(currentNode)) {
-                if (closed.contains(childNode)) {
-                    continue;
+            if (targetState.isLabelled(currentIndex)) {
+                nearestTargets.add(
+                        new NearestTarget<>(
+                                indexer.getNode(currentIndex),
+                                currentDistance,
+                                tracebackSolution(currentIndex, 
+                                                  state, 
+                                                  indexer)));
+                
+                if (--remainingTargets == 0) {
+                    break;
                 }
+            }
+            
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            childrenExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        return nearestTargets;
+    }
+    
+    /**
+     * Finds the target nearest to the source node by a single multi-source 
+     * search that starts from all the targets at once and runs backwards 
+     * over the incoming arcs until it settles the source node. The search 
+     * settles only the nodes closer to their nearest target than the source 
+     * node, which pays off when the targets are many and spread out. Throws 
+     * an {@link IllegalStateException} if no target is reachable from the 
+     * source node.
+     * <p>
+     * Every node is settled only once, from the target nearest to it, so 
+     * this search cannot find more than one target; the {@code k} nearest 
+     * targets are found by {@link #findNearestTargets}.
+     * 
+     * @param source          the source node.
+     * @param targets         the candidate target nodes.
+     * @param parentsExpander the expander generating the incoming arcs.
+     * @param weightFunction  the graph weight function.
+     * @param scoreComparator the score comparator.
+     * @param workspace       the search workspace.
+     * 
+     * @return the nearest target.
+     */
+    public NearestTarget<N, W> 
+        findNearestTarget(N source,
+                          Collection<N> targets,
+                          ArcExpander<N, W> parentsExpander,
+                          WeightFunction<N, W> weightFunction,
+                          Comparator<W> scoreComparator,
+                          SearchWorkspace<N, W> workspace) {
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(parentsExpander, "parentsExpander is null.");
+        Objects.requireNonNull(weightFunction, "weightFunction is null.");
+        Objects.requireNonNull(scoreComparator, "scoreComparator is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
+        
+        NodeIndexer<N> indexer = workspace.getIndexer();
+        SearchState<W> state   = workspace.getBackwardState();
+        
+        state.reset(heapFactory, scoreComparator);
+        
+        IndexedHeap<W> open = state.getHeap();
+        int sourceIndex     = indexer.getIndex(source);
+        W zero              = weightFunction.getZero();
+        
+        Relaxer<N, W> relaxer = new Relaxer<>(indexer,
+                                              state,
+                                              weightFunction,
+                                              scoreComparator,
+                                              true,
+                                              null);
+        
+        for (N target : targets) {
+            int targetIndex = indexer.getIndex(target);
+            
+            if (!state.isLabelled(targetIndex)) {
+                open.insert(targetIndex, zero);
+                state.setDistance(targetIndex, zero);
+                state.setParent(targetIndex, SearchState.NO_PARENT);
+            }
+        }
+        
+        while (!open.isEmpty()) {
+            int currentIndex = open.extractMinimum();
+            W currentDistance = state.getDistance(currentIndex);
+            
+            if (currentIndex == sourceIndex) {
+                // The parents lead from the source towards the targets, so 
+                // the path needs no reversal:
+                List<N> path = new ArrayList<>();
+                int index = sourceIndex;
                 
-                if (!distanceMap.containsKey(childNode)) {
-                    W tentativeDistance = 
-                            weightFunction.sum(
-                                    distanceMap.get(currentNode),
-                                    weightFunction.getWeight(currentNode, 
-                                                             childNode));
-                    
-                    distanceMap.put(childNode, tentativeDistance);
-                    parentMap.put(childNode, currentNode);
-                    open.add(new HeapNodeWrapper<>(tentativeDistance, 
-                                                   childNode,
-                                                   scoreComparator));
-                } else {
-                    W tentativeDistance = 
-                            weightFunction.sum(
-                                    distanceMap.get(currentNode),
-                                    weightFunction.getWeight(currentNode, 
-                                                             childNode));
-
-                    if (scoreComparator.compare(distanceMap.get(childNode), tentativeDistance) > 0) {
-                        distanceMap.put(childNode, tentativeDistance);
-                        parentMap.put(childNode, currentNode);
-                        open.add(new HeapNodeWrapper<>(tentativeDistance,
-                                                      childNode,
-                                                      scoreComparator));
-                    }
+                while (state.getParent(index) != SearchState.NO_PARENT) {
+                    path.add(indexer.getNode(index));
+                    index = state.getParent(index);
                 }
+                
+                path.add(indexer.getNode(index));
+                
+                return new NearestTarget<>(indexer.getNode(index), 
+                                           currentDistance, 
+                                           path);
             }
+            
+            state.setSettled(currentIndex);
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            parentsExpander.expand(indexer.getNode(currentIndex), relaxer);
         }
         
         throw new IllegalStateException(
-                "Target not reachable from the source.");
+                "No target is reachable from the source node.");
+    }
+    
+    private SearchResult<N, W> search(N source,
+                                      N target,
+                                      ArcExpander<N, W> childrenExpander,
+                                      WeightFunction<N, W> weightFunction,
+                                      Comparator<W> scoreComparator,
+                                      SearchWorkspace<N, W> workspace,
+                                      SearchBudget<W> budget,
+                                      boolean trackParents) {
+        
+        SearchListener<? super N, ? super W> listener = 
+                workspace.getSearchListener();
+        
+        if (listener == null) {
+            return search(source,
+                          target,
+                          childrenExpander,
+                          weightFunction,
+                          scoreComparator,
+                          workspace,
+                          budget,
+                          trackParents,
+                          null,
+                          null);
+        }
+        
+        SearchMetrics metrics = workspace.startMetrics(false);
+        SearchResult<N, W> result = null;
+        listener.onSearchStarted(source, target);
+        long startTime = System.nanoTime();
+        
+        try {
+            result = search(source,
+                            target,
+                            childrenExpander,
+                            weightFunction,
+                            scoreComparator,
+                            workspace,
+                            budget,
+                            trackParents,
+                            listener,
+                            metrics.forwardCounters);
+            return result;
+        } finally {
+            metrics.finish(result, System.nanoTime() - startTime);
+            listener.onSearchFinished(source, target, metrics);
+        }
+    }
+    
+    /**
+     * Runs the search. The listener and the counters are {@code null} unless
+     * the workspace collects metrics.
+     */
+    private SearchResult<N, W> search(
+            N source,
+            N target,
+            ArcExpander<N, W> childrenExpander,
+            WeightFunction<N, W> weightFunction,
+            Comparator<W> scoreComparator,
+            SearchWorkspace<N, W> workspace,
+            SearchBudget<W> budget,
+            boolean trackParents,
+            SearchListener<? super N, ? super W> listener,
+            SearchMetrics.DirectionCounters counters) {
+        
+        SearchBudget.Monitor<W> monitor = 
+                Objects.requireNonNull(budget, "budget is null.")
+                       .startMonitor(scoreComparator);
+        
+        if (connectivityIndex != null && 
+            !connectivityIndex.mayReach(source, target)) {
+            return new SearchResult<>(false, 
+                                      weightFunction.getInfinity(),
+                                      0,
+                                      0,
+                                      null);
+        }
+        
+        NodeIndexer<N> indexer = workspace.getIndexer();
+        SearchState<W> state   = workspace.getForwardState();
+        
+        state.reset(heapFactory, scoreComparator);
+        
+        IndexedHeap<W> open = state.getHeap();
+        int sourceIndex     = indexer.getIndex(source);
+        int targetIndex     = indexer.getIndex(target);
+        
+        Relaxer<N, W> relaxer = new Relaxer<>(indexer,
+                                              state,
+                                              weightFunction,
+                                              scoreComparator,
+                                              trackParents,
+                                              counters);
+        
+        open.insert(sourceIndex, weightFunction.getZero());
+        state.setDistance(sourceIndex, weightFunction.getZero());
+        state.setParent(sourceIndex, SearchState.NO_PARENT);
+        
+        if (counters != null) {
+            counters.heapInsertionCount++;
+        }
+        
+        while (!open.isEmpty()) {
+            int currentIndex = open.extractMinimum();
+            
+            // The target is tested before the budget, so that a path found
+            // by the last allowed step is still returned:
+            if (currentIndex == targetIndex) {
+                W distance = state.getDistance(targetIndex);
+                
+                if (!monitor.checkPathLength(distance)) {
+                    return new SearchResult<>(monitor.getReason(),
+                                              weightFunction.getInfinity(),
+                                              state.getSettledCount(),
+                                              0);
+                }
+                
+                return new SearchResult<>(
+                        true,
+                        distance,
+                        state.getSettledCount(),
+                        0,
+                        trackParents ?
+                                getPathBuilder(targetIndex, state, indexer) :
+                                null);
+            }
+            
+            if (!monitor.check(state.getDistance(currentIndex))) {
+                return new SearchResult<>(monitor.getReason(),
+                                          weightFunction.getInfinity(),
+                                          state.getSettledCount(),
+                                          0);
+            }
+            
+            N currentNode = indexer.getNode(currentIndex);
+            state.setSettled(currentIndex);
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = state.getDistance(currentIndex);
+            
+            if (counters != null) {
+                counters.settledCount++;
+                listener.onNodeSettled(currentNode, 
+                                       relaxer.currentDistance, 
+                                       true);
+            }
+            
+            childrenExpander.expand(currentNode, relaxer);
+        }
+        
+        return new SearchResult<>(false,
+                                  weightFunction.getInfinity(),
+                                  state.getSettledCount(),
+                                  0,
+                                  null);
+    }
+    
+    /**
+     * Marks the input targets in the input state, which must be idle during
+     * the search, by labelling them. Returns the number of distinct targets.
+     */
+    private int markTargets(Collection<N> targets,
+                            NodeIndexer<N> indexer,
+                            SearchState<W> targetState,
+                            Comparator<W> scoreComparator) {
+        targetState.reset(heapFactory, scoreComparator);
+        int numberOfTargets = 0;
+        
+        for (N target : targets) {
+            int targetIndex = indexer.getIndex(target);
+            
+            if (!targetState.isLabelled(targetIndex)) {
+                targetState.setDistance(targetIndex, null);
+                numberOfTargets++;
+            }
+        }
+        
+        return numberOfTargets;
     }
     
-    private static <N> List<N> tracebackSolution(N target, Map<N, N> parentMap) {
+    /**
+     * Returns the supplier tracing back the path to the input target, which
+     * fails once the state is reset by another search.
+     */
+    private static <N, W> Supplier<List<N>> getPathBuilder(
+            int targetIndex,
+            SearchState<W> state,
+            NodeIndexer<N> indexer) {
+        
+        int generation = state.getGeneration();
+        
+        return () -> {
+            if (state.getGeneration() != generation) {
+                throw new IllegalStateException(
+                        "The workspace has served another query.");
+            }
+            
+            return tracebackSolution(targetIndex, state, indexer);
+        };
+    }
+    
+    private static <N, W> List<N> tracebackSolution(
+            int targetIndex, 
+            SearchState<W> state,
+            NodeIndexer<N> indexer) {
+        
         List<N> path = new ArrayList<>();
-        N node = target;
+        int index = targetIndex;
         
-        while (node != null) {
-            path.add(node);
-            node = parentMap.get(node);
+        while (index != SearchState.NO_PARENT) {
+            path.add(indexer.getNode(index));
+            index = state.getParent(index);
         }
         
         Collections.reverse(path);
         return path;
     }
+    
+    /**
+     * This class relaxes the arcs leaving the node being settled.
+     * 
+     * @param <N> the actual graph node type.
+     * @param <W> the weight value type.
+     */
+    private static final class Relaxer<N, W> implements ArcConsumer<N, W> {
+        
+        private final NodeIndexer<N> indexer;
+        private final SearchState<W> state;
+        private final IndexedHeap<W> open;
+        private final WeightFunction<N, W> weightFunction;
+        private final Comparator<W> scoreComparator;
+        private final boolean trackParents;
+        private final SearchMetrics.DirectionCounters counters;
+        int currentIndex;
+        W currentDistance;
+        
+        Relaxer(NodeIndexer<N> indexer,
+                SearchState<W> state,
+                WeightFunction<N, W> weightFunction,
+                Comparator<W> scoreComparator,
+                boolean trackParents,
+                SearchMetrics.DirectionCounters counters) {
+            this.indexer = indexer;
+            this.state = state;
+            this.open = state.getHeap();
+            this.weightFunction = weightFunction;
+            this.scoreComparator = scoreComparator;
+            this.trackParents = trackParents;
+            this.counters = counters;
+        }
+        
+        @Override
+        public void accept(N node, W weight) {
+            int index = indexer.getIndex(node);
+            
+            if (counters != null) {
+                counters.relaxationCount++;
+            }
+            
+            if (state.isSettled(index)) {
+                return;
+            }
+            
+            W tentativeDistance = weightFunction.sum(currentDistance, weight);
+            
+            if (!state.isLabelled(index)) {
+                state.setDistance(index, tentativeDistance);
+                
+                if (trackParents) {
+                    state.setParent(index, currentIndex);
+                }
+                
+                open.insert(index, tentativeDistance);
+                
+                if (counters != null) {
+                    counters.heapInsertionCount++;
+                }
+            } else if (scoreComparator.compare(
+                    state.getDistance(index), 
+                    tentativeDistance) > 0) {
+                
+                state.setDistance(index, tentativeDistance);
+                
+                if (trackParents) {
+                    state.setParent(index, currentIndex);
+                }
+                
+                open.decreaseKey(index, tentativeDistance);
+                
+                if (counters != null) {
+                    counters.decreaseKeyCount++;
+                }
+            }
+        }
+    }
 }
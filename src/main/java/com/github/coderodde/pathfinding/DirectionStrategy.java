@@ -0,0 +1,67 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This enumeration lists the strategies a bidirectional search may use for 
+ * choosing the direction in which to settle the next node.
+ */
+public enum DirectionStrategy {
+    
+    /**
+     * Alternates between the forward and the backward direction.
+     */
+    ALTERNATE {
+        @Override
+        boolean expandForward(int queueSizeF, 
+                              int queueSizeB, 
+                              int topKeyComparison,
+                              boolean forwardExpandedLast) {
+            return !forwardExpandedLast;
+        }
+    },
+    
+    /**
+     * Expands the direction whose queue holds fewer nodes. This keeps the 
+     * frontiers balanced on graphs whose in- and out-degrees differ.
+     */
+    SMALLER_QUEUE {
+        @Override
+        boolean expandForward(int queueSizeF, 
+                              int queueSizeB, 
+                              int topKeyComparison,
+                              boolean forwardExpandedLast) {
+            return queueSizeF <= queueSizeB;
+        }
+    },
+    
+    /**
+     * Expands the direction whose queue has the smaller minimum key, so that 
+     * the two searches advance at the same radius.
+     */
+    SMALLER_KEY {
+        @Override
+        boolean expandForward(int queueSizeF, 
+                              int queueSizeB, 
+                              int topKeyComparison,
+                              boolean forwardExpandedLast) {
+            return topKeyComparison <= 0;
+        }
+    };
+    
+    /**
+     * Decides whether the next node should be settled by the forward search.
+     * 
+     * @param queueSizeF          the size of the forward queue.
+     * @param queueSizeB          the size of the backward queue.
+     * @param topKeyComparison    the result of comparing the minimum key of 
+     *                            the forward queue to the minimum key of the 
+     *                            backward queue.
+     * @param forwardExpandedLast whether the previous node was settled by the
+     *                            forward search.
+     * @return {@code true} for the forward direction, {@code false} for the 
+     *         backward direction.
+     */
+    abstract boolean expandForward(int queueSizeF,
+                                   int queueSizeB,
+                                   int topKeyComparison,
+                                   boolean forwardExpandedLast);
+}
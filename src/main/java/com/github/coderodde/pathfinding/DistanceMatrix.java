@@ -0,0 +1,112 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class holds a dense matrix of primitive {@code double} distances. Row
+ * {@code i} and column {@code j} hold the distance from the {@code i}th source
+ * to the {@code j}th target; {@link Double#POSITIVE_INFINITY} marks a target
+ * that is not reachable from the source. The entries are kept in a single
+ * row-major array.
+ */
+public final class DistanceMatrix {
+    
+    private final int numberOfRows;
+    private final int numberOfColumns;
+    private final double[] distances;
+    
+    /**
+     * Constructs a matrix of the input dimensions whose every entry is
+     * {@link Double#POSITIVE_INFINITY}.
+     * 
+     * @param numberOfRows    the number of rows.
+     * @param numberOfColumns the number of columns.
+     */
+    public DistanceMatrix(int numberOfRows, int numberOfColumns) {
+        if (numberOfRows < 0 || numberOfColumns < 0) {
+            throw new IllegalArgumentException(
+                    "Negative matrix dimensions: " + numberOfRows + " x " +
+                    numberOfColumns);
+        }
+        
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.distances =
+                new double[Math.multiplyExact(numberOfRows, numberOfColumns)];
+        
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Returns the number of rows, that is, the number of sources.
+     * 
+     * @return the number of rows.
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+    
+    /**
+     * Returns the number of columns, that is, the number of targets.
+     * 
+     * @return the number of columns.
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+    
+    /**
+     * Returns the distance at the input row and column.
+     * 
+     * @param row    the row.
+     * @param column the column.
+     * @return the distance.
+     */
+    public double getDistance(int row, int column) {
+        return distances[getOffset(row, column)];
+    }
+    
+    /**
+     * Sets the distance at the input row and column. Distinct entries may be
+     * set from distinct threads.
+     * 
+     * @param row      the row.
+     * @param column   the column.
+     * @param distance the distance.
+     */
+    public void setDistance(int row, int column, double distance) {
+        distances[getOffset(row, column)] = distance;
+    }
+    
+    /**
+     * Returns a copy of the input row.
+     * 
+     * @param row the row.
+     * @return the distances from the source of the row to all the targets.
+     */
+    public double[] getRow(int row) {
+        checkRow(row);
+        int offset = row * numberOfColumns;
+        return Arrays.copyOfRange(distances, offset, offset + numberOfColumns);
+    }
+    
+    private int getOffset(int row, int column) {
+        checkRow(row);
+        
+        if (column < 0 || column >= numberOfColumns) {
+            throw new IndexOutOfBoundsException(
+                    "Column " + column + " out of bounds for " +
+                    numberOfColumns + " columns.");
+        }
+        
+        return row * numberOfColumns + column;
+    }
+    
+    private void checkRow(int row) {
+        if (row < 0 || row >= numberOfRows) {
+            throw new IndexOutOfBoundsException(
+                    "Row " + row + " out of bounds for " + numberOfRows +
+                    " rows.");
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class computes many-to-many distance matrices over primitive
+ * {@code double} arc weights. Instead of running one point-to-point search per
+ * entry, it runs one Dijkstra search per row that settles nodes until all the
+ * targets are settled, so each search tree is shared by a whole row. If there
+ * are fewer targets than sources, the searches run backwards from the targets
+ * over the incoming arcs and fill the matrix by columns instead.
+ * <p>
+ * The searches are independent and are split across a {@link ForkJoinPool}.
+ * Every task reuses a single array-backed search state for all its searches,
+ * so the expanders and the indexer must be safe for concurrent use; the
+ * expanders and the indexer of a {@link StaticGraphAdapter} are.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class DistanceMatrixAlgorithm<N> {
+    
+    /**
+     * The number of tasks created per worker thread of the pool. More tasks
+     * balance the load better, but each task allocates its own search state.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+    
+    private final DoubleIndexedHeapFactory heapFactory;
+    
+    /**
+     * Constructs this algorithm using a {@link DoubleDaryHeap} of degree
+     * {@link DoubleDaryHeap#DEFAULT_DEGREE}.
+     */
+    public DistanceMatrixAlgorithm() {
+        this(DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE));
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    public DistanceMatrixAlgorithm(DoubleIndexedHeapFactory heapFactory) {
+        this.heapFactory =
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+    }
+    
+    /**
+     * Computes the distances from every source to every target on the common
+     * fork/join pool.
+     * 
+     * @param sources          the sources, one per row.
+     * @param targets          the targets, one per column.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param indexer          the node indexer.
+     * 
+     * @return the distance matrix.
+     */
+    public DistanceMatrix
+        computeDistanceMatrix(List<N> sources,
+                              List<N> targets,
+                              DoubleArcExpander<N> childrenExpander,
+                              DoubleArcExpander<N> parentsExpander,
+                              NodeIndexer<N> indexer) {
+        return computeDistanceMatrix(sources,
+                                     targets,
+                                     childrenExpander,
+                                     parentsExpander,
+                                     indexer,
+                                     ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Computes the distances from every source to every target on the input
+     * fork/join pool.
+     * 
+     * @param sources          the sources, one per row.
+     * @param targets          the targets, one per column.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param indexer          the node indexer.
+     * @param pool             the fork/join pool running the searches.
+     * 
+     * @return the distance matrix.
+     */
+    public DistanceMatrix
+        computeDistanceMatrix(List<N> sources,
+                              List<N> targets,
+                              DoubleArcExpander<N> childrenExpander,
+                              DoubleArcExpander<N> parentsExpander,
+                              NodeIndexer<N> indexer,
+                              ForkJoinPool pool) {
+        Objects.requireNonNull(sources, "sources is null.");
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(parentsExpander, "parentsExpander is null.");
+        Objects.requireNonNull(indexer, "indexer is null.");
+        Objects.requireNonNull(pool, "pool is null.");
+        
+        DistanceMatrix matrix = new DistanceMatrix(sources.size(),
+                                                   targets.size());
+        
+        if (sources.isEmpty() || targets.isEmpty()) {
+            return matrix;
+        }
+        
+        boolean forward = sources.size() <= targets.size();
+        
+        Batch<N> batch = new Batch<>(forward ? sources : targets,
+                                     forward ? targets : sources,
+                                     forward ? childrenExpander :
+                                               parentsExpander,
+                                     indexer,
+                                     heapFactory,
+                                     matrix,
+                                     forward);
+        
+        int numberOfOrigins = forward ? sources.size() : targets.size();
+        int grain = Math.max(
+                1,
+                numberOfOrigins / (TASKS_PER_THREAD * pool.getParallelism()));
+        
+        pool.invoke(new SearchTask<>(batch, 0, numberOfOrigins, grain));
+        return matrix;
+    }
+    
+    /**
+     * This class holds the state shared by all the searches of a single
+     * matrix computation. The searches start from the origins and stop once
+     * all the destinations are settled.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Batch<N> {
+        
+        private final List<N> origins;
+        private final DoubleArcExpander<N> expander;
+        private final NodeIndexer<N> indexer;
+        private final DoubleIndexedHeapFactory heapFactory;
+        private final DistanceMatrix matrix;
+        private final boolean forward;
+        
+        /**
+         * The destinations at the same node are chained:
+         * {@code firstDestinations[node]} is the first destination at the
+         * node and {@code nextDestinations[i]} follows the destination
+         * {@code i}, with {@code -1} ending the chains.
+         */
+        private final int[] firstDestinations;
+        private final int[] nextDestinations;
+        private final int numberOfDestinationNodes;
+        
+        Batch(List<N> origins,
+              List<N> destinations,
+              DoubleArcExpander<N> expander,
+              NodeIndexer<N> indexer,
+              DoubleIndexedHeapFactory heapFactory,
+              DistanceMatrix matrix,
+              boolean forward) {
+            this.origins = origins;
+            this.expander = expander;
+            this.indexer = indexer;
+            this.heapFactory = heapFactory;
+            this.matrix = matrix;
+            this.forward = forward;
+            this.firstDestinations = new int[indexer.size()];
+            this.nextDestinations = new int[destinations.size()];
+            
+            Arrays.fill(firstDestinations, -1);
+            int destinationNodes = 0;
+            
+            for (int i = destinations.size() - 1; i >= 0; i--) {
+                int index = indexer.getIndex(destinations.get(i));
+                
+                if (firstDestinations[index] == -1) {
+                    destinationNodes++;
+                }
+                
+                nextDestinations[i] = firstDestinations[index];
+                firstDestinations[index] = i;
+            }
+            
+            this.numberOfDestinationNodes = destinationNodes;
+        }
+        
+        /**
+         * Runs the search from the input origin and stores the distances to
+         * all the destinations it settles.
+         */
+        void search(int origin, DoubleSearchState state) {
+            state.reset(heapFactory);
+            
+            DoubleIndexedHeap open = state.getHeap();
+            Relaxer<N> relaxer = new Relaxer<>(indexer, state);
+            int originIndex = indexer.getIndex(origins.get(origin));
+            int remainingDestinationNodes = numberOfDestinationNodes;
+            
+            open.insert(originIndex, 0.0);
+            state.setDistance(originIndex, 0.0);
+            
+            while (!open.isEmpty()) {
+                double currentDistance = open.getMinimumKey();
+                int currentIndex = open.extractMinimum();
+                state.setSettled(currentIndex);
+                
+                if (firstDestinations[currentIndex] != -1) {
+                    for (int i = firstDestinations[currentIndex];
+                             i != -1;
+                             i = nextDestinations[i]) {
+                        if (forward) {
+                            matrix.setDistance(origin, i, currentDistance);
+                        } else {
+                            matrix.setDistance(i, origin, currentDistance);
+                        }
+                    }
+                    
+                    if (--remainingDestinationNodes == 0) {
+                        return;
+                    }
+                }
+                
+                relaxer.currentDistance = currentDistance;
+                expander.expand(indexer.getNode(currentIndex), relaxer);
+            }
+        }
+    }
+    
+    /**
+     * This class runs the searches from a range of origins, splitting the
+     * range in halves while it is larger than the grain.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class SearchTask<N> extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient Batch<N> batch;
+        private final int begin;
+        private final int end;
+        private final int grain;
+        
+        SearchTask(Batch<N> batch, int begin, int end, int grain) {
+            this.batch = batch;
+            this.begin = begin;
+            this.end = end;
+            this.grain = grain;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - begin > grain) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new SearchTask<>(batch, begin, middle, grain),
+                          new SearchTask<>(batch, middle, end, grain));
+                return;
+            }
+            
+            DoubleSearchState state =
+                    new DoubleSearchState(batch.indexer.size());
+            
+            for (int origin = begin; origin < end; origin++) {
+                batch.search(origin, state);
+            }
+        }
+    }
+    
+    /**
+     * This class relaxes the arcs of the node being settled.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Relaxer<N> implements DoubleArcConsumer<N> {
+        
+        private final NodeIndexer<N> indexer;
+        private final DoubleSearchState state;
+        private final DoubleIndexedHeap open;
+        double currentDistance;
+        
+        Relaxer(NodeIndexer<N> indexer, DoubleSearchState state) {
+            this.indexer = indexer;
+            this.state = state;
+            this.open = state.getHeap();
+        }
+        
+        @Override
+        public void accept(N node, double weight) {
+            int index = indexer.getIndex(node);
+            
+            if (state.isSettled(index)) {
+                return;
+            }
+            
+            double tentativeDistance = currentDistance + weight;
+            
+            if (state.getDistance(index) > tentativeDistance) {
+                if (open.contains(index)) {
+                    open.decreaseKey(index, tentativeDistance);
+                } else {
+                    open.insert(index, tentativeDistance);
+                }
+                
+                state.setDistance(index, tentativeDistance);
+            }
+        }
+    }
+}
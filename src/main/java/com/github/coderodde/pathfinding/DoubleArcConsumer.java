@@ -0,0 +1,18 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for receiving the arcs generated by a 
+ * {@link DoubleArcExpander}.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public interface DoubleArcConsumer<N> {
+    
+    /**
+     * Accepts an arc between the expanded node and the input node.
+     * 
+     * @param node   the node at the other end of the arc.
+     * @param weight the weight of the arc.
+     */
+    void accept(N node, double weight);
+}
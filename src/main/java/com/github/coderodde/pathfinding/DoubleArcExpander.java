@@ -0,0 +1,60 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for arc expanders with primitive 
+ * {@code double} arc weights. It is the primitive counterpart of 
+ * {@link ArcExpander}.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public interface DoubleArcExpander<N> {
+    
+    /**
+     * Passes every arc incident to the input node to the consumer. A children
+     * expander passes the outgoing arcs as {@code (head, weight)} pairs, and a
+     * parents expander passes the incoming arcs as {@code (tail, weight)}
+     * pairs.
+     * 
+     * @param node     the node to expand.
+     * @param consumer the arc consumer.
+     */
+    void expand(N node, DoubleArcConsumer<N> consumer);
+    
+    /**
+     * Returns an arc expander generating the outgoing arcs of the nodes 
+     * expanded by the input children expander.
+     * 
+     * @param <N>              the actual graph node type.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the weight function.
+     * @return the arc expander.
+     */
+    static <N> DoubleArcExpander<N> 
+        ofChildren(NodeExpander<N> childrenExpander,
+                   DoubleWeightFunction<N> weightFunction) {
+        return (node, consumer) -> {
+            for (N child : childrenExpander.expand(node)) {
+                consumer.accept(child, weightFunction.getWeight(node, child));
+            }
+        };
+    }
+    
+    /**
+     * Returns an arc expander generating the incoming arcs of the nodes 
+     * expanded by the input parents expander.
+     * 
+     * @param <N>             the actual graph node type.
+     * @param parentsExpander the parents expander.
+     * @param weightFunction  the weight function.
+     * @return the arc expander.
+     */
+    static <N> DoubleArcExpander<N> 
+        ofParents(NodeExpander<N> parentsExpander,
+                  DoubleWeightFunction<N> weightFunction) {
+        return (node, consumer) -> {
+            for (N parent : parentsExpander.expand(node)) {
+                consumer.accept(parent, weightFunction.getWeight(parent, node));
+            }
+        };
+    }
+}
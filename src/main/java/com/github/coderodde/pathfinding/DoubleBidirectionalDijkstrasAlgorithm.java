@@ -0,0 +1,351 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a bidirectional Dijkstra's algorithm over primitive
+ * {@code double} arc weights. The distances, the best meeting distance and the
+ * heap keys are kept as primitives throughout the search, so no weight is ever
+ * boxed. Like {@link BidirectionalDijkstrasAlgorithm}, each step settles one 
+ * node in the direction chosen by a {@link DirectionStrategy}, and the search
+ * stops as soon as the sum of the minimum keys of the two queues reaches the 
+ * length of the shortest path found so far.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class DoubleBidirectionalDijkstrasAlgorithm<N> {
+    
+    private final DoubleIndexedHeapFactory heapFactory;
+    private final DirectionStrategy directionStrategy;
+    
+    /**
+     * Constructs this algorithm using {@link DoubleDaryHeap}s of degree 
+     * {@link DoubleDaryHeap#DEFAULT_DEGREE}.
+     */
+    public DoubleBidirectionalDijkstrasAlgorithm() {
+        this(DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE));
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * The directions are alternated.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    public DoubleBidirectionalDijkstrasAlgorithm(DoubleIndexedHeapFactory heapFactory) {
+        this(heapFactory, DirectionStrategy.ALTERNATE);
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory
+     * and choosing the directions via the input strategy.
+     * 
+     * @param heapFactory       the heap factory.
+     * @param directionStrategy the direction strategy.
+     */
+    public DoubleBidirectionalDijkstrasAlgorithm(
+            DoubleIndexedHeapFactory heapFactory,
+            DirectionStrategy directionStrategy) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.directionStrategy = 
+                Objects.requireNonNull(directionStrategy, 
+                                       "directionStrategy is null.");
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the node expander generating child nodes.
+     * @param parentsExpander  the node expander generating parent nodes.
+     * @param weightFunction   the weight function of the graph.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    DoubleWeightFunction<N> weightFunction) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                parentsExpander, 
+                                weightFunction, 
+                                new DoubleSearchWorkspace<>());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. All the search state is kept in the input workspace, 
+     * which may be reused by subsequent queries.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the node expander generating child nodes.
+     * @param parentsExpander  the node expander generating parent nodes.
+     * @param weightFunction   the weight function of the graph.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    DoubleWeightFunction<N> weightFunction,
+                                    DoubleSearchWorkspace<N> workspace) {
+        return findShortestPath(
+                source, 
+                target, 
+                DoubleArcExpander.ofChildren(childrenExpander, weightFunction), 
+                DoubleArcExpander.ofParents(parentsExpander, weightFunction), 
+                workspace);
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. Each arc is read exactly once via the input arc 
+     * expanders.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander,
+                                    DoubleArcExpander<N> parentsExpander) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                parentsExpander, 
+                                new DoubleSearchWorkspace<>());
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. Each arc is read exactly once via the input arc 
+     * expanders, and all the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander,
+                                    DoubleArcExpander<N> parentsExpander,
+                                    DoubleSearchWorkspace<N> workspace) {
+        if (source.equals(target)) {
+            // We need to handle this special case, since the actual algorithm
+            // cannot deal with it.
+            return Arrays.asList(target);
+        }
+        
+        NodeIndexer<N> indexer   = workspace.getIndexer();
+        DoubleSearchState stateF = workspace.getForwardState();
+        DoubleSearchState stateB = workspace.getBackwardState();
+        
+        stateF.reset(heapFactory);
+        stateB.reset(heapFactory);
+        
+        DoubleIndexedHeap queueF = stateF.getHeap();
+        DoubleIndexedHeap queueB = stateB.getHeap();
+        Search<N> search = new Search<>(indexer, 
+                                        stateF, 
+                                        stateB, 
+                                        childrenExpander, 
+                                        parentsExpander);
+        
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        queueF.insert(sourceIndex, 0.0);
+        queueB.insert(targetIndex, 0.0);
+        
+        stateF.setDistance(sourceIndex, 0.0);
+        stateB.setDistance(targetIndex, 0.0);
+        
+        stateF.setParent(sourceIndex, DoubleSearchState.NO_PARENT);
+        stateB.setParent(targetIndex, DoubleSearchState.NO_PARENT);
+        
+        boolean forwardExpandedLast = false;
+        
+        // If one of the searches gets exhausted, mu is optimal, since the
+        // meeting points are updated on every labelled node:
+        while (!queueF.isEmpty() && !queueB.isEmpty()) {
+            double topKeyF = queueF.getMinimumKey();
+            double topKeyB = queueB.getMinimumKey();
+            
+            if (topKeyF + topKeyB >= search.mu) {
+                // No path through an unsettled node can be shorter than mu:
+                break;
+            }
+            
+            forwardExpandedLast = 
+                    directionStrategy.expandForward(
+                            queueF.size(), 
+                            queueB.size(), 
+                            Double.compare(topKeyF, topKeyB), 
+                            forwardExpandedLast);
+            
+            if (forwardExpandedLast) {
+                search.forwardSearch.settleMinimum();
+            } else {
+                search.backwardSearch.settleMinimum();
+            }
+        }
+        
+        if (search.touchNodeF == DoubleSearchState.NO_PARENT) {
+            throw new IllegalStateException(
+                    "The target node is not reachable from the source node.");
+        }
+        
+        return tracebackPath(search.touchNodeF,
+                             search.touchNodeB,
+                             stateF,
+                             stateB,
+                             indexer);
+    }
+    
+    private static <N> List<N> tracebackPath(int touchNodeF,
+                                             int touchNodeB,
+                                             DoubleSearchState stateF,
+                                             DoubleSearchState stateB,
+                                             NodeIndexer<N> indexer) {
+        List<N> path = new ArrayList<>();
+        
+        int node = touchNodeF;
+        
+        while (node != DoubleSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateF.getParent(node);
+        }
+        
+        Collections.reverse(path);
+        node = touchNodeB;
+        
+        while (node != DoubleSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateB.getParent(node);
+        }
+        
+        return path;
+    }
+    
+    /**
+     * This class holds the best meeting point found so far and the searches 
+     * of both directions.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Search<N> {
+        
+        private final NodeIndexer<N> indexer;
+        final DirectionSearch forwardSearch;
+        final DirectionSearch backwardSearch;
+        double mu = Double.POSITIVE_INFINITY;
+        int touchNodeF = DoubleSearchState.NO_PARENT;
+        int touchNodeB = DoubleSearchState.NO_PARENT;
+        
+        Search(NodeIndexer<N> indexer,
+               DoubleSearchState stateF,
+               DoubleSearchState stateB,
+               DoubleArcExpander<N> childrenExpander,
+               DoubleArcExpander<N> parentsExpander) {
+            this.indexer = indexer;
+            this.forwardSearch = 
+                    new DirectionSearch(stateF, stateB, childrenExpander, true);
+            
+            this.backwardSearch = 
+                    new DirectionSearch(stateB, stateF, parentsExpander, false);
+        }
+        
+        /**
+         * This class settles the nodes of one search direction, relaxes their
+         * arcs and updates the meeting point against the opposite direction.
+         */
+        final class DirectionSearch implements DoubleArcConsumer<N> {
+            
+            private final DoubleSearchState state;
+            private final DoubleSearchState oppositeState;
+            private final DoubleIndexedHeap queue;
+            private final DoubleArcExpander<N> expander;
+            private final boolean forward;
+            private int currentIndex;
+            private double currentDistance;
+            
+            DirectionSearch(DoubleSearchState state, 
+                            DoubleSearchState oppositeState, 
+                            DoubleArcExpander<N> expander,
+                            boolean forward) {
+                this.state = state;
+                this.oppositeState = oppositeState;
+                this.queue = state.getHeap();
+                this.expander = expander;
+                this.forward = forward;
+            }
+            
+            /**
+             * Settles the node with the minimum key and relaxes its arcs.
+             */
+            void settleMinimum() {
+                currentDistance = queue.getMinimumKey();
+                currentIndex = queue.extractMinimum();
+                state.setSettled(currentIndex);
+                expander.expand(indexer.getNode(currentIndex), this);
+            }
+            
+            @Override
+            public void accept(N node, double weight) {
+                int index = indexer.getIndex(node);
+                
+                if (state.isSettled(index)) {
+                    return;
+                }
+                
+                double tentativeDistance = currentDistance + weight;
+                
+                if (state.getDistance(index) > tentativeDistance) {
+                    if (queue.contains(index)) {
+                        queue.decreaseKey(index, tentativeDistance);
+                    } else {
+                        queue.insert(index, tentativeDistance);
+                    }
+                    
+                    state.setDistance(index, tentativeDistance);
+                    state.setParent(index, currentIndex);
+                }
+                
+                double shortestPathUpperBound =
+                        tentativeDistance + oppositeState.getDistance(index);
+                
+                if (mu > shortestPathUpperBound) {
+                    mu = shortestPathUpperBound;
+                    touchNodeF = forward ? currentIndex : index;
+                    touchNodeB = forward ? index : currentIndex;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed d-ary minimum heap with primitive
+ * {@code double} keys. It is the primitive counterpart of {@link DaryHeap}.
+ */
+public final class DoubleDaryHeap implements DoubleIndexedHeap {
+    
+    /**
+     * The default degree of the heap.
+     */
+    public static final int DEFAULT_DEGREE = 4;
+    
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int ABSENT = -1;
+    
+    private final int degree;
+    private int[] elements = new int[INITIAL_CAPACITY];
+    private double[] keys = new double[INITIAL_CAPACITY];
+    private int[] positions = new int[0];
+    private int size;
+    
+    /**
+     * Constructs an empty heap.
+     * 
+     * @param degree the degree of the heap; at least two.
+     */
+    public DoubleDaryHeap(int degree) {
+        if (degree < 2) {
+            throw new IllegalArgumentException(
+                    "The degree must be at least 2, was " + degree + ".");
+        }
+        
+        this.degree = degree;
+    }
+    
+    /**
+     * Constructs an empty heap of degree {@link #DEFAULT_DEGREE}.
+     */
+    public DoubleDaryHeap() {
+        this(DEFAULT_DEGREE);
+    }
+    
+    /**
+     * Returns a factory creating heaps of the given degree.
+     * 
+     * @param degree the degree of the heaps.
+     * @return the heap factory.
+     */
+    public static DoubleIndexedHeapFactory getFactory(int degree) {
+        return () -> new DoubleDaryHeap(degree);
+    }
+    
+    @Override
+    public void insert(int element, double key) {
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                    "Element " + element + " is already in the heap.");
+        }
+        
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(
+                    positions,
+                    Math.max(element + 1, 2 * oldLength));
+            
+            Arrays.fill(positions, oldLength, positions.length, ABSENT);
+        }
+        
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            keys = Arrays.copyOf(keys, 2 * size);
+        }
+        
+        siftUp(size++, element, key);
+    }
+    
+    @Override
+    public void decreaseKey(int element, double key) {
+        if (!contains(element)) {
+            throw new NoSuchElementException(
+                    "Element " + element + " is not in the heap.");
+        }
+        
+        int index = positions[element];
+        
+        if (key > keys[index]) {
+            throw new IllegalArgumentException(
+                    "The new key is larger than the current key.");
+        }
+        
+        siftUp(index, element, key);
+    }
+    
+    @Override
+    public boolean contains(int element) {
+        return element < positions.length && positions[element] != ABSENT;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        int minimumElement = elements[0];
+        positions[minimumElement] = ABSENT;
+        size--;
+        
+        if (size > 0) {
+            siftDown(elements[size], keys[size]);
+        }
+        
+        return minimumElement;
+    }
+    
+    @Override
+    public double getMinimumKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        return keys[0];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[elements[i]] = ABSENT;
+        }
+        
+        size = 0;
+    }
+    
+    private void siftUp(int index, int element, double key) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / degree;
+            
+            if (keys[parentIndex] <= key) {
+                break;
+            }
+            
+            move(parentIndex, index);
+            index = parentIndex;
+        }
+        
+        place(index, element, key);
+    }
+    
+    private void siftDown(int element, double key) {
+        int index = 0;
+        
+        while (true) {
+            int firstChildIndex = degree * index + 1;
+            
+            if (firstChildIndex >= size) {
+                break;
+            }
+            
+            int lastChildIndex = Math.min(firstChildIndex + degree, size);
+            int minimumChildIndex = firstChildIndex;
+            double minimumChildKey = keys[firstChildIndex];
+            
+            for (int i = firstChildIndex + 1; i < lastChildIndex; i++) {
+                double childKey = keys[i];
+                
+                if (childKey < minimumChildKey) {
+                    minimumChildIndex = i;
+                    minimumChildKey = childKey;
+                }
+            }
+            
+            if (key <= minimumChildKey) {
+                break;
+            }
+            
+            move(minimumChildIndex, index);
+            index = minimumChildIndex;
+        }
+        
+        place(index, element, key);
+    }
+    
+    private void move(int sourceIndex, int targetIndex) {
+        elements[targetIndex] = elements[sourceIndex];
+        keys[targetIndex] = keys[sourceIndex];
+        positions[elements[targetIndex]] = targetIndex;
+    }
+    
+    private void place(int index, int element, double key) {
+        elements[index] = element;
+        keys[index] = key;
+        positions[element] = index;
+    }
+}
@@ -0,0 +1,553 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements the (unidirectional) Dijkstra's algorithm over
+ * primitive {@code double} arc weights. The distances and the heap keys are
+ * kept as primitives throughout the search, so no weight is ever boxed.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class DoubleDijkstrasAlgorithm<N> {
+    
+    private final DoubleIndexedHeapFactory heapFactory;
+    
+    /**
+     * Constructs this algorithm using a {@link DoubleDaryHeap} of degree 
+     * {@link DoubleDaryHeap#DEFAULT_DEGREE}.
+     */
+    public DoubleDijkstrasAlgorithm() {
+        this(DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE));
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    public DoubleDijkstrasAlgorithm(DoubleIndexedHeapFactory heapFactory) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the graph weight function.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    DoubleWeightFunction<N> weightFunction) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander, 
+                                weightFunction, 
+                                new DoubleSearchWorkspace<>());
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. All the search state is kept in the input workspace, 
+     * which may be reused by subsequent queries.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the children expander.
+     * @param weightFunction   the graph weight function.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    DoubleWeightFunction<N> weightFunction,
+                                    DoubleSearchWorkspace<N> workspace) {
+        return findShortestPath(
+                source, 
+                target, 
+                DoubleArcExpander.ofChildren(childrenExpander, weightFunction), 
+                workspace);
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. Each arc is read exactly once via the input arc 
+     * expander.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander) {
+        return findShortestPath(source, 
+                                target, 
+                                childrenExpander,
+                                new DoubleSearchWorkspace<>());
+    }
+    
+    /**
+     * Finds the shortest {@code source/target} path or throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. Each arc is read exactly once via the input arc 
+     * expander, and all the search state is kept in the input workspace.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path, if any exist.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander,
+                                    DoubleSearchWorkspace<N> workspace) {
+        
+        NodeIndexer<N> indexer   = workspace.getIndexer();
+        DoubleSearchState state  = workspace.getForwardState();
+        
+        state.reset(heapFactory);
+        
+        DoubleIndexedHeap open = state.getHeap();
+        Relaxer<N> relaxer     = new Relaxer<>(indexer, state);
+        
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        open.insert(sourceIndex, 0.0);
+        state.setDistance(sourceIndex, 0.0);
+        state.setParent(sourceIndex, DoubleSearchState.NO_PARENT);
+        
+        while (!open.isEmpty()) {
+            double currentDistance = open.getMinimumKey();
+            int currentIndex = open.extractMinimum();
+            
+            if (currentIndex == targetIndex) {
+                return tracebackSolution(targetIndex, state, indexer);
+            }
+            
+            state.setSettled(currentIndex);
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            childrenExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        throw new IllegalStateException(
+                "Target not reachable from the source.");
+    }
+    
+    /**
+     * Computes the shortest path tree of all the nodes reachable from the
+     * source node.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public DoubleShortestPathTree<N> 
+        computeShortestPathTree(N source,
+                                DoubleArcExpander<N> childrenExpander,
+                                DoubleSearchWorkspace<N> workspace) {
+        return computeShortestPathTree(source, 
+                                       childrenExpander, 
+                                       Double.POSITIVE_INFINITY, 
+                                       null, 
+                                       workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree of the nodes within the input distance
+     * from the source node, which is what an isochrone consists of.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param radius           the largest distance of a settled node.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public DoubleShortestPathTree<N> 
+        computeShortestPathTree(N source,
+                                DoubleArcExpander<N> childrenExpander,
+                                double radius,
+                                DoubleSearchWorkspace<N> workspace) {
+        return computeShortestPathTree(source, 
+                                       childrenExpander, 
+                                       radius, 
+                                       null, 
+                                       workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree until all the input target nodes are
+     * settled. If some of them are not reachable, all the nodes reachable 
+     * from the source node are settled.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param targets          the target nodes.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public DoubleShortestPathTree<N> 
+        computeShortestPathTree(N source,
+                                DoubleArcExpander<N> childrenExpander,
+                                Collection<N> targets,
+                                DoubleSearchWorkspace<N> workspace) {
+        return computeShortestPathTree(
+                source, 
+                childrenExpander, 
+                Double.POSITIVE_INFINITY, 
+                Objects.requireNonNull(targets, "targets is null."), 
+                workspace);
+    }
+    
+    /**
+     * Computes the shortest path tree until all the input target nodes are
+     * settled or the next node lies farther than the radius, whichever 
+     * happens first.
+     * 
+     * @param source           the source node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param radius           the largest distance of a settled node.
+     * @param targets          the target nodes.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path tree.
+     */
+    public DoubleShortestPathTree<N> 
+        computeShortestPathTree(N source,
+                                DoubleArcExpander<N> childrenExpander,
+                                double radius,
+                                Collection<N> targets,
+                                DoubleSearchWorkspace<N> workspace) {
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
+        
+        if (!(radius >= 0.0)) {
+            throw new IllegalArgumentException("Invalid radius: " + radius);
+        }
+        
+        NodeIndexer<N> indexer   = workspace.getIndexer();
+        DoubleSearchState state  = workspace.getForwardState();
+        
+        state.reset(heapFactory);
+        
+        int remainingTargets = -1;
+        DoubleSearchState targetState = workspace.getBackwardState();
+        
+        if (targets != null) {
+            remainingTargets = markTargets(targets, indexer, targetState);
+        }
+        
+        DoubleIndexedHeap open = state.getHeap();
+        Relaxer<N> relaxer     = new Relaxer<>(indexer, state);
+        int sourceIndex        = indexer.getIndex(source);
+        
+        int[] nodes = new int[16];
+        double[] distances = new double[16];
+        int[] parents = new int[16];
+        int size = 0;
+        
+        open.insert(sourceIndex, 0.0);
+        state.setDistance(sourceIndex, 0.0);
+        state.setParent(sourceIndex, DoubleSearchState.NO_PARENT);
+        
+        while (!open.isEmpty() && remainingTargets != 0) {
+            double currentDistance = open.getMinimumKey();
+            
+            if (currentDistance > radius) {
+                break;
+            }
+            
+            int currentIndex = open.extractMinimum();
+            state.setSettled(currentIndex);
+            
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+                parents = Arrays.copyOf(parents, 2 * size);
+            }
+            
+            nodes[size] = currentIndex;
+            distances[size] = currentDistance;
+            parents[size] = state.getParent(currentIndex);
+            size++;
+            
+            if (targets != null && 
+                targetState.getDistance(currentIndex) == 0.0 &&
+                --remainingTargets == 0) {
+                break;
+            }
+            
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            childrenExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        return new DoubleShortestPathTree<>(indexer, 
+                                            nodes, 
+                                            distances, 
+                                            parents, 
+                                            size);
+    }
+    
+    /**
+     * Finds the {@code k} targets nearest to the source node in a single 
+     * search, which stops as soon as the {@code k}th target is settled. The 
+     * targets are returned in the order of their distances; if fewer than 
+     * {@code k} targets are reachable, all the reachable ones are returned.
+     * 
+     * @param source           the source node.
+     * @param targets          the candidate target nodes.
+     * @param k                the number of targets to find.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param workspace        the search workspace.
+     * 
+     * @return the nearest targets.
+     */
+    public List<DoubleNearestTarget<N>> 
+        findNearestTargets(N source,
+                           Collection<N> targets,
+                           int k,
+                           DoubleArcExpander<N> childrenExpander,
+                           DoubleSearchWorkspace<N> workspace) {
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(childrenExpander, "childrenExpander is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
+        
+        if (k < 1) {
+            throw new IllegalArgumentException(
+                    "The number of targets is not positive: " + k);
+        }
+        
+        NodeIndexer<N> indexer        = workspace.getIndexer();
+        DoubleSearchState state       = workspace.getForwardState();
+        DoubleSearchState targetState = workspace.getBackwardState();
+        
+        state.reset(heapFactory);
+        
+        int remainingTargets = Math.min(
+                k, 
+                markTargets(targets, indexer, targetState));
+        
+        List<DoubleNearestTarget<N>> nearestTargets = new ArrayList<>();
+        DoubleIndexedHeap open = state.getHeap();
+        Relaxer<N> relaxer     = new Relaxer<>(indexer, state);
+        int sourceIndex        = indexer.getIndex(source);
+        
+        open.insert(sourceIndex, 0.0);
+        state.setDistance(sourceIndex, 0.0);
+        state.setParent(sourceIndex, DoubleSearchState.NO_PARENT);
+        
+        while (!open.isEmpty() && remainingTargets != 0) {
+            double currentDistance = open.getMinimumKey();
+            int currentIndex = open.extractMinimum();
+            state.setSettled(currentIndex);
+            
+            if (targetState.getDistance(currentIndex) == 0.0) {
+                nearestTargets.add(
+                        new DoubleNearestTarget<>(
+                                indexer.getNode(currentIndex),
+                                currentDistance,
+                                tracebackSolution(currentIndex, 
+                                                  state, 
+                                                  indexer)));
+                
+                if (--remainingTargets == 0) {
+                    break;
+                }
+            }
+            
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            childrenExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        return nearestTargets;
+    }
+    
+    /**
+     * Finds the target nearest to the source node by a single multi-source 
+     * search that starts from all the targets at once and runs backwards 
+     * over the incoming arcs until it settles the source node. The search 
+     * settles only the nodes closer to their nearest target than the source 
+     * node, which pays off when the targets are many and spread out. Throws 
+     * an {@link IllegalStateException} if no target is reachable from the 
+     * source node.
+     * <p>
+     * Every node is settled only once, from the target nearest to it, so 
+     * this search cannot find more than one target; the {@code k} nearest 
+     * targets are found by {@link #findNearestTargets}.
+     * 
+     * @param source          the source node.
+     * @param targets         the candidate target nodes.
+     * @param parentsExpander the expander generating the incoming arcs.
+     * @param workspace       the search workspace.
+     * 
+     * @return the nearest target.
+     */
+    public DoubleNearestTarget<N> 
+        findNearestTarget(N source,
+                          Collection<N> targets,
+                          DoubleArcExpander<N> parentsExpander,
+                          DoubleSearchWorkspace<N> workspace) {
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(parentsExpander, "parentsExpander is null.");
+        Objects.requireNonNull(workspace, "workspace is null.");
+        
+        NodeIndexer<N> indexer  = workspace.getIndexer();
+        DoubleSearchState state = workspace.getBackwardState();
+        
+        state.reset(heapFactory);
+        
+        DoubleIndexedHeap open = state.getHeap();
+        Relaxer<N> relaxer     = new Relaxer<>(indexer, state);
+        int sourceIndex        = indexer.getIndex(source);
+        
+        for (N target : targets) {
+            int targetIndex = indexer.getIndex(target);
+            
+            if (!open.contains(targetIndex)) {
+                open.insert(targetIndex, 0.0);
+                state.setDistance(targetIndex, 0.0);
+                state.setParent(targetIndex, DoubleSearchState.NO_PARENT);
+            }
+        }
+        
+        while (!open.isEmpty()) {
+            double currentDistance = open.getMinimumKey();
+            int currentIndex = open.extractMinimum();
+            
+            if (currentIndex == sourceIndex) {
+                // The parents lead from the source towards the targets, so 
+                // the path needs no reversal:
+                List<N> path = new ArrayList<>();
+                int index = sourceIndex;
+                
+                while (state.getParent(index) != DoubleSearchState.NO_PARENT) {
+                    path.add(indexer.getNode(index));
+                    index = state.getParent(index);
+                }
+                
+                path.add(indexer.getNode(index));
+                
+                return new DoubleNearestTarget<>(indexer.getNode(index), 
+                                                 currentDistance, 
+                                                 path);
+            }
+            
+            state.setSettled(currentIndex);
+            relaxer.currentIndex = currentIndex;
+            relaxer.currentDistance = currentDistance;
+            parentsExpander.expand(indexer.getNode(currentIndex), relaxer);
+        }
+        
+        throw new IllegalStateException(
+                "No target is reachable from the source node.");
+    }
+    
+    /**
+     * Marks the input targets in the input state, which must be idle during
+     * the search, by labelling them with zero distances. Returns the number
+     * of distinct targets.
+     */
+    private int markTargets(Collection<N> targets,
+                            NodeIndexer<N> indexer,
+                            DoubleSearchState targetState) {
+        targetState.reset(heapFactory);
+        int numberOfTargets = 0;
+        
+        for (N target : targets) {
+            int targetIndex = indexer.getIndex(target);
+            
+            if (targetState.getDistance(targetIndex) != 0.0) {
+                targetState.setDistance(targetIndex, 0.0);
+                numberOfTargets++;
+            }
+        }
+        
+        return numberOfTargets;
+    }
+    
+    private static <N> List<N> tracebackSolution(int targetIndex,
+                                                 DoubleSearchState state,
+                                                 NodeIndexer<N> indexer) {
+        List<N> path = new ArrayList<>();
+        int index = targetIndex;
+        
+        while (index != DoubleSearchState.NO_PARENT) {
+            path.add(indexer.getNode(index));
+            index = state.getParent(index);
+        }
+        
+        Collections.reverse(path);
+        return path;
+    }
+    
+    /**
+     * This class relaxes the arcs leaving the node being settled.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Relaxer<N> implements DoubleArcConsumer<N> {
+        
+        private final NodeIndexer<N> indexer;
+        private final DoubleSearchState state;
+        private final DoubleIndexedHeap open;
+        int currentIndex;
+        double currentDistance;
+        
+        Relaxer(NodeIndexer<N> indexer, DoubleSearchState state) {
+            this.indexer = indexer;
+            this.state = state;
+            this.open = state.getHeap();
+        }
+        
+        @Override
+        public void accept(N node, double weight) {
+            int index = indexer.getIndex(node);
+            
+            if (state.isSettled(index)) {
+                return;
+            }
+            
+            double tentativeDistance = currentDistance + weight;
+            
+            if (state.getDistance(index) > tentativeDistance) {
+                if (open.contains(index)) {
+                    open.decreaseKey(index, tentativeDistance);
+                } else {
+                    open.insert(index, tentativeDistance);
+                }
+                
+                state.setDistance(index, tentativeDistance);
+                state.setParent(index, currentIndex);
+            }
+        }
+    }
+}
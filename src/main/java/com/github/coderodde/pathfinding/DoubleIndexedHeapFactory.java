@@ -0,0 +1,16 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for creating {@link DoubleIndexedHeap}
+ * instances, so that the heap implementation of a search may be chosen by the
+ * caller.
+ */
+public interface DoubleIndexedHeapFactory {
+    
+    /**
+     * Creates a new, empty heap.
+     * 
+     * @return a new heap.
+     */
+    DoubleIndexedHeap createHeap();
+}
@@ -0,0 +1,57 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+
+/**
+ * This class holds a target found by a nearest-target query of
+ * {@link DoubleDijkstrasAlgorithm}: the target node, its distance and the
+ * shortest path leading to it. The generic counterpart is 
+ * {@link NearestTarget}.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class DoubleNearestTarget<N> {
+    
+    private final N node;
+    private final double distance;
+    private final List<N> path;
+    
+    DoubleNearestTarget(N node, double distance, List<N> path) {
+        this.node = node;
+        this.distance = distance;
+        this.path = path;
+    }
+    
+    /**
+     * Returns the target node.
+     * 
+     * @return the target node.
+     */
+    public N getNode() {
+        return node;
+    }
+    
+    /**
+     * Returns the length of the shortest path between the query node and the
+     * target node.
+     * 
+     * @return the distance of the target.
+     */
+    public double getDistance() {
+        return distance;
+    }
+    
+    /**
+     * Returns the shortest path from the query node to the target node.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> getPath() {
+        return path;
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + node + ", " + distance + "]";
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the per-node search state of a single search direction:
+ * the primitive distances, the parent indices, the settled flags and the heap.
+ * The nodes are addressed by their dense indices.
+ * <p>
+ * Every entry is stamped with the generation of the search that wrote it, so
+ * {@link #reset(DoubleIndexedHeapFactory)} invalidates the whole state by
+ * incrementing the generation instead of clearing or reallocating the arrays.
+ */
+final class DoubleSearchState {
+    
+    static final int NO_PARENT = -1;
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private double[] distances = new double[0];
+    private int[] parents = new int[0];
+    private int[] labelledStamps = new int[0];
+    private int[] settledStamps = new int[0];
+    private int generation = 1;
+    private int settledCount;
+    
+    private DoubleIndexedHeap heap;
+    private DoubleIndexedHeapFactory heapFactory;
+    
+    DoubleSearchState() {
+    
+    }
+    
+    /**
+     * Constructs a state whose arrays already hold the input number of nodes.
+     * 
+     * @param capacity the initial number of nodes.
+     */
+    DoubleSearchState(int capacity) {
+        if (capacity > 0) {
+            ensureCapacity(capacity - 1);
+        }
+    }
+    
+    /**
+     * Invalidates the state of the previous search and prepares an empty heap
+     * created by the input factory.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    void reset(DoubleIndexedHeapFactory heapFactory) {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(labelledStamps, 0);
+            Arrays.fill(settledStamps, 0);
+            generation = 0;
+        }
+        
+        generation++;
+        settledCount = 0;
+        
+        if (heap != null && this.heapFactory == heapFactory) {
+            heap.clear();
+        } else {
+            heap = heapFactory.createHeap();
+            this.heapFactory = heapFactory;
+        }
+    }
+    
+    DoubleIndexedHeap getHeap() {
+        return heap;
+    }
+    
+    /**
+     * Returns the distance of the input node, or
+     * {@link Double#POSITIVE_INFINITY} if the node is not labelled in the
+     * current search.
+     */
+    double getDistance(int node) {
+        return node < labelledStamps.length &&
+               labelledStamps[node] == generation ?
+                distances[node] :
+                Double.POSITIVE_INFINITY;
+    }
+    
+    void setDistance(int node, double distance) {
+        ensureCapacity(node);
+        distances[node] = distance;
+        labelledStamps[node] = generation;
+    }
+    
+    int getParent(int node) {
+        return parents[node];
+    }
+    
+    void setParent(int node, int parent) {
+        ensureCapacity(node);
+        parents[node] = parent;
+    }
+    
+    boolean isSettled(int node) {
+        return node < settledStamps.length &&
+               settledStamps[node] == generation;
+    }
+    
+    void setSettled(int node) {
+        ensureCapacity(node);
+        settledStamps[node] = generation;
+        settledCount++;
+    }
+    
+    /**
+     * Returns the number of nodes settled since the last reset.
+     */
+    int getSettledCount() {
+        return settledCount;
+    }
+    
+    private void ensureCapacity(int node) {
+        if (node < distances.length) {
+            return;
+        }
+        
+        int newCapacity = Math.max(INITIAL_CAPACITY, 2 * distances.length);
+        
+        while (newCapacity <= node) {
+            newCapacity *= 2;
+        }
+        
+        distances = Arrays.copyOf(distances, newCapacity);
+        parents = Arrays.copyOf(parents, newCapacity);
+        labelledStamps = Arrays.copyOf(labelledStamps, newCapacity);
+        settledStamps = Arrays.copyOf(settledStamps, newCapacity);
+    }
+}
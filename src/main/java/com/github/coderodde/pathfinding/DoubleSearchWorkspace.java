@@ -0,0 +1,73 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class holds the reusable storage of {@link DoubleDijkstrasAlgorithm} 
+ * and {@link DoubleBidirectionalDijkstrasAlgorithm}. It is the primitive 
+ * counterpart of {@link SearchWorkspace} and has the same reuse semantics.
+ * <p>
+ * A workspace is not thread-safe; keep one per thread.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class DoubleSearchWorkspace<N> {
+    
+    private final NodeIndexer<N> indexer;
+    private final DoubleSearchState forwardState;
+    private final DoubleSearchState backwardState;
+    
+    /**
+     * Constructs a workspace that indexes the nodes by hashing them as they 
+     * are encountered.
+     */
+    public DoubleSearchWorkspace() {
+        this.indexer = new HashNodeIndexer<>();
+        this.forwardState = new DoubleSearchState();
+        this.backwardState = new DoubleSearchState();
+    }
+    
+    /**
+     * Constructs a workspace that indexes the nodes via the input indexer. The
+     * per-node arrays are sized to {@code indexer.size()} up front.
+     * 
+     * @param indexer the node indexer.
+     */
+    public DoubleSearchWorkspace(NodeIndexer<N> indexer) {
+        this.indexer = Objects.requireNonNull(indexer, "indexer is null.");
+        this.forwardState = new DoubleSearchState(indexer.size());
+        this.backwardState = new DoubleSearchState(indexer.size());
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search of the most 
+     * recent query. A unidirectional search counts as a forward search.
+     * 
+     * @return the number of nodes settled in the forward direction.
+     */
+    public int getForwardSettledCount() {
+        return forwardState.getSettledCount();
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search of the most 
+     * recent query.
+     * 
+     * @return the number of nodes settled in the backward direction.
+     */
+    public int getBackwardSettledCount() {
+        return backwardState.getSettledCount();
+    }
+    
+    NodeIndexer<N> getIndexer() {
+        return indexer;
+    }
+    
+    DoubleSearchState getForwardState() {
+        return forwardState;
+    }
+    
+    DoubleSearchState getBackwardState() {
+        return backwardState;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for graph weight functions whose arc weights
+ * are primitive {@code double} values. Unlike {@link WeightFunction}, there is
+ * no need for the zero, infinity and sum operations since they are provided by
+ * the floating point arithmetic itself.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public interface DoubleWeightFunction<N> {
+    
+    /**
+     * Returns the weight of the arc {@code (tail, head)}.
+     * 
+     * @param tail the starting node of the arc.
+     * @param head the ending node of the arc.
+     * @return the weight of the input arc.
+     */
+    double getWeight(N tail, N head);
+}
@@ -0,0 +1,63 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class implements a heuristic function returning the straight-line 
+ * distance between the plane coordinates of two nodes of a 
+ * {@link StaticGraph}. The heuristic is consistent whenever no arc is lighter 
+ * than the straight-line distance between its end nodes, multiplied by the 
+ * scale.
+ */
+public final class EuclideanHeuristicFunction 
+        implements HeuristicFunction<Integer> {
+    
+    private final double[] xs;
+    private final double[] ys;
+    private final double scale;
+    
+    /**
+     * Constructs the heuristic function over the input coordinates.
+     * 
+     * @param xs    the {@code x}-coordinates indexed by the nodes.
+     * @param ys    the {@code y}-coordinates indexed by the nodes.
+     * @param scale the minimum arc weight per unit of distance.
+     */
+    public EuclideanHeuristicFunction(double[] xs, double[] ys, double scale) {
+        Objects.requireNonNull(xs, "xs is null.");
+        Objects.requireNonNull(ys, "ys is null.");
+        
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException(
+                    "Coordinate array lengths differ: " + xs.length + 
+                    " vs. " + ys.length + ".");
+        }
+        
+        if (!(scale >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The scale must be non-negative, was " + scale + ".");
+        }
+        
+        this.xs = xs;
+        this.ys = ys;
+        this.scale = scale;
+    }
+    
+    /**
+     * Constructs the heuristic function over the input coordinates with scale
+     * one.
+     * 
+     * @param xs the {@code x}-coordinates indexed by the nodes.
+     * @param ys the {@code y}-coordinates indexed by the nodes.
+     */
+    public EuclideanHeuristicFunction(double[] xs, double[] ys) {
+        this(xs, ys, 1.0);
+    }
+    
+    @Override
+    public double estimate(Integer from, Integer to) {
+        double dx = xs[from] - xs[to];
+        double dy = ys[from] - ys[to];
+        return scale * Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class commits a JDK Flight Recorder event named 
+ * {@code com.github.coderodde.pathfinding.Search} for every query of the 
+ * workspaces it is set on. The event carries the source and target nodes, 
+ * the outcome, the search time and the counts of {@link SearchMetrics}, so 
+ * the slow queries of a production recording can be found and explained, 
+ * for example with
+ * <pre>
+ *     jfr print --events com.github.coderodde.pathfinding.Search rec.jfr
+ * </pre>
+ * The event begins when the query starts and ends when it finishes, so its
+ * duration covers the search. While the event is disabled in the recording
+ * settings, which is the default, the listener only costs the metrics 
+ * collection. The event of the running query is kept per thread, so the 
+ * listener may be shared by the workspaces of all threads.
+ */
+public final class FlightRecorderSearchListener 
+        implements SearchListener<Object, Object> {
+    
+    /**
+     * The event of the query running on each thread, or {@code null} while 
+     * the event is disabled.
+     */
+    private final ThreadLocal<SearchEvent> currentEvent = new ThreadLocal<>();
+    
+    @Override
+    public void onSearchStarted(Object source, Object target) {
+        SearchEvent event = new SearchEvent();
+        
+        if (event.isEnabled()) {
+            event.begin();
+            currentEvent.set(event);
+        }
+    }
+    
+    @Override
+    public void onSearchFinished(Object source, 
+                                 Object target, 
+                                 SearchMetrics metrics) {
+        SearchEvent event = currentEvent.get();
+        
+        if (event == null) {
+            return;
+        }
+        
+        currentEvent.set(null);
+        event.end();
+        
+        if (!event.shouldCommit()) {
+            return;
+        }
+        
+        event.source = String.valueOf(source);
+        event.target = String.valueOf(target);
+        event.bidirectional = metrics.isBidirectional();
+        event.completed = metrics.isCompleted();
+        event.reachable = metrics.isReachable();
+        event.searchTime = metrics.getElapsedNanos();
+        event.forwardSettledCount = metrics.getForwardSettledCount();
+        event.backwardSettledCount = metrics.getBackwardSettledCount();
+        event.forwardRelaxationCount = metrics.getForwardRelaxationCount();
+        event.backwardRelaxationCount = metrics.getBackwardRelaxationCount();
+        event.heapInsertionCount = metrics.getForwardHeapInsertionCount() + 
+                                   metrics.getBackwardHeapInsertionCount();
+        event.decreaseKeyCount = metrics.getForwardDecreaseKeyCount() + 
+                                 metrics.getBackwardDecreaseKeyCount();
+        event.meetingPointUpdateCount = metrics.getMeetingPointUpdateCount();
+        event.settledCountAtFirstMeeting = 
+                metrics.getSettledCountAtFirstMeeting();
+        event.commit();
+    }
+}
@@ -0,0 +1,779 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class loads graphs from text files: the DIMACS shortest path format
+ * ({@code .gr} arc files and {@code .co} coordinate files) and plain edge
+ * lists. A file is split into chunks of bytes that are parsed in parallel on
+ * a fork/join pool; each chunk is read through a {@link FileChannel} into a
+ * small buffer and parsed into primitive arrays, so neither the lines nor the
+ * arcs become objects. The chunks are then merged in file order into a
+ * {@link CsrGraph}, which may be used with any algorithm via
+ * {@link StaticGraphAdapter}.
+ * <p>
+ * A chunk parses the lines starting within its byte range, so a line
+ * crossing a chunk boundary is parsed by the chunk in which it starts.
+ * <p>
+ * The loader records the size of the last loaded file and the time it took
+ * to load, from which {@link #getLastThroughput()} derives the load
+ * throughput.
+ */
+public final class GraphLoader {
+    
+    /**
+     * The default number of bytes in a chunk parsed by a single task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double BYTES_PER_MEGABYTE = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    
+    /**
+     * The largest power of ten converted exactly to a {@code double}.
+     */
+    private static final int MAXIMUM_EXACT_EXPONENT = 22;
+    
+    /**
+     * The largest mantissa converted exactly to a {@code double}.
+     */
+    private static final long MAXIMUM_EXACT_MANTISSA = 1L << 53;
+    
+    private static final double[] POWERS_OF_TEN =
+            new double[MAXIMUM_EXACT_EXPONENT + 1];
+    
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = 10.0 * POWERS_OF_TEN[i - 1];
+        }
+    }
+    
+    private enum Format {
+        DIMACS_GRAPH,
+        DIMACS_COORDINATES,
+        EDGE_LIST
+    }
+    
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private long lastBytesRead;
+    private long lastLoadNanos;
+    
+    /**
+     * Constructs a loader parsing chunks of the default size on the common
+     * fork/join pool.
+     */
+    public GraphLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Constructs a loader parsing chunks of the input size on the input
+     * fork/join pool.
+     * 
+     * @param pool      the fork/join pool.
+     * @param chunkSize the number of bytes in a chunk.
+     */
+    public GraphLoader(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid chunk size: " + chunkSize);
+        }
+        
+        this.pool = Objects.requireNonNull(pool, "pool is null.");
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Loads a DIMACS shortest path graph. The file consists of comment lines
+     * starting with {@code c}, one problem line {@code p sp <nodes> <arcs>}
+     * and the arc lines {@code a <tail> <head> <weight>}, where the nodes
+     * are numbered from one. Node {@code i} of the file becomes node
+     * {@code i - 1} of the returned graph.
+     * 
+     * @param file the {@code .gr} file.
+     * @return the graph.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public CsrGraph loadDimacsGraph(Path file) throws IOException {
+        long startTime = System.nanoTime();
+        Chunk[] chunks = parse(file, Format.DIMACS_GRAPH);
+        int numberOfNodes = getDeclaredNumberOfNodes(chunks);
+        CsrGraph.Builder builder = new CsrGraph.Builder(numberOfNodes);
+        
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                builder.addArc(
+                        checkNode(chunk.firstNodes[i] - 1, numberOfNodes),
+                        checkNode(chunk.secondNodes[i] - 1, numberOfNodes),
+                        chunk.firstValues[i]);
+            }
+        }
+        
+        CsrGraph graph = builder.build();
+        lastLoadNanos = System.nanoTime() - startTime;
+        return graph;
+    }
+    
+    /**
+     * Loads the node coordinates of a DIMACS shortest path graph. The file
+     * consists of comment lines starting with {@code c}, one problem line
+     * {@code p aux sp co <nodes>} and the coordinate lines
+     * {@code v <node> <x> <y>}, where the nodes are numbered from one. Nodes
+     * without a coordinate line are placed at the origin.
+     * 
+     * @param file the {@code .co} file.
+     * @return the coordinates.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public Coordinates loadDimacsCoordinates(Path file) throws IOException {
+        long startTime = System.nanoTime();
+        Chunk[] chunks = parse(file, Format.DIMACS_COORDINATES);
+        int numberOfNodes = getDeclaredNumberOfNodes(chunks);
+        double[] xs = new double[numberOfNodes];
+        double[] ys = new double[numberOfNodes];
+        
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                int node = checkNode(chunk.firstNodes[i] - 1, numberOfNodes);
+                xs[node] = chunk.firstValues[i];
+                ys[node] = chunk.secondValues[i];
+            }
+        }
+        
+        lastLoadNanos = System.nanoTime() - startTime;
+        return new Coordinates(xs, ys);
+    }
+    
+    /**
+     * Loads an edge list. Every line {@code <tail> <head> [<weight>]} adds an
+     * arc, where the nodes are numbered from zero and the weight defaults to
+     * one. Empty lines and lines starting with {@code #} or {@code %} are
+     * skipped. The number of nodes is one plus the largest node mentioned.
+     * 
+     * @param file the edge list file.
+     * @return the graph.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public CsrGraph loadEdgeList(Path file) throws IOException {
+        long startTime = System.nanoTime();
+        Chunk[] chunks = parse(file, Format.EDGE_LIST);
+        int maximumNode = -1;
+        
+        for (Chunk chunk : chunks) {
+            maximumNode = Math.max(maximumNode, chunk.maximumNode);
+        }
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(maximumNode + 1);
+        
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                builder.addArc(chunk.firstNodes[i],
+                               chunk.secondNodes[i],
+                               chunk.firstValues[i]);
+            }
+        }
+        
+        CsrGraph graph = builder.build();
+        lastLoadNanos = System.nanoTime() - startTime;
+        return graph;
+    }
+    
+    /**
+     * Returns the number of bytes in the last loaded file.
+     * 
+     * @return the number of bytes read.
+     */
+    public long getLastBytesRead() {
+        return lastBytesRead;
+    }
+    
+    /**
+     * Returns the time it took to parse the last loaded file and to build
+     * its graph, in nanoseconds.
+     * 
+     * @return the load time.
+     */
+    public long getLastLoadNanos() {
+        return lastLoadNanos;
+    }
+    
+    /**
+     * Returns the throughput of the last load in megabytes (one million
+     * bytes) per second.
+     * 
+     * @return the load throughput.
+     */
+    public double getLastThroughput() {
+        return lastBytesRead / BYTES_PER_MEGABYTE /
+               (Math.max(lastLoadNanos, 1L) / NANOS_PER_SECOND);
+    }
+    
+    /**
+     * This class holds the plane coordinates of the nodes of a graph,
+     * indexed by the nodes.
+     */
+    public static final class Coordinates {
+        
+        private final double[] xs;
+        private final double[] ys;
+        
+        Coordinates(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+        
+        /**
+         * Returns the {@code x}-coordinates of the nodes.
+         * 
+         * @return the {@code x}-coordinates.
+         */
+        public double[] getXs() {
+            return xs;
+        }
+        
+        /**
+         * Returns the {@code y}-coordinates of the nodes.
+         * 
+         * @return the {@code y}-coordinates.
+         */
+        public double[] getYs() {
+            return ys;
+        }
+        
+        /**
+         * Returns the number of nodes.
+         * 
+         * @return the number of nodes.
+         */
+        public int size() {
+            return xs.length;
+        }
+    }
+    
+    private Chunk[] parse(Path file, Format format) throws IOException {
+        Objects.requireNonNull(file, "file is null.");
+        
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int numberOfChunks =
+                    (int) Math.max(1L, (fileSize + chunkSize - 1) / chunkSize);
+            
+            Chunk[] chunks = new Chunk[numberOfChunks];
+            lastBytesRead = fileSize;
+            
+            try {
+                pool.invoke(new ParseTask(channel,
+                                          fileSize,
+                                          format,
+                                          chunks,
+                                          0,
+                                          numberOfChunks));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            
+            return chunks;
+        }
+    }
+    
+    private static int getDeclaredNumberOfNodes(Chunk[] chunks)
+            throws IOException {
+        int numberOfNodes = -1;
+        
+        for (Chunk chunk : chunks) {
+            if (chunk.declaredNumberOfNodes >= 0) {
+                if (numberOfNodes >= 0) {
+                    throw new IOException(
+                            "Malformed DIMACS file: more than one problem " +
+                            "line.");
+                }
+                
+                numberOfNodes = chunk.declaredNumberOfNodes;
+            }
+        }
+        
+        if (numberOfNodes < 0) {
+            throw new IOException(
+                    "Malformed DIMACS file: no problem line.");
+        }
+        
+        return numberOfNodes;
+    }
+    
+    private static int checkNode(int node, int numberOfNodes)
+            throws IOException {
+        if (node < 0 || node >= numberOfNodes) {
+            throw new IOException(
+                    "Node " + (node + 1) + " is out of range [1, " +
+                    numberOfNodes + "].");
+        }
+        
+        return node;
+    }
+    
+    /**
+     * This class holds the records parsed from a chunk in parallel arrays. An
+     * arc record is {@code (tail, head, weight)} and a coordinate record is
+     * {@code (node, x, y)}.
+     */
+    private static final class Chunk {
+        
+        int[] firstNodes = new int[INITIAL_CAPACITY];
+        int[] secondNodes = new int[INITIAL_CAPACITY];
+        double[] firstValues = new double[INITIAL_CAPACITY];
+        double[] secondValues = new double[INITIAL_CAPACITY];
+        int size;
+        int declaredNumberOfNodes = -1;
+        int maximumNode = -1;
+        
+        void add(int firstNode,
+                 int secondNode,
+                 double firstValue,
+                 double secondValue) {
+            if (size == firstNodes.length) {
+                int newCapacity = 2 * size;
+                firstNodes = Arrays.copyOf(firstNodes, newCapacity);
+                secondNodes = Arrays.copyOf(secondNodes, newCapacity);
+                firstValues = Arrays.copyOf(firstValues, newCapacity);
+                secondValues = Arrays.copyOf(secondValues, newCapacity);
+            }
+            
+            firstNodes[size] = firstNode;
+            secondNodes[size] = secondNode;
+            firstValues[size] = firstValue;
+            secondValues[size] = secondValue;
+            size++;
+        }
+    }
+    
+    /**
+     * This class parses a range of chunks, splitting the range in halves
+     * until a single chunk remains.
+     */
+    private final class ParseTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient FileChannel channel;
+        private final long fileSize;
+        private final Format format;
+        private final transient Chunk[] chunks;
+        private final int begin;
+        private final int end;
+        
+        ParseTask(FileChannel channel,
+                  long fileSize,
+                  Format format,
+                  Chunk[] chunks,
+                  int begin,
+                  int end) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.format = format;
+            this.chunks = chunks;
+            this.begin = begin;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - begin > 1) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new ParseTask(channel,
+                                        fileSize,
+                                        format,
+                                        chunks,
+                                        begin,
+                                        middle),
+                          new ParseTask(channel,
+                                        fileSize,
+                                        format,
+                                        chunks,
+                                        middle,
+                                        end));
+                return;
+            }
+            
+            long chunkBegin = (long) begin * chunkSize;
+            long chunkEnd = Math.min(chunkBegin + chunkSize, fileSize);
+            
+            try {
+                // A small chunk needs no more than a small buffer, as only
+                // its last line is read past its end:
+                int bufferSize = Math.min(BUFFER_SIZE, chunkSize);
+                
+                chunks[begin] = parseChunk(new LineReader(channel,
+                                                          fileSize,
+                                                          chunkBegin,
+                                                          chunkEnd,
+                                                          bufferSize),
+                                           format);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+    
+    private static Chunk parseChunk(LineReader reader, Format format)
+            throws IOException {
+        Chunk chunk = new Chunk();
+        
+        while (reader.nextLine()) {
+            if (!reader.hasNextToken()) {
+                continue;
+            }
+            
+            switch (format) {
+                case DIMACS_GRAPH:
+                    parseDimacsGraphLine(reader, chunk);
+                    break;
+                
+                case DIMACS_COORDINATES:
+                    parseDimacsCoordinatesLine(reader, chunk);
+                    break;
+                
+                case EDGE_LIST:
+                    parseEdgeListLine(reader, chunk);
+                    break;
+            }
+        }
+        
+        return chunk;
+    }
+    
+    private static void parseDimacsGraphLine(LineReader reader, Chunk chunk)
+            throws IOException {
+        switch (reader.getFirstByte()) {
+            case 'a':
+                reader.skipToken();
+                int tail = reader.nextInt();
+                int head = reader.nextInt();
+                double weight = reader.nextWeight();
+                chunk.add(tail, head, weight, 0.0);
+                break;
+            
+            case 'p':
+                reader.skipToken();
+                reader.expectToken("sp");
+                chunk.declaredNumberOfNodes = reader.nextInt();
+                break;
+            
+            case 'c':
+                break;
+            
+            default:
+                throw reader.malformed();
+        }
+    }
+    
+    private static void parseDimacsCoordinatesLine(LineReader reader,
+                                                   Chunk chunk)
+            throws IOException {
+        switch (reader.getFirstByte()) {
+            case 'v':
+                reader.skipToken();
+                int node = reader.nextInt();
+                double x = reader.nextDouble();
+                double y = reader.nextDouble();
+                chunk.add(node, 0, x, y);
+                break;
+            
+            case 'p':
+                reader.skipToken();
+                reader.expectToken("aux");
+                reader.expectToken("sp");
+                reader.expectToken("co");
+                chunk.declaredNumberOfNodes = reader.nextInt();
+                break;
+            
+            case 'c':
+                break;
+            
+            default:
+                throw reader.malformed();
+        }
+    }
+    
+    private static void parseEdgeListLine(LineReader reader, Chunk chunk)
+            throws IOException {
+        byte firstByte = reader.getFirstByte();
+        
+        if (firstByte == '#' || firstByte == '%') {
+            return;
+        }
+        
+        int tail = reader.nextInt();
+        int head = reader.nextInt();
+        double weight = reader.hasNextToken() ? reader.nextWeight() : 1.0;
+        
+        if (tail < 0 || head < 0) {
+            throw reader.malformed();
+        }
+        
+        chunk.add(tail, head, weight, 0.0);
+        chunk.maximumNode = Math.max(chunk.maximumNode,
+                                     Math.max(tail, head));
+    }
+    
+    /**
+     * This class reads the lines starting within a byte range of a file
+     * through a small buffer, and tokenizes the current line.
+     */
+    private static final class LineReader {
+        
+        private final FileChannel channel;
+        private final long fileSize;
+        private final long end;
+        private final ByteBuffer buffer;
+        private long bufferPosition;
+        private byte[] line = new byte[INITIAL_CAPACITY];
+        private int lineLength;
+        private long lineOffset;
+        private int cursor;
+        
+        LineReader(FileChannel channel,
+                   long fileSize,
+                   long begin,
+                   long end,
+                   int bufferSize) throws IOException {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.end = end;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            this.buffer.limit(0);
+            
+            if (begin == 0L) {
+                this.bufferPosition = 0L;
+            } else {
+                // Skip the line started by the previous chunk, unless the
+                // previous chunk ends with a line break:
+                this.bufferPosition = begin - 1;
+                int b;
+                
+                do {
+                    b = read();
+                } while (b != -1 && b != '\n');
+            }
+        }
+        
+        boolean nextLine() throws IOException {
+            lineOffset = getOffset();
+            
+            if (lineOffset >= end) {
+                return false;
+            }
+            
+            lineLength = 0;
+            cursor = 0;
+            int b;
+            
+            while ((b = read()) != -1 && b != '\n') {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, 2 * lineLength);
+                }
+                
+                line[lineLength++] = (byte) b;
+            }
+            
+            if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                lineLength--;
+            }
+            
+            return true;
+        }
+        
+        boolean hasNextToken() {
+            skipSpaces();
+            return cursor < lineLength;
+        }
+        
+        byte getFirstByte() {
+            skipSpaces();
+            return line[cursor];
+        }
+        
+        void skipToken() {
+            skipSpaces();
+            
+            while (cursor < lineLength && !isSpace(line[cursor])) {
+                cursor++;
+            }
+        }
+        
+        void expectToken(String token) throws IOException {
+            skipSpaces();
+            int tokenBegin = cursor;
+            skipToken();
+            
+            if (!token.equals(new String(line,
+                                         tokenBegin,
+                                         cursor - tokenBegin,
+                                         StandardCharsets.US_ASCII))) {
+                throw malformed();
+            }
+        }
+        
+        int nextInt() throws IOException {
+            skipSpaces();
+            boolean negative = cursor < lineLength && line[cursor] == '-';
+            
+            if (negative) {
+                cursor++;
+            }
+            
+            int digitsBegin = cursor;
+            long value = 0L;
+            
+            while (cursor < lineLength && isDigit(line[cursor])) {
+                value = 10L * value + (line[cursor++] - '0');
+                
+                if (value > Integer.MAX_VALUE) {
+                    throw malformed();
+                }
+            }
+            
+            if (cursor == digitsBegin || !isTokenEnd()) {
+                throw malformed();
+            }
+            
+            return (int)(negative ? -value : value);
+        }
+        
+        double nextWeight() throws IOException {
+            double weight = nextDouble();
+            
+            if (!(weight >= 0.0)) {
+                throw malformed();
+            }
+            
+            return weight;
+        }
+        
+        /**
+         * Parses a decimal number. The common numbers whose mantissa and
+         * exponent are exactly representable are converted directly, and
+         * the others fall back to {@link Double#parseDouble(String)}.
+         */
+        double nextDouble() throws IOException {
+            skipSpaces();
+            int tokenBegin = cursor;
+            boolean negative = cursor < lineLength && line[cursor] == '-';
+            
+            if (negative || (cursor < lineLength && line[cursor] == '+')) {
+                cursor++;
+            }
+            
+            long mantissa = 0L;
+            int digits = 0;
+            int fractionDigits = 0;
+            boolean exact = true;
+            
+            while (cursor < lineLength && isDigit(line[cursor])) {
+                mantissa = 10L * mantissa + (line[cursor++] - '0');
+                exact &= mantissa < MAXIMUM_EXACT_MANTISSA;
+                digits++;
+            }
+            
+            if (cursor < lineLength && line[cursor] == '.') {
+                cursor++;
+                
+                while (cursor < lineLength && isDigit(line[cursor])) {
+                    mantissa = 10L * mantissa + (line[cursor++] - '0');
+                    exact &= mantissa < MAXIMUM_EXACT_MANTISSA;
+                    digits++;
+                    fractionDigits++;
+                }
+            }
+            
+            if (digits == 0) {
+                throw malformed();
+            }
+            
+            if (exact &&
+                fractionDigits <= MAXIMUM_EXACT_EXPONENT &&
+                isTokenEnd()) {
+                double value = mantissa / POWERS_OF_TEN[fractionDigits];
+                return negative ? -value : value;
+            }
+            
+            // An exponent or too many digits:
+            skipToken();
+            
+            try {
+                return Double.parseDouble(
+                        new String(line,
+                                   tokenBegin,
+                                   cursor - tokenBegin,
+                                   StandardCharsets.US_ASCII));
+            } catch (NumberFormatException ex) {
+                throw malformed();
+            }
+        }
+        
+        IOException malformed() {
+            return new IOException(
+                    "Malformed line at byte " + lineOffset + ": " +
+                    new String(line, 0, lineLength, StandardCharsets.UTF_8));
+        }
+        
+        private long getOffset() {
+            return bufferPosition - buffer.remaining();
+        }
+        
+        private int read() throws IOException {
+            if (!buffer.hasRemaining()) {
+                if (bufferPosition >= fileSize) {
+                    return -1;
+                }
+                
+                buffer.clear();
+                
+                int bytesRead = channel.read(buffer, bufferPosition);
+                
+                if (bytesRead <= 0) {
+                    buffer.limit(0);
+                    return -1;
+                }
+                
+                bufferPosition += bytesRead;
+                buffer.flip();
+            }
+            
+            return buffer.get() & 0xff;
+        }
+        
+        private void skipSpaces() {
+            while (cursor < lineLength && isSpace(line[cursor])) {
+                cursor++;
+            }
+        }
+        
+        private boolean isTokenEnd() {
+            return cursor == lineLength || isSpace(line[cursor]);
+        }
+        
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t';
+        }
+        
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class maps graph nodes to dense integer indices. A node receives its
+ * index the first time it is asked for, so the indices are
+ * {@code 0, 1, ..., size() - 1} in the order the nodes were first seen. 
+ * This is the indexer the search workspaces fall back to when the caller does
+ * not supply one; it pays a hash lookup per node access.
+ * 
+ * @param <N> the actual graph node type.
+ */
+final class HashNodeIndexer<N> implements NodeIndexer<N> {
+    
+    private final Map<N, Integer> indexMap = new HashMap<>();
+    private final List<N> nodes = new ArrayList<>();
+    
+    @Override
+    public int getIndex(N node) {
+        Integer index = indexMap.get(node);
+        
+        if (index == null) {
+            index = nodes.size();
+            indexMap.put(node, index);
+            nodes.add(node);
+        }
+        
+        return index;
+    }
+    
+    @Override
+    public N getNode(int index) {
+        return nodes.get(index);
+    }
+    
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for heuristic functions estimating the 
+ * distance between two nodes. An estimate must never exceed the actual 
+ * shortest path distance, and for the goal-directed searches it must also be
+ * consistent: for every arc {@code (u, v)} of weight {@code w} and every node
+ * {@code x}, {@code estimate(u, x) <= w + estimate(v, x)} and 
+ * {@code estimate(x, v) <= estimate(x, u) + w}.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public interface HeuristicFunction<N> {
+    
+    /**
+     * Returns a lower bound on the distance from {@code from} to {@code to}.
+     * 
+     * @param from the starting node.
+     * @param to   the ending node.
+     * @return the distance estimate.
+     */
+    double estimate(N from, N to);
+}
@@ -0,0 +1,74 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for addressable minimum priority queues over
+ * non-negative integer elements. Unlike {@link java.util.PriorityQueue}, an
+ * indexed heap contains each element at most once and supports lowering the
+ * key of an element already in the heap, so that the size of the heap stays
+ * bounded by the size of the search frontier.
+ * 
+ * @param <W> the key type.
+ */
+public interface IndexedHeap<W> {
+    
+    /**
+     * Inserts the input element with the given key. The element must not be
+     * present in this heap.
+     * 
+     * @param element the element to insert.
+     * @param key     the key of the element.
+     */
+    void insert(int element, W key);
+    
+    /**
+     * Lowers the key of the input element. The element must be present in
+     * this heap, and the new key must not be larger than the current one.
+     * 
+     * @param element the element whose key to lower.
+     * @param key     the new key.
+     */
+    void decreaseKey(int element, W key);
+    
+    /**
+     * Returns {@code true} if the input element is present in this heap.
+     * 
+     * @param element the element to query.
+     * @return {@code true} if the element is in this heap.
+     */
+    boolean contains(int element);
+    
+    /**
+     * Removes and returns an element with the smallest key.
+     * 
+     * @return a minimum element.
+     */
+    int extractMinimum();
+    
+    /**
+     * Returns the smallest key in this heap.
+     * 
+     * @return the minimum key.
+     */
+    W getMinimumKey();
+    
+    /**
+     * Returns the number of elements in this heap.
+     * 
+     * @return the size of this heap.
+     */
+    int size();
+    
+    /**
+     * Removes all the elements from this heap.
+     */
+    void clear();
+    
+    /**
+     * Returns {@code true} if this heap contains no elements.
+     * 
+     * @return {@code true} if this heap is empty.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Comparator;
+
+/**
+ * This interface defines the API for creating {@link IndexedHeap} instances,
+ * so that the heap implementation of a search may be chosen by the caller.
+ * 
+ * @param <W> the key type.
+ */
+public interface IndexedHeapFactory<W> {
+    
+    /**
+     * Creates a new, empty heap.
+     * 
+     * @param keyComparator the comparator for comparing the keys.
+     * @return a new heap.
+     */
+    IndexedHeap<W> createHeap(Comparator<W> keyComparator);
+}
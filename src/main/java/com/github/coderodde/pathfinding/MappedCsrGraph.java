@@ -0,0 +1,352 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * This class implements an immutable directed graph that is read directly
+ * from a memory-mapped graph file. Opening a graph maps the arrays of the
+ * file into memory without parsing or copying anything onto the heap, so the
+ * first query may be answered right away; the operating system pages the
+ * graph in on demand and shares it among the processes mapping the same
+ * file.
+ * <p>
+ * A graph file is written by {@link #write(StaticGraph, Path)} and has the
+ * same layout as {@link CsrGraph}. All values are little-endian:
+ * 
+ * <pre>
+ * int    magic           0x43535247
+ * int    version         1
+ * int    numberOfNodes   n
+ * int    numberOfArcs    m
+ * double outWeights[m]
+ * double inWeights[m]
+ * int    outOffsets[n + 1]
+ * int    inOffsets[n + 1]
+ * int    outHeads[m]
+ * int    inTails[m]
+ * </pre>
+ * 
+ * The double sections precede the int sections so that every value is
+ * aligned. Opening a file checks its header and its size, but not the
+ * contents of the arrays. Each section is mapped separately and must not
+ * exceed {@link Integer#MAX_VALUE} bytes. The mapping stays valid after
+ * {@link #open(Path)} returns and is released once the graph is garbage
+ * collected.
+ */
+public final class MappedCsrGraph implements StaticGraph {
+    
+    /**
+     * The first four bytes of every graph file.
+     */
+    public static final int MAGIC = 0x43535247;
+    
+    /**
+     * The version of the graph file format written by this class.
+     */
+    public static final int VERSION = 1;
+    
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    
+    private final DoubleBuffer outWeights;
+    private final DoubleBuffer inWeights;
+    private final IntBuffer outOffsets;
+    private final IntBuffer inOffsets;
+    private final IntBuffer outHeads;
+    private final IntBuffer inTails;
+    private final int numberOfNodes;
+    private final int numberOfArcs;
+    
+    private MappedCsrGraph(DoubleBuffer outWeights,
+                           DoubleBuffer inWeights,
+                           IntBuffer outOffsets,
+                           IntBuffer inOffsets,
+                           IntBuffer outHeads,
+                           IntBuffer inTails,
+                           int numberOfNodes,
+                           int numberOfArcs) {
+        this.outWeights = outWeights;
+        this.inWeights = inWeights;
+        this.outOffsets = outOffsets;
+        this.inOffsets = inOffsets;
+        this.outHeads = outHeads;
+        this.inTails = inTails;
+        this.numberOfNodes = numberOfNodes;
+        this.numberOfArcs = numberOfArcs;
+    }
+    
+    /**
+     * Maps the input graph file into memory.
+     * 
+     * @param file the graph file.
+     * @return the mapped graph.
+     * @throws IOException if the file cannot be read or is not a graph file
+     *                     of a supported version.
+     */
+    public static MappedCsrGraph open(Path file) throws IOException {
+        Objects.requireNonNull(file, "file is null.");
+        
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException(
+                            "Invalid graph file: the header is truncated.");
+                }
+            }
+            
+            header.flip();
+            
+            int magic = header.getInt();
+            int version = header.getInt();
+            int numberOfNodes = header.getInt();
+            int numberOfArcs = header.getInt();
+            
+            if (magic != MAGIC) {
+                throw new IOException(
+                        "Invalid graph file: bad magic number " +
+                        Integer.toHexString(magic) + ".");
+            }
+            
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported graph file version: " + version);
+            }
+            
+            if (numberOfNodes < 0 || numberOfArcs < 0) {
+                throw new IOException(
+                        "Invalid graph file: negative size.");
+            }
+            
+            long position = HEADER_SIZE;
+            long weightsSize = (long) numberOfArcs * Double.BYTES;
+            long offsetsSize = (numberOfNodes + 1L) * Integer.BYTES;
+            long headsSize = (long) numberOfArcs * Integer.BYTES;
+            long expectedSize = position + 2 * (weightsSize +
+                                                offsetsSize +
+                                                headsSize);
+            
+            if (channel.size() != expectedSize) {
+                throw new IOException(
+                        "Invalid graph file: expected " + expectedSize +
+                        " bytes, found " + channel.size() + ".");
+            }
+            
+            DoubleBuffer outWeights =
+                    map(channel, position, weightsSize).asDoubleBuffer();
+            DoubleBuffer inWeights =
+                    map(channel, position += weightsSize, weightsSize)
+                            .asDoubleBuffer();
+            IntBuffer outOffsets =
+                    map(channel, position += weightsSize, offsetsSize)
+                            .asIntBuffer();
+            IntBuffer inOffsets =
+                    map(channel, position += offsetsSize, offsetsSize)
+                            .asIntBuffer();
+            IntBuffer outHeads =
+                    map(channel, position += offsetsSize, headsSize)
+                            .asIntBuffer();
+            IntBuffer inTails =
+                    map(channel, position += headsSize, headsSize)
+                            .asIntBuffer();
+            
+            if (outOffsets.get(numberOfNodes) != numberOfArcs ||
+                inOffsets.get(numberOfNodes) != numberOfArcs) {
+                throw new IOException(
+                        "Invalid graph file: the offsets do not match the " +
+                        "number of arcs.");
+            }
+            
+            return new MappedCsrGraph(outWeights,
+                                      inWeights,
+                                      outOffsets,
+                                      inOffsets,
+                                      outHeads,
+                                      inTails,
+                                      numberOfNodes,
+                                      numberOfArcs);
+        }
+    }
+    
+    /**
+     * Writes the input graph into a graph file, replacing the file if it
+     * exists. The rows of the graph must be sorted by the opposite end node,
+     * as they are in {@link CsrGraph} and in every mapped graph.
+     * 
+     * @param graph the graph to write.
+     * @param file  the target file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(StaticGraph graph, Path file) throws IOException {
+        Objects.requireNonNull(graph, "graph is null.");
+        Objects.requireNonNull(file, "file is null.");
+        
+        int numberOfNodes = graph.size();
+        int numberOfArcs = graph.getNumberOfArcs();
+        
+        try (FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            
+            buffer.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(numberOfNodes)
+                  .putInt(numberOfArcs);
+            
+            for (int arc = 0; arc < numberOfArcs; arc++) {
+                ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(graph.getArcWeight(arc));
+            }
+            
+            for (int arc = 0; arc < numberOfArcs; arc++) {
+                ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(graph.getIncomingArcWeight(arc));
+            }
+            
+            for (int node = 0; node < numberOfNodes; node++) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.getOutgoingArcsBegin(node));
+            }
+            
+            ensureRemaining(channel, buffer, Integer.BYTES);
+            buffer.putInt(numberOfArcs);
+            
+            for (int node = 0; node < numberOfNodes; node++) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.getIncomingArcsBegin(node));
+            }
+            
+            ensureRemaining(channel, buffer, Integer.BYTES);
+            buffer.putInt(numberOfArcs);
+            
+            for (int arc = 0; arc < numberOfArcs; arc++) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.getArcHead(arc));
+            }
+            
+            for (int arc = 0; arc < numberOfArcs; arc++) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.getIncomingArcTail(arc));
+            }
+            
+            drain(channel, buffer);
+        }
+    }
+    
+    @Override
+    public int size() {
+        return numberOfNodes;
+    }
+    
+    @Override
+    public int getNumberOfArcs() {
+        return numberOfArcs;
+    }
+    
+    @Override
+    public int getOutgoingArcsBegin(int node) {
+        return outOffsets.get(node);
+    }
+    
+    @Override
+    public int getOutgoingArcsEnd(int node) {
+        return outOffsets.get(node + 1);
+    }
+    
+    @Override
+    public int getArcHead(int arc) {
+        return outHeads.get(arc);
+    }
+    
+    @Override
+    public double getArcWeight(int arc) {
+        return outWeights.get(arc);
+    }
+    
+    @Override
+    public int getIncomingArcsBegin(int node) {
+        return inOffsets.get(node);
+    }
+    
+    @Override
+    public int getIncomingArcsEnd(int node) {
+        return inOffsets.get(node + 1);
+    }
+    
+    @Override
+    public int getIncomingArcTail(int arc) {
+        return inTails.get(arc);
+    }
+    
+    @Override
+    public double getIncomingArcWeight(int arc) {
+        return inWeights.get(arc);
+    }
+    
+    @Override
+    public double getWeight(int tail, int head) {
+        int low = outOffsets.get(tail);
+        int high = outOffsets.get(tail + 1) - 1;
+        
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleHead = outHeads.get(middle);
+            
+            if (middleHead < head) {
+                low = middle + 1;
+            } else if (middleHead > head) {
+                high = middle - 1;
+            } else {
+                return outWeights.get(middle);
+            }
+        }
+        
+        return Double.POSITIVE_INFINITY;
+    }
+    
+    private static ByteBuffer map(FileChannel channel,
+                                  long position,
+                                  long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "A section of " + size + " bytes is too large to map.");
+        }
+        
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+                      .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    private static void ensureRemaining(FileChannel channel,
+                                        ByteBuffer buffer,
+                                        int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+    
+    private static void drain(FileChannel channel,
+                              ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        
+        buffer.clear();
+    }
+}
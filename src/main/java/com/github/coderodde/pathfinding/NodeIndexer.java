@@ -0,0 +1,40 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for mapping graph nodes to dense integer 
+ * indices and back. Given an indexer, the search algorithms keep their 
+ * per-node state in arrays addressed by the node indices instead of hashing 
+ * the nodes on every relaxation.
+ * <p>
+ * An indexer must be a bijection between the nodes it knows and the indices
+ * {@code 0, 1, ..., size() - 1}, and the index of a node must not change 
+ * while a workspace using the indexer is alive.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public interface NodeIndexer<N> {
+    
+    /**
+     * Returns the index of the input node.
+     * 
+     * @param node the node to index.
+     * @return the index of the node.
+     */
+    int getIndex(N node);
+    
+    /**
+     * Returns the node with the given index.
+     * 
+     * @param index the index of the node.
+     * @return the node.
+     */
+    N getNode(int index);
+    
+    /**
+     * Returns the number of the indexed nodes. All the indices are below this
+     * value.
+     * 
+     * @return the number of indexed nodes.
+     */
+    int size();
+}
@@ -0,0 +1,247 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed pairing heap. The tree is stored in
+ * parallel arrays indexed by the elements, so the heap does not allocate
+ * per-element node objects. {@link #decreaseKey(int, Object)} cuts the
+ * subtree of the element and links it with the root, and
+ * {@link #extractMinimum()} combines the children of the root with the
+ * standard two-pass pairing.
+ * 
+ * @param <W> the key type.
+ */
+public final class PairingHeap<W> implements IndexedHeap<W> {
+    
+    private static final int NIL = -1;
+    
+    private final Comparator<W> keyComparator;
+    private Object[] keys = new Object[0];
+    private int[] children = new int[0];
+    private int[] siblings = new int[0];
+    
+    /**
+     * For the leftmost child, the parent, and for every other node, the
+     * previous sibling.
+     */
+    private int[] previous = new int[0];
+    private boolean[] present = new boolean[0];
+    private int[] pairingBuffer = new int[16];
+    private int root = NIL;
+    private int size;
+    
+    /**
+     * Constructs an empty heap.
+     * 
+     * @param keyComparator the comparator for comparing the keys.
+     */
+    public PairingHeap(Comparator<W> keyComparator) {
+        this.keyComparator = keyComparator;
+    }
+    
+    @Override
+    public void insert(int element, W key) {
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                    "Element " + element + " is already in the heap.");
+        }
+        
+        ensureCapacity(element);
+        keys[element] = key;
+        children[element] = NIL;
+        siblings[element] = NIL;
+        previous[element] = NIL;
+        present[element] = true;
+        root = root == NIL ? element : link(root, element);
+        size++;
+    }
+    
+    @Override
+    public void decreaseKey(int element, W key) {
+        if (!contains(element)) {
+            throw new NoSuchElementException(
+                    "Element " + element + " is not in the heap.");
+        }
+        
+        if (keyComparator.compare(key, keyOf(element)) > 0) {
+            throw new IllegalArgumentException(
+                    "The new key is larger than the current key.");
+        }
+        
+        keys[element] = key;
+        
+        if (element == root) {
+            return;
+        }
+        
+        cut(element);
+        root = link(root, element);
+    }
+    
+    @Override
+    public boolean contains(int element) {
+        return element < present.length && present[element];
+    }
+    
+    @Override
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        int minimumElement = root;
+        root = combineSiblings(children[minimumElement]);
+        present[minimumElement] = false;
+        keys[minimumElement] = null;
+        size--;
+        return minimumElement;
+    }
+    
+    @Override
+    public W getMinimumKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        return keyOf(root);
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        // Traverse the tree via the pairing buffer used as a stack:
+        int stackSize = 0;
+        
+        if (root != NIL) {
+            pairingBuffer[stackSize++] = root;
+        }
+        
+        while (stackSize > 0) {
+            int element = pairingBuffer[--stackSize];
+            present[element] = false;
+            keys[element] = null;
+            
+            for (int child = children[element];
+                     child != NIL;
+                     child = siblings[child]) {
+                ensurePairingBufferCapacity(stackSize);
+                pairingBuffer[stackSize++] = child;
+            }
+        }
+        
+        root = NIL;
+        size = 0;
+    }
+    
+    /**
+     * Makes the root with the larger key the leftmost child of the other and
+     * returns the new root.
+     */
+    private int link(int root1, int root2) {
+        if (keyComparator.compare(keyOf(root2), keyOf(root1)) < 0) {
+            int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+        
+        int firstChild = children[root1];
+        siblings[root2] = firstChild;
+        
+        if (firstChild != NIL) {
+            previous[firstChild] = root2;
+        }
+        
+        previous[root2] = root1;
+        children[root1] = root2;
+        siblings[root1] = NIL;
+        previous[root1] = NIL;
+        return root1;
+    }
+    
+    private void cut(int element) {
+        int previousElement = previous[element];
+        int nextSibling = siblings[element];
+        
+        if (children[previousElement] == element) {
+            children[previousElement] = nextSibling;
+        } else {
+            siblings[previousElement] = nextSibling;
+        }
+        
+        if (nextSibling != NIL) {
+            previous[nextSibling] = previousElement;
+        }
+        
+        siblings[element] = NIL;
+        previous[element] = NIL;
+    }
+    
+    private int combineSiblings(int firstSibling) {
+        if (firstSibling == NIL) {
+            return NIL;
+        }
+        
+        int count = 0;
+        
+        for (int sibling = firstSibling; sibling != NIL; ) {
+            int nextSibling = siblings[sibling];
+            ensurePairingBufferCapacity(count);
+            pairingBuffer[count++] = sibling;
+            siblings[sibling] = NIL;
+            previous[sibling] = NIL;
+            sibling = nextSibling;
+        }
+        
+        // First pass: link the pairs from left to right.
+        int pairs = 0;
+        
+        for (int i = 0; i + 1 < count; i += 2) {
+            pairingBuffer[pairs++] = link(pairingBuffer[i],
+                                          pairingBuffer[i + 1]);
+        }
+        
+        if (count % 2 == 1) {
+            pairingBuffer[pairs++] = pairingBuffer[count - 1];
+        }
+        
+        // Second pass: link the results from right to left.
+        int result = pairingBuffer[pairs - 1];
+        
+        for (int i = pairs - 2; i >= 0; i--) {
+            result = link(pairingBuffer[i], result);
+        }
+        
+        return result;
+    }
+    
+    private void ensureCapacity(int element) {
+        if (element < keys.length) {
+            return;
+        }
+        
+        int newCapacity = Math.max(element + 1, 2 * keys.length);
+        keys = Arrays.copyOf(keys, newCapacity);
+        children = Arrays.copyOf(children, newCapacity);
+        siblings = Arrays.copyOf(siblings, newCapacity);
+        previous = Arrays.copyOf(previous, newCapacity);
+        present = Arrays.copyOf(present, newCapacity);
+    }
+    
+    private void ensurePairingBufferCapacity(int index) {
+        if (index == pairingBuffer.length) {
+            pairingBuffer = Arrays.copyOf(pairingBuffer, 2 * index);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private W keyOf(int element) {
+        return (W) keys[element];
+    }
+}
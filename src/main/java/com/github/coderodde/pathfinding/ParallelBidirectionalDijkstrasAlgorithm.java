@@ -0,0 +1,327 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a bidirectional Dijkstra's algorithm over primitive 
+ * {@code double} arc weights, in which the forward search runs in the calling
+ * thread and the backward search runs concurrently in a thread of an 
+ * executor.
+ * <p>
+ * The two searches share only the best meeting distance {@code mu} and 
+ * read each other's tentative distances. Each search publishes the key of 
+ * the node it is about to settle; since the keys of a Dijkstra's search never 
+ * decrease, a published key is a lower bound on the distance of every node 
+ * the search has not yet finished scanning. Hence, a search stops as soon as
+ * its own minimum key plus the key published by the opposite search reaches 
+ * {@code mu}, and it tells the opposite search to stop as well. If one of the
+ * searches gets exhausted, {@code mu} is optimal, too.
+ * <p>
+ * The graph access must be safe for two concurrent threads; in particular, 
+ * the children expander is called only by the forward thread and the parents
+ * expander only by the backward thread.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class ParallelBidirectionalDijkstrasAlgorithm<N> {
+    
+    private final DoubleIndexedHeapFactory heapFactory;
+    private final Executor executor;
+    
+    /**
+     * Constructs this algorithm using {@link DoubleDaryHeap}s of degree 
+     * {@link DoubleDaryHeap#DEFAULT_DEGREE} and running the backward searches
+     * in the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public ParallelBidirectionalDijkstrasAlgorithm() {
+        this(DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE),
+             ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Constructs this algorithm using the heaps created by the input factory
+     * and running the backward searches in the input executor.
+     * 
+     * @param heapFactory the heap factory.
+     * @param executor    the executor running the backward searches.
+     */
+    public ParallelBidirectionalDijkstrasAlgorithm(
+            DoubleIndexedHeapFactory heapFactory,
+            Executor executor) {
+        this.heapFactory = 
+                Objects.requireNonNull(heapFactory, "heapFactory is null.");
+        
+        this.executor = Objects.requireNonNull(executor, "executor is null.");
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the node expander generating child nodes.
+     * @param parentsExpander  the node expander generating parent nodes.
+     * @param weightFunction   the weight function of the graph.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    NodeExpander<N> childrenExpander,
+                                    NodeExpander<N> parentsExpander,
+                                    DoubleWeightFunction<N> weightFunction,
+                                    ParallelSearchWorkspace<N> workspace) {
+        return findShortestPath(
+                source, 
+                target, 
+                DoubleArcExpander.ofChildren(childrenExpander, weightFunction), 
+                DoubleArcExpander.ofParents(parentsExpander, weightFunction), 
+                workspace);
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source           the source node.
+     * @param target           the target node.
+     * @param childrenExpander the expander generating the outgoing arcs.
+     * @param parentsExpander  the expander generating the incoming arcs.
+     * @param workspace        the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    DoubleArcExpander<N> childrenExpander,
+                                    DoubleArcExpander<N> parentsExpander,
+                                    ParallelSearchWorkspace<N> workspace) {
+        if (source.equals(target)) {
+            // We need to handle this special case, since the actual algorithm
+            // cannot deal with it.
+            return Arrays.asList(target);
+        }
+        
+        NodeIndexer<N> indexer     = workspace.getIndexer();
+        ParallelSearchState stateF = workspace.getForwardState();
+        ParallelSearchState stateB = workspace.getBackwardState();
+        
+        stateF.reset(heapFactory);
+        stateB.reset(heapFactory);
+        
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        stateF.getHeap().insert(sourceIndex, 0.0);
+        stateB.getHeap().insert(targetIndex, 0.0);
+        
+        stateF.setDistance(sourceIndex, 0.0);
+        stateB.setDistance(targetIndex, 0.0);
+        
+        stateF.setParent(sourceIndex, ParallelSearchState.NO_PARENT);
+        stateB.setParent(targetIndex, ParallelSearchState.NO_PARENT);
+        
+        Search<N> search = new Search<>(indexer, 
+                                        stateF, 
+                                        stateB, 
+                                        childrenExpander, 
+                                        parentsExpander);
+        
+        CompletableFuture<Void> backwardSearch = 
+                CompletableFuture.runAsync(search.backwardSearch, executor);
+        
+        try {
+            search.forwardSearch.run();
+        } finally {
+            // Stops the backward search should the forward search throw:
+            search.stopped = true;
+            
+            try {
+                backwardSearch.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                
+                throw ex;
+            }
+        }
+        
+        // Joining the backward search makes all its writes visible here:
+        if (search.touchNode == ParallelSearchState.NO_PARENT) {
+            throw new IllegalStateException(
+                    "The target node is not reachable from the source node.");
+        }
+        
+        return tracebackPath(search.touchNode, stateF, stateB, indexer);
+    }
+    
+    private static <N> List<N> tracebackPath(int touchNode,
+                                             ParallelSearchState stateF,
+                                             ParallelSearchState stateB,
+                                             NodeIndexer<N> indexer) {
+        List<N> path = new ArrayList<>();
+        
+        int node = touchNode;
+        
+        while (node != ParallelSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateF.getParent(node);
+        }
+        
+        Collections.reverse(path);
+        node = stateB.getParent(touchNode);
+        
+        while (node != ParallelSearchState.NO_PARENT) {
+            path.add(indexer.getNode(node));
+            node = stateB.getParent(node);
+        }
+        
+        return path;
+    }
+    
+    /**
+     * This class holds the state shared by the two search threads: the best
+     * meeting distance, the node at which the searches meet at that distance,
+     * and the stop flag.
+     * 
+     * @param <N> the actual graph node type.
+     */
+    private static final class Search<N> {
+        
+        private final NodeIndexer<N> indexer;
+        final DirectionSearch forwardSearch;
+        final DirectionSearch backwardSearch;
+        volatile double mu = Double.POSITIVE_INFINITY;
+        volatile boolean stopped;
+        
+        /**
+         * The node through which the shortest path of length {@code mu} known
+         * so far passes. Guarded by {@code this}.
+         */
+        int touchNode = ParallelSearchState.NO_PARENT;
+        
+        Search(NodeIndexer<N> indexer,
+               ParallelSearchState stateF,
+               ParallelSearchState stateB,
+               DoubleArcExpander<N> childrenExpander,
+               DoubleArcExpander<N> parentsExpander) {
+            this.indexer = indexer;
+            this.forwardSearch = 
+                    new DirectionSearch(stateF, stateB, childrenExpander);
+            
+            this.backwardSearch = 
+                    new DirectionSearch(stateB, stateF, parentsExpander);
+            
+            this.forwardSearch.opposite = backwardSearch;
+            this.backwardSearch.opposite = forwardSearch;
+        }
+        
+        synchronized void updateMeetingPoint(double distance, int node) {
+            if (mu > distance) {
+                mu = distance;
+                touchNode = node;
+            }
+        }
+        
+        /**
+         * This class runs the search of one direction and relaxes the arcs of
+         * the nodes it settles.
+         */
+        final class DirectionSearch implements Runnable, DoubleArcConsumer<N> {
+            
+            private final ParallelSearchState state;
+            private final ParallelSearchState oppositeState;
+            private final DoubleArcExpander<N> expander;
+            private DirectionSearch opposite;
+            private int currentIndex;
+            private double currentDistance;
+            
+            /**
+             * The key of the node being settled. Every node not yet scanned by
+             * this search is at least this far from the search root.
+             */
+            private volatile double publishedKey;
+            
+            DirectionSearch(ParallelSearchState state,
+                            ParallelSearchState oppositeState,
+                            DoubleArcExpander<N> expander) {
+                this.state = state;
+                this.oppositeState = oppositeState;
+                this.expander = expander;
+            }
+            
+            @Override
+            public void run() {
+                DoubleIndexedHeap queue = state.getHeap();
+                
+                while (!stopped) {
+                    if (queue.isEmpty()) {
+                        stopped = true;
+                        return;
+                    }
+                    
+                    double key = queue.getMinimumKey();
+                    publishedKey = key;
+                    
+                    if (key + opposite.publishedKey >= mu) {
+                        stopped = true;
+                        return;
+                    }
+                    
+                    currentIndex = queue.extractMinimum();
+                    currentDistance = key;
+                    state.setSettled(currentIndex);
+                    expander.expand(indexer.getNode(currentIndex), this);
+                }
+            }
+            
+            @Override
+            public void accept(N node, double weight) {
+                int index = indexer.getIndex(node);
+                
+                if (state.isSettled(index)) {
+                    return;
+                }
+                
+                double tentativeDistance = currentDistance + weight;
+                
+                if (state.getDistance(index) <= tentativeDistance) {
+                    return;
+                }
+                
+                DoubleIndexedHeap queue = state.getHeap();
+                
+                if (queue.contains(index)) {
+                    queue.decreaseKey(index, tentativeDistance);
+                } else {
+                    queue.insert(index, tentativeDistance);
+                }
+                
+                // Write the own label before reading the opposite one; see
+                // ParallelSearchState:
+                state.setParent(index, currentIndex);
+                state.setDistance(index, tentativeDistance);
+                
+                double shortestPathUpperBound = 
+                        tentativeDistance + oppositeState.getDistance(index);
+                
+                if (mu > shortestPathUpperBound) {
+                    updateMeetingPoint(shortestPathUpperBound, index);
+                }
+            }
+        }
+    }
+}
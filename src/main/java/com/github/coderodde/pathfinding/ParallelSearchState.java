@@ -0,0 +1,111 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class holds the per-node search state of a single search direction of
+ * {@link ParallelBidirectionalDijkstrasAlgorithm}. The parents, the settled 
+ * flags and the heap are accessed only by the thread running the direction. 
+ * The distances, however, are also read by the thread running the opposite
+ * direction, so they are stored in atomic arrays: a labelling thread first 
+ * writes its own distance and only then reads the opposite one, which 
+ * guarantees that of any two threads labelling the same node, at least one 
+ * sees the label of the other.
+ * <p>
+ * Like {@link DoubleSearchState}, the entries are stamped with the generation
+ * of the search that wrote them. The arrays have a fixed capacity.
+ */
+final class ParallelSearchState {
+    
+    static final int NO_PARENT = -1;
+    
+    private final AtomicLongArray distances;
+    private final AtomicIntegerArray labelledStamps;
+    private final int[] parents;
+    private final int[] settledStamps;
+    private int generation = 1;
+    private int settledCount;
+    
+    private DoubleIndexedHeap heap;
+    private DoubleIndexedHeapFactory heapFactory;
+    
+    ParallelSearchState(int capacity) {
+        this.distances = new AtomicLongArray(capacity);
+        this.labelledStamps = new AtomicIntegerArray(capacity);
+        this.parents = new int[capacity];
+        this.settledStamps = new int[capacity];
+    }
+    
+    /**
+     * Invalidates the state of the previous search and prepares an empty heap
+     * created by the input factory. Must be called before the search threads
+     * are started.
+     * 
+     * @param heapFactory the heap factory.
+     */
+    void reset(DoubleIndexedHeapFactory heapFactory) {
+        if (generation == Integer.MAX_VALUE) {
+            for (int node = 0; node < labelledStamps.length(); node++) {
+                labelledStamps.set(node, 0);
+                settledStamps[node] = 0;
+            }
+            
+            generation = 0;
+        }
+        
+        generation++;
+        settledCount = 0;
+        
+        if (heap != null && this.heapFactory == heapFactory) {
+            heap.clear();
+        } else {
+            heap = heapFactory.createHeap();
+            this.heapFactory = heapFactory;
+        }
+    }
+    
+    DoubleIndexedHeap getHeap() {
+        return heap;
+    }
+    
+    /**
+     * Returns the distance of the input node, or 
+     * {@link Double#POSITIVE_INFINITY} if the node is not labelled in the 
+     * current search. May be called by any thread.
+     */
+    double getDistance(int node) {
+        return labelledStamps.get(node) == generation ?
+                Double.longBitsToDouble(distances.get(node)) :
+                Double.POSITIVE_INFINITY;
+    }
+    
+    void setDistance(int node, double distance) {
+        distances.set(node, Double.doubleToRawLongBits(distance));
+        labelledStamps.set(node, generation);
+    }
+    
+    int getParent(int node) {
+        return parents[node];
+    }
+    
+    void setParent(int node, int parent) {
+        parents[node] = parent;
+    }
+    
+    boolean isSettled(int node) {
+        return settledStamps[node] == generation;
+    }
+    
+    void setSettled(int node) {
+        settledStamps[node] = generation;
+        settledCount++;
+    }
+    
+    /**
+     * Returns the number of nodes settled since the last reset.
+     */
+    int getSettledCount() {
+        return settledCount;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class holds the reusable storage of 
+ * {@link ParallelBidirectionalDijkstrasAlgorithm}. Since both search threads
+ * index the nodes concurrently, the workspace requires a {@link NodeIndexer} 
+ * that is safe to use from several threads and that knows all the nodes up 
+ * front, such as {@link StaticGraphAdapter#getNodeIndexer()}. The per-node 
+ * arrays are sized to {@code indexer.size()} once.
+ * <p>
+ * A workspace may serve only one query at a time.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class ParallelSearchWorkspace<N> {
+    
+    private final NodeIndexer<N> indexer;
+    private final ParallelSearchState forwardState;
+    private final ParallelSearchState backwardState;
+    
+    /**
+     * Constructs a workspace that indexes the nodes via the input indexer.
+     * 
+     * @param indexer the thread-safe node indexer.
+     */
+    public ParallelSearchWorkspace(NodeIndexer<N> indexer) {
+        this.indexer = Objects.requireNonNull(indexer, "indexer is null.");
+        this.forwardState = new ParallelSearchState(indexer.size());
+        this.backwardState = new ParallelSearchState(indexer.size());
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search of the most 
+     * recent query.
+     * 
+     * @return the number of nodes settled in the forward direction.
+     */
+    public int getForwardSettledCount() {
+        return forwardState.getSettledCount();
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search of the most 
+     * recent query.
+     * 
+     * @return the number of nodes settled in the backward direction.
+     */
+    public int getBackwardSettledCount() {
+        return backwardState.getSettledCount();
+    }
+    
+    NodeIndexer<N> getIndexer() {
+        return indexer;
+    }
+    
+    ParallelSearchState getForwardState() {
+        return forwardState;
+    }
+    
+    ParallelSearchState getBackwardState() {
+        return backwardState;
+    }
+}
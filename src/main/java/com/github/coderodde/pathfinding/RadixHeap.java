@@ -0,0 +1,216 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a radix heap: a monotone indexed minimum heap over
+ * non-negative integral keys. An element whose key first differs from the
+ * last extracted minimum key in bit {@code i - 1} is kept in bucket
+ * {@code i}, and the keys equal to the minimum key in bucket zero. When the
+ * bucket zero runs empty, the smallest non-empty bucket is redistributed
+ * around its minimum key, so every element descends through at most 64
+ * buckets over its lifetime. Unlike {@link DialHeap}, the cost does not
+ * depend on the maximum arc weight.
+ * <p>
+ * The heap is monotone: a key inserted or decreased must be no smaller than
+ * the last extracted or queried minimum key, which holds in Dijkstra's
+ * algorithm over non-negative arc weights. The keys are compared by their
+ * {@link Number#longValue()}, so they must be integral.
+ * 
+ * @param <W> the key type.
+ */
+public final class RadixHeap<W extends Number> implements IndexedHeap<W> {
+    
+    private static final int NUMBER_OF_BUCKETS = Long.SIZE;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int ABSENT = -1;
+    
+    private final int[][] buckets = new int[NUMBER_OF_BUCKETS][];
+    private final int[] bucketSizes = new int[NUMBER_OF_BUCKETS];
+    private long[] keys = new long[0];
+    private Object[] keyObjects = new Object[0];
+    private int[] positions = new int[0];
+    private long minimumKey;
+    private int size;
+    
+    /**
+     * Returns a factory creating radix heaps. The key comparators passed to
+     * the factory are ignored.
+     * 
+     * @param <W> the key type.
+     * @return the heap factory.
+     */
+    public static <W extends Number> IndexedHeapFactory<W> getFactory() {
+        return keyComparator -> new RadixHeap<>();
+    }
+    
+    @Override
+    public void insert(int element, W key) {
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                    "Element " + element + " is already in the heap.");
+        }
+        
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(element + 1, 2 * oldLength);
+            positions = Arrays.copyOf(positions, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+            keyObjects = Arrays.copyOf(keyObjects, newLength);
+            Arrays.fill(positions, oldLength, newLength, ABSENT);
+        }
+        
+        keys[element] = checkKey(key);
+        keyObjects[element] = key;
+        add(element);
+        size++;
+    }
+    
+    @Override
+    public void decreaseKey(int element, W key) {
+        if (!contains(element)) {
+            throw new NoSuchElementException(
+                    "Element " + element + " is not in the heap.");
+        }
+        
+        long longKey = checkKey(key);
+        
+        if (longKey > keys[element]) {
+            throw new IllegalArgumentException(
+                    "The new key is larger than the current key.");
+        }
+        
+        remove(element);
+        keys[element] = longKey;
+        keyObjects[element] = key;
+        add(element);
+    }
+    
+    @Override
+    public boolean contains(int element) {
+        return element < positions.length && positions[element] != ABSENT;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        pull();
+        int element = buckets[0][bucketSizes[0] - 1];
+        remove(element);
+        keyObjects[element] = null;
+        size--;
+        return element;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public W getMinimumKey() {
+        pull();
+        return (W) keyObjects[buckets[0][bucketSizes[0] - 1]];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                int element = buckets[bucket][i];
+                positions[element] = ABSENT;
+                keyObjects[element] = null;
+            }
+            
+            bucketSizes[bucket] = 0;
+        }
+        
+        minimumKey = 0;
+        size = 0;
+    }
+    
+    /**
+     * Makes sure that the bucket zero holds the elements with the smallest
+     * key present, by redistributing the smallest non-empty bucket around
+     * its minimum key.
+     */
+    private void pull() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        
+        if (bucketSizes[0] > 0) {
+            return;
+        }
+        
+        int bucket = 1;
+        
+        while (bucketSizes[bucket] == 0) {
+            bucket++;
+        }
+        
+        int[] elements = buckets[bucket];
+        int bucketSize = bucketSizes[bucket];
+        long newMinimumKey = Long.MAX_VALUE;
+        
+        for (int i = 0; i < bucketSize; i++) {
+            newMinimumKey = Math.min(newMinimumKey, keys[elements[i]]);
+        }
+        
+        // The elements of the higher buckets stay put, since the new minimum
+        // key agrees with the old one in all the bits above bucket - 1:
+        minimumKey = newMinimumKey;
+        buckets[bucket] = null;
+        bucketSizes[bucket] = 0;
+        
+        for (int i = 0; i < bucketSize; i++) {
+            add(elements[i]);
+        }
+        
+        buckets[bucket] = elements;
+    }
+    
+    private long checkKey(W key) {
+        long longKey = key.longValue();
+        
+        if (longKey < minimumKey) {
+            throw new IllegalArgumentException(
+                    "Key " + key + " is smaller than the minimum key " +
+                    minimumKey + ".");
+        }
+        
+        return longKey;
+    }
+    
+    private void add(int element) {
+        int bucket = getBucket(keys[element]);
+        
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new int[INITIAL_CAPACITY];
+        } else if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket],
+                                            2 * bucketSizes[bucket]);
+        }
+        
+        positions[element] = bucketSizes[bucket];
+        buckets[bucket][bucketSizes[bucket]++] = element;
+    }
+    
+    /**
+     * Removes the input element from its bucket by moving the last element of
+     * the bucket to its position.
+     */
+    private void remove(int element) {
+        int bucket = getBucket(keys[element]);
+        int position = positions[element];
+        int lastElement = buckets[bucket][--bucketSizes[bucket]];
+        buckets[bucket][position] = lastElement;
+        positions[lastElement] = position;
+        positions[element] = ABSENT;
+    }
+    
+    private int getBucket(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ minimumKey);
+    }
+}
@@ -0,0 +1,278 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the per-query limits of a search: a timeout, a maximum
+ * number of settled nodes, a maximum path length and a cancellation token.
+ * A search that hits any of them stops instead of exploring the rest of the
+ * graph: its {@link SearchResult} reports the exceeded limit, and
+ * {@code findShortestPath} throws a {@link SearchBudgetExceededException}.
+ * A budget is immutable and may be shared by any number of queries; the
+ * timeout of each query counts from its own start.
+ * 
+ * @param <W> the weight value type.
+ */
+public final class SearchBudget<W> {
+    
+    /**
+     * The number of settled nodes between two readings of the clock.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    
+    private static final SearchBudget<?> UNLIMITED_BUDGET =
+            new Builder<>().build();
+    
+    private final long timeoutNanos;
+    private final long maximumSettledNodes;
+    private final W maximumDistance;
+    private final CancellationToken cancellationToken;
+    
+    private SearchBudget(Builder<W> builder) {
+        this.timeoutNanos = builder.timeoutNanos;
+        this.maximumSettledNodes = builder.maximumSettledNodes;
+        this.maximumDistance = builder.maximumDistance;
+        this.cancellationToken = builder.cancellationToken;
+    }
+    
+    /**
+     * Returns the budget without any limits.
+     * 
+     * @param <W> the weight value type.
+     * @return the unlimited budget.
+     */
+    @SuppressWarnings("unchecked")
+    public static <W> SearchBudget<W> unlimited() {
+        return (SearchBudget<W>) UNLIMITED_BUDGET;
+    }
+    
+    /**
+     * Returns the timeout in nanoseconds, or {@link Long#MAX_VALUE} if there
+     * is none.
+     * 
+     * @return the timeout.
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+    
+    /**
+     * Returns the maximum number of settled nodes, or {@link Long#MAX_VALUE}
+     * if there is none.
+     * 
+     * @return the maximum number of settled nodes.
+     */
+    public long getMaximumSettledNodes() {
+        return maximumSettledNodes;
+    }
+    
+    /**
+     * Returns the maximum path length, or {@code null} if there is none.
+     * 
+     * @return the maximum distance.
+     */
+    public W getMaximumDistance() {
+        return maximumDistance;
+    }
+    
+    /**
+     * Returns the cancellation token, or {@code null} if there is none.
+     * 
+     * @return the cancellation token.
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+    
+    /**
+     * Starts tracking a query under this budget.
+     * 
+     * @param scoreComparator the comparator of the distances.
+     * @return the monitor of the query.
+     */
+    Monitor<W> startMonitor(Comparator<W> scoreComparator) {
+        return new Monitor<>(this, scoreComparator);
+    }
+    
+    /**
+     * This class builds search budgets. All the limits are unset by
+     * default.
+     * 
+     * @param <W> the weight value type.
+     */
+    public static final class Builder<W> {
+        
+        private long timeoutNanos = UNLIMITED;
+        private long maximumSettledNodes = UNLIMITED;
+        private W maximumDistance;
+        private CancellationToken cancellationToken;
+        
+        /**
+         * Sets the wall-clock time a query may run for.
+         * 
+         * @param timeout the timeout.
+         * @param unit    the unit of the timeout.
+         * @return this builder.
+         */
+        public Builder<W> setTimeout(long timeout, TimeUnit unit) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException(
+                        "Invalid timeout: " + timeout);
+            }
+            
+            this.timeoutNanos = Objects.requireNonNull(unit, "unit is null.")
+                                       .toNanos(timeout);
+            return this;
+        }
+        
+        /**
+         * Sets the maximum number of nodes a query may settle.
+         * 
+         * @param maximumSettledNodes the maximum number of settled nodes.
+         * @return this builder.
+         */
+        public Builder<W> setMaximumSettledNodes(long maximumSettledNodes) {
+            if (maximumSettledNodes < 0) {
+                throw new IllegalArgumentException(
+                        "Invalid maximum number of settled nodes: " +
+                        maximumSettledNodes);
+            }
+            
+            this.maximumSettledNodes = maximumSettledNodes;
+            return this;
+        }
+        
+        /**
+         * Sets the maximum length of the shortest path. A query whose
+         * shortest path would be longer stops as soon as it knows so.
+         * 
+         * @param maximumDistance the maximum distance.
+         * @return this builder.
+         */
+        public Builder<W> setMaximumDistance(W maximumDistance) {
+            this.maximumDistance =
+                    Objects.requireNonNull(maximumDistance,
+                                           "maximumDistance is null.");
+            return this;
+        }
+        
+        /**
+         * Sets the token through which the queries may be cancelled.
+         * 
+         * @param cancellationToken the cancellation token.
+         * @return this builder.
+         */
+        public Builder<W> setCancellationToken(
+                CancellationToken cancellationToken) {
+            this.cancellationToken =
+                    Objects.requireNonNull(cancellationToken,
+                                           "cancellationToken is null.");
+            return this;
+        }
+        
+        /**
+         * Builds the budget.
+         * 
+         * @return the search budget.
+         */
+        public SearchBudget<W> build() {
+            return new SearchBudget<>(this);
+        }
+    }
+    
+    /**
+     * This class tracks a single query against its budget. The search calls
+     * {@link #check(Object)} before settling each node and stops as soon as
+     * it returns {@code false}.
+     * 
+     * @param <W> the weight value type.
+     */
+    static final class Monitor<W> {
+        
+        private final SearchBudget<W> budget;
+        private final Comparator<W> scoreComparator;
+        private final long startNanos;
+        private long settledCount;
+        private SearchBudgetExceededException.Reason reason;
+        
+        private Monitor(SearchBudget<W> budget,
+                        Comparator<W> scoreComparator) {
+            this.budget = budget;
+            this.scoreComparator = scoreComparator;
+            this.startNanos = budget.timeoutNanos == UNLIMITED ?
+                              0L :
+                              System.nanoTime();
+        }
+        
+        /**
+         * Counts a node about to be settled and checks the budget.
+         * 
+         * @param distanceLowerBound a lower bound of the length of the
+         *                           shortest path, if it goes through the
+         *                           unsettled nodes.
+         * @return {@code false} if the budget is exceeded.
+         */
+        boolean check(W distanceLowerBound) {
+            settledCount++;
+            
+            if (budget.cancellationToken != null &&
+                budget.cancellationToken.isCancelled()) {
+                return exceed(SearchBudgetExceededException.Reason.CANCELLED);
+            }
+            
+            if (settledCount > budget.maximumSettledNodes) {
+                return exceed(
+                        SearchBudgetExceededException.Reason.SETTLED_NODES);
+            }
+            
+            if (budget.maximumDistance != null &&
+                scoreComparator.compare(distanceLowerBound,
+                                        budget.maximumDistance) > 0) {
+                return exceed(SearchBudgetExceededException.Reason.DISTANCE);
+            }
+            
+            if (budget.timeoutNanos != UNLIMITED &&
+                settledCount % CLOCK_CHECK_INTERVAL == 1 &&
+                System.nanoTime() - startNanos > budget.timeoutNanos) {
+                return exceed(SearchBudgetExceededException.Reason.DEADLINE);
+            }
+            
+            return true;
+        }
+        
+        /**
+         * Checks the length of the shortest path found against the maximum
+         * distance.
+         * 
+         * @param pathLength the length of the shortest path.
+         * @return {@code false} if the path is too long.
+         */
+        boolean checkPathLength(W pathLength) {
+            if (budget.maximumDistance != null &&
+                scoreComparator.compare(pathLength,
+                                        budget.maximumDistance) > 0) {
+                return exceed(SearchBudgetExceededException.Reason.DISTANCE);
+            }
+            
+            return true;
+        }
+        
+        /**
+         * Returns the limit the query exceeded, or {@code null} if none.
+         * 
+         * @return the reason.
+         */
+        SearchBudgetExceededException.Reason getReason() {
+            return reason;
+        }
+        
+        private boolean exceed(SearchBudgetExceededException.Reason reason) {
+            this.reason = reason;
+            return false;
+        }
+    }
+}
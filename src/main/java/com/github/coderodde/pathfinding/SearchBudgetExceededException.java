@@ -0,0 +1,75 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This exception is thrown by {@code findShortestPath} when a search runs out
+ * of its {@link SearchBudget} before it can decide the shortest path. The
+ * {@code search} methods report the same outcome via
+ * {@link SearchResult#isBudgetExceeded()} instead. Unlike the
+ * {@link IllegalStateException} of an unreachable target, it tells nothing
+ * about the existence of a path.
+ * <p>
+ * A budget is an expected outcome rather than a bug, so the exception does
+ * not fill in its stack trace, which would cost more than a short search.
+ */
+public final class SearchBudgetExceededException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The limits of a search budget.
+     */
+    public enum Reason {
+        
+        /**
+         * The timeout of the search has elapsed.
+         */
+        DEADLINE,
+        
+        /**
+         * The search has settled the maximum number of nodes.
+         */
+        SETTLED_NODES,
+        
+        /**
+         * The shortest path is longer than the maximum distance.
+         */
+        DISTANCE,
+        
+        /**
+         * The search was cancelled via its cancellation token.
+         */
+        CANCELLED,
+    }
+    
+    private final Reason reason;
+    private final long settledCount;
+    
+    SearchBudgetExceededException(Reason reason, long settledCount) {
+        super("Search budget exceeded (" + reason + ") after settling " +
+              settledCount + " nodes.",
+              null,
+              false,
+              false);
+        
+        this.reason = reason;
+        this.settledCount = settledCount;
+    }
+    
+    /**
+     * Returns the limit that stopped the search.
+     * 
+     * @return the reason.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+    
+    /**
+     * Returns the number of nodes the search settled before it stopped.
+     * 
+     * @return the settled node count.
+     */
+    public long getSettledCount() {
+        return settledCount;
+    }
+}
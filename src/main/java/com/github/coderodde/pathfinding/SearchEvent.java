@@ -0,0 +1,68 @@
+package com.github.coderodde.pathfinding;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class is the JDK Flight Recorder event committed per query by 
+ * {@link FlightRecorderSearchListener}.
+ */
+@Name(SearchEvent.NAME)
+@Label("Pathfinding Search")
+@Category("Pathfinding")
+@Description("A point-to-point query of Dijkstra's algorithm or " + 
+             "bidirectional Dijkstra's algorithm")
+@StackTrace(false)
+final class SearchEvent extends jdk.jfr.Event {
+    
+    static final String NAME = "com.github.coderodde.pathfinding.Search";
+    
+    @Label("Source")
+    String source;
+    
+    @Label("Target")
+    String target;
+    
+    @Label("Bidirectional")
+    boolean bidirectional;
+    
+    @Label("Completed")
+    @Description("False if the query ran out of its budget or threw")
+    boolean completed;
+    
+    @Label("Reachable")
+    boolean reachable;
+    
+    @Label("Search Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long searchTime;
+    
+    @Label("Forward Settled Nodes")
+    int forwardSettledCount;
+    
+    @Label("Backward Settled Nodes")
+    int backwardSettledCount;
+    
+    @Label("Forward Relaxations")
+    long forwardRelaxationCount;
+    
+    @Label("Backward Relaxations")
+    long backwardRelaxationCount;
+    
+    @Label("Heap Insertions")
+    long heapInsertionCount;
+    
+    @Label("Decrease-Keys")
+    long decreaseKeyCount;
+    
+    @Label("Meeting Point Updates")
+    int meetingPointUpdateCount;
+    
+    @Label("Settled Nodes at First Meeting")
+    @Description("-1 if the frontiers never met")
+    int settledCountAtFirstMeeting;
+}
@@ -0,0 +1,49 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface observes the queries of {@link DijkstrasAlgorithm} and 
+ * {@link BidirectionalDijkstrasAlgorithm} run on a {@link SearchWorkspace}. 
+ * A workspace without a listener, which is the default, collects no metrics
+ * at all; a workspace with one counts the search operations into a 
+ * {@link SearchMetrics} and reports it when the query finishes. All the 
+ * methods do nothing by default, so an empty listener merely turns the 
+ * metrics on for {@link SearchWorkspace#getLastMetrics()}.
+ * <p>
+ * The listener is called on the thread running the query. 
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the weight value type.
+ */
+public interface SearchListener<N, W> {
+    
+    /**
+     * Called when a query starts, right before its search time is measured
+     * from.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     */
+    default void onSearchStarted(N source, N target) {}
+    
+    /**
+     * Called whenever a node is settled.
+     * 
+     * @param node     the settled node.
+     * @param distance the distance of the node from the source node, or to 
+     *                 the target node in the backward direction.
+     * @param forward  {@code true} if the node is settled by the forward 
+     *                 search.
+     */
+    default void onNodeSettled(N node, W distance, boolean forward) {}
+    
+    /**
+     * Called when a query finishes, also if it throws. The metrics are 
+     * reused by the next query on the same workspace, so they must be read 
+     * before this method returns.
+     * 
+     * @param source  the source node.
+     * @param target  the target node.
+     * @param metrics the metrics of the query.
+     */
+    default void onSearchFinished(N source, N target, SearchMetrics metrics) {}
+}
@@ -0,0 +1,226 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class holds the operation counts of a single query, collected by a
+ * {@link SearchWorkspace} with a {@link SearchListener}. The indexed heaps
+ * never hold stale entries, so a relaxation improving a labelled node shows
+ * up as a decrease-key rather than as another heap insertion.
+ * <p>
+ * A unidirectional search counts as a forward search. A query answered 
+ * without searching, for example rejected by a {@link ConnectivityIndex}, 
+ * has all the counts zero.
+ */
+public final class SearchMetrics {
+    
+    /**
+     * The value of {@link #getSettledCountAtFirstMeeting()} if the frontiers
+     * of the two directions never met.
+     */
+    public static final int NOT_MET = -1;
+    
+    final DirectionCounters forwardCounters = new DirectionCounters();
+    final DirectionCounters backwardCounters = new DirectionCounters();
+    
+    private boolean bidirectional;
+    private boolean completed;
+    private boolean reachable;
+    private int meetingPointUpdateCount;
+    private int settledCountAtFirstMeeting;
+    private long elapsedNanos;
+    
+    SearchMetrics() {}
+    
+    /**
+     * Returns {@code true} if the query was run by a bidirectional search.
+     * 
+     * @return {@code true} for a bidirectional search.
+     */
+    public boolean isBidirectional() {
+        return bidirectional;
+    }
+    
+    /**
+     * Returns {@code false} if the query ran out of its 
+     * {@link SearchBudget} or threw.
+     * 
+     * @return {@code true} if the query decided the shortest path.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    /**
+     * Returns {@code true} if the query completed and found the target node
+     * reachable.
+     * 
+     * @return {@code true} if a path exists.
+     */
+    public boolean isReachable() {
+        return reachable;
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search.
+     * 
+     * @return the forward settled count.
+     */
+    public int getForwardSettledCount() {
+        return forwardCounters.settledCount;
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search.
+     * 
+     * @return the backward settled count.
+     */
+    public int getBackwardSettledCount() {
+        return backwardCounters.settledCount;
+    }
+    
+    /**
+     * Returns the number of arcs relaxed by the forward search, including 
+     * the arcs leading to settled nodes.
+     * 
+     * @return the forward relaxation count.
+     */
+    public long getForwardRelaxationCount() {
+        return forwardCounters.relaxationCount;
+    }
+    
+    /**
+     * Returns the number of arcs relaxed by the backward search, including 
+     * the arcs leading to settled nodes.
+     * 
+     * @return the backward relaxation count.
+     */
+    public long getBackwardRelaxationCount() {
+        return backwardCounters.relaxationCount;
+    }
+    
+    /**
+     * Returns the number of nodes inserted into the forward heap, including
+     * the source node.
+     * 
+     * @return the forward heap insertion count.
+     */
+    public long getForwardHeapInsertionCount() {
+        return forwardCounters.heapInsertionCount;
+    }
+    
+    /**
+     * Returns the number of nodes inserted into the backward heap, including
+     * the target node.
+     * 
+     * @return the backward heap insertion count.
+     */
+    public long getBackwardHeapInsertionCount() {
+        return backwardCounters.heapInsertionCount;
+    }
+    
+    /**
+     * Returns the number of keys decreased in the forward heap.
+     * 
+     * @return the forward decrease-key count.
+     */
+    public long getForwardDecreaseKeyCount() {
+        return forwardCounters.decreaseKeyCount;
+    }
+    
+    /**
+     * Returns the number of keys decreased in the backward heap.
+     * 
+     * @return the backward decrease-key count.
+     */
+    public long getBackwardDecreaseKeyCount() {
+        return backwardCounters.decreaseKeyCount;
+    }
+    
+    /**
+     * Returns the number of times the bidirectional search found a shorter 
+     * path through a node labelled by both directions.
+     * 
+     * @return the meeting point update count.
+     */
+    public int getMeetingPointUpdateCount() {
+        return meetingPointUpdateCount;
+    }
+    
+    /**
+     * Returns the total number of nodes settled by both directions when the
+     * frontiers met for the first time, or {@link #NOT_MET}. The nodes 
+     * settled after that only prove the optimality of the path.
+     * 
+     * @return the settled count at the first meeting.
+     */
+    public int getSettledCountAtFirstMeeting() {
+        return settledCountAtFirstMeeting;
+    }
+    
+    /**
+     * Returns the running time of the query in nanoseconds.
+     * 
+     * @return the elapsed time.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    void start(boolean bidirectional) {
+        this.bidirectional = bidirectional;
+        this.completed = false;
+        this.reachable = false;
+        this.meetingPointUpdateCount = 0;
+        this.settledCountAtFirstMeeting = NOT_MET;
+        this.elapsedNanos = 0L;
+        forwardCounters.reset();
+        backwardCounters.reset();
+    }
+    
+    void updateMeetingPoint() {
+        if (meetingPointUpdateCount++ == 0) {
+            settledCountAtFirstMeeting = forwardCounters.settledCount + 
+                                         backwardCounters.settledCount;
+        }
+    }
+    
+    void finish(SearchResult<?, ?> result, long elapsedNanos) {
+        this.completed = result != null && !result.isBudgetExceeded();
+        this.reachable = result != null && result.isReachable();
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return "[completed = " + completed + 
+               ", reachable = " + reachable +
+               ", settled = " + forwardCounters.settledCount + "/" + 
+                                backwardCounters.settledCount +
+               ", relaxations = " + forwardCounters.relaxationCount + "/" +
+                                    backwardCounters.relaxationCount +
+               ", heap insertions = " + forwardCounters.heapInsertionCount + 
+                                        "/" + 
+                                        backwardCounters.heapInsertionCount +
+               ", decrease-keys = " + forwardCounters.decreaseKeyCount + 
+                                      "/" + 
+                                      backwardCounters.decreaseKeyCount +
+               ", elapsed = " + elapsedNanos + " ns]";
+    }
+    
+    /**
+     * This class holds the counts of one search direction.
+     */
+    static final class DirectionCounters {
+        
+        int settledCount;
+        long relaxationCount;
+        long heapInsertionCount;
+        long decreaseKeyCount;
+        
+        void reset() {
+            settledCount = 0;
+            relaxationCount = 0L;
+            heapInsertionCount = 0L;
+            decreaseKeyCount = 0L;
+        }
+    }
+}
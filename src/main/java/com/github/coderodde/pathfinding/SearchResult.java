@@ -0,0 +1,181 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * This class holds the outcome of a point-to-point search of
+ * {@link DijkstrasAlgorithm} or {@link BidirectionalDijkstrasAlgorithm}: the
+ * reachability of the target, the cost of the shortest path, the numbers of
+ * settled nodes and the path itself. Unlike {@code findShortestPath}, a
+ * search returning a result does not throw on an unreachable target or on
+ * an exceeded {@link SearchBudget}; the latter is reported by
+ * {@link #isBudgetExceeded()}, and such a result tells nothing about the
+ * reachability of the target.
+ * <p>
+ * The path is traced back from the parents kept in the search workspace on
+ * the first call to {@link #getPath()}, so it must be requested before the
+ * workspace serves another query. A distance-only search does not record
+ * the parents at all and has no path.
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the weight value type.
+ */
+public final class SearchResult<N, W> {
+    
+    private final boolean reachable;
+    private final W cost;
+    private final int forwardSettledCount;
+    private final int backwardSettledCount;
+    private final SearchBudgetExceededException.Reason budgetExceededReason;
+    private Supplier<List<N>> pathBuilder;
+    private List<N> path;
+    
+    SearchResult(boolean reachable,
+                 W cost,
+                 int forwardSettledCount,
+                 int backwardSettledCount,
+                 Supplier<List<N>> pathBuilder) {
+        this.reachable = reachable;
+        this.cost = cost;
+        this.forwardSettledCount = forwardSettledCount;
+        this.backwardSettledCount = backwardSettledCount;
+        this.budgetExceededReason = null;
+        this.pathBuilder = pathBuilder;
+    }
+    
+    SearchResult(SearchBudgetExceededException.Reason budgetExceededReason,
+                 W cost,
+                 int forwardSettledCount,
+                 int backwardSettledCount) {
+        this.reachable = false;
+        this.cost = cost;
+        this.forwardSettledCount = forwardSettledCount;
+        this.backwardSettledCount = backwardSettledCount;
+        this.budgetExceededReason = budgetExceededReason;
+    }
+    
+    /**
+     * Returns {@code true} if the search ran out of its budget before it
+     * could decide the shortest path. Such a result is not reachable and
+     * has the infinite cost, whether a path exists or not.
+     * 
+     * @return {@code true} if the budget was exceeded.
+     */
+    public boolean isBudgetExceeded() {
+        return budgetExceededReason != null;
+    }
+    
+    /**
+     * Returns the limit that stopped the search, or {@code null} if the
+     * search was not stopped by its budget.
+     * 
+     * @return the reason.
+     */
+    public SearchBudgetExceededException.Reason getBudgetExceededReason() {
+        return budgetExceededReason;
+    }
+    
+    /**
+     * Returns {@code true} if the target node is reachable from the source
+     * node.
+     * 
+     * @return {@code true} if a path exists.
+     */
+    public boolean isReachable() {
+        return reachable;
+    }
+    
+    /**
+     * Returns the length of the shortest path, or the infinity of the weight
+     * function if the target node is not reachable.
+     * 
+     * @return the cost of the shortest path.
+     */
+    public W getCost() {
+        return cost;
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search.
+     * 
+     * @return the forward settled count.
+     */
+    public int getForwardSettledCount() {
+        return forwardSettledCount;
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search, or zero
+     * for a unidirectional search.
+     * 
+     * @return the backward settled count.
+     */
+    public int getBackwardSettledCount() {
+        return backwardSettledCount;
+    }
+    
+    /**
+     * Returns the total number of settled nodes.
+     * 
+     * @return the settled count.
+     */
+    public int getSettledCount() {
+        return forwardSettledCount + backwardSettledCount;
+    }
+    
+    /**
+     * Returns {@code true} if the shortest path may be requested, that is,
+     * the target is reachable and the search recorded the parents.
+     * 
+     * @return {@code true} if this result has a path.
+     */
+    public boolean hasPath() {
+        return path != null || pathBuilder != null;
+    }
+    
+    /**
+     * Returns the shortest path from the source node to the target node,
+     * tracing it back on the first call.
+     * 
+     * @return the shortest path.
+     * @throws IllegalStateException if the target is not reachable, the
+     *                               budget was exceeded, the search was 
+     *                               distance-only or the workspace has 
+     *                               served another query.
+     */
+    public List<N> getPath() {
+        if (path == null) {
+            if (budgetExceededReason != null) {
+                throw new IllegalStateException(
+                        "The search budget was exceeded (" + 
+                        budgetExceededReason + ").");
+            }
+            
+            if (!reachable) {
+                throw new IllegalStateException(
+                        "The target node is not reachable from the source " +
+                        "node.");
+            }
+            
+            if (pathBuilder == null) {
+                throw new IllegalStateException(
+                        "A distance-only search records no path.");
+            }
+            
+            path = pathBuilder.get();
+            pathBuilder = null;
+        }
+        
+        return path;
+    }
+    
+    @Override
+    public String toString() {
+        return "[reachable = " + reachable + ", cost = " + cost +
+               ", settled = " + getSettledCount() + 
+               (budgetExceededReason != null ?
+                ", budget exceeded = " + budgetExceededReason :
+                "") + "]";
+    }
+}
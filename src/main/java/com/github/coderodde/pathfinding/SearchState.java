@@ -0,0 +1,155 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class holds the per-node search state of a single search direction:
+ * the distances, the parent indices, the settled flags and the heap. The nodes
+ * are addressed by their dense indices.
+ * <p>
+ * Every entry is stamped with the generation of the search that wrote it, so
+ * {@link #reset(IndexedHeapFactory, Comparator)} invalidates the whole state
+ * by incrementing the generation instead of clearing or reallocating the
+ * arrays.
+ * 
+ * @param <W> the weight value type.
+ */
+final class SearchState<W> {
+    
+    static final int NO_PARENT = -1;
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private Object[] distances = new Object[0];
+    private int[] parents = new int[0];
+    private int[] labelledStamps = new int[0];
+    private int[] settledStamps = new int[0];
+    private int generation = 1;
+    private int settledCount;
+    
+    private IndexedHeap<W> heap;
+    private IndexedHeapFactory<W> heapFactory;
+    private Comparator<W> heapComparator;
+    
+    SearchState() {
+    
+    }
+    
+    /**
+     * Constructs a state whose arrays already hold the input number of nodes.
+     * 
+     * @param capacity the initial number of nodes.
+     */
+    SearchState(int capacity) {
+        if (capacity > 0) {
+            ensureCapacity(capacity - 1);
+        }
+    }
+    
+    /**
+     * Invalidates the state of the previous search and prepares an empty heap
+     * created by the input factory.
+     * 
+     * @param heapFactory    the heap factory.
+     * @param heapComparator the comparator of the heap keys.
+     */
+    void reset(IndexedHeapFactory<W> heapFactory,
+               Comparator<W> heapComparator) {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(labelledStamps, 0);
+            Arrays.fill(settledStamps, 0);
+            generation = 0;
+        }
+        
+        generation++;
+        settledCount = 0;
+        
+        if (heap != null &&
+            this.heapFactory == heapFactory &&
+            this.heapComparator == heapComparator) {
+            heap.clear();
+        } else {
+            heap = heapFactory.createHeap(heapComparator);
+            this.heapFactory = heapFactory;
+            this.heapComparator = heapComparator;
+        }
+    }
+    
+    IndexedHeap<W> getHeap() {
+        return heap;
+    }
+    
+    boolean isLabelled(int node) {
+        return node < labelledStamps.length &&
+               labelledStamps[node] == generation;
+    }
+    
+    /**
+     * Returns the distance of the input node, or {@code null} if the node is
+     * not labelled in the current search.
+     */
+    @SuppressWarnings("unchecked")
+    W getDistance(int node) {
+        return isLabelled(node) ? (W) distances[node] : null;
+    }
+    
+    void setDistance(int node, W distance) {
+        ensureCapacity(node);
+        distances[node] = distance;
+        labelledStamps[node] = generation;
+    }
+    
+    int getParent(int node) {
+        return parents[node];
+    }
+    
+    void setParent(int node, int parent) {
+        ensureCapacity(node);
+        parents[node] = parent;
+    }
+    
+    boolean isSettled(int node) {
+        return node < settledStamps.length &&
+               settledStamps[node] == generation;
+    }
+    
+    void setSettled(int node) {
+        ensureCapacity(node);
+        settledStamps[node] = generation;
+        settledCount++;
+    }
+    
+    /**
+     * Returns the generation of the current search. It changes on every
+     * reset, so a caller may tell whether the state still belongs to the
+     * search it has run.
+     */
+    int getGeneration() {
+        return generation;
+    }
+    
+    /**
+     * Returns the number of nodes settled since the last reset.
+     */
+    int getSettledCount() {
+        return settledCount;
+    }
+    
+    private void ensureCapacity(int node) {
+        if (node < distances.length) {
+            return;
+        }
+        
+        int newCapacity = Math.max(INITIAL_CAPACITY, 2 * distances.length);
+        
+        while (newCapacity <= node) {
+            newCapacity *= 2;
+        }
+        
+        distances = Arrays.copyOf(distances, newCapacity);
+        parents = Arrays.copyOf(parents, newCapacity);
+        labelledStamps = Arrays.copyOf(labelledStamps, newCapacity);
+        settledStamps = Arrays.copyOf(settledStamps, newCapacity);
+    }
+}
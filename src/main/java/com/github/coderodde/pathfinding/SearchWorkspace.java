@@ -0,0 +1,123 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class holds the reusable storage of {@link DijkstrasAlgorithm} and
+ * {@link BidirectionalDijkstrasAlgorithm}: the node index, the distances, the 
+ * parents, the settled flags and the heaps of both search directions. Passing 
+ * the same workspace to repeated queries avoids allocating and discarding all 
+ * that storage on every query; the state of the previous query is invalidated 
+ * in constant time by bumping a generation counter, and the heaps are emptied 
+ * in time proportional to what the previous query left in them.
+ * <p>
+ * Without a caller-supplied {@link NodeIndexer}, the workspace indexes the 
+ * nodes by hashing them, and a node keeps its index for the lifetime of the 
+ * workspace, so the workspace retains every node it has seen. A workspace is 
+ * not thread-safe; keep one per thread, for example in a {@link ThreadLocal}.
+ * <p>
+ * A workspace with a {@link SearchListener} counts the operations of every
+ * query into a {@link SearchMetrics}. Without a listener the searches skip
+ * all the counting.
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the weight value type.
+ */
+public final class SearchWorkspace<N, W> {
+    
+    private final NodeIndexer<N> indexer;
+    private final SearchState<W> forwardState;
+    private final SearchState<W> backwardState;
+    private final SearchMetrics metrics = new SearchMetrics();
+    private SearchListener<? super N, ? super W> listener;
+    private boolean hasMetrics;
+    
+    /**
+     * Constructs a workspace that indexes the nodes by hashing them as they 
+     * are encountered.
+     */
+    public SearchWorkspace() {
+        this.indexer = new HashNodeIndexer<>();
+        this.forwardState = new SearchState<>();
+        this.backwardState = new SearchState<>();
+    }
+    
+    /**
+     * Constructs a workspace that indexes the nodes via the input indexer. The
+     * per-node arrays are sized to {@code indexer.size()} up front.
+     * 
+     * @param indexer the node indexer.
+     */
+    public SearchWorkspace(NodeIndexer<N> indexer) {
+        this.indexer = Objects.requireNonNull(indexer, "indexer is null.");
+        this.forwardState = new SearchState<>(indexer.size());
+        this.backwardState = new SearchState<>(indexer.size());
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search of the most 
+     * recent query. A unidirectional search counts as a forward search.
+     * 
+     * @return the number of nodes settled in the forward direction.
+     */
+    public int getForwardSettledCount() {
+        return forwardState.getSettledCount();
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search of the most 
+     * recent query.
+     * 
+     * @return the number of nodes settled in the backward direction.
+     */
+    public int getBackwardSettledCount() {
+        return backwardState.getSettledCount();
+    }
+    
+    /**
+     * Sets the listener observing the subsequent queries, or turns the 
+     * metrics off if the listener is {@code null}.
+     * 
+     * @param listener the search listener, or {@code null}.
+     */
+    public void setSearchListener(
+            SearchListener<? super N, ? super W> listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Returns the metrics of the most recent query run with a listener, or 
+     * {@code null} if there is none. The metrics are overwritten by the next
+     * such query.
+     * 
+     * @return the metrics of the last query.
+     */
+    public SearchMetrics getLastMetrics() {
+        return hasMetrics ? metrics : null;
+    }
+    
+    SearchListener<? super N, ? super W> getSearchListener() {
+        return listener;
+    }
+    
+    /**
+     * Resets and returns the metrics for a new query.
+     */
+    SearchMetrics startMetrics(boolean bidirectional) {
+        hasMetrics = true;
+        metrics.start(bidirectional);
+        return metrics;
+    }
+    
+    NodeIndexer<N> getIndexer() {
+        return indexer;
+    }
+    
+    SearchState<W> getForwardState() {
+        return forwardState;
+    }
+    
+    SearchState<W> getBackwardState() {
+        return backwardState;
+    }
+}
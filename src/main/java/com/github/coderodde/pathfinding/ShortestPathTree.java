@@ -0,0 +1,195 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds a shortest path tree computed by
+ * {@link DijkstrasAlgorithm}: the nodes settled by a one-to-all search in the
+ * order they were settled, that is, by non-decreasing distance, along with
+ * their distances and their parents. A search stopped at a radius or at a set
+ * of targets yields the part of the tree settled until then; the distances
+ * and the paths within that part are exact.
+ * <p>
+ * The tree is an immutable snapshot kept in arrays proportional to its size,
+ * so it stays valid after the workspace that computed it runs another search.
+ * A node is looked up by a binary search over the sorted node indices. The
+ * primitive counterpart is {@link DoubleShortestPathTree}.
+ * 
+ * @param <N> the actual graph node type.
+ * @param <W> the weight value type.
+ */
+public final class ShortestPathTree<N, W> {
+    
+    private static final int NO_POSITION = -1;
+    
+    private final NodeIndexer<N> indexer;
+    
+    /**
+     * The distance reported for the nodes not in this tree.
+     */
+    private final W infinity;
+    
+    /**
+     * The node indices, distances and parent node indices in the settle
+     * order. The parent of the source is {@link SearchState#NO_PARENT}.
+     */
+    private final int[] nodes;
+    private final Object[] distances;
+    private final int[] parents;
+    
+    /**
+     * The node indices in ascending order and their positions in the settle
+     * order.
+     */
+    private final int[] sortedNodes;
+    private final int[] sortedPositions;
+    
+    ShortestPathTree(NodeIndexer<N> indexer,
+                     W infinity,
+                     int[] nodes,
+                     Object[] distances,
+                     int[] parents,
+                     int size) {
+        this.indexer = indexer;
+        this.infinity = infinity;
+        this.nodes = Arrays.copyOf(nodes, size);
+        this.distances = Arrays.copyOf(distances, size);
+        this.parents = Arrays.copyOf(parents, size);
+        this.sortedNodes = new int[size];
+        this.sortedPositions = new int[size];
+        
+        // Sort the positions by the node indices via the packed pairs:
+        long[] pairs = new long[size];
+        
+        for (int position = 0; position < size; position++) {
+            pairs[position] = ((long) nodes[position] << 32) | position;
+        }
+        
+        Arrays.sort(pairs);
+        
+        for (int i = 0; i < size; i++) {
+            sortedNodes[i] = (int)(pairs[i] >>> 32);
+            sortedPositions[i] = (int) pairs[i];
+        }
+    }
+    
+    /**
+     * Returns the number of nodes in this tree.
+     * 
+     * @return the number of settled nodes.
+     */
+    public int size() {
+        return nodes.length;
+    }
+    
+    /**
+     * Returns the source node, or {@code null} if this tree is empty.
+     * 
+     * @return the source node.
+     */
+    public N getSource() {
+        return nodes.length == 0 ? null : indexer.getNode(nodes[0]);
+    }
+    
+    /**
+     * Returns the node settled at the input position. The positions follow
+     * the settle order, so the distances never decrease along them.
+     * 
+     * @param position the position of the node.
+     * @return the node at the position.
+     */
+    public N getNode(int position) {
+        return indexer.getNode(nodes[position]);
+    }
+    
+    /**
+     * Returns the distance of the node settled at the input position.
+     * 
+     * @param position the position of the node.
+     * @return the distance from the source to the node at the position.
+     */
+    @SuppressWarnings("unchecked")
+    public W getDistanceAt(int position) {
+        return (W) distances[position];
+    }
+    
+    /**
+     * Returns {@code true} if and only if the input node is in this tree.
+     * 
+     * @param node the node to query.
+     * @return {@code true} if the node was settled.
+     */
+    public boolean contains(N node) {
+        return getPosition(node) != NO_POSITION;
+    }
+    
+    /**
+     * Returns the distance from the source to the input node, or the infinity
+     * of the weight function if the node is not in this tree.
+     * 
+     * @param node the node to query.
+     * @return the distance of the node.
+     */
+    public W getDistance(N node) {
+        int position = getPosition(node);
+        return position == NO_POSITION ? infinity : getDistanceAt(position);
+    }
+    
+    /**
+     * Returns the parent of the input node, or {@code null} if the node is the
+     * source or is not in this tree.
+     * 
+     * @param node the node to query.
+     * @return the parent of the node.
+     */
+    public N getParent(N node) {
+        int position = getPosition(node);
+        
+        if (position == NO_POSITION ||
+            parents[position] == SearchState.NO_PARENT) {
+            return null;
+        }
+        
+        return indexer.getNode(parents[position]);
+    }
+    
+    /**
+     * Returns the shortest path from the source to the input node or throws
+     * an {@link IllegalStateException} if the node is not in this tree.
+     * 
+     * @param node the target node.
+     * @return the shortest path from the source to the node.
+     */
+    public List<N> getPath(N node) {
+        int position = getPosition(node);
+        
+        if (position == NO_POSITION) {
+            throw new IllegalStateException(
+                    "The target node is not in the shortest path tree.");
+        }
+        
+        List<N> path = new ArrayList<>();
+        path.add(indexer.getNode(nodes[position]));
+        
+        for (int parent = parents[position];
+                 parent != SearchState.NO_PARENT;
+                 parent = parents[getPosition(parent)]) {
+            path.add(indexer.getNode(parent));
+        }
+        
+        Collections.reverse(path);
+        return path;
+    }
+    
+    private int getPosition(N node) {
+        return getPosition(indexer.getIndex(node));
+    }
+    
+    private int getPosition(int nodeIndex) {
+        int i = Arrays.binarySearch(sortedNodes, nodeIndex);
+        return i < 0 ? NO_POSITION : sortedPositions[i];
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface defines the API for immutable directed graphs whose nodes are
+ * the integers {@code 0, 1, ..., size() - 1}. The outgoing arcs of a node
+ * occupy a contiguous range of arc indices, and so do the incoming arcs, which
+ * allows scanning the neighbourhood of a node without allocating anything:
+ * 
+ * <pre>{@code
+ * for (int arc = graph.getOutgoingArcsBegin(node),
+ *          end = graph.getOutgoingArcsEnd(node); arc < end; arc++) {
+ *     int head = graph.getArcHead(arc);
+ *     double weight = graph.getArcWeight(arc);
+ *     ...
+ * }
+ * }</pre>
+ * 
+ * The outgoing arc indices and the incoming arc indices are two independent
+ * index spaces.
+ */
+public interface StaticGraph {
+    
+    /**
+     * Returns the number of nodes in this graph.
+     * 
+     * @return the number of nodes.
+     */
+    int size();
+    
+    /**
+     * Returns the number of arcs in this graph.
+     * 
+     * @return the number of arcs.
+     */
+    int getNumberOfArcs();
+    
+    /**
+     * Returns the index of the first outgoing arc of the input node.
+     * 
+     * @param node the tail node.
+     * @return the first outgoing arc index.
+     */
+    int getOutgoingArcsBegin(int node);
+    
+    /**
+     * Returns the index one past the last outgoing arc of the input node.
+     * 
+     * @param node the tail node.
+     * @return the exclusive end of the outgoing arc range.
+     */
+    int getOutgoingArcsEnd(int node);
+    
+    /**
+     * Returns the head node of the input outgoing arc.
+     * 
+     * @param arc the outgoing arc index.
+     * @return the head node of the arc.
+     */
+    int getArcHead(int arc);
+    
+    /**
+     * Returns the weight of the input outgoing arc.
+     * 
+     * @param arc the outgoing arc index.
+     * @return the weight of the arc.
+     */
+    double getArcWeight(int arc);
+    
+    /**
+     * Returns the index of the first incoming arc of the input node.
+     * 
+     * @param node the head node.
+     * @return the first incoming arc index.
+     */
+    int getIncomingArcsBegin(int node);
+    
+    /**
+     * Returns the index one past the last incoming arc of the input node.
+     * 
+     * @param node the head node.
+     * @return the exclusive end of the incoming arc range.
+     */
+    int getIncomingArcsEnd(int node);
+    
+    /**
+     * Returns the tail node of the input incoming arc.
+     * 
+     * @param arc the incoming arc index.
+     * @return the tail node of the arc.
+     */
+    int getIncomingArcTail(int arc);
+    
+    /**
+     * Returns the weight of the input incoming arc.
+     * 
+     * @param arc the incoming arc index.
+     * @return the weight of the arc.
+     */
+    double getIncomingArcWeight(int arc);
+    
+    /**
+     * Returns the weight of the arc {@code (tail, head)}, or
+     * {@link Double#POSITIVE_INFINITY} if there is no such arc.
+     * 
+     * @param tail the tail node.
+     * @param head the head node.
+     * @return the weight of the arc.
+     */
+    double getWeight(int tail, int head);
+    
+    /**
+     * Returns the number of outgoing arcs of the input node.
+     * 
+     * @param node the tail node.
+     * @return the out-degree of the node.
+     */
+    default int getOutDegree(int node) {
+        return getOutgoingArcsEnd(node) - getOutgoingArcsBegin(node);
+    }
+    
+    /**
+     * Returns the number of incoming arcs of the input node.
+     * 
+     * @param node the head node.
+     * @return the in-degree of the node.
+     */
+    default int getInDegree(int node) {
+        return getIncomingArcsEnd(node) - getIncomingArcsBegin(node);
+    }
+}
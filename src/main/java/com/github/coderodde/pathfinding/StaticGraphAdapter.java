@@ -0,0 +1,312 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * This class adapts a {@link StaticGraph} to the {@link NodeExpander},
+ * {@link ArcExpander}, {@link DoubleArcExpander}, {@link WeightFunction} and 
+ * {@link DoubleWeightFunction} contracts, so that all the search algorithms 
+ * may run on it. The nodes are represented by
+ * {@link Integer} objects that are boxed once at construction time and then
+ * reused, and each expander returns a reusable view over the adjacency arrays
+ * instead of copying the neighbours. Consequently, a node expansion allocates
+ * nothing.
+ * <p>
+ * The collection returned by an expander is valid only until the next call to
+ * the same expander, and an adapter must not be shared between concurrent
+ * searches; create one adapter per search thread instead.
+ */
+public final class StaticGraphAdapter {
+    
+    private final StaticGraph graph;
+    private final Integer[] nodes;
+    private final NodeExpander<Integer> childrenExpander;
+    private final NodeExpander<Integer> parentsExpander;
+    private final WeightFunction<Integer, Double> weightFunction;
+    private final DoubleWeightFunction<Integer> doubleWeightFunction;
+    private final NodeIndexer<Integer> nodeIndexer;
+    private final ArcExpander<Integer, Double> childrenArcExpander;
+    private final ArcExpander<Integer, Double> parentsArcExpander;
+    private final DoubleArcExpander<Integer> doubleChildrenArcExpander;
+    private final DoubleArcExpander<Integer> doubleParentsArcExpander;
+    
+    /**
+     * Constructs an adapter for the input graph.
+     * 
+     * @param graph the graph to adapt.
+     */
+    public StaticGraphAdapter(StaticGraph graph) {
+        this.graph = graph;
+        this.nodes = new Integer[graph.size()];
+        
+        for (int node = 0; node < nodes.length; node++) {
+            nodes[node] = node;
+        }
+        
+        this.childrenExpander = new ChildrenExpander();
+        this.parentsExpander = new ParentsExpander();
+        this.weightFunction = new GenericWeightFunction();
+        this.doubleWeightFunction =
+                (tail, head) -> graph.getWeight(tail, head);
+        this.nodeIndexer = new IdentityNodeIndexer();
+        this.childrenArcExpander = 
+                (node, consumer) -> expandChildren(node, consumer::accept);
+        this.parentsArcExpander = 
+                (node, consumer) -> expandParents(node, consumer::accept);
+        this.doubleChildrenArcExpander = this::expandChildren;
+        this.doubleParentsArcExpander = this::expandParents;
+    }
+    
+    /**
+     * Returns the adapted graph.
+     * 
+     * @return the graph.
+     */
+    public StaticGraph getGraph() {
+        return graph;
+    }
+    
+    /**
+     * Returns the canonical {@link Integer} object of the input node.
+     * 
+     * @param node the node.
+     * @return the boxed node.
+     */
+    public Integer getNode(int node) {
+        return nodes[node];
+    }
+    
+    /**
+     * Returns the expander generating the children of a node.
+     * 
+     * @return the children expander.
+     */
+    public NodeExpander<Integer> getChildrenExpander() {
+        return childrenExpander;
+    }
+    
+    /**
+     * Returns the expander generating the parents of a node.
+     * 
+     * @return the parents expander.
+     */
+    public NodeExpander<Integer> getParentsExpander() {
+        return parentsExpander;
+    }
+    
+    /**
+     * Returns the generic weight function of the graph.
+     * 
+     * @return the weight function.
+     */
+    public WeightFunction<Integer, Double> getWeightFunction() {
+        return weightFunction;
+    }
+    
+    /**
+     * Returns the primitive weight function of the graph.
+     * 
+     * @return the weight function.
+     */
+    public DoubleWeightFunction<Integer> getDoubleWeightFunction() {
+        return doubleWeightFunction;
+    }
+    
+    /**
+     * Returns the generic arc expander generating the outgoing arcs of a node.
+     * The arc weights are read directly from the adjacency arrays.
+     * 
+     * @return the children arc expander.
+     */
+    public ArcExpander<Integer, Double> getChildrenArcExpander() {
+        return childrenArcExpander;
+    }
+    
+    /**
+     * Returns the generic arc expander generating the incoming arcs of a node.
+     * The arc weights are read directly from the adjacency arrays.
+     * 
+     * @return the parents arc expander.
+     */
+    public ArcExpander<Integer, Double> getParentsArcExpander() {
+        return parentsArcExpander;
+    }
+    
+    /**
+     * Returns the primitive arc expander generating the outgoing arcs of a 
+     * node. The arc weights are read directly from the adjacency arrays, so an
+     * expansion neither allocates nor looks up a weight.
+     * 
+     * @return the children arc expander.
+     */
+    public DoubleArcExpander<Integer> getDoubleChildrenArcExpander() {
+        return doubleChildrenArcExpander;
+    }
+    
+    /**
+     * Returns the primitive arc expander generating the incoming arcs of a 
+     * node. The arc weights are read directly from the adjacency arrays, so an
+     * expansion neither allocates nor looks up a weight.
+     * 
+     * @return the parents arc expander.
+     */
+    public DoubleArcExpander<Integer> getDoubleParentsArcExpander() {
+        return doubleParentsArcExpander;
+    }
+    
+    /**
+     * Returns the node indexer of the graph. Since the nodes are already dense
+     * integers, the indexer maps each node to itself and does not hash. The 
+     * indexer is stateless and may be shared between threads.
+     * 
+     * @return the node indexer.
+     */
+    public NodeIndexer<Integer> getNodeIndexer() {
+        return nodeIndexer;
+    }
+    
+    private void expandChildren(Integer node, 
+                                DoubleArcConsumer<Integer> consumer) {
+        int end = graph.getOutgoingArcsEnd(node);
+        
+        for (int arc = graph.getOutgoingArcsBegin(node); arc < end; arc++) {
+            consumer.accept(nodes[graph.getArcHead(arc)], 
+                            graph.getArcWeight(arc));
+        }
+    }
+    
+    private void expandParents(Integer node, 
+                               DoubleArcConsumer<Integer> consumer) {
+        int end = graph.getIncomingArcsEnd(node);
+        
+        for (int arc = graph.getIncomingArcsBegin(node); arc < end; arc++) {
+            consumer.accept(nodes[graph.getIncomingArcTail(arc)], 
+                            graph.getIncomingArcWeight(arc));
+        }
+    }
+    
+    /**
+     * This class implements a reusable list view over a range of an adjacency
+     * array. The view also reuses its iterator, so that the for-each loops of
+     * the search algorithms do not allocate.
+     */
+    private abstract class AdjacencyView extends AbstractList<Integer>
+                                         implements RandomAccess,
+                                                    Iterator<Integer> {
+        
+        int begin;
+        int end;
+        private int cursor;
+        
+        @Override
+        public int size() {
+            return end - begin;
+        }
+        
+        @Override
+        public Iterator<Integer> iterator() {
+            cursor = 0;
+            return this;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return cursor < end - begin;
+        }
+        
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            return get(cursor++);
+        }
+    }
+    
+    private final class ChildrenView extends AdjacencyView {
+        
+        @Override
+        public Integer get(int index) {
+            return nodes[graph.getArcHead(begin + index)];
+        }
+    }
+    
+    private final class ParentsView extends AdjacencyView {
+        
+        @Override
+        public Integer get(int index) {
+            return nodes[graph.getIncomingArcTail(begin + index)];
+        }
+    }
+    
+    private final class ChildrenExpander implements NodeExpander<Integer> {
+        
+        private final ChildrenView view = new ChildrenView();
+        
+        @Override
+        public List<Integer> expand(Integer node) {
+            view.begin = graph.getOutgoingArcsBegin(node);
+            view.end = graph.getOutgoingArcsEnd(node);
+            return view;
+        }
+    }
+    
+    private final class ParentsExpander implements NodeExpander<Integer> {
+        
+        private final ParentsView view = new ParentsView();
+        
+        @Override
+        public List<Integer> expand(Integer node) {
+            view.begin = graph.getIncomingArcsBegin(node);
+            view.end = graph.getIncomingArcsEnd(node);
+            return view;
+        }
+    }
+    
+    private final class IdentityNodeIndexer implements NodeIndexer<Integer> {
+        
+        @Override
+        public int getIndex(Integer node) {
+            return node;
+        }
+        
+        @Override
+        public Integer getNode(int index) {
+            return nodes[index];
+        }
+        
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+    }
+    
+    private final class GenericWeightFunction
+            implements WeightFunction<Integer, Double> {
+        
+        @Override
+        public Double getWeight(Integer tail, Integer head) {
+            return graph.getWeight(tail, head);
+        }
+        
+        @Override
+        public Double getZero() {
+            return 0.0;
+        }
+        
+        @Override
+        public Double getInfinity() {
+            return Double.POSITIVE_INFINITY;
+        }
+        
+        @Override
+        public Double sum(Double w1, Double w2) {
+            return w1 + w2;
+        }
+    }
+}
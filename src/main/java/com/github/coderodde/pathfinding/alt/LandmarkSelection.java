@@ -0,0 +1,24 @@
+package com.github.coderodde.pathfinding.alt;
+
+/**
+ * This enumeration lists the landmark selection strategies of 
+ * {@link LandmarkTable}.
+ */
+public enum LandmarkSelection {
+    
+    /**
+     * Picks the landmarks greedily one at a time, each one as the node 
+     * farthest from the landmarks picked so far.
+     */
+    FARTHEST,
+    
+    /**
+     * Picks each landmark in the region whose distances the landmarks picked
+     * so far bound worst. The region is found by growing a shortest path tree
+     * from a random root, weighting every node by the gap between its 
+     * distance and its landmark lower bound, and descending from the root 
+     * into the heaviest subtree that contains no landmark until reaching a 
+     * leaf. This is the {@code avoid} method of Goldberg and Werneck.
+     */
+    AVOID
+}
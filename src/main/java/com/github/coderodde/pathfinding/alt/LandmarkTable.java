@@ -0,0 +1,509 @@
+package com.github.coderodde.pathfinding.alt;
+
+import com.github.coderodde.pathfinding.DoubleDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleSearchWorkspace;
+import com.github.coderodde.pathfinding.DoubleShortestPathTree;
+import com.github.coderodde.pathfinding.HeuristicFunction;
+import com.github.coderodde.pathfinding.StaticGraph;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class holds the landmark distance tables of the ALT (A*, landmarks and
+ * triangle inequality) technique over a {@link StaticGraph}. For every
+ * landmark {@code L} and every node {@code v}, the table stores
+ * {@code d(L, v)} and {@code d(v, L)}, and the triangle inequality yields the
+ * lower bounds {@code d(L, t) - d(L, v) <= d(v, t)} and
+ * {@code d(v, L) - d(t, L) <= d(v, t)}. The largest of these bounds over all
+ * landmarks is a consistent heuristic, so the table plugs directly into
+ * {@link com.github.coderodde.pathfinding.BidirectionalAStarAlgorithm}.
+ * <p>
+ * The distances are stored node-major in two {@code double} arrays, so that
+ * the bounds of a node are read from a single contiguous run of
+ * {@code 8 * k} bytes per array for {@code k} landmarks. They are the
+ * distances computed by the one-to-all searches in the precision of the
+ * searches themselves: rounding them to {@code float} would make the bounds
+ * inconsistent by far more than the rounding of the path sums, and
+ * {@link com.github.coderodde.pathfinding.BidirectionalAStarAlgorithm}, which
+ * never reopens a settled node, would then return paths that are not
+ * shortest.
+ * <p>
+ * A distance summed along a path of {@code h} arcs carries a relative
+ * rounding error of up to about {@code h * 2^-53}, so the difference of two
+ * landmark distances may exceed the distance it bounds by a few ulps. Each
+ * bound therefore shrinks its minuend by the relative slack {@code 1e-12}.
+ * For the bounds from a landmark the minuend is the distance of the fixed
+ * target, and for the bounds to a landmark the shrinking scales the terms
+ * depending on the node; either way the bounds stay consistent.
+ * <p>
+ * The one-to-all searches of the landmarks are the shortest path trees of
+ * {@link DoubleDijkstrasAlgorithm} and run on an {@link Executor}. The
+ * selection strategies need the forward distances of the landmarks picked so
+ * far before they can pick the next one, so only the backward searches
+ * overlap the selection; the landmarks supplied by the caller are all
+ * searched in parallel.
+ */
+public final class LandmarkTable implements HeuristicFunction<Integer> {
+    
+    /**
+     * The relative slack of the bounds, covering the rounding of distances
+     * summed along paths of thousands of arcs.
+     */
+    private static final double ROUNDING_SLACK = 1e-12;
+    
+    private static final int NO_CHILD = -1;
+    
+    private final int[] landmarks;
+    
+    /**
+     * {@code fromLandmarks[v * k + i]} is the distance from the {@code i}th
+     * landmark to the node {@code v}.
+     */
+    private final double[] fromLandmarks;
+    
+    /**
+     * {@code toLandmarks[v * k + i]} is the distance from the node {@code v}
+     * to the {@code i}th landmark.
+     */
+    private final double[] toLandmarks;
+    
+    private LandmarkTable(int[] landmarks,
+                          double[] fromLandmarks,
+                          double[] toLandmarks) {
+        this.landmarks = landmarks;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks = toLandmarks;
+    }
+    
+    /**
+     * Selects the input number of landmarks via the input strategy and
+     * computes their distance tables on the common fork/join pool.
+     * 
+     * @param graph              the graph.
+     * @param numberOfLandmarks  the number of landmarks.
+     * @param selection          the landmark selection strategy.
+     * @param random             the random number generator.
+     * @return the landmark table.
+     */
+    public static LandmarkTable compute(StaticGraph graph,
+                                        int numberOfLandmarks,
+                                        LandmarkSelection selection,
+                                        Random random) {
+        return compute(graph,
+                       numberOfLandmarks,
+                       selection,
+                       random,
+                       ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Selects the input number of landmarks via the input strategy and
+     * computes their distance tables on the input executor.
+     * 
+     * @param graph              the graph.
+     * @param numberOfLandmarks  the number of landmarks.
+     * @param selection          the landmark selection strategy.
+     * @param random             the random number generator.
+     * @param executor           the executor running the backward searches.
+     * @return the landmark table.
+     */
+    public static LandmarkTable compute(StaticGraph graph,
+                                        int numberOfLandmarks,
+                                        LandmarkSelection selection,
+                                        Random random,
+                                        Executor executor) {
+        Objects.requireNonNull(graph, "graph is null.");
+        Objects.requireNonNull(selection, "selection is null.");
+        Objects.requireNonNull(random, "random is null.");
+        Objects.requireNonNull(executor, "executor is null.");
+        
+        if (numberOfLandmarks < 1 || numberOfLandmarks > graph.size()) {
+            throw new IllegalArgumentException(
+                    "The number of landmarks must be within [1, " +
+                    graph.size() + "], was " + numberOfLandmarks + ".");
+        }
+        
+        int[] landmarks = new int[numberOfLandmarks];
+        boolean[] isLandmark = new boolean[graph.size()];
+        double[][] forwardDistances = new double[numberOfLandmarks][];
+        
+        List<CompletableFuture<double[]>> backwardDistances =
+                new ArrayList<>(numberOfLandmarks);
+        
+        for (int i = 0; i < numberOfLandmarks; i++) {
+            int landmark =
+                    selection == LandmarkSelection.FARTHEST ?
+                    selectFarthest(graph, 
+                                   forwardDistances, 
+                                   i, 
+                                   isLandmark, 
+                                   random) :
+                    selectAvoid(graph, 
+                                forwardDistances, 
+                                i, 
+                                isLandmark, 
+                                random);
+            
+            landmarks[i] = landmark;
+            isLandmark[landmark] = true;
+            backwardDistances.add(
+                    computeAsync(graph, landmark, false, executor));
+            
+            forwardDistances[i] = computeDistances(graph, landmark, true);
+        }
+        
+        return buildTable(graph,
+                          landmarks,
+                          forwardDistances,
+                          backwardDistances);
+    }
+    
+    /**
+     * Computes the distance tables of the input landmarks, running all the
+     * one-to-all searches in parallel on the input executor.
+     * 
+     * @param graph     the graph.
+     * @param landmarks the landmark nodes.
+     * @param executor  the executor running the searches.
+     * @return the landmark table.
+     */
+    public static LandmarkTable compute(StaticGraph graph,
+                                        int[] landmarks,
+                                        Executor executor) {
+        Objects.requireNonNull(graph, "graph is null.");
+        Objects.requireNonNull(landmarks, "landmarks is null.");
+        Objects.requireNonNull(executor, "executor is null.");
+        
+        if (landmarks.length == 0) {
+            throw new IllegalArgumentException("No landmarks given.");
+        }
+        
+        for (int landmark : landmarks) {
+            if (landmark < 0 || landmark >= graph.size()) {
+                throw new IllegalArgumentException(
+                        "Landmark " + landmark + " is not a node.");
+            }
+        }
+        
+        int k = landmarks.length;
+        
+        List<CompletableFuture<double[]>> forwardFutures =
+                new ArrayList<>(k);
+        
+        List<CompletableFuture<double[]>> backwardDistances =
+                new ArrayList<>(k);
+        
+        for (int landmark : landmarks) {
+            forwardFutures.add(computeAsync(graph, landmark, true, executor));
+            backwardDistances.add(
+                    computeAsync(graph, landmark, false, executor));
+        }
+        
+        double[][] forwardDistances = new double[k][];
+        
+        for (int i = 0; i < k; i++) {
+            forwardDistances[i] = forwardFutures.get(i).join();
+        }
+        
+        return buildTable(graph,
+                          landmarks.clone(),
+                          forwardDistances,
+                          backwardDistances);
+    }
+    
+    /**
+     * Returns the number of landmarks.
+     * 
+     * @return the number of landmarks.
+     */
+    public int getNumberOfLandmarks() {
+        return landmarks.length;
+    }
+    
+    /**
+     * Returns the {@code i}th landmark.
+     * 
+     * @param i the landmark index.
+     * @return the landmark node.
+     */
+    public int getLandmark(int i) {
+        return landmarks[i];
+    }
+    
+    /**
+     * Returns the distance from the {@code i}th landmark to the input node.
+     * 
+     * @param i    the landmark index.
+     * @param node the node.
+     * @return the distance from the landmark.
+     */
+    public double getDistanceFromLandmark(int i, int node) {
+        return fromLandmarks[node * landmarks.length + i];
+    }
+    
+    /**
+     * Returns the distance from the input node to the {@code i}th landmark.
+     * 
+     * @param i    the landmark index.
+     * @param node the node.
+     * @return the distance to the landmark.
+     */
+    public double getDistanceToLandmark(int i, int node) {
+        return toLandmarks[node * landmarks.length + i];
+    }
+    
+    /**
+     * Returns the landmark lower bound on the distance from {@code from} to
+     * {@code to}, or {@link Double#POSITIVE_INFINITY} if the table proves
+     * that {@code to} is not reachable from {@code from}.
+     * 
+     * @param from the starting node.
+     * @param to   the ending node.
+     * @return the lower bound.
+     */
+    public double getLowerBound(int from, int to) {
+        int k = landmarks.length;
+        int fromOffset = from * k;
+        int toOffset = to * k;
+        double lowerBound = 0.0;
+        
+        for (int i = 0; i < k; i++) {
+            lowerBound = Math.max(
+                    lowerBound,
+                    getDifference(fromLandmarks[toOffset + i],
+                                  fromLandmarks[fromOffset + i]));
+            
+            lowerBound = Math.max(
+                    lowerBound,
+                    getDifference(toLandmarks[fromOffset + i],
+                                  toLandmarks[toOffset + i]));
+        }
+        
+        return lowerBound;
+    }
+    
+    @Override
+    public double estimate(Integer from, Integer to) {
+        return getLowerBound(from, to);
+    }
+    
+    /**
+     * Returns a lower bound on {@code minuend - subtrahend}, shrinking the
+     * minuend by {@link #ROUNDING_SLACK}. An infinite subtrahend bounds
+     * nothing, while an infinite minuend with a finite subtrahend proves
+     * unreachability.
+     */
+    private static double getDifference(double minuend, double subtrahend) {
+        if (subtrahend == Double.POSITIVE_INFINITY) {
+            return 0.0;
+        }
+        
+        if (minuend == Double.POSITIVE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        }
+        
+        return minuend * (1.0 - ROUNDING_SLACK) - subtrahend;
+    }
+    
+    /**
+     * Computes the shortest path tree from the root when {@code forward} is
+     * set, and to the root otherwise. Each search gets its own adapter, since
+     * the searches of the landmarks run concurrently.
+     */
+    private static DoubleShortestPathTree<Integer> 
+        computeTree(StaticGraph graph, int root, boolean forward) {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        return new DoubleDijkstrasAlgorithm<Integer>()
+                .computeShortestPathTree(
+                        adapter.getNode(root),
+                        forward ? adapter.getDoubleChildrenArcExpander() :
+                                  adapter.getDoubleParentsArcExpander(),
+                        new DoubleSearchWorkspace<>(adapter.getNodeIndexer()));
+    }
+    
+    /**
+     * Returns the distances of all the nodes in the shortest path tree from
+     * or to the root. An unreachable node is at the distance
+     * {@link Double#POSITIVE_INFINITY}.
+     */
+    private static double[] computeDistances(StaticGraph graph,
+                                             int root,
+                                             boolean forward) {
+        DoubleShortestPathTree<Integer> tree = 
+                computeTree(graph, root, forward);
+        double[] distances = new double[graph.size()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        
+        for (int position = 0; position < tree.size(); position++) {
+            distances[tree.getNode(position)] = tree.getDistanceAt(position);
+        }
+        
+        return distances;
+    }
+    
+    private static CompletableFuture<double[]>
+        computeAsync(StaticGraph graph,
+                     int landmark,
+                     boolean forward,
+                     Executor executor) {
+        return CompletableFuture.supplyAsync(
+                () -> computeDistances(graph, landmark, forward),
+                executor);
+    }
+    
+    private static LandmarkTable buildTable(
+            StaticGraph graph,
+            int[] landmarks,
+            double[][] forwardDistances,
+            List<CompletableFuture<double[]>> backwardDistances) {
+        
+        int k = landmarks.length;
+        int n = graph.size();
+        double[] fromLandmarks = new double[n * k];
+        double[] toLandmarks = new double[n * k];
+        
+        for (int i = 0; i < k; i++) {
+            double[] distancesFrom = forwardDistances[i];
+            double[] distancesTo = backwardDistances.get(i).join();
+            
+            for (int node = 0; node < n; node++) {
+                fromLandmarks[node * k + i] = distancesFrom[node];
+                toLandmarks[node * k + i] = distancesTo[node];
+            }
+        }
+        
+        return new LandmarkTable(landmarks, fromLandmarks, toLandmarks);
+    }
+    
+    /**
+     * Picks the node farthest from a random node as the first landmark, and
+     * then the node maximizing the distance from its nearest landmark.
+     */
+    private static int selectFarthest(StaticGraph graph,
+                                      double[][] forwardDistances,
+                                      int numberOfLandmarks,
+                                      boolean[] isLandmark,
+                                      Random random) {
+        if (numberOfLandmarks == 0) {
+            int root = random.nextInt(graph.size());
+            DoubleShortestPathTree<Integer> tree = 
+                    computeTree(graph, root, true);
+            return tree.getNode(tree.size() - 1);
+        }
+        
+        int farthestNode = -1;
+        double farthestDistance = -1.0;
+        
+        for (int node = 0; node < graph.size(); node++) {
+            if (isLandmark[node]) {
+                continue;
+            }
+            
+            double distance = Double.POSITIVE_INFINITY;
+            
+            for (int i = 0; i < numberOfLandmarks; i++) {
+                distance = Math.min(distance, forwardDistances[i][node]);
+            }
+            
+            if (distance != Double.POSITIVE_INFINITY &&
+                distance > farthestDistance) {
+                farthestDistance = distance;
+                farthestNode = node;
+            }
+        }
+        
+        return farthestNode != -1 ?
+                farthestNode :
+                selectRandom(graph, isLandmark, random);
+    }
+    
+    /**
+     * Implements {@link LandmarkSelection#AVOID}.
+     */
+    private static int selectAvoid(StaticGraph graph,
+                                   double[][] forwardDistances,
+                                   int numberOfLandmarks,
+                                   boolean[] isLandmark,
+                                   Random random) {
+        int root = selectRandom(graph, isLandmark, random);
+        DoubleShortestPathTree<Integer> tree = computeTree(graph, root, true);
+        int n = graph.size();
+        double[] sizes = new double[n];
+        int[] bestChildren = new int[n];
+        Arrays.fill(bestChildren, NO_CHILD);
+        
+        // The weight of a node is the gap between its distance from the root
+        // and the forward landmark lower bound of that distance:
+        for (int i = 0; i < tree.size(); i++) {
+            int node = tree.getNode(i);
+            double lowerBound = 0.0;
+            
+            for (int j = 0; j < numberOfLandmarks; j++) {
+                double rootDistance = forwardDistances[j][root];
+                
+                if (rootDistance != Double.POSITIVE_INFINITY) {
+                    lowerBound = Math.max(
+                            lowerBound,
+                            forwardDistances[j][node] - rootDistance);
+                }
+            }
+            
+            sizes[node] = Math.max(0.0, tree.getDistanceAt(i) - lowerBound);
+        }
+        
+        // Accumulate the subtree sizes bottom-up. The children are settled
+        // after their parents, so every subtree is complete by the time its
+        // root is visited. A subtree containing a landmark is already covered
+        // and never chosen:
+        boolean[] covered = new boolean[n];
+        
+        for (int i = tree.size() - 1; i > 0; i--) {
+            int node = tree.getNode(i);
+            int parent = tree.getParent(node);
+            
+            if (covered[node] || isLandmark[node]) {
+                covered[parent] = true;
+                continue;
+            }
+            
+            sizes[parent] += sizes[node];
+            
+            int bestChild = bestChildren[parent];
+            
+            if (sizes[node] > 0.0 &&
+                (bestChild == NO_CHILD ||
+                 sizes[node] > sizes[bestChild])) {
+                bestChildren[parent] = node;
+            }
+        }
+        
+        // Descend into the heaviest landmark-free subtree down to a leaf:
+        int node = root;
+        
+        while (bestChildren[node] != NO_CHILD) {
+            node = bestChildren[node];
+        }
+        
+        return node;
+    }
+    
+    private static int selectRandom(StaticGraph graph,
+                                    boolean[] isLandmark,
+                                    Random random) {
+        int node;
+        
+        do {
+            node = random.nextInt(graph.size());
+        } while (isLandmark[node]);
+        
+        return node;
+    }
+}
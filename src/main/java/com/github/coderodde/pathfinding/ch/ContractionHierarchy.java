@@ -0,0 +1,167 @@
+package com.github.coderodde.pathfinding.ch;
+
+/**
+ * This class holds an immutable contraction hierarchy: the rank of every node
+ * and the arcs of the graph augmented by the shortcuts, split into the
+ * upward arcs, whose heads outrank their tails, and the downward arcs, whose
+ * tails outrank their heads. Both halves are stored in the compressed sparse
+ * row format; the upward arcs are grouped by their tails and the downward
+ * arcs by their heads, so that both query directions scan the arcs leading
+ * to higher ranked nodes.
+ * <p>
+ * Every arc records its middle node: {@link #NO_MIDDLE} for an original arc,
+ * and the contracted node {@code m} for a shortcut {@code (u, v)} standing
+ * for the arcs {@code (u, m)} and {@code (m, v)}. Since {@code m} is ranked
+ * below both {@code u} and {@code v}, the arc {@code (u, m)} is a downward
+ * arc and {@code (m, v)} is an upward arc, which is how the shortcuts are
+ * unpacked.
+ * <p>
+ * Instances are created via {@link ContractionHierarchyBuilder} and
+ * {@link CustomizableContractionHierarchy}.
+ */
+public final class ContractionHierarchy {
+    
+    /**
+     * The middle node of the arcs that are not shortcuts.
+     */
+    public static final int NO_MIDDLE = -1;
+    
+    private final int[] ranks;
+    private final int[] upOffsets;
+    private final int[] upHeads;
+    private final double[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downTails;
+    private final double[] downWeights;
+    private final int[] downMiddles;
+    
+    ContractionHierarchy(int[] ranks,
+                         int[] upOffsets,
+                         int[] upHeads,
+                         double[] upWeights,
+                         int[] upMiddles,
+                         int[] downOffsets,
+                         int[] downTails,
+                         double[] downWeights,
+                         int[] downMiddles) {
+        this.ranks = ranks;
+        this.upOffsets = upOffsets;
+        this.upHeads = upHeads;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downTails = downTails;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+    }
+    
+    /**
+     * Returns the number of nodes in this hierarchy.
+     * 
+     * @return the number of nodes.
+     */
+    public int size() {
+        return ranks.length;
+    }
+    
+    /**
+     * Returns the rank of the input node, that is, its position in the
+     * contraction order.
+     * 
+     * @param node the node.
+     * @return the rank of the node.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+    
+    /**
+     * Returns the number of arcs in this hierarchy, shortcuts included.
+     * 
+     * @return the number of arcs.
+     */
+    public int getNumberOfArcs() {
+        return upHeads.length + downTails.length;
+    }
+    
+    /**
+     * Returns the number of shortcuts in this hierarchy.
+     * 
+     * @return the number of shortcuts.
+     */
+    public int getNumberOfShortcuts() {
+        int shortcuts = 0;
+        
+        for (int middle : upMiddles) {
+            if (middle != NO_MIDDLE) {
+                shortcuts++;
+            }
+        }
+        
+        for (int middle : downMiddles) {
+            if (middle != NO_MIDDLE) {
+                shortcuts++;
+            }
+        }
+        
+        return shortcuts;
+    }
+    
+    int getUpwardArcsBegin(int node) {
+        return upOffsets[node];
+    }
+    
+    int getUpwardArcsEnd(int node) {
+        return upOffsets[node + 1];
+    }
+    
+    int getUpwardArcHead(int arc) {
+        return upHeads[arc];
+    }
+    
+    double getUpwardArcWeight(int arc) {
+        return upWeights[arc];
+    }
+    
+    int getDownwardArcsBegin(int node) {
+        return downOffsets[node];
+    }
+    
+    int getDownwardArcsEnd(int node) {
+        return downOffsets[node + 1];
+    }
+    
+    int getDownwardArcTail(int arc) {
+        return downTails[arc];
+    }
+    
+    double getDownwardArcWeight(int arc) {
+        return downWeights[arc];
+    }
+    
+    /**
+     * Returns the middle node of the arc {@code (tail, head)}. Throws an
+     * {@link IllegalStateException} if there is no such arc.
+     */
+    int getMiddle(int tail, int head) {
+        if (ranks[tail] < ranks[head]) {
+            for (int arc = upOffsets[tail]; arc < upOffsets[tail + 1]; arc++) {
+                if (upHeads[arc] == head) {
+                    return upMiddles[arc];
+                }
+            }
+        } else {
+            for (int arc = downOffsets[head];
+                     arc < downOffsets[head + 1];
+                     arc++) {
+                if (downTails[arc] == tail) {
+                    return downMiddles[arc];
+                }
+            }
+        }
+        
+        throw new IllegalStateException(
+                "No arc (" + tail + ", " + head + ") in the hierarchy.");
+    }
+}
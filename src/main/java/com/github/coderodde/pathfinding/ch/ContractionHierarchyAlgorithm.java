@@ -0,0 +1,291 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.DoubleIndexedHeap;
+import com.github.coderodde.pathfinding.NodeIndexer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements the bidirectional query over a
+ * {@link ContractionHierarchy}. The forward search from the source relaxes
+ * only the upward arcs and the backward search from the target relaxes only
+ * the downward arcs against their direction, so both searches climb the
+ * hierarchy and meet at the highest ranked node of a shortest path. A search
+ * direction stops once its minimum key reaches the length of the shortest
+ * path found so far.
+ * <p>
+ * Both searches stall on demand: a node that is reached more cheaply through
+ * a higher ranked neighbour than through its own search tree cannot lie on a
+ * shortest path, so its arcs are not relaxed.
+ * <p>
+ * The resulting path of upward and downward arcs is unpacked into the
+ * original arcs via the middle nodes of the shortcuts, so the returned path
+ * has the same shape as the ones returned by the plain searches.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class ContractionHierarchyAlgorithm<N> {
+    
+    private final ContractionHierarchy hierarchy;
+    private final NodeIndexer<N> indexer;
+    
+    /**
+     * Constructs the query algorithm over the input hierarchy. The indexer
+     * maps the nodes to the node indices of the graph the hierarchy was built
+     * from.
+     * 
+     * @param hierarchy the contraction hierarchy.
+     * @param indexer   the node indexer.
+     */
+    public ContractionHierarchyAlgorithm(ContractionHierarchy hierarchy,
+                                         NodeIndexer<N> indexer) {
+        this.hierarchy =
+                Objects.requireNonNull(hierarchy, "hierarchy is null.");
+        
+        this.indexer = Objects.requireNonNull(indexer, "indexer is null.");
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source, N target) {
+        return findShortestPath(source,
+                                target,
+                                new ContractionHierarchyWorkspace(hierarchy));
+    }
+    
+    /**
+     * Searches for a shortest {@code source/target} path. Throws an
+     * {@link IllegalStateException} if the target node is not reachable from
+     * the source node. All the search state is kept in the input workspace,
+     * which may be reused by subsequent queries.
+     * 
+     * @param source    the source node.
+     * @param target    the target node.
+     * @param workspace the search workspace.
+     * 
+     * @return the shortest path.
+     */
+    public List<N> findShortestPath(N source,
+                                    N target,
+                                    ContractionHierarchyWorkspace workspace) {
+        if (source.equals(target)) {
+            // We need to handle this special case, since the actual algorithm
+            // cannot deal with it.
+            return Arrays.asList(target);
+        }
+        
+        UpwardSearchState stateF = workspace.getForwardState();
+        UpwardSearchState stateB = workspace.getBackwardState();
+        
+        if (stateF.getCapacity() != hierarchy.size()) {
+            throw new IllegalArgumentException(
+                    "The workspace does not fit the hierarchy.");
+        }
+        
+        stateF.reset();
+        stateB.reset();
+        
+        int sourceIndex = indexer.getIndex(source);
+        int targetIndex = indexer.getIndex(target);
+        
+        DoubleIndexedHeap queueF = stateF.getHeap();
+        DoubleIndexedHeap queueB = stateB.getHeap();
+        
+        queueF.insert(sourceIndex, 0.0);
+        queueB.insert(targetIndex, 0.0);
+        
+        stateF.setDistance(sourceIndex, 0.0);
+        stateB.setDistance(targetIndex, 0.0);
+        
+        stateF.setParent(sourceIndex, UpwardSearchState.NO_PARENT);
+        stateB.setParent(targetIndex, UpwardSearchState.NO_PARENT);
+        
+        double mu = Double.POSITIVE_INFINITY;
+        int touchNode = UpwardSearchState.NO_PARENT;
+        boolean forward = false;
+        
+        while (true) {
+            boolean forwardDone = queueF.isEmpty() ||
+                                  queueF.getMinimumKey() >= mu;
+            
+            boolean backwardDone = queueB.isEmpty() ||
+                                   queueB.getMinimumKey() >= mu;
+            
+            if (forwardDone && backwardDone) {
+                break;
+            }
+            
+            // Alternate while both directions are active:
+            forward = backwardDone || (!forwardDone && !forward);
+            
+            int node = forward ? settleForward(stateF) :
+                                 settleBackward(stateB);
+            
+            double distance = stateF.getDistance(node) +
+                              stateB.getDistance(node);
+            
+            if (mu > distance) {
+                mu = distance;
+                touchNode = node;
+            }
+        }
+        
+        if (touchNode == UpwardSearchState.NO_PARENT) {
+            throw new IllegalStateException(
+                    "The target node is not reachable from the source node.");
+        }
+        
+        return unpackPath(touchNode, stateF, stateB);
+    }
+    
+    /**
+     * Settles the minimum node of the forward queue and, unless the node is
+     * stalled, relaxes its upward arcs.
+     */
+    private int settleForward(UpwardSearchState state) {
+        DoubleIndexedHeap queue = state.getHeap();
+        int node = queue.extractMinimum();
+        double distance = state.getDistance(node);
+        state.incrementSettledCount();
+        
+        // Stall if a higher ranked node reaches this one more cheaply:
+        for (int arc = hierarchy.getDownwardArcsBegin(node),
+                 end = hierarchy.getDownwardArcsEnd(node); arc < end; arc++) {
+            if (state.getDistance(hierarchy.getDownwardArcTail(arc)) +
+                hierarchy.getDownwardArcWeight(arc) < distance) {
+                return node;
+            }
+        }
+        
+        for (int arc = hierarchy.getUpwardArcsBegin(node),
+                 end = hierarchy.getUpwardArcsEnd(node); arc < end; arc++) {
+            relax(state,
+                  node,
+                  hierarchy.getUpwardArcHead(arc),
+                  distance + hierarchy.getUpwardArcWeight(arc));
+        }
+        
+        return node;
+    }
+    
+    /**
+     * Settles the minimum node of the backward queue and, unless the node is
+     * stalled, relaxes its downward arcs against their direction.
+     */
+    private int settleBackward(UpwardSearchState state) {
+        DoubleIndexedHeap queue = state.getHeap();
+        int node = queue.extractMinimum();
+        double distance = state.getDistance(node);
+        state.incrementSettledCount();
+        
+        for (int arc = hierarchy.getUpwardArcsBegin(node),
+                 end = hierarchy.getUpwardArcsEnd(node); arc < end; arc++) {
+            if (state.getDistance(hierarchy.getUpwardArcHead(arc)) +
+                hierarchy.getUpwardArcWeight(arc) < distance) {
+                return node;
+            }
+        }
+        
+        for (int arc = hierarchy.getDownwardArcsBegin(node),
+                 end = hierarchy.getDownwardArcsEnd(node); arc < end; arc++) {
+            relax(state,
+                  node,
+                  hierarchy.getDownwardArcTail(arc),
+                  distance + hierarchy.getDownwardArcWeight(arc));
+        }
+        
+        return node;
+    }
+    
+    private static void relax(UpwardSearchState state,
+                              int node,
+                              int neighbour,
+                              double tentativeDistance) {
+        if (state.getDistance(neighbour) <= tentativeDistance) {
+            return;
+        }
+        
+        DoubleIndexedHeap queue = state.getHeap();
+        
+        if (queue.contains(neighbour)) {
+            queue.decreaseKey(neighbour, tentativeDistance);
+        } else {
+            // A settled node always has a distance no larger than the
+            // tentative one, so the neighbour is new to this query:
+            queue.insert(neighbour, tentativeDistance);
+        }
+        
+        state.setDistance(neighbour, tentativeDistance);
+        state.setParent(neighbour, node);
+    }
+    
+    /**
+     * Builds the packed path through the touch node and replaces every
+     * shortcut on it with the original arcs it stands for.
+     */
+    private List<N> unpackPath(int touchNode,
+                               UpwardSearchState stateF,
+                               UpwardSearchState stateB) {
+        List<Integer> packedPath = new ArrayList<>();
+        
+        for (int node = touchNode;
+                 node != UpwardSearchState.NO_PARENT;
+                 node = stateF.getParent(node)) {
+            packedPath.add(node);
+        }
+        
+        Collections.reverse(packedPath);
+        
+        for (int node = stateB.getParent(touchNode);
+                 node != UpwardSearchState.NO_PARENT;
+                 node = stateB.getParent(node)) {
+            packedPath.add(node);
+        }
+        
+        List<N> path = new ArrayList<>();
+        path.add(indexer.getNode(packedPath.get(0)));
+        
+        // The stack holds the arcs still to unpack as (tail, head) pairs, the
+        // next one on top:
+        int[] stack = new int[16];
+        
+        for (int i = 1; i < packedPath.size(); i++) {
+            int stackSize = 0;
+            stack[stackSize++] = packedPath.get(i - 1);
+            stack[stackSize++] = packedPath.get(i);
+            
+            while (stackSize > 0) {
+                int head = stack[--stackSize];
+                int tail = stack[--stackSize];
+                int middle = hierarchy.getMiddle(tail, head);
+                
+                if (middle == ContractionHierarchy.NO_MIDDLE) {
+                    path.add(indexer.getNode(head));
+                    continue;
+                }
+                
+                if (stackSize + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stack.length);
+                }
+                
+                stack[stackSize++] = middle;
+                stack[stackSize++] = head;
+                stack[stackSize++] = tail;
+                stack[stackSize++] = middle;
+            }
+        }
+        
+        return path;
+    }
+}
@@ -0,0 +1,441 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.DoubleDaryHeap;
+import com.github.coderodde.pathfinding.DoubleIndexedHeap;
+import com.github.coderodde.pathfinding.StaticGraph;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class builds a {@link ContractionHierarchy} of a {@link StaticGraph}.
+ * The nodes are contracted one at a time in the order of their priorities.
+ * Contracting a node {@code v} removes it from the remaining graph and, for
+ * every pair of remaining arcs {@code (u, v)} and {@code (v, x)}, adds the
+ * shortcut {@code (u, x)} unless a witness search from {@code u} avoiding
+ * {@code v} finds a path to {@code x} no longer than the one through
+ * {@code v}.
+ * <p>
+ * The priority of a node is twice its edge difference, the number of 
+ * shortcuts its contraction would add minus the number of arcs it would 
+ * remove, plus the number of its already contracted neighbours, which spreads
+ * the contraction evenly over the graph. The priorities are updated lazily: 
+ * a node popped from the queue is contracted only if its recomputed priority 
+ * is still the smallest one. Recomputing the priorities of the neighbours of 
+ * every contracted node right away costs several times more witness searches
+ * and hardly changes the resulting hierarchy.
+ * <p>
+ * The witness searches settle at most
+ * {@link #setWitnessSearchSettleLimit(int)} nodes. A search cut short merely
+ * adds a superfluous shortcut, so the limit trades the preprocessing time
+ * against the size of the hierarchy and never affects the correctness of the
+ * queries.
+ */
+public final class ContractionHierarchyBuilder {
+    
+    /**
+     * The default maximum number of nodes settled by a single witness search.
+     */
+    public static final int DEFAULT_WITNESS_SEARCH_SETTLE_LIMIT = 500;
+    
+    private final StaticGraph graph;
+    private int witnessSearchSettleLimit = DEFAULT_WITNESS_SEARCH_SETTLE_LIMIT;
+    
+    /**
+     * Constructs a builder for the input graph.
+     * 
+     * @param graph the graph to preprocess.
+     */
+    public ContractionHierarchyBuilder(StaticGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "graph is null.");
+    }
+    
+    /**
+     * Sets the maximum number of nodes settled by a single witness search.
+     * 
+     * @param witnessSearchSettleLimit the settle limit.
+     * @return this builder.
+     */
+    public ContractionHierarchyBuilder
+        setWitnessSearchSettleLimit(int witnessSearchSettleLimit) {
+        if (witnessSearchSettleLimit < 1) {
+            throw new IllegalArgumentException(
+                    "The witness search settle limit must be positive, was " +
+                    witnessSearchSettleLimit + ".");
+        }
+        
+        this.witnessSearchSettleLimit = witnessSearchSettleLimit;
+        return this;
+    }
+    
+    /**
+     * Contracts all the nodes of the graph and returns the resulting
+     * hierarchy.
+     * 
+     * @return the contraction hierarchy.
+     */
+    public ContractionHierarchy build() {
+        return new Contraction(graph, witnessSearchSettleLimit).run();
+    }
+    
+    /**
+     * This class holds the state of a single contraction run: the remaining
+     * graph as growable adjacency lists and the storage of the witness
+     * searches.
+     */
+    private static final class Contraction {
+        
+        private final int n;
+        private final int witnessSearchSettleLimit;
+        private final ArcList[] outgoingArcs;
+        private final ArcList[] incomingArcs;
+        private final int[] contractedNeighbours;
+        private final int[] ranks;
+        
+        private final DoubleIndexedHeap witnessQueue = new DoubleDaryHeap();
+        private final double[] witnessDistances;
+        private final int[] witnessStamps;
+        private int witnessGeneration;
+        
+        /**
+         * {@code targetStamps[x] == targetGeneration} if and only if 
+         * {@code x} is a head of the node being contracted.
+         */
+        private final int[] targetStamps;
+        private int targetGeneration;
+        
+        Contraction(StaticGraph graph, int witnessSearchSettleLimit) {
+            this.n = graph.size();
+            this.witnessSearchSettleLimit = witnessSearchSettleLimit;
+            this.outgoingArcs = new ArcList[n];
+            this.incomingArcs = new ArcList[n];
+            this.contractedNeighbours = new int[n];
+            this.ranks = new int[n];
+            this.witnessDistances = new double[n];
+            this.witnessStamps = new int[n];
+            this.targetStamps = new int[n];
+            
+            for (int node = 0; node < n; node++) {
+                outgoingArcs[node] = new ArcList();
+                incomingArcs[node] = new ArcList();
+            }
+            
+            for (int tail = 0; tail < n; tail++) {
+                for (int arc = graph.getOutgoingArcsBegin(tail),
+                         end = graph.getOutgoingArcsEnd(tail);
+                         arc < end;
+                         arc++) {
+                    addArc(tail,
+                           graph.getArcHead(arc),
+                           graph.getArcWeight(arc),
+                           ContractionHierarchy.NO_MIDDLE);
+                }
+            }
+        }
+        
+        ContractionHierarchy run() {
+            DoubleIndexedHeap queue = new DoubleDaryHeap();
+            
+            for (int node = 0; node < n; node++) {
+                queue.insert(node, computePriority(node));
+            }
+            
+            int nextRank = 0;
+            
+            while (!queue.isEmpty()) {
+                int node = queue.extractMinimum();
+                double priority = computePriority(node);
+                
+                if (!queue.isEmpty() && priority > queue.getMinimumKey()) {
+                    queue.insert(node, priority);
+                    continue;
+                }
+                
+                contract(node, false);
+                ranks[node] = nextRank++;
+                detach(node);
+                countContractedNeighbour(outgoingArcs[node]);
+                countContractedNeighbour(incomingArcs[node]);
+            }
+            
+            return buildHierarchy();
+        }
+        
+        /**
+         * Removes the arcs of the contracted node from the lists of its 
+         * neighbours. The lists of the node itself are left as they are: all 
+         * their arcs lead to nodes contracted later, so they are exactly the 
+         * upward and the downward arcs of the node.
+         */
+        private void detach(int node) {
+            ArcList out = outgoingArcs[node];
+            ArcList in = incomingArcs[node];
+            
+            for (int i = 0; i < out.size; i++) {
+                incomingArcs[out.nodes[i]].remove(node);
+            }
+            
+            for (int i = 0; i < in.size; i++) {
+                outgoingArcs[in.nodes[i]].remove(node);
+            }
+        }
+        
+        private void countContractedNeighbour(ArcList arcs) {
+            for (int i = 0; i < arcs.size; i++) {
+                contractedNeighbours[arcs.nodes[i]]++;
+            }
+        }
+        
+        private double computePriority(int node) {
+            int edgeDifference = contract(node, true) -
+                                 outgoingArcs[node].size -
+                                 incomingArcs[node].size;
+            
+            return 2 * edgeDifference + contractedNeighbours[node];
+        }
+        
+        /**
+         * Computes the shortcuts needed for contracting the input node, adds
+         * them unless only simulating, and returns their number.
+         */
+        private int contract(int node, boolean simulate) {
+            ArcList in = incomingArcs[node];
+            ArcList out = outgoingArcs[node];
+            double maximumOutgoingWeight = 0.0;
+            
+            if (targetGeneration == Integer.MAX_VALUE) {
+                Arrays.fill(targetStamps, 0);
+                targetGeneration = 0;
+            }
+            
+            targetGeneration++;
+            
+            for (int j = 0; j < out.size; j++) {
+                maximumOutgoingWeight = Math.max(maximumOutgoingWeight,
+                                                 out.weights[j]);
+                
+                targetStamps[out.nodes[j]] = targetGeneration;
+            }
+            
+            int shortcuts = 0;
+            
+            for (int i = 0; i < in.size; i++) {
+                int tail = in.nodes[i];
+                double incomingWeight = in.weights[i];
+                
+                witnessSearch(tail,
+                              node,
+                              incomingWeight + maximumOutgoingWeight,
+                              out.size);
+                
+                for (int j = 0; j < out.size; j++) {
+                    int head = out.nodes[j];
+                    
+                    if (head == tail) {
+                        continue;
+                    }
+                    
+                    double weight = incomingWeight + out.weights[j];
+                    
+                    if (getWitnessDistance(head) > weight) {
+                        shortcuts++;
+                        
+                        if (!simulate) {
+                            addArc(tail, head, weight, node);
+                        }
+                    }
+                }
+            }
+            
+            return shortcuts;
+        }
+        
+        /**
+         * Runs Dijkstra's algorithm from the source over the remaining graph
+         * without the excluded node, until the queue runs out, the minimum
+         * key exceeds the maximum distance or the settle limit is reached.
+         */
+        private void witnessSearch(int source,
+                                   int excludedNode,
+                                   double maximumDistance,
+                                   int numberOfTargets) {
+            if (witnessGeneration == Integer.MAX_VALUE) {
+                Arrays.fill(witnessStamps, 0);
+                witnessGeneration = 0;
+            }
+            
+            witnessGeneration++;
+            witnessQueue.clear();
+            witnessQueue.insert(source, 0.0);
+            setWitnessDistance(source, 0.0);
+            int settled = 0;
+            
+            while (!witnessQueue.isEmpty() &&
+                   witnessQueue.getMinimumKey() <= maximumDistance &&
+                   settled < witnessSearchSettleLimit) {
+                int node = witnessQueue.extractMinimum();
+                double distance = witnessDistances[node];
+                ArcList arcs = outgoingArcs[node];
+                settled++;
+                
+                if (targetStamps[node] == targetGeneration &&
+                    --numberOfTargets == 0) {
+                    // All the targets have their final distances:
+                    return;
+                }
+                
+                for (int i = 0; i < arcs.size; i++) {
+                    int head = arcs.nodes[i];
+                    
+                    if (head == excludedNode) {
+                        continue;
+                    }
+                    
+                    double tentativeDistance = distance + arcs.weights[i];
+                    
+                    if (getWitnessDistance(head) > tentativeDistance) {
+                        if (witnessQueue.contains(head)) {
+                            witnessQueue.decreaseKey(head, tentativeDistance);
+                        } else {
+                            witnessQueue.insert(head, tentativeDistance);
+                        }
+                        
+                        setWitnessDistance(head, tentativeDistance);
+                    }
+                }
+            }
+        }
+        
+        private double getWitnessDistance(int node) {
+            return witnessStamps[node] == witnessGeneration ?
+                    witnessDistances[node] :
+                    Double.POSITIVE_INFINITY;
+        }
+        
+        private void setWitnessDistance(int node, double distance) {
+            witnessDistances[node] = distance;
+            witnessStamps[node] = witnessGeneration;
+        }
+        
+        /**
+         * Adds the arc to both adjacency lists, keeping only the lightest of
+         * parallel arcs. Self-loops never lie on shortest paths and are
+         * dropped.
+         */
+        private void addArc(int tail, int head, double weight, int middle) {
+            if (tail != head) {
+                outgoingArcs[tail].put(head, weight, middle);
+                incomingArcs[head].put(tail, weight, middle);
+            }
+        }
+        
+        private ContractionHierarchy buildHierarchy() {
+            int[] upOffsets = new int[n + 1];
+            int[] downOffsets = new int[n + 1];
+            
+            for (int node = 0; node < n; node++) {
+                upOffsets[node + 1] = upOffsets[node] + 
+                                      outgoingArcs[node].size;
+                
+                downOffsets[node + 1] = downOffsets[node] + 
+                                        incomingArcs[node].size;
+            }
+            
+            int[] upHeads = new int[upOffsets[n]];
+            double[] upWeights = new double[upOffsets[n]];
+            int[] upMiddles = new int[upOffsets[n]];
+            int[] downTails = new int[downOffsets[n]];
+            double[] downWeights = new double[downOffsets[n]];
+            int[] downMiddles = new int[downOffsets[n]];
+            
+            for (int node = 0; node < n; node++) {
+                outgoingArcs[node].copyTo(upOffsets[node],
+                                          upHeads,
+                                          upWeights,
+                                          upMiddles);
+                
+                incomingArcs[node].copyTo(downOffsets[node],
+                                          downTails,
+                                          downWeights,
+                                          downMiddles);
+            }
+            
+            return new ContractionHierarchy(ranks,
+                                            upOffsets,
+                                            upHeads,
+                                            upWeights,
+                                            upMiddles,
+                                            downOffsets,
+                                            downTails,
+                                            downWeights,
+                                            downMiddles);
+        }
+    }
+    
+    /**
+     * This class implements a growable list of the arcs incident to a single
+     * node, holding the opposite end nodes, the weights and the middle nodes
+     * in parallel arrays.
+     */
+    private static final class ArcList {
+        
+        private static final int INITIAL_CAPACITY = 4;
+        
+        int[] nodes = new int[INITIAL_CAPACITY];
+        double[] weights = new double[INITIAL_CAPACITY];
+        int[] middles = new int[INITIAL_CAPACITY];
+        int size;
+        
+        /**
+         * Adds the arc to the input node, or lowers the weight of the
+         * existing arc to it.
+         */
+        void put(int node, double weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weights[i] > weight) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    
+                    return;
+                }
+            }
+            
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+        
+        /**
+         * Removes the arc to the input node, if present, by moving the last 
+         * arc into its place.
+         */
+        void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+        
+        void copyTo(int offset, 
+                    int[] nodes, 
+                    double[] weights, 
+                    int[] middles) {
+            System.arraycopy(this.nodes, 0, nodes, offset, size);
+            System.arraycopy(this.weights, 0, weights, offset, size);
+            System.arraycopy(this.middles, 0, middles, offset, size);
+        }
+    }
+}
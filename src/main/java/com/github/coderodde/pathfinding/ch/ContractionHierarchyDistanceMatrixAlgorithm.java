@@ -0,0 +1,356 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.DistanceMatrix;
+import com.github.coderodde.pathfinding.DoubleIndexedHeap;
+import com.github.coderodde.pathfinding.NodeIndexer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class computes many-to-many distance matrices over a
+ * {@link ContractionHierarchy} with buckets. Every target runs one backward
+ * upward search to completion and leaves an entry {@code (column, distance)}
+ * in the bucket of every node it settles. Every source then runs one forward
+ * upward search and, at every node it settles, scans the bucket of the node:
+ * the shortest path from the source to a target meets the backward search of
+ * the target at its highest ranked node, so the minimum of the forward
+ * distance plus the bucket distance over all the settled nodes is the
+ * distance of the matrix entry.
+ * <p>
+ * Both searches stall on demand, and the stalled nodes neither leave nor scan
+ * bucket entries. The backward searches and the forward searches are split
+ * across a {@link ForkJoinPool}; the indexer must be safe for concurrent use.
+ * 
+ * @param <N> the actual graph node type.
+ */
+public final class ContractionHierarchyDistanceMatrixAlgorithm<N> {
+    
+    /**
+     * The number of tasks created per worker thread of the pool.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+    
+    private final ContractionHierarchy hierarchy;
+    private final NodeIndexer<N> indexer;
+    
+    /**
+     * Constructs the matrix algorithm over the input hierarchy. The indexer
+     * maps the nodes to the node indices of the graph the hierarchy was built
+     * from.
+     * 
+     * @param hierarchy the contraction hierarchy.
+     * @param indexer   the node indexer.
+     */
+    public ContractionHierarchyDistanceMatrixAlgorithm(
+            ContractionHierarchy hierarchy,
+            NodeIndexer<N> indexer) {
+        this.hierarchy =
+                Objects.requireNonNull(hierarchy, "hierarchy is null.");
+        
+        this.indexer = Objects.requireNonNull(indexer, "indexer is null.");
+    }
+    
+    /**
+     * Computes the distances from every source to every target on the common
+     * fork/join pool.
+     * 
+     * @param sources the sources, one per row.
+     * @param targets the targets, one per column.
+     * 
+     * @return the distance matrix.
+     */
+    public DistanceMatrix computeDistanceMatrix(List<N> sources,
+                                                List<N> targets) {
+        return computeDistanceMatrix(sources,
+                                     targets,
+                                     ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Computes the distances from every source to every target on the input
+     * fork/join pool.
+     * 
+     * @param sources the sources, one per row.
+     * @param targets the targets, one per column.
+     * @param pool    the fork/join pool running the searches.
+     * 
+     * @return the distance matrix.
+     */
+    public DistanceMatrix computeDistanceMatrix(List<N> sources,
+                                                List<N> targets,
+                                                ForkJoinPool pool) {
+        Objects.requireNonNull(sources, "sources is null.");
+        Objects.requireNonNull(targets, "targets is null.");
+        Objects.requireNonNull(pool, "pool is null.");
+        
+        int numberOfSources = sources.size();
+        int numberOfTargets = targets.size();
+        DistanceMatrix matrix = new DistanceMatrix(numberOfSources,
+                                                   numberOfTargets);
+        
+        if (numberOfSources == 0 || numberOfTargets == 0) {
+            return matrix;
+        }
+        
+        // The settled nodes and their distances of every backward search:
+        int[][] settledNodes = new int[numberOfTargets][];
+        double[][] settledDistances = new double[numberOfTargets][];
+        
+        Search backwardSearch = (column, buffer) -> {
+            searchUpwards(indexer.getIndex(targets.get(column)),
+                          false,
+                          buffer);
+            
+            settledNodes[column] = Arrays.copyOf(buffer.nodes, buffer.size);
+            settledDistances[column] = Arrays.copyOf(buffer.distances,
+                                                     buffer.size);
+        };
+        
+        pool.invoke(new SearchTask(backwardSearch,
+                                   0,
+                                   numberOfTargets,
+                                   getGrain(numberOfTargets, pool)));
+        
+        // Group the bucket entries by their nodes:
+        int n = hierarchy.size();
+        int[] bucketOffsets = new int[n + 1];
+        
+        for (int[] nodes : settledNodes) {
+            for (int node : nodes) {
+                bucketOffsets[node + 1]++;
+            }
+        }
+        
+        for (int node = 0; node < n; node++) {
+            bucketOffsets[node + 1] += bucketOffsets[node];
+        }
+        
+        int[] bucketColumns = new int[bucketOffsets[n]];
+        double[] bucketDistances = new double[bucketOffsets[n]];
+        int[] bucketSizes = new int[n];
+        
+        for (int column = 0; column < numberOfTargets; column++) {
+            int[] nodes = settledNodes[column];
+            double[] distances = settledDistances[column];
+            
+            for (int i = 0; i < nodes.length; i++) {
+                int index = bucketOffsets[nodes[i]] + bucketSizes[nodes[i]]++;
+                bucketColumns[index] = column;
+                bucketDistances[index] = distances[i];
+            }
+        }
+        
+        Search forwardSearch = (row, buffer) -> {
+            searchUpwards(indexer.getIndex(sources.get(row)), true, buffer);
+            
+            double[] rowDistances = new double[numberOfTargets];
+            Arrays.fill(rowDistances, Double.POSITIVE_INFINITY);
+            
+            for (int i = 0; i < buffer.size; i++) {
+                int node = buffer.nodes[i];
+                double distance = buffer.distances[i];
+                
+                for (int j = bucketOffsets[node];
+                         j < bucketOffsets[node + 1];
+                         j++) {
+                    int column = bucketColumns[j];
+                    rowDistances[column] =
+                            Math.min(rowDistances[column],
+                                     distance + bucketDistances[j]);
+                }
+            }
+            
+            for (int column = 0; column < numberOfTargets; column++) {
+                matrix.setDistance(row, column, rowDistances[column]);
+            }
+        };
+        
+        pool.invoke(new SearchTask(forwardSearch,
+                                   0,
+                                   numberOfSources,
+                                   getGrain(numberOfSources, pool)));
+        
+        return matrix;
+    }
+    
+    private static int getGrain(int numberOfSearches, ForkJoinPool pool) {
+        return Math.max(
+                1,
+                numberOfSearches / (TASKS_PER_THREAD * pool.getParallelism()));
+    }
+    
+    /**
+     * Runs an upward search from the input node to completion and leaves its
+     * settled, non-stalled nodes and their distances in the buffer. The
+     * forward search relaxes the upward arcs, and the backward search relaxes
+     * the downward arcs against their direction.
+     */
+    private void searchUpwards(int origin,
+                               boolean forward,
+                               SearchBuffer buffer) {
+        UpwardSearchState state = buffer.state;
+        state.reset();
+        buffer.size = 0;
+        
+        DoubleIndexedHeap queue = state.getHeap();
+        queue.insert(origin, 0.0);
+        state.setDistance(origin, 0.0);
+        
+        while (!queue.isEmpty()) {
+            int node = queue.extractMinimum();
+            double distance = state.getDistance(node);
+            state.incrementSettledCount();
+            
+            if (forward ? isStalledForward(state, node, distance) :
+                          isStalledBackward(state, node, distance)) {
+                continue;
+            }
+            
+            buffer.add(node, distance);
+            
+            if (forward) {
+                for (int arc = hierarchy.getUpwardArcsBegin(node),
+                         end = hierarchy.getUpwardArcsEnd(node);
+                         arc < end;
+                         arc++) {
+                    relax(state,
+                          hierarchy.getUpwardArcHead(arc),
+                          distance + hierarchy.getUpwardArcWeight(arc));
+                }
+            } else {
+                for (int arc = hierarchy.getDownwardArcsBegin(node),
+                         end = hierarchy.getDownwardArcsEnd(node);
+                         arc < end;
+                         arc++) {
+                    relax(state,
+                          hierarchy.getDownwardArcTail(arc),
+                          distance + hierarchy.getDownwardArcWeight(arc));
+                }
+            }
+        }
+    }
+    
+    private boolean isStalledForward(UpwardSearchState state,
+                                     int node,
+                                     double distance) {
+        for (int arc = hierarchy.getDownwardArcsBegin(node),
+                 end = hierarchy.getDownwardArcsEnd(node); arc < end; arc++) {
+            if (state.getDistance(hierarchy.getDownwardArcTail(arc)) +
+                hierarchy.getDownwardArcWeight(arc) < distance) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private boolean isStalledBackward(UpwardSearchState state,
+                                      int node,
+                                      double distance) {
+        for (int arc = hierarchy.getUpwardArcsBegin(node),
+                 end = hierarchy.getUpwardArcsEnd(node); arc < end; arc++) {
+            if (state.getDistance(hierarchy.getUpwardArcHead(arc)) +
+                hierarchy.getUpwardArcWeight(arc) < distance) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private static void relax(UpwardSearchState state,
+                              int neighbour,
+                              double tentativeDistance) {
+        if (state.getDistance(neighbour) <= tentativeDistance) {
+            return;
+        }
+        
+        DoubleIndexedHeap queue = state.getHeap();
+        
+        if (queue.contains(neighbour)) {
+            queue.decreaseKey(neighbour, tentativeDistance);
+        } else {
+            queue.insert(neighbour, tentativeDistance);
+        }
+        
+        state.setDistance(neighbour, tentativeDistance);
+    }
+    
+    /**
+     * This class holds the search state of a task and the nodes settled by
+     * its most recent search.
+     */
+    private static final class SearchBuffer {
+        
+        final UpwardSearchState state;
+        int[] nodes = new int[16];
+        double[] distances = new double[16];
+        int size;
+        
+        SearchBuffer(int capacity) {
+            this.state = new UpwardSearchState(capacity);
+        }
+        
+        void add(int node, double distance) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+            }
+            
+            nodes[size] = node;
+            distances[size] = distance;
+            size++;
+        }
+    }
+    
+    /**
+     * This interface defines the API for running the search of a single row
+     * or column with the input buffer.
+     */
+    @FunctionalInterface
+    private interface Search {
+        
+        void search(int index, SearchBuffer buffer);
+    }
+    
+    /**
+     * This class runs the searches of a range of rows or columns, splitting
+     * the range in halves while it is larger than the grain. Every leaf task
+     * reuses one buffer for all its searches.
+     */
+    private final class SearchTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient Search search;
+        private final int begin;
+        private final int end;
+        private final int grain;
+        
+        SearchTask(Search search, int begin, int end, int grain) {
+            this.search = search;
+            this.begin = begin;
+            this.end = end;
+            this.grain = grain;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - begin > grain) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new SearchTask(search, begin, middle, grain),
+                          new SearchTask(search, middle, end, grain));
+                return;
+            }
+            
+            SearchBuffer buffer = new SearchBuffer(hierarchy.size());
+            
+            for (int index = begin; index < end; index++) {
+                search.search(index, buffer);
+            }
+        }
+    }
+}
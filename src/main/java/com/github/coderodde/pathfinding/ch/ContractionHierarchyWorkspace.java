@@ -0,0 +1,53 @@
+package com.github.coderodde.pathfinding.ch;
+
+/**
+ * This class holds the reusable storage of
+ * {@link ContractionHierarchyAlgorithm}. The per-node arrays are allocated
+ * once, and every query invalidates the state of the previous one in
+ * constant time.
+ * <p>
+ * A workspace is not thread-safe; keep one per thread.
+ */
+public final class ContractionHierarchyWorkspace {
+    
+    private final UpwardSearchState forwardState;
+    private final UpwardSearchState backwardState;
+    
+    /**
+     * Constructs a workspace for querying the input hierarchy.
+     * 
+     * @param hierarchy the contraction hierarchy.
+     */
+    public ContractionHierarchyWorkspace(ContractionHierarchy hierarchy) {
+        this.forwardState = new UpwardSearchState(hierarchy.size());
+        this.backwardState = new UpwardSearchState(hierarchy.size());
+    }
+    
+    /**
+     * Returns the number of nodes settled by the forward search of the most
+     * recent query.
+     * 
+     * @return the number of nodes settled in the forward direction.
+     */
+    public int getForwardSettledCount() {
+        return forwardState.getSettledCount();
+    }
+    
+    /**
+     * Returns the number of nodes settled by the backward search of the most
+     * recent query.
+     * 
+     * @return the number of nodes settled in the backward direction.
+     */
+    public int getBackwardSettledCount() {
+        return backwardState.getSettledCount();
+    }
+    
+    UpwardSearchState getForwardState() {
+        return forwardState;
+    }
+    
+    UpwardSearchState getBackwardState() {
+        return backwardState;
+    }
+}
@@ -0,0 +1,556 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.DoubleWeightFunction;
+import com.github.coderodde.pathfinding.StaticGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a customizable contraction hierarchy. The
+ * preprocessing depends only on the topology of the graph: the nodes are
+ * ordered by nested dissection, and contracting them in that order without
+ * any witness searches yields the shortcut topology, an undirected graph in
+ * which the upper neighbours of every node are pairwise adjacent. Each edge
+ * {@code {v, u}} with {@code v} ranked below {@code u} carries two weights,
+ * one for the upward arc {@code (v, u)} and one for the downward arc
+ * {@code (u, v)}.
+ * <p>
+ * A metric is applied by {@link #customize(DoubleWeightFunction)}, which
+ * sets the weights of the original arcs and then settles every lower
+ * triangle {@code {v, x, y}}, where {@code v} is ranked below {@code x} and
+ * {@code y}, by letting the arcs between {@code x} and {@code y} take the
+ * path through {@code v} whenever it is shorter. The result is an ordinary
+ * {@link ContractionHierarchy} queried by
+ * {@link ContractionHierarchyAlgorithm}.
+ * <p>
+ * The customization processes the nodes level by level: the level of a node
+ * exceeds the levels of all its lower neighbours, so the nodes of one level
+ * only read the edges of lower levels and each of them writes only its own
+ * upward edges. The nodes of a level are therefore customized in parallel on
+ * an {@link Executor}. The customizations share no mutable state, so several
+ * metrics may be customized at the same time, and a hierarchy returned by a
+ * customization stays valid while the next one is computed.
+ */
+public final class CustomizableContractionHierarchy {
+    
+    /**
+     * The levels with fewer nodes are customized in the calling thread.
+     */
+    private static final int MINIMUM_PARALLEL_LEVEL_SIZE = 256;
+    
+    /**
+     * The number of nodes customized by a single task.
+     */
+    private static final int CHUNK_SIZE = 128;
+    
+    private final int n;
+    private final int[] ranks;
+    
+    /**
+     * The edges {@code {v, u}} with {@code v} ranked below {@code u} are
+     * indexed {@code edgeOffsets[v]} to {@code edgeOffsets[v + 1] - 1}, and
+     * sorted by the ranks of their upper end nodes {@code edgeHeads[e]}.
+     */
+    private final int[] edgeOffsets;
+    private final int[] edgeHeads;
+    
+    /**
+     * The edges {@code {v, u}} with {@code u} ranked above {@code v}, grouped
+     * by {@code u}: {@code lowerEdges[i]} is the edge index and
+     * {@code lowerNodes[i]} is {@code v}.
+     */
+    private final int[] lowerOffsets;
+    private final int[] lowerNodes;
+    private final int[] lowerEdges;
+    
+    /**
+     * The nodes grouped by their levels.
+     */
+    private final int[] levelOffsets;
+    private final int[] levelNodes;
+    
+    /**
+     * The original arcs: {@code arcEdges[a]} is the edge of the arc
+     * {@code (arcTails[a], arcHeads[a])}, traversed upwards if
+     * {@code arcUpward[a]} is set.
+     */
+    private final int[] arcTails;
+    private final int[] arcHeads;
+    private final int[] arcEdges;
+    private final boolean[] arcUpward;
+    
+    /**
+     * Computes the nested dissection order and the shortcut topology of the
+     * input graph.
+     * 
+     * @param graph the graph.
+     */
+    public CustomizableContractionHierarchy(StaticGraph graph) {
+        Objects.requireNonNull(graph, "graph is null.");
+        this.n = graph.size();
+        this.ranks = NestedDissectionOrder.computeRanks(graph);
+        
+        int[] nodesByRank = new int[n];
+        
+        for (int node = 0; node < n; node++) {
+            nodesByRank[ranks[node]] = node;
+        }
+        
+        // Contract the nodes in order: the upper neighbours of a node become
+        // upper neighbours of its lowest upper neighbour, which is enough to
+        // make them pairwise adjacent once all the nodes are contracted.
+        int[][] upperNeighbours = new int[n][];
+        int[] upperNeighbourCounts = new int[n];
+        
+        for (int node = 0; node < n; node++) {
+            upperNeighbours[node] = new int[4];
+        }
+        
+        for (int tail = 0; tail < n; tail++) {
+            for (int arc = graph.getOutgoingArcsBegin(tail),
+                     end = graph.getOutgoingArcsEnd(tail); arc < end; arc++) {
+                int head = graph.getArcHead(arc);
+                
+                if (ranks[tail] < ranks[head]) {
+                    add(upperNeighbours, upperNeighbourCounts, tail, head);
+                } else if (ranks[head] < ranks[tail]) {
+                    add(upperNeighbours, upperNeighbourCounts, head, tail);
+                }
+            }
+        }
+        
+        this.edgeOffsets = new int[n + 1];
+        
+        for (int rank = 0; rank < n; rank++) {
+            int node = nodesByRank[rank];
+            int[] neighbours = sortAndDeduplicate(upperNeighbours[node],
+                                                  upperNeighbourCounts[node],
+                                                  nodesByRank);
+            upperNeighbours[node] = neighbours;
+            
+            for (int i = 1; i < neighbours.length; i++) {
+                add(upperNeighbours,
+                    upperNeighbourCounts,
+                    neighbours[0],
+                    neighbours[i]);
+            }
+        }
+        
+        for (int node = 0; node < n; node++) {
+            edgeOffsets[node + 1] = edgeOffsets[node] +
+                                    upperNeighbours[node].length;
+        }
+        
+        this.edgeHeads = new int[edgeOffsets[n]];
+        
+        for (int node = 0; node < n; node++) {
+            System.arraycopy(upperNeighbours[node],
+                             0,
+                             edgeHeads,
+                             edgeOffsets[node],
+                             upperNeighbours[node].length);
+        }
+        
+        // Invert the edges for the lower triangle enumeration:
+        this.lowerOffsets = new int[n + 1];
+        
+        for (int head : edgeHeads) {
+            lowerOffsets[head + 1]++;
+        }
+        
+        for (int node = 0; node < n; node++) {
+            lowerOffsets[node + 1] += lowerOffsets[node];
+        }
+        
+        this.lowerNodes = new int[edgeHeads.length];
+        this.lowerEdges = new int[edgeHeads.length];
+        int[] lowerCounts = new int[n];
+        
+        for (int node = 0; node < n; node++) {
+            for (int edge = edgeOffsets[node];
+                     edge < edgeOffsets[node + 1];
+                     edge++) {
+                int head = edgeHeads[edge];
+                int index = lowerOffsets[head] + lowerCounts[head]++;
+                lowerNodes[index] = node;
+                lowerEdges[index] = edge;
+            }
+        }
+        
+        // Compute the levels in the contraction order and group the nodes:
+        int[] levels = new int[n];
+        int numberOfLevels = 0;
+        
+        for (int rank = 0; rank < n; rank++) {
+            int node = nodesByRank[rank];
+            
+            for (int i = lowerOffsets[node]; i < lowerOffsets[node + 1]; i++) {
+                levels[node] = Math.max(levels[node],
+                                        levels[lowerNodes[i]] + 1);
+            }
+            
+            numberOfLevels = Math.max(numberOfLevels, levels[node] + 1);
+        }
+        
+        this.levelOffsets = new int[numberOfLevels + 1];
+        this.levelNodes = new int[n];
+        
+        for (int level : levels) {
+            levelOffsets[level + 1]++;
+        }
+        
+        for (int level = 0; level < numberOfLevels; level++) {
+            levelOffsets[level + 1] += levelOffsets[level];
+        }
+        
+        int[] levelCounts = new int[numberOfLevels];
+        
+        for (int node = 0; node < n; node++) {
+            int level = levels[node];
+            levelNodes[levelOffsets[level] + levelCounts[level]++] = node;
+        }
+        
+        // Map the original arcs to their edges, dropping the self-loops:
+        int numberOfArcs = 0;
+        
+        for (int tail = 0; tail < n; tail++) {
+            for (int arc = graph.getOutgoingArcsBegin(tail),
+                     end = graph.getOutgoingArcsEnd(tail); arc < end; arc++) {
+                if (graph.getArcHead(arc) != tail) {
+                    numberOfArcs++;
+                }
+            }
+        }
+        
+        this.arcTails = new int[numberOfArcs];
+        this.arcHeads = new int[numberOfArcs];
+        this.arcEdges = new int[numberOfArcs];
+        this.arcUpward = new boolean[numberOfArcs];
+        int index = 0;
+        
+        for (int tail = 0; tail < n; tail++) {
+            for (int arc = graph.getOutgoingArcsBegin(tail),
+                     end = graph.getOutgoingArcsEnd(tail); arc < end; arc++) {
+                int head = graph.getArcHead(arc);
+                
+                if (head == tail) {
+                    continue;
+                }
+                
+                arcTails[index] = tail;
+                arcHeads[index] = head;
+                arcUpward[index] = ranks[tail] < ranks[head];
+                arcEdges[index] = arcUpward[index] ? findEdge(tail, head) :
+                                                     findEdge(head, tail);
+                index++;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of nodes.
+     * 
+     * @return the number of nodes.
+     */
+    public int size() {
+        return n;
+    }
+    
+    /**
+     * Returns the rank of the input node in the nested dissection order.
+     * 
+     * @param node the node.
+     * @return the rank of the node.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+    
+    /**
+     * Returns the number of edges of the shortcut topology. Each edge stands
+     * for an upward and a downward arc.
+     * 
+     * @return the number of edges.
+     */
+    public int getNumberOfEdges() {
+        return edgeHeads.length;
+    }
+    
+    /**
+     * Applies the input metric on the common fork/join pool.
+     * 
+     * @param weightFunction the weights of the arcs of the graph.
+     * @return the customized contraction hierarchy.
+     */
+    public ContractionHierarchy
+        customize(DoubleWeightFunction<Integer> weightFunction) {
+        return customize(weightFunction, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Applies the input metric, customizing the large levels on the input
+     * executor. The weight function is only asked for the weights of the
+     * arcs of the graph the hierarchy was built from.
+     * 
+     * @param weightFunction the weights of the arcs of the graph.
+     * @param executor       the executor.
+     * @return the customized contraction hierarchy.
+     */
+    public ContractionHierarchy
+        customize(DoubleWeightFunction<Integer> weightFunction,
+                  Executor executor) {
+        Objects.requireNonNull(weightFunction, "weightFunction is null.");
+        Objects.requireNonNull(executor, "executor is null.");
+        
+        int m = edgeHeads.length;
+        double[] upWeights = new double[m];
+        double[] downWeights = new double[m];
+        int[] upMiddles = new int[m];
+        int[] downMiddles = new int[m];
+        
+        Arrays.fill(upWeights, Double.POSITIVE_INFINITY);
+        Arrays.fill(downWeights, Double.POSITIVE_INFINITY);
+        Arrays.fill(upMiddles, ContractionHierarchy.NO_MIDDLE);
+        Arrays.fill(downMiddles, ContractionHierarchy.NO_MIDDLE);
+        
+        for (int arc = 0; arc < arcTails.length; arc++) {
+            double weight = weightFunction.getWeight(arcTails[arc],
+                                                     arcHeads[arc]);
+            
+            if (!(weight >= 0.0)) {
+                throw new IllegalArgumentException(
+                        "Invalid weight of the arc (" + arcTails[arc] + ", " +
+                        arcHeads[arc] + "): " + weight);
+            }
+            
+            double[] weights = arcUpward[arc] ? upWeights : downWeights;
+            int edge = arcEdges[arc];
+            weights[edge] = Math.min(weights[edge], weight);
+        }
+        
+        for (int level = 0; level < levelOffsets.length - 1; level++) {
+            int begin = levelOffsets[level];
+            int end = levelOffsets[level + 1];
+            
+            if (end - begin < MINIMUM_PARALLEL_LEVEL_SIZE) {
+                customizeNodes(begin,
+                               end,
+                               upWeights,
+                               downWeights,
+                               upMiddles,
+                               downMiddles);
+                continue;
+            }
+            
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            
+            for (int chunkBegin = begin;
+                     chunkBegin < end;
+                     chunkBegin += CHUNK_SIZE) {
+                int chunkEnd = Math.min(end, chunkBegin + CHUNK_SIZE);
+                int from = chunkBegin;
+                
+                futures.add(CompletableFuture.runAsync(
+                        () -> customizeNodes(from,
+                                             chunkEnd,
+                                             upWeights,
+                                             downWeights,
+                                             upMiddles,
+                                             downMiddles),
+                        executor));
+            }
+            
+            // Joining also publishes the weights to the next level:
+            for (CompletableFuture<Void> future : futures) {
+                future.join();
+            }
+        }
+        
+        return buildHierarchy(upWeights, downWeights, upMiddles, downMiddles);
+    }
+    
+    /**
+     * Customizes the upward edges of the nodes
+     * {@code levelNodes[begin..end)} by taking the minimum over all their
+     * lower triangles.
+     */
+    private void customizeNodes(int begin,
+                                int end,
+                                double[] upWeights,
+                                double[] downWeights,
+                                int[] upMiddles,
+                                int[] downMiddles) {
+        for (int i = begin; i < end; i++) {
+            int x = levelNodes[i];
+            
+            for (int j = lowerOffsets[x]; j < lowerOffsets[x + 1]; j++) {
+                int v = lowerNodes[j];
+                int edgeVX = lowerEdges[j];
+                
+                // The upper neighbours of v ranked above x follow the edge
+                // {v, x}, and each of them is adjacent to x. Both edge lists
+                // are sorted by rank, so a single merge finds them all:
+                int edgeXY = edgeOffsets[x];
+                
+                for (int edgeVY = edgeVX + 1;
+                         edgeVY < edgeOffsets[v + 1];
+                         edgeVY++) {
+                    int y = edgeHeads[edgeVY];
+                    
+                    while (edgeHeads[edgeXY] != y) {
+                        edgeXY++;
+                    }
+                    
+                    double upWeight = downWeights[edgeVX] + upWeights[edgeVY];
+                    double downWeight = downWeights[edgeVY] +
+                                        upWeights[edgeVX];
+                    
+                    if (upWeights[edgeXY] > upWeight) {
+                        upWeights[edgeXY] = upWeight;
+                        upMiddles[edgeXY] = v;
+                    }
+                    
+                    if (downWeights[edgeXY] > downWeight) {
+                        downWeights[edgeXY] = downWeight;
+                        downMiddles[edgeXY] = v;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds the hierarchy of the finite arcs. The upward arcs of a node are
+     * its upward edges, and its downward arcs are the same edges traversed
+     * from their upper end nodes.
+     */
+    private ContractionHierarchy buildHierarchy(double[] upWeights,
+                                                double[] downWeights,
+                                                int[] upMiddles,
+                                                int[] downMiddles) {
+        int[] upOffsets = new int[n + 1];
+        int[] downOffsets = new int[n + 1];
+        
+        for (int node = 0; node < n; node++) {
+            upOffsets[node + 1] = upOffsets[node];
+            downOffsets[node + 1] = downOffsets[node];
+            
+            for (int edge = edgeOffsets[node];
+                     edge < edgeOffsets[node + 1];
+                     edge++) {
+                if (upWeights[edge] != Double.POSITIVE_INFINITY) {
+                    upOffsets[node + 1]++;
+                }
+                
+                if (downWeights[edge] != Double.POSITIVE_INFINITY) {
+                    downOffsets[node + 1]++;
+                }
+            }
+        }
+        
+        int[] upHeads = new int[upOffsets[n]];
+        double[] hierarchyUpWeights = new double[upOffsets[n]];
+        int[] hierarchyUpMiddles = new int[upOffsets[n]];
+        int[] downTails = new int[downOffsets[n]];
+        double[] hierarchyDownWeights = new double[downOffsets[n]];
+        int[] hierarchyDownMiddles = new int[downOffsets[n]];
+        int upIndex = 0;
+        int downIndex = 0;
+        
+        for (int edge = 0; edge < edgeHeads.length; edge++) {
+            if (upWeights[edge] != Double.POSITIVE_INFINITY) {
+                upHeads[upIndex] = edgeHeads[edge];
+                hierarchyUpWeights[upIndex] = upWeights[edge];
+                hierarchyUpMiddles[upIndex] = upMiddles[edge];
+                upIndex++;
+            }
+            
+            if (downWeights[edge] != Double.POSITIVE_INFINITY) {
+                downTails[downIndex] = edgeHeads[edge];
+                hierarchyDownWeights[downIndex] = downWeights[edge];
+                hierarchyDownMiddles[downIndex] = downMiddles[edge];
+                downIndex++;
+            }
+        }
+        
+        return new ContractionHierarchy(ranks,
+                                        upOffsets,
+                                        upHeads,
+                                        hierarchyUpWeights,
+                                        hierarchyUpMiddles,
+                                        downOffsets,
+                                        downTails,
+                                        hierarchyDownWeights,
+                                        hierarchyDownMiddles);
+    }
+    
+    /**
+     * Returns the index of the edge from the lower node to the upper node by
+     * a binary search over the ranks of the upper neighbours.
+     */
+    private int findEdge(int lowerNode, int upperNode) {
+        int low = edgeOffsets[lowerNode];
+        int high = edgeOffsets[lowerNode + 1] - 1;
+        int rank = ranks[upperNode];
+        
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleRank = ranks[edgeHeads[middle]];
+            
+            if (middleRank < rank) {
+                low = middle + 1;
+            } else if (middleRank > rank) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        
+        throw new IllegalStateException(
+                "No edge {" + lowerNode + ", " + upperNode + "}.");
+    }
+    
+    private static void add(int[][] lists, int[] counts, int node, int value) {
+        if (counts[node] == lists[node].length) {
+            lists[node] = Arrays.copyOf(lists[node], 
+                                        Math.max(4, 2 * counts[node]));
+        }
+        
+        lists[node][counts[node]++] = value;
+    }
+    
+    /**
+     * Returns the distinct nodes of the list sorted by their ranks.
+     */
+    private int[] sortAndDeduplicate(int[] list, 
+                                     int count, 
+                                     int[] nodesByRank) {
+        int[] byRank = new int[count];
+        
+        for (int i = 0; i < count; i++) {
+            byRank[i] = ranks[list[i]];
+        }
+        
+        Arrays.sort(byRank);
+        int distinct = 0;
+        
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || byRank[distinct - 1] != byRank[i]) {
+                byRank[distinct++] = byRank[i];
+            }
+        }
+        
+        int[] nodes = new int[distinct];
+        
+        for (int i = 0; i < distinct; i++) {
+            nodes[i] = nodesByRank[byRank[i]];
+        }
+        
+        return nodes;
+    }
+}
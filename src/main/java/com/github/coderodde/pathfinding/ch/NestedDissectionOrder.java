@@ -0,0 +1,246 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.StaticGraph;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * This class computes a nested dissection order of a {@link StaticGraph},
+ * ignoring the arc directions and the weights. A part of the graph is split
+ * by a separator into two halves with no arcs between them; the separator
+ * nodes receive the highest ranks of the part and the two halves are ordered
+ * recursively below them.
+ * <p>
+ * The separators are the level sets of a breadth-first search started from a
+ * pseudo-peripheral node of the part: every level separates the levels below
+ * it from the levels above it. Among the levels that leave at least a third
+ * of the part on either side, the smallest one is chosen. A part that is not
+ * connected is split into the component reached by the search and the rest
+ * with an empty separator.
+ */
+final class NestedDissectionOrder {
+    
+    private final int n;
+    private final int[] neighbourOffsets;
+    private final int[] neighbours;
+    private final int[] ranks;
+    
+    /**
+     * {@code partStamps[v] == stamp} if and only if {@code v} belongs to the
+     * part being split.
+     */
+    private final int[] partStamps;
+    private final int[] levels;
+    private final int[] queue;
+    private int stamp;
+    
+    private NestedDissectionOrder(StaticGraph graph) {
+        this.n = graph.size();
+        this.neighbourOffsets = new int[n + 1];
+        this.ranks = new int[n];
+        this.partStamps = new int[n];
+        this.levels = new int[n];
+        this.queue = new int[n];
+        
+        for (int node = 0; node < n; node++) {
+            neighbourOffsets[node + 1] = neighbourOffsets[node] +
+                                         graph.getOutDegree(node) +
+                                         graph.getInDegree(node);
+        }
+        
+        this.neighbours = new int[neighbourOffsets[n]];
+        int index = 0;
+        
+        for (int node = 0; node < n; node++) {
+            for (int arc = graph.getOutgoingArcsBegin(node),
+                     end = graph.getOutgoingArcsEnd(node); arc < end; arc++) {
+                neighbours[index++] = graph.getArcHead(arc);
+            }
+            
+            for (int arc = graph.getIncomingArcsBegin(node),
+                     end = graph.getIncomingArcsEnd(node); arc < end; arc++) {
+                neighbours[index++] = graph.getIncomingArcTail(arc);
+            }
+        }
+    }
+    
+    /**
+     * Returns the ranks of the nodes of the input graph in a nested dissection
+     * order.
+     * 
+     * @param graph the graph.
+     * @return the rank of every node.
+     */
+    static int[] computeRanks(StaticGraph graph) {
+        return new NestedDissectionOrder(graph).run();
+    }
+    
+    private int[] run() {
+        int[] allNodes = new int[n];
+        
+        for (int node = 0; node < n; node++) {
+            allNodes[node] = node;
+        }
+        
+        // Each task is a part and the lowest rank of its rank range:
+        Deque<int[]> parts = new ArrayDeque<>();
+        Deque<Integer> lowestRanks = new ArrayDeque<>();
+        parts.push(allNodes);
+        lowestRanks.push(0);
+        
+        while (!parts.isEmpty()) {
+            int[] part = parts.pop();
+            int lowestRank = lowestRanks.pop();
+            
+            if (part.length <= 2) {
+                for (int i = 0; i < part.length; i++) {
+                    ranks[part[i]] = lowestRank + i;
+                }
+                
+                continue;
+            }
+            
+            int[][] halvesAndSeparator = split(part);
+            int[] firstHalf = halvesAndSeparator[0];
+            int[] secondHalf = halvesAndSeparator[1];
+            int[] separator = halvesAndSeparator[2];
+            int separatorRank = lowestRank + firstHalf.length +
+                                             secondHalf.length;
+            
+            for (int i = 0; i < separator.length; i++) {
+                ranks[separator[i]] = separatorRank + i;
+            }
+            
+            parts.push(firstHalf);
+            lowestRanks.push(lowestRank);
+            parts.push(secondHalf);
+            lowestRanks.push(lowestRank + firstHalf.length);
+        }
+        
+        return ranks;
+    }
+    
+    /**
+     * Splits the input part into two halves and a separator.
+     */
+    private int[][] split(int[] part) {
+        stamp++;
+        
+        for (int node : part) {
+            partStamps[node] = stamp;
+        }
+        
+        // Searching from the last node reached by a first search yields a
+        // pseudo-peripheral start node and thus many thin levels:
+        int reached = breadthFirstSearch(part, part[0]);
+        reached = breadthFirstSearch(part, queue[reached - 1]);
+        
+        if (reached < part.length) {
+            int[] component = Arrays.copyOf(queue, reached);
+            int[] rest = new int[part.length - reached];
+            int index = 0;
+            
+            for (int node : part) {
+                if (levels[node] == -1) {
+                    rest[index++] = node;
+                }
+            }
+            
+            return new int[][]{ component, rest, new int[0] };
+        }
+        
+        int numberOfLevels = levels[queue[reached - 1]] + 1;
+        int[] levelSizes = new int[numberOfLevels];
+        
+        for (int node : part) {
+            levelSizes[levels[node]]++;
+        }
+        
+        int separatorLevel = -1;
+        int below = 0;
+        int nodesBelowLevel = 0;
+        
+        for (int level = 0; level < numberOfLevels; level++) {
+            int above = part.length - nodesBelowLevel - levelSizes[level];
+            
+            if (3 * nodesBelowLevel >= part.length &&
+                3 * above >= part.length &&
+                (separatorLevel == -1 ||
+                 levelSizes[level] < levelSizes[separatorLevel])) {
+                separatorLevel = level;
+                below = nodesBelowLevel;
+            }
+            
+            nodesBelowLevel += levelSizes[level];
+        }
+        
+        if (separatorLevel == -1) {
+            // No level is balanced enough; take the median one:
+            separatorLevel = 0;
+            
+            while (2 * (below + levelSizes[separatorLevel]) < part.length) {
+                below += levelSizes[separatorLevel++];
+            }
+        }
+        
+        int separatorSize = levelSizes[separatorLevel];
+        int[] firstHalf = new int[below];
+        int[] separator = new int[separatorSize];
+        int[] secondHalf =
+                new int[part.length - firstHalf.length - separatorSize];
+        
+        int firstIndex = 0;
+        int separatorIndex = 0;
+        int secondIndex = 0;
+        
+        for (int node : part) {
+            int level = levels[node];
+            
+            if (level < separatorLevel) {
+                firstHalf[firstIndex++] = node;
+            } else if (level == separatorLevel) {
+                separator[separatorIndex++] = node;
+            } else {
+                secondHalf[secondIndex++] = node;
+            }
+        }
+        
+        return new int[][]{ firstHalf, secondHalf, separator };
+    }
+    
+    /**
+     * Runs a breadth-first search within the input part, storing the levels
+     * of the reached nodes and leaving {@code -1} for the others. The reached
+     * nodes are left in {@code queue} in the order of their levels. Returns
+     * the number of reached nodes.
+     */
+    private int breadthFirstSearch(int[] part, int source) {
+        for (int node : part) {
+            levels[node] = -1;
+        }
+        
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        levels[source] = 0;
+        
+        while (head < tail) {
+            int node = queue[head++];
+            
+            for (int i = neighbourOffsets[node];
+                     i < neighbourOffsets[node + 1];
+                     i++) {
+                int neighbour = neighbours[i];
+                
+                if (partStamps[neighbour] == stamp &&
+                    levels[neighbour] == -1) {
+                    levels[neighbour] = levels[node] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        
+        return tail;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.DoubleDaryHeap;
+import com.github.coderodde.pathfinding.DoubleIndexedHeap;
+import java.util.Arrays;
+
+/**
+ * This class holds the per-node state of one direction of a contraction
+ * hierarchy query. As in the workspaces of the plain searches, every entry is
+ * stamped with the generation of the query that wrote it, so
+ * {@link #reset()} does not clear the arrays.
+ */
+final class UpwardSearchState {
+    
+    static final int NO_PARENT = -1;
+    
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] labelledStamps;
+    private final DoubleIndexedHeap heap = new DoubleDaryHeap();
+    private int generation = 1;
+    private int settledCount;
+    
+    UpwardSearchState(int capacity) {
+        this.distances = new double[capacity];
+        this.parents = new int[capacity];
+        this.labelledStamps = new int[capacity];
+    }
+    
+    void reset() {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(labelledStamps, 0);
+            generation = 0;
+        }
+        
+        generation++;
+        settledCount = 0;
+        heap.clear();
+    }
+    
+    DoubleIndexedHeap getHeap() {
+        return heap;
+    }
+    
+    /**
+     * Returns the distance of the input node, or
+     * {@link Double#POSITIVE_INFINITY} if the node is not labelled in the
+     * current query.
+     */
+    double getDistance(int node) {
+        return labelledStamps[node] == generation ?
+                distances[node] :
+                Double.POSITIVE_INFINITY;
+    }
+    
+    void setDistance(int node, double distance) {
+        distances[node] = distance;
+        labelledStamps[node] = generation;
+    }
+    
+    int getParent(int node) {
+        return parents[node];
+    }
+    
+    void setParent(int node, int parent) {
+        parents[node] = parent;
+    }
+    
+    void incrementSettledCount() {
+        settledCount++;
+    }
+    
+    int getSettledCount() {
+        return settledCount;
+    }
+    
+    int getCapacity() {
+        return distances.length;
+    }
+}
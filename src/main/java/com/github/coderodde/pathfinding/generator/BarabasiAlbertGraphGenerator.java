@@ -0,0 +1,152 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import java.util.Random;
+
+/**
+ * This class generates Barabási–Albert graphs, whose degrees follow a power
+ * law: a few hubs are adjacent to a large fraction of the nodes, like in
+ * social and communication networks. The graph starts from a clique of
+ * {@code edgesPerNode + 1} nodes, and every further node is joined to
+ * {@code edgesPerNode} distinct earlier nodes chosen with probabilities
+ * proportional to their degrees.
+ * <p>
+ * Every edge becomes two opposite arcs of the same weight, drawn uniformly
+ * from the weight range. The nodes have no coordinates. The same seed always
+ * yields the same graph.
+ */
+public final class BarabasiAlbertGraphGenerator {
+    
+    /**
+     * The default number of edges joining a new node to the earlier nodes.
+     */
+    public static final int DEFAULT_EDGES_PER_NODE = 3;
+    
+    private final int numberOfNodes;
+    private int edgesPerNode = DEFAULT_EDGES_PER_NODE;
+    private double minimumWeight = 1.0;
+    private double maximumWeight = 100.0;
+    
+    /**
+     * Constructs a generator of graphs with the input number of nodes.
+     * 
+     * @param numberOfNodes the number of nodes.
+     */
+    public BarabasiAlbertGraphGenerator(int numberOfNodes) {
+        if (numberOfNodes < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid number of nodes: " + numberOfNodes);
+        }
+        
+        this.numberOfNodes = numberOfNodes;
+    }
+    
+    /**
+     * Sets the number of edges joining a new node to the earlier nodes.
+     * 
+     * @param edgesPerNode the positive number of edges per node.
+     * @return this generator.
+     */
+    public BarabasiAlbertGraphGenerator setEdgesPerNode(int edgesPerNode) {
+        if (edgesPerNode < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid number of edges per node: " + edgesPerNode);
+        }
+        
+        this.edgesPerNode = edgesPerNode;
+        return this;
+    }
+    
+    /**
+     * Sets the range of the edge weights. The default range is
+     * {@code [1, 100)}.
+     * 
+     * @param minimumWeight the smallest weight, inclusive.
+     * @param maximumWeight the largest weight, exclusive.
+     * @return this generator.
+     */
+    public BarabasiAlbertGraphGenerator setWeightRange(double minimumWeight,
+                                                       double maximumWeight) {
+        if (!(minimumWeight >= 0.0 && minimumWeight <= maximumWeight) ||
+            Double.isInfinite(maximumWeight)) {
+            throw new IllegalArgumentException(
+                    "Invalid weight range: [" + minimumWeight + ", " +
+                    maximumWeight + ")");
+        }
+        
+        this.minimumWeight = minimumWeight;
+        this.maximumWeight = maximumWeight;
+        return this;
+    }
+    
+    /**
+     * Generates a Barabási–Albert graph.
+     * 
+     * @param seed the seed of the random number generator.
+     * @return the generated graph without coordinates.
+     */
+    public GeneratedGraph generate(long seed) {
+        Random random = new Random(seed);
+        int cliqueSize = Math.min(numberOfNodes, edgesPerNode + 1);
+        CsrGraph.Builder builder = new CsrGraph.Builder(numberOfNodes);
+        
+        // Every edge appends both its end nodes, so a node occurs in this
+        // array as many times as its degree, and a uniformly random entry is
+        // a node chosen proportionally to its degree:
+        int[] endNodes = new int[(int) Math.min(
+                Integer.MAX_VALUE - 8,
+                2L * edgesPerNode * numberOfNodes + cliqueSize * cliqueSize)];
+        int numberOfEndNodes = 0;
+        
+        for (int node1 = 0; node1 < cliqueSize; node1++) {
+            for (int node2 = node1 + 1; node2 < cliqueSize; node2++) {
+                addEdge(builder, node1, node2, random);
+                endNodes[numberOfEndNodes++] = node1;
+                endNodes[numberOfEndNodes++] = node2;
+            }
+        }
+        
+        int[] chosenNodes = new int[edgesPerNode];
+        
+        for (int node = cliqueSize; node < numberOfNodes; node++) {
+            for (int i = 0; i < edgesPerNode; i++) {
+                int chosenNode;
+                
+                do {
+                    chosenNode = endNodes[random.nextInt(numberOfEndNodes)];
+                } while (contains(chosenNodes, i, chosenNode));
+                
+                chosenNodes[i] = chosenNode;
+            }
+            
+            for (int i = 0; i < edgesPerNode; i++) {
+                addEdge(builder, node, chosenNodes[i], random);
+                endNodes[numberOfEndNodes++] = node;
+                endNodes[numberOfEndNodes++] = chosenNodes[i];
+            }
+        }
+        
+        return new GeneratedGraph(builder.build(), null, null, null);
+    }
+    
+    private void addEdge(CsrGraph.Builder builder,
+                         int node1,
+                         int node2,
+                         Random random) {
+        double weight = minimumWeight +
+                        (maximumWeight - minimumWeight) * random.nextDouble();
+        
+        builder.addArc(node1, node2, weight);
+        builder.addArc(node2, node1, weight);
+    }
+    
+    private static boolean contains(int[] nodes, int size, int node) {
+        for (int i = 0; i < size; i++) {
+            if (nodes[i] == node) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+
+/**
+ * This class holds a generated graph together with the coordinates of its
+ * nodes, if the generator places the nodes in space. The coordinates may be
+ * passed to {@link com.github.coderodde.pathfinding.EuclideanHeuristicFunction}
+ * for the two-dimensional graphs.
+ */
+public final class GeneratedGraph {
+    
+    private final CsrGraph graph;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    
+    GeneratedGraph(CsrGraph graph, double[] xs, double[] ys, double[] zs) {
+        this.graph = graph;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+    }
+    
+    /**
+     * Returns the generated graph.
+     * 
+     * @return the graph.
+     */
+    public CsrGraph getGraph() {
+        return graph;
+    }
+    
+    /**
+     * Returns {@code true} if the nodes of the graph have coordinates.
+     * 
+     * @return {@code true} if there are coordinates.
+     */
+    public boolean hasCoordinates() {
+        return xs != null;
+    }
+    
+    /**
+     * Returns the {@code x}-coordinates of the nodes, or {@code null} if the
+     * nodes have no coordinates.
+     * 
+     * @return the {@code x}-coordinates.
+     */
+    public double[] getXs() {
+        return xs;
+    }
+    
+    /**
+     * Returns the {@code y}-coordinates of the nodes, or {@code null} if the
+     * nodes have no coordinates.
+     * 
+     * @return the {@code y}-coordinates.
+     */
+    public double[] getYs() {
+        return ys;
+    }
+    
+    /**
+     * Returns the {@code z}-coordinates of the nodes, which are all zero in a
+     * planar graph, or {@code null} if the nodes have no coordinates.
+     * 
+     * @return the {@code z}-coordinates.
+     */
+    public double[] getZs() {
+        return zs;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class generates random geometric graphs, a common stand-in for road
+ * networks: planar-like, of low degree and with weights proportional to the
+ * distances. The nodes are scattered uniformly over the unit square, and
+ * every two nodes closer than the connection radius are joined by an arc in
+ * both directions. The radius is chosen so that a node has the requested
+ * average number of neighbours.
+ * <p>
+ * The weight of an arc is the distance between its end nodes multiplied by a
+ * random factor in {@code [1, 1 + weightNoise)}, so the straight-line
+ * distance is a consistent heuristic. The same seed always yields the same
+ * graph.
+ */
+public final class GeometricGraphGenerator {
+    
+    /**
+     * The default average number of neighbours of a node. It is well above
+     * the threshold of about 4.5 at which a giant component emerges.
+     */
+    public static final double DEFAULT_AVERAGE_DEGREE = 6.0;
+    
+    private final int numberOfNodes;
+    private double averageDegree = DEFAULT_AVERAGE_DEGREE;
+    private double weightNoise;
+    
+    /**
+     * Constructs a generator of graphs with the input number of nodes.
+     * 
+     * @param numberOfNodes the number of nodes.
+     */
+    public GeometricGraphGenerator(int numberOfNodes) {
+        if (numberOfNodes < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid number of nodes: " + numberOfNodes);
+        }
+        
+        this.numberOfNodes = numberOfNodes;
+    }
+    
+    /**
+     * Sets the expected number of neighbours of a node.
+     * 
+     * @param averageDegree the positive average degree.
+     * @return this generator.
+     */
+    public GeometricGraphGenerator setAverageDegree(double averageDegree) {
+        if (!(averageDegree > 0.0) || Double.isInfinite(averageDegree)) {
+            throw new IllegalArgumentException(
+                    "Invalid average degree: " + averageDegree);
+        }
+        
+        this.averageDegree = averageDegree;
+        return this;
+    }
+    
+    /**
+     * Sets the largest relative increase of an arc weight over the distance
+     * between its end nodes. The default is zero.
+     * 
+     * @param weightNoise the non-negative weight noise.
+     * @return this generator.
+     */
+    public GeometricGraphGenerator setWeightNoise(double weightNoise) {
+        this.weightNoise = GridGraphGenerator.checkWeightNoise(weightNoise);
+        return this;
+    }
+    
+    /**
+     * Generates a random geometric graph.
+     * 
+     * @param seed the seed of the random number generator.
+     * @return the generated graph with the node coordinates.
+     */
+    public GeneratedGraph generate(long seed) {
+        Random random = new Random(seed);
+        double[] xs = new double[numberOfNodes];
+        double[] ys = new double[numberOfNodes];
+        
+        for (int node = 0; node < numberOfNodes; node++) {
+            xs[node] = random.nextDouble();
+            ys[node] = random.nextDouble();
+        }
+        
+        // The expected number of nodes within the radius of a node is
+        // pi * radius^2 * numberOfNodes:
+        double radius = Math.min(1.0,
+                                 Math.sqrt(averageDegree /
+                                           (Math.PI * numberOfNodes)));
+        
+        // Bucket the nodes into square cells of the radius, so that the
+        // neighbours of a node lie in the 3 x 3 cells around its own:
+        int cellsPerSide = Math.max(1, (int) (1.0 / radius));
+        int[] cellOffsets = new int[cellsPerSide * cellsPerSide + 1];
+        int[] cellOfNode = new int[numberOfNodes];
+        
+        for (int node = 0; node < numberOfNodes; node++) {
+            cellOfNode[node] = getCell(xs[node], cellsPerSide) * cellsPerSide +
+                               getCell(ys[node], cellsPerSide);
+            cellOffsets[cellOfNode[node] + 1]++;
+        }
+        
+        for (int cell = 0; cell + 1 < cellOffsets.length; cell++) {
+            cellOffsets[cell + 1] += cellOffsets[cell];
+        }
+        
+        int[] cellNodes = new int[numberOfNodes];
+        int[] nextCellNode = Arrays.copyOf(cellOffsets, cellOffsets.length);
+        
+        for (int node = 0; node < numberOfNodes; node++) {
+            cellNodes[nextCellNode[cellOfNode[node]]++] = node;
+        }
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(numberOfNodes);
+        
+        for (int node = 0; node < numberOfNodes; node++) {
+            int cellX = cellOfNode[node] / cellsPerSide;
+            int cellY = cellOfNode[node] % cellsPerSide;
+            
+            for (int x = Math.max(0, cellX - 1);
+                     x <= Math.min(cellsPerSide - 1, cellX + 1);
+                     x++) {
+                for (int y = Math.max(0, cellY - 1);
+                         y <= Math.min(cellsPerSide - 1, cellY + 1);
+                         y++) {
+                    int cell = x * cellsPerSide + y;
+                    
+                    for (int i = cellOffsets[cell];
+                             i < cellOffsets[cell + 1];
+                             i++) {
+                        int neighbour = cellNodes[i];
+                        
+                        // Each pair is joined once, from its smaller node:
+                        if (neighbour <= node) {
+                            continue;
+                        }
+                        
+                        double distance = Math.hypot(xs[node] - xs[neighbour],
+                                                     ys[node] - ys[neighbour]);
+                        
+                        if (distance < radius) {
+                            builder.addArc(node,
+                                           neighbour,
+                                           getWeight(distance, random));
+                            builder.addArc(neighbour,
+                                           node,
+                                           getWeight(distance, random));
+                        }
+                    }
+                }
+            }
+        }
+        
+        return new GeneratedGraph(builder.build(),
+                                  xs,
+                                  ys,
+                                  new double[numberOfNodes]);
+    }
+    
+    private double getWeight(double distance, Random random) {
+        return distance * (1.0 + weightNoise * random.nextDouble());
+    }
+    
+    private static int getCell(double coordinate, int cellsPerSide) {
+        return Math.min(cellsPerSide - 1, (int) (coordinate * cellsPerSide));
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import java.util.Random;
+
+/**
+ * This class generates two- and three-dimensional grid graphs with
+ * obstacles. Every free cell is joined to each free neighbouring cell along
+ * the axes by an arc in both directions, while an obstacle cell has no arcs
+ * at all. The weight of an arc is one, multiplied by a random factor in
+ * {@code [1, 1 + weightNoise)}, so the straight-line distance between the
+ * cells is a consistent heuristic.
+ * <p>
+ * The node of the cell {@code (x, y, z)} is
+ * {@code (z * height + y) * width + x}, and its coordinates are the
+ * coordinates of the cell. The same seed always yields the same graph.
+ */
+public final class GridGraphGenerator {
+    
+    private final int width;
+    private final int height;
+    private int depth = 1;
+    private double obstacleDensity;
+    private double weightNoise;
+    
+    /**
+     * Constructs a generator of planar grids of the input size.
+     * 
+     * @param width  the number of cells along the {@code x}-axis.
+     * @param height the number of cells along the {@code y}-axis.
+     */
+    public GridGraphGenerator(int width, int height) {
+        this.width = checkDimension(width);
+        this.height = checkDimension(height);
+        checkNumberOfCells();
+    }
+    
+    /**
+     * Sets the number of cells along the {@code z}-axis. A depth of one,
+     * which is the default, yields a planar grid.
+     * 
+     * @param depth the depth of the grid.
+     * @return this generator.
+     */
+    public GridGraphGenerator setDepth(int depth) {
+        this.depth = checkDimension(depth);
+        checkNumberOfCells();
+        return this;
+    }
+    
+    /**
+     * Sets the probability of a cell being an obstacle. The default is zero.
+     * 
+     * @param obstacleDensity the obstacle probability in {@code [0, 1]}.
+     * @return this generator.
+     */
+    public GridGraphGenerator setObstacleDensity(double obstacleDensity) {
+        if (!(obstacleDensity >= 0.0 && obstacleDensity <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Invalid obstacle density: " + obstacleDensity);
+        }
+        
+        this.obstacleDensity = obstacleDensity;
+        return this;
+    }
+    
+    /**
+     * Sets the largest relative increase of an arc weight over one. The
+     * default is zero, which yields unit weights.
+     * 
+     * @param weightNoise the non-negative weight noise.
+     * @return this generator.
+     */
+    public GridGraphGenerator setWeightNoise(double weightNoise) {
+        this.weightNoise = checkWeightNoise(weightNoise);
+        return this;
+    }
+    
+    /**
+     * Generates a grid graph.
+     * 
+     * @param seed the seed of the random number generator.
+     * @return the generated graph with the cell coordinates.
+     */
+    public GeneratedGraph generate(long seed) {
+        Random random = new Random(seed);
+        int size = width * height * depth;
+        boolean[] obstacles = new boolean[size];
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] zs = new double[size];
+        
+        for (int node = 0; node < size; node++) {
+            obstacles[node] = random.nextDouble() < obstacleDensity;
+            xs[node] = node % width;
+            ys[node] = (node / width) % height;
+            zs[node] = node / (width * height);
+        }
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(size);
+        
+        for (int node = 0; node < size; node++) {
+            if (xs[node] + 1 < width) {
+                addArcs(builder, obstacles, node, node + 1, random);
+            }
+            
+            if (ys[node] + 1 < height) {
+                addArcs(builder, obstacles, node, node + width, random);
+            }
+            
+            if (zs[node] + 1 < depth) {
+                addArcs(builder,
+                        obstacles,
+                        node,
+                        node + width * height,
+                        random);
+            }
+        }
+        
+        return new GeneratedGraph(builder.build(), xs, ys, zs);
+    }
+    
+    private void addArcs(CsrGraph.Builder builder,
+                         boolean[] obstacles,
+                         int node1,
+                         int node2,
+                         Random random) {
+        if (obstacles[node1] || obstacles[node2]) {
+            return;
+        }
+        
+        builder.addArc(node1, node2, 1.0 + weightNoise * random.nextDouble());
+        builder.addArc(node2, node1, 1.0 + weightNoise * random.nextDouble());
+    }
+    
+    static double checkWeightNoise(double weightNoise) {
+        if (!(weightNoise >= 0.0) || Double.isInfinite(weightNoise)) {
+            throw new IllegalArgumentException(
+                    "Invalid weight noise: " + weightNoise);
+        }
+        
+        return weightNoise;
+    }
+    
+    private void checkNumberOfCells() {
+        if ((long) width * height * depth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Too many cells: " + width + " x " + height + " x " +
+                    depth);
+        }
+    }
+    
+    private static int checkDimension(int dimension) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid grid dimension: " + dimension);
+        }
+        
+        return dimension;
+    }
+}
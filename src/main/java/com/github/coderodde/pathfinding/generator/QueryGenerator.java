@@ -0,0 +1,243 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.DoubleDaryHeap;
+import com.github.coderodde.pathfinding.StaticGraph;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class generates reproducible query sets on a static graph. The target
+ * of every query is reachable from its source, so no query measures a
+ * failing search by accident. Three kinds of workloads are supported:
+ * <ul>
+ *   <li>random queries, whose target is uniform over the nodes reachable
+ *       from the source and thus typically far away,</li>
+ *   <li>local queries, whose target is among the few nodes closest to the
+ *       source,</li>
+ *   <li>Dijkstra rank queries, whose target is the {@code 2^i}th node
+ *       settled by Dijkstra's algorithm from the source, which show how the
+ *       running time of a search grows with the query difficulty.</li>
+ * </ul>
+ * The generator runs Dijkstra's algorithm from the candidate sources, so it is
+ * meant for preparing the workloads rather than for timed code. The same seed
+ * always yields the same queries.
+ */
+public final class QueryGenerator {
+    
+    /**
+     * The number of consecutive sources reaching no other node after which
+     * the generator gives up.
+     */
+    private static final int MAXIMUM_ATTEMPTS = 1000;
+    
+    private final StaticGraph graph;
+    private final DoubleDaryHeap heap = new DoubleDaryHeap();
+    private final double[] distances;
+    private final int[] reachedRounds;
+    private final int[] settledRounds;
+    
+    /**
+     * The nodes settled by the last search in the settle order.
+     */
+    private final int[] settledNodes;
+    private int round;
+    
+    /**
+     * Constructs a query generator on the input graph.
+     * 
+     * @param graph the graph to query.
+     */
+    public QueryGenerator(StaticGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "graph is null.");
+        this.distances = new double[graph.size()];
+        this.reachedRounds = new int[graph.size()];
+        this.settledRounds = new int[graph.size()];
+        this.settledNodes = new int[graph.size()];
+    }
+    
+    /**
+     * Generates queries whose targets are chosen uniformly at random among
+     * the nodes reachable from their sources.
+     * 
+     * @param numberOfQueries the number of queries.
+     * @param seed            the seed of the random number generator.
+     * @return the generated queries.
+     */
+    public QuerySet generateRandomQueries(int numberOfQueries, long seed) {
+        return generateLocalQueries(numberOfQueries,
+                                    Integer.MAX_VALUE,
+                                    seed);
+    }
+    
+    /**
+     * Generates queries whose targets are chosen uniformly at random among
+     * the {@code maximumRank} nodes settled first by Dijkstra's algorithm
+     * after the source.
+     * 
+     * @param numberOfQueries the number of queries.
+     * @param maximumRank     the largest Dijkstra rank of a target.
+     * @param seed            the seed of the random number generator.
+     * @return the generated queries.
+     */
+    public QuerySet generateLocalQueries(int numberOfQueries,
+                                         int maximumRank,
+                                         long seed) {
+        checkNumberOfQueries(numberOfQueries);
+        
+        if (maximumRank < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid maximum rank: " + maximumRank);
+        }
+        
+        Random random = new Random(seed);
+        int[] sources = new int[numberOfQueries];
+        int[] targets = new int[numberOfQueries];
+        int limit = (int) Math.min(graph.size(), maximumRank + 1L);
+        
+        for (int i = 0; i < numberOfQueries; i++) {
+            int numberOfSettledNodes = search(chooseSource(random), limit);
+            sources[i] = settledNodes[0];
+            targets[i] = settledNodes[1 + random.nextInt(
+                                      numberOfSettledNodes - 1)];
+        }
+        
+        return new QuerySet(sources, targets);
+    }
+    
+    /**
+     * Generates Dijkstra rank queries. The query set at index {@code i} holds
+     * the queries of rank {@code 2^i}, whose target is the {@code 2^i}th node
+     * settled after the source. Every rank below the number of nodes gets a
+     * query set; a set holds fewer than {@code queriesPerRank} queries if
+     * some sources reach fewer nodes than its rank.
+     * 
+     * @param queriesPerRank the number of sources.
+     * @param seed           the seed of the random number generator.
+     * @return the query sets by the base-two logarithm of the rank.
+     */
+    public QuerySet[] generateDijkstraRankQueries(int queriesPerRank,
+                                                  long seed) {
+        checkNumberOfQueries(queriesPerRank);
+        
+        Random random = new Random(seed);
+        int numberOfRanks = graph.size() < 2 ?
+                            0 :
+                            32 - Integer.numberOfLeadingZeros(
+                                    graph.size() - 1);
+        
+        int[][] sources = new int[numberOfRanks][queriesPerRank];
+        int[][] targets = new int[numberOfRanks][queriesPerRank];
+        int[] sizes = new int[numberOfRanks];
+        
+        for (int i = 0; i < queriesPerRank; i++) {
+            int numberOfSettledNodes = search(chooseSource(random),
+                                              graph.size());
+            
+            for (int logRank = 0;
+                     logRank < numberOfRanks &&
+                     (1 << logRank) < numberOfSettledNodes;
+                     logRank++) {
+                sources[logRank][sizes[logRank]] = settledNodes[0];
+                targets[logRank][sizes[logRank]] =
+                        settledNodes[1 << logRank];
+                sizes[logRank]++;
+            }
+        }
+        
+        QuerySet[] querySets = new QuerySet[numberOfRanks];
+        
+        for (int logRank = 0; logRank < numberOfRanks; logRank++) {
+            querySets[logRank] =
+                    new QuerySet(Arrays.copyOf(sources[logRank],
+                                               sizes[logRank]),
+                                 Arrays.copyOf(targets[logRank],
+                                               sizes[logRank]));
+        }
+        
+        return querySets;
+    }
+    
+    /**
+     * Chooses a random source node reaching at least one other node.
+     * 
+     * @param random the random number generator.
+     * @return the source node.
+     */
+    private int chooseSource(Random random) {
+        if (graph.size() > 1) {
+            for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+                int source = random.nextInt(graph.size());
+                
+                for (int arc = graph.getOutgoingArcsBegin(source);
+                         arc < graph.getOutgoingArcsEnd(source);
+                         arc++) {
+                    if (graph.getArcHead(arc) != source) {
+                        return source;
+                    }
+                }
+            }
+        }
+        
+        throw new IllegalStateException(
+                "Could not find a source node reaching another node.");
+    }
+    
+    /**
+     * Runs Dijkstra's algorithm from the source until {@code limit} nodes are
+     * settled or the reachable nodes run out.
+     * 
+     * @param source the source node.
+     * @param limit  the largest number of nodes to settle.
+     * @return the number of settled nodes.
+     */
+    private int search(int source, int limit) {
+        if (++round == 0) {
+            Arrays.fill(reachedRounds, 0);
+            Arrays.fill(settledRounds, 0);
+            round = 1;
+        }
+        
+        heap.clear();
+        heap.insert(source, 0.0);
+        distances[source] = 0.0;
+        reachedRounds[source] = round;
+        int numberOfSettledNodes = 0;
+        
+        while (heap.size() > 0 && numberOfSettledNodes < limit) {
+            int node = heap.extractMinimum();
+            settledRounds[node] = round;
+            settledNodes[numberOfSettledNodes++] = node;
+            
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                
+                if (settledRounds[head] == round) {
+                    continue;
+                }
+                
+                double distance = distances[node] + graph.getArcWeight(arc);
+                
+                if (reachedRounds[head] != round) {
+                    reachedRounds[head] = round;
+                    distances[head] = distance;
+                    heap.insert(head, distance);
+                } else if (distance < distances[head]) {
+                    distances[head] = distance;
+                    heap.decreaseKey(head, distance);
+                }
+            }
+        }
+        
+        return numberOfSettledNodes;
+    }
+    
+    private static void checkNumberOfQueries(int numberOfQueries) {
+        if (numberOfQueries < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid number of queries: " + numberOfQueries);
+        }
+    }
+}
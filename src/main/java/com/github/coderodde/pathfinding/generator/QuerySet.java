@@ -0,0 +1,45 @@
+package com.github.coderodde.pathfinding.generator;
+
+/**
+ * This class holds a generated sequence of queries, each a pair of a source
+ * node and a target node reachable from it.
+ */
+public final class QuerySet {
+    
+    private final int[] sources;
+    private final int[] targets;
+    
+    QuerySet(int[] sources, int[] targets) {
+        this.sources = sources;
+        this.targets = targets;
+    }
+    
+    /**
+     * Returns the number of queries.
+     * 
+     * @return the number of queries.
+     */
+    public int size() {
+        return sources.length;
+    }
+    
+    /**
+     * Returns the source node of a query.
+     * 
+     * @param index the index of the query.
+     * @return the source node.
+     */
+    public int getSource(int index) {
+        return sources[index];
+    }
+    
+    /**
+     * Returns the target node of a query.
+     * 
+     * @param index the index of the query.
+     * @return the target node.
+     */
+    public int getTarget(int index) {
+        return targets[index];
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BidirectionalAStarAlgorithmTest {
+    
+    private static final int WIDTH = 60;
+    private static final int HEIGHT = 60;
+    private static final int QUERIES = 100;
+    
+    @Test
+    public void agreesWithDijkstraAndSettlesFewerNodes() {
+        Random random = new Random(7L);
+        double[] xs = new double[WIDTH * HEIGHT];
+        double[] ys = new double[WIDTH * HEIGHT];
+        CsrGraph graph = getRandomGridGraph(xs, ys, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        HeuristicFunction<Integer> heuristicFunction = 
+                new EuclideanHeuristicFunction(xs, ys);
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> referencePathfinder = 
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> referenceWorkspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> workspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (DirectionStrategy directionStrategy : DirectionStrategy.values()) {
+            BidirectionalAStarAlgorithm<Integer> pathfinder = 
+                    new BidirectionalAStarAlgorithm<>(
+                            DoubleDaryHeap.getFactory(
+                                    DoubleDaryHeap.DEFAULT_DEGREE),
+                            directionStrategy);
+            
+            long referenceSettled = 0L;
+            long settled = 0L;
+            
+            for (int i = 0; i < QUERIES; i++) {
+                Integer source = adapter.getNode(random.nextInt(graph.size()));
+                Integer target = adapter.getNode(random.nextInt(graph.size()));
+                
+                List<Integer> expectedPath = 
+                        referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getDoubleChildrenArcExpander(),
+                                adapter.getDoubleParentsArcExpander(),
+                                referenceWorkspace);
+                
+                List<Integer> path = 
+                        pathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getDoubleChildrenArcExpander(),
+                                adapter.getDoubleParentsArcExpander(),
+                                heuristicFunction,
+                                workspace);
+                
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                assertEquals(CsrGraphs.getPathCost(expectedPath, graph),
+                             CsrGraphs.getPathCost(path, graph),
+                             1e-9);
+                
+                referenceSettled += 
+                        referenceWorkspace.getForwardSettledCount() + 
+                        referenceWorkspace.getBackwardSettledCount();
+                
+                settled += workspace.getForwardSettledCount() + 
+                           workspace.getBackwardSettledCount();
+            }
+            
+            assertTrue(settled < referenceSettled);
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnUnreachableTarget() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(2);
+        builder.addArc(1, 0, 1.0);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(builder.build());
+        
+        new BidirectionalAStarAlgorithm<Integer>().findShortestPath(
+                adapter.getNode(0),
+                adapter.getNode(1),
+                adapter.getChildrenExpander(),
+                adapter.getParentsExpander(),
+                adapter.getDoubleWeightFunction(),
+                new EuclideanHeuristicFunction(new double[]{ 0.0, 1.0 },
+                                               new double[]{ 0.0, 0.0 }));
+    }
+    
+    /**
+     * Returns a grid graph with bidirectional arcs between the horizontal and
+     * vertical neighbours. The nodes are displaced randomly within their grid 
+     * cells, and each arc weighs at least the distance between its end nodes.
+     */
+    static CsrGraph getRandomGridGraph(double[] xs, 
+                                       double[] ys, 
+                                       Random random) {
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                xs[y * WIDTH + x] = x + 0.5 * random.nextDouble();
+                ys[y * WIDTH + x] = y + 0.5 * random.nextDouble();
+            }
+        }
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(WIDTH * HEIGHT);
+        
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int node = y * WIDTH + x;
+                
+                if (x + 1 < WIDTH) {
+                    addArcs(builder, node, node + 1, xs, ys, random);
+                }
+                
+                if (y + 1 < HEIGHT) {
+                    addArcs(builder, node, node + WIDTH, xs, ys, random);
+                }
+            }
+        }
+        
+        return builder.build();
+    }
+    
+    private static void addArcs(CsrGraph.Builder builder,
+                                int node1,
+                                int node2,
+                                double[] xs,
+                                double[] ys,
+                                Random random) {
+        double distance = Math.hypot(xs[node1] - xs[node2], 
+                                     ys[node1] - ys[node2]);
+        
+        builder.addArc(node1, node2, distance * (1.0 + random.nextDouble()));
+        builder.addArc(node2, node1, distance * (1.0 + random.nextDouble()));
+    }
+}
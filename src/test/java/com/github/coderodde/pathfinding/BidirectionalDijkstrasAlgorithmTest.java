@@ -1,10 +1,8 @@
 package com.github.coderodde.pathfinding;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
@@ -16,6 +14,8 @@ public class BidirectionalDijkstrasAlgorithmTest {
     
     private static final int GRAPH_SIZE = 2_000;
     private static final int ARCS = 10_000;
+    private static final int CHAIN_LENGTH = 5;
+    private static final int FAN_OUT = 200;
     
     private static final DijkstrasAlgorithm<DirectedGraphNode, Integer> 
             pathfinder1 = new DijkstrasAlgorithm<>();
@@ -175,6 +175,182 @@ public class BidirectionalDijkstrasAlgorithmTest {
         }
     }
     
+    @Test
+    public void directionStrategiesAgreeWithDijkstra() {
+        Random random = new Random(19L);
+        
+        for (DirectionStrategy directionStrategy : DirectionStrategy.values()) {
+            BidirectionalDijkstrasAlgorithm<DirectedGraphNode, Integer>
+                    pathfinder = 
+                    new BidirectionalDijkstrasAlgorithm<>(
+                            DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE),
+                            directionStrategy);
+            
+            DoubleBidirectionalDijkstrasAlgorithm<DirectedGraphNode>
+                    doublePathfinder = 
+                    new DoubleBidirectionalDijkstrasAlgorithm<>(
+                            DoubleDaryHeap.getFactory(
+                                    DoubleDaryHeap.DEFAULT_DEGREE),
+                            directionStrategy);
+            
+            SearchWorkspace<DirectedGraphNode, Integer> workspace = 
+                    new SearchWorkspace<>();
+            
+            DoubleSearchWorkspace<DirectedGraphNode> doubleWorkspace = 
+                    new DoubleSearchWorkspace<>();
+            
+            for (int i = 0; i < 10; i++) {
+                GraphData graphData = getRandomGraph(GRAPH_SIZE, ARCS, random);
+                DirectedGraphNode source = graphData.getRandonNode(random);
+                DirectedGraphNode target = graphData.getRandonNode(random);
+                int expectedCost;
+                
+                try {
+                    expectedCost = DirectedGraphs.getPathCost(
+                            pathfinder1.findShortestPath(source, 
+                                                         target, 
+                                                         childrenExpander, 
+                                                         weightFunction,
+                                                         Integer::compare));
+                } catch (IllegalStateException ex) {
+                    continue;
+                }
+                
+                assertEquals(expectedCost,
+                             DirectedGraphs.getPathCost(
+                                     pathfinder.findShortestPath(
+                                             source,
+                                             target,
+                                             childrenExpander,
+                                             parentsExpander,
+                                             weightFunction,
+                                             Integer::compare,
+                                             workspace)));
+                
+                assertEquals(expectedCost,
+                             DirectedGraphs.getPathCost(
+                                     doublePathfinder.findShortestPath(
+                                             source,
+                                             target,
+                                             childrenExpander,
+                                             parentsExpander,
+                                             (tail, head) -> 
+                                                     tail.getWeightTo(head),
+                                             doubleWorkspace)));
+            }
+        }
+    }
+    
+    /**
+     * The source fans out to many cheap dead ends, while the target is 
+     * reached by a single chain. Alternating directions settles the dead ends 
+     * one by one; balancing the queue sizes runs the backward search along 
+     * the chain until the stopping rule fires.
+     */
+    @Test
+    public void smallerQueueSettlesFewerNodesOnHighOutDegree() {
+        DirectedGraphNode source = new DirectedGraphNode();
+        DirectedGraphNode target = new DirectedGraphNode();
+        DirectedGraphNode tail = source;
+        
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            DirectedGraphNode head = new DirectedGraphNode();
+            tail.addChild(head, 10);
+            tail = head;
+        }
+        
+        tail.addChild(target, 10);
+        
+        for (int i = 0; i < FAN_OUT; i++) {
+            source.addChild(new DirectedGraphNode(), 1 + i % 5);
+        }
+        
+        int alternateSettledCount = 
+                getSettledCount(source, target, DirectionStrategy.ALTERNATE);
+        
+        int smallerQueueSettledCount = 
+                getSettledCount(source, 
+                                target, 
+                                DirectionStrategy.SMALLER_QUEUE);
+        
+        assertEquals(CHAIN_LENGTH + 2, smallerQueueSettledCount);
+        assertTrue(smallerQueueSettledCount < alternateSettledCount);
+    }
+    
+    /**
+     * The stopping rule {@code topKeyF + topKeyB >= mu} fires as soon as the 
+     * two frontiers meet on a chain, so no node of the chain is settled by 
+     * both searches. Stopping only once a node is settled in both directions 
+     * settles the meeting node twice. The dead ends hanging off the chain are 
+     * more expensive than the whole chain and are never settled.
+     */
+    @Test
+    public void stoppingRuleSettlesNoChainNodeTwice() {
+        DirectedGraphNode source = new DirectedGraphNode();
+        DirectedGraphNode target = new DirectedGraphNode();
+        DirectedGraphNode tail = source;
+        
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            DirectedGraphNode head = new DirectedGraphNode();
+            tail.addChild(head, 1);
+            tail.addChild(new DirectedGraphNode(), 1_000);
+            new DirectedGraphNode().addChild(head, 1_000);
+            tail = head;
+        }
+        
+        tail.addChild(target, 1);
+        
+        for (DirectionStrategy directionStrategy : DirectionStrategy.values()) {
+            assertTrue(getSettledCount(source, target, directionStrategy) 
+                    <= CHAIN_LENGTH + 2);
+        }
+    }
+    
+    /**
+     * Returns the number of nodes the generic and the primitive bidirectional 
+     * searches settle with the input direction strategy. Both searches must 
+     * settle the same number of nodes.
+     */
+    private static int getSettledCount(DirectedGraphNode source,
+                                       DirectedGraphNode target,
+                                       DirectionStrategy directionStrategy) {
+        SearchWorkspace<DirectedGraphNode, Integer> workspace = 
+                new SearchWorkspace<>();
+        
+        DoubleSearchWorkspace<DirectedGraphNode> doubleWorkspace = 
+                new DoubleSearchWorkspace<>();
+        
+        new BidirectionalDijkstrasAlgorithm<DirectedGraphNode, Integer>(
+                DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE),
+                directionStrategy)
+                .findShortestPath(source,
+                                  target,
+                                  childrenExpander,
+                                  parentsExpander,
+                                  weightFunction,
+                                  Integer::compare,
+                                  workspace);
+        
+        new DoubleBidirectionalDijkstrasAlgorithm<DirectedGraphNode>(
+                DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE),
+                directionStrategy)
+                .findShortestPath(source,
+                                  target,
+                                  childrenExpander,
+                                  parentsExpander,
+                                  (tail, head) -> tail.getWeightTo(head),
+                                  doubleWorkspace);
+        
+        int settledCount = workspace.getForwardSettledCount() + 
+                           workspace.getBackwardSettledCount();
+        
+        assertEquals(settledCount, 
+                     doubleWorkspace.getForwardSettledCount() + 
+                     doubleWorkspace.getBackwardSettledCount());
+        
+        return settledCount;
+    }
+    
     private static final class GraphData {
         private final List<DirectedGraphNode> graphNodes;
         private final DirectedGraphWeightFunction weightFunction;
@@ -263,98 +439,3 @@ public class BidirectionalDijkstrasAlgorithmTest {
         }
     }
 }
-
-final class DirectedGraphNode {
-    
-    private static int nodeIdCounter = 0;
-    private final int id;
-    
-    private final Map<DirectedGraphNode, Integer> outgoingArcs =
-          new HashMap<>();
-    
-    private final Map<DirectedGraphNode, Integer> incomingArcs =
-          new HashMap<>();
-    
-    DirectedGraphNode() {
-        this.id = nodeIdCounter++;
-    }
-    
-    int getId() {
-        return id;
-    }
-    
-    void addChild(DirectedGraphNode child, int weight) {
-        outgoingArcs.put(child, weight);
-        child.incomingArcs.put(this, weight);
-    }
-    
-    List<DirectedGraphNode> getChildren() {
-        return new ArrayList<>(outgoingArcs.keySet());
-    }
-    
-    List<DirectedGraphNode> getParents() {
-        return new ArrayList<>(incomingArcs.keySet());
-    }
-    
-    Integer getWeightTo(DirectedGraphNode headNode) {
-        return outgoingArcs.get(headNode);
-    }
-    
-    @Override
-    public String toString() {
-        return String.format("[DirectedGraphNode id = %d]", id);
-    }
-    
-    @Override
-    public int hashCode() {
-        return id;
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-        DirectedGraphNode other = (DirectedGraphNode) obj;
-        return this.id == other.id;
-    }
-}
-
-class DirectedGraphWeightFunction
-        implements WeightFunction<DirectedGraphNode, Integer> {
-
-    @Override
-    public Integer getWeight(DirectedGraphNode tail, DirectedGraphNode head) {
-        return tail.getWeightTo(head);
-    }
-
-    @Override
-    public Integer getZero() {
-        return 0;
-    }
-
-    @Override
-    public Integer getInfinity() {
-        return Integer.MAX_VALUE;
-    }
-
-    @Override
-    public Integer sum(Integer w1, Integer w2) {
-        return w1 + w2;
-    }
-}
-
-class DirectedGraphNodeChildrenExpander 
-        implements NodeExpander<DirectedGraphNode> {
-
-    @Override
-    public List<DirectedGraphNode> expand(DirectedGraphNode node) {
-        return node.getChildren();
-    }
-}
-
-class DirectedGraphNodeParentsExpander
-        implements NodeExpander<DirectedGraphNode> {
-
-    @Override
-    public List<DirectedGraphNode> expand(DirectedGraphNode node) {
-        return node.getParents();
-    }
-}
@@ -0,0 +1,218 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ConnectivityIndexTest {
+    
+    private static final int NODES = 1_000;
+    private static final int ARCS = 1_300;
+    private static final int SOURCES = 50;
+    
+    @Test
+    public void neverRejectsReachableTargets() {
+        Random random = new Random(167L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        ConnectivityIndex<Integer> index = ConnectivityIndex.compute(graph);
+        int rejectedQueries = 0;
+        int unreachableQueries = 0;
+        
+        for (int i = 0; i < SOURCES; i++) {
+            int source = random.nextInt(NODES);
+            boolean[] reachable = getReachableNodes(graph, source);
+            
+            for (int target = 0; target < NODES; target++) {
+                boolean mayReach = index.mayReach(source, target);
+                
+                if (reachable[target]) {
+                    assertTrue(mayReach);
+                } else {
+                    unreachableQueries++;
+                    
+                    if (!mayReach) {
+                        rejectedQueries++;
+                    }
+                }
+                
+                assertEquals(
+                        reachable[target] &&
+                        getReachableNodes(graph, target)[source],
+                        index.areStronglyConnected(source, target));
+            }
+        }
+        
+        // Roughly half of the unreachable pairs are in the wrong
+        // topological order:
+        assertTrue(2 * rejectedQueries > unreachableQueries);
+    }
+    
+    @Test
+    public void expanderIndexAgreesWithCsrIndex() {
+        Random random = new Random(173L);
+        List<DirectedGraphNode> graph =
+                DirectedGraphs.getRandomGraph(500,
+                                              650,
+                                              random);
+        
+        DirectedGraphNodeChildrenExpander childrenExpander =
+                new DirectedGraphNodeChildrenExpander();
+        
+        NodeIndexer<DirectedGraphNode> indexer = new HashNodeIndexer<>();
+        ConnectivityIndex<DirectedGraphNode> index =
+                ConnectivityIndex.compute(graph, childrenExpander, indexer);
+        
+        CsrGraph.Builder builder = new CsrGraph.Builder(graph.size());
+        
+        for (DirectedGraphNode node : graph) {
+            for (DirectedGraphNode child : childrenExpander.expand(node)) {
+                builder.addArc(indexer.getIndex(node),
+                               indexer.getIndex(child),
+                               1.0);
+            }
+        }
+        
+        ConnectivityIndex<Integer> csrIndex =
+                ConnectivityIndex.compute(builder.build());
+        
+        assertEquals(csrIndex.getNumberOfComponents(),
+                     index.getNumberOfComponents());
+        
+        for (DirectedGraphNode node1 : graph) {
+            for (int i = 0; i < 20; i++) {
+                DirectedGraphNode node2 =
+                        DirectedGraphs.choose(graph, random);
+                
+                int index1 = indexer.getIndex(node1);
+                int index2 = indexer.getIndex(node2);
+                
+                assertEquals(csrIndex.mayReach(index1, index2),
+                             index.mayReach(node1, node2));
+                assertEquals(csrIndex.areStronglyConnected(index1, index2),
+                             index.areStronglyConnected(node1, node2));
+            }
+        }
+    }
+    
+    @Test
+    public void longChainDoesNotOverflowTheStack() {
+        int length = 200_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(length);
+        
+        for (int node = 0; node + 1 < length; node++) {
+            builder.addArc(node, node + 1, 1.0);
+        }
+        
+        ConnectivityIndex<Integer> index =
+                ConnectivityIndex.compute(builder.build());
+        
+        assertEquals(length, index.getNumberOfComponents());
+        assertTrue(index.mayReach(0, length - 1));
+        assertFalse(index.mayReach(length - 1, 0));
+        
+        builder.addArc(length - 1, 0, 1.0);
+        index = ConnectivityIndex.compute(builder.build());
+        
+        assertEquals(1, index.getNumberOfComponents());
+        assertTrue(index.areStronglyConnected(length - 1, 0));
+    }
+    
+    @Test
+    public void pathfindersSkipRejectedQueries() {
+        Random random = new Random(179L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        ConnectivityIndex<Integer> index = ConnectivityIndex.compute(graph);
+        
+        DijkstrasAlgorithm<Integer, Double> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        DijkstrasAlgorithm<Integer, Double> pathfinder =
+                new DijkstrasAlgorithm<>(
+                        DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE),
+                        index);
+        
+        BidirectionalDijkstrasAlgorithm<Integer, Double>
+                bidirectionalPathfinder =
+                new BidirectionalDijkstrasAlgorithm<>(
+                        DaryHeap.getFactory(DaryHeap.DEFAULT_DEGREE),
+                        DirectionStrategy.ALTERNATE,
+                        index);
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < 200; i++) {
+            Integer source = random.nextInt(NODES);
+            Integer target = random.nextInt(NODES);
+            
+            SearchResult<Integer, Double> expectedResult =
+                    referencePathfinder.searchDistance(
+                            source,
+                            target,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            SearchResult<Integer, Double> result =
+                    pathfinder.searchDistance(
+                            source,
+                            target,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            SearchResult<Integer, Double> bidirectionalResult =
+                    bidirectionalPathfinder.searchDistance(
+                            source,
+                            target,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getParentsArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            assertEquals(expectedResult.getCost(), result.getCost(), 1e-9);
+            assertEquals(expectedResult.getCost(),
+                         bidirectionalResult.getCost(),
+                         1e-9);
+            
+            if (!index.mayReach(source, target)) {
+                assertEquals(0, result.getSettledCount());
+                assertEquals(0, bidirectionalResult.getSettledCount());
+            }
+        }
+    }
+    
+    private static boolean[] getReachableNodes(StaticGraph graph,
+                                               int source) {
+        boolean[] reachable = new boolean[graph.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        reachable[source] = true;
+        queue.add(source);
+        
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                
+                if (!reachable[head]) {
+                    reachable[head] = true;
+                    queue.add(head);
+                }
+            }
+        }
+        
+        return reachable;
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class CsrGraphTest {
+    
+    @Test
+    public void buildsSortedForwardAndReverseRows() {
+        CsrGraph graph = new CsrGraph.Builder(4)
+                .addArc(0, 3, 1.0)
+                .addArc(0, 1, 2.0)
+                .addArc(2, 1, 3.0)
+                .addArc(0, 2, 4.0)
+                .addArc(3, 1, 5.0)
+                .build();
+        
+        assertEquals(4, graph.size());
+        assertEquals(5, graph.getNumberOfArcs());
+        assertEquals(3, graph.getOutDegree(0));
+        assertEquals(0, graph.getOutDegree(1));
+        assertEquals(3, graph.getInDegree(1));
+        
+        int begin = graph.getOutgoingArcsBegin(0);
+        assertEquals(1, graph.getArcHead(begin));
+        assertEquals(2, graph.getArcHead(begin + 1));
+        assertEquals(3, graph.getArcHead(begin + 2));
+        assertEquals(4.0, graph.getArcWeight(begin + 1), 0.0);
+        
+        begin = graph.getIncomingArcsBegin(1);
+        assertEquals(0, graph.getIncomingArcTail(begin));
+        assertEquals(2, graph.getIncomingArcTail(begin + 1));
+        assertEquals(3, graph.getIncomingArcTail(begin + 2));
+        assertEquals(5.0, graph.getIncomingArcWeight(begin + 2), 0.0);
+        
+        assertEquals(3.0, graph.getWeight(2, 1), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, graph.getWeight(1, 2), 0.0);
+    }
+    
+    @Test
+    public void collapsesParallelArcs() {
+        CsrGraph graph = new CsrGraph.Builder(2)
+                .addArc(0, 1, 3.0)
+                .addArc(0, 1, 1.0)
+                .addArc(0, 1, 2.0)
+                .build();
+        
+        assertEquals(1, graph.getNumberOfArcs());
+        assertEquals(1.0, graph.getWeight(0, 1), 0.0);
+        assertEquals(1.0, graph.getIncomingArcWeight(0), 0.0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeWeights() {
+        new CsrGraph.Builder(2).addArc(0, 1, -1.0);
+    }
+    
+    @Test
+    public void bruteForceComparisonToDijkstra() {
+        Random random = new Random(23L);
+        DijkstrasAlgorithm<Integer, Double> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        for (int i = 0; i < 10; i++) {
+            CsrGraph graph = CsrGraphs.getRandomGraph(1_000, 5_000, random);
+            StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+            Integer source = adapter.getNode(random.nextInt(graph.size()));
+            Integer target = adapter.getNode(random.nextInt(graph.size()));
+            
+            List<Integer> expectedPath = null;
+            List<Integer> path = null;
+            List<Integer> arcPath = null;
+            List<Integer> doubleArcPath = null;
+            
+            try {
+                expectedPath = referencePathfinder.findShortestPath(
+                        source,
+                        target,
+                        adapter.getChildrenExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare);
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            try {
+                path = pathfinder.findShortestPath(
+                        source,
+                        target,
+                        adapter.getChildrenExpander(),
+                        adapter.getParentsExpander(),
+                        adapter.getDoubleWeightFunction());
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            try {
+                arcPath = new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                        .findShortestPath(source,
+                                          target,
+                                          adapter.getChildrenArcExpander(),
+                                          adapter.getParentsArcExpander(),
+                                          adapter.getWeightFunction(),
+                                          Double::compare);
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            try {
+                doubleArcPath = pathfinder.findShortestPath(
+                        source,
+                        target,
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander());
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            if (expectedPath == null) {
+                assertNull(path);
+                assertNull(arcPath);
+                assertNull(doubleArcPath);
+            } else {
+                double expectedCost = 
+                        CsrGraphs.getPathCost(expectedPath, graph);
+                
+                assertEquals(expectedCost, 
+                             CsrGraphs.getPathCost(path, graph), 
+                             1e-9);
+                
+                assertEquals(expectedCost, 
+                             CsrGraphs.getPathCost(arcPath, graph), 
+                             1e-9);
+                
+                assertEquals(expectedCost, 
+                             CsrGraphs.getPathCost(doubleArcPath, graph), 
+                             1e-9);
+            }
+        }
+    }
+}
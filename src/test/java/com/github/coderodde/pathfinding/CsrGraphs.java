@@ -0,0 +1,120 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Builds the random {@link CsrGraph} graphs shared by the tests of the static
+ * graph search engines.
+ */
+public final class CsrGraphs {
+    
+    private CsrGraphs() {
+        
+    }
+    
+    /**
+     * Returns the cost of the input path, or
+     * {@link Double#POSITIVE_INFINITY} if the path uses a missing arc.
+     */
+    public static double getPathCost(List<Integer> path, StaticGraph graph) {
+        double cost = 0.0;
+        
+        for (int i = 0; i < path.size() - 1; i++) {
+            cost += graph.getWeight(path.get(i), path.get(i + 1));
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Returns a random graph whose arcs weigh less than one hundred.
+     */
+    public static CsrGraph getRandomGraph(int nodes,
+                                          int arcs,
+                                          Random random) {
+        return getRandomGraph(nodes,
+                              arcs,
+                              random,
+                              () -> 100.0 * random.nextDouble());
+    }
+    
+    /**
+     * Returns a random graph whose arc weights are drawn from the input
+     * supplier.
+     */
+    public static CsrGraph getRandomGraph(int nodes,
+                                          int arcs,
+                                          Random random,
+                                          DoubleSupplier weightSupplier) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodes);
+        
+        for (int i = 0; i < arcs; i++) {
+            builder.addArc(random.nextInt(nodes),
+                           random.nextInt(nodes),
+                           weightSupplier.getAsDouble());
+        }
+        
+        return builder.build();
+    }
+    
+    /**
+     * Returns a strongly connected grid whose arcs weigh between one and two.
+     */
+    public static CsrGraph getRandomGridGraph(int width,
+                                              int height,
+                                              Random random) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(width * height);
+        
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int node = y * width + x;
+                
+                if (x + 1 < width) {
+                    builder.addArc(node, node + 1, 1.0 + random.nextDouble());
+                    builder.addArc(node + 1, node, 1.0 + random.nextDouble());
+                }
+                
+                if (y + 1 < height) {
+                    builder.addArc(node,
+                                   node + width,
+                                   1.0 + random.nextDouble());
+                    
+                    builder.addArc(node + width,
+                                   node,
+                                   1.0 + random.nextDouble());
+                }
+            }
+        }
+        
+        return builder.build();
+    }
+    
+    /**
+     * Returns the distances from the source to all the nodes computed by the
+     * one-to-all Dijkstra's algorithm, the reference of the other one-to-all
+     * and many-to-many algorithms. An unreachable node is at the distance
+     * {@link Double#POSITIVE_INFINITY}.
+     */
+    public static double[] getDijkstraDistances(StaticGraph graph,
+                                                int source) {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        DoubleShortestPathTree<Integer> tree =
+                new DoubleDijkstrasAlgorithm<Integer>()
+                        .computeShortestPathTree(
+                                source,
+                                adapter.getDoubleChildrenArcExpander(),
+                                new DoubleSearchWorkspace<>(
+                                        adapter.getNodeIndexer()));
+        
+        double[] distances = new double[graph.size()];
+        
+        for (int node = 0; node < graph.size(); node++) {
+            distances[node] = tree.getDistance(node);
+        }
+        
+        return distances;
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class DeltaSteppingAlgorithmTest {
+    
+    private static final int NODES = 20_000;
+    private static final int ARCS = 80_000;
+    
+    @Test
+    public void agreesWithDijkstraForVariousDeltas() {
+        Random random = new Random(149L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            double[] deltas = {
+                0.5,
+                DeltaSteppingAlgorithm.estimateDelta(graph),
+                10.0,
+                1_000.0,
+            };
+            
+            for (double delta : deltas) {
+                int source = random.nextInt(NODES);
+                checkAgainstDijkstra(graph,
+                                     source,
+                                     new DeltaSteppingAlgorithm(delta, pool)
+                                             .computeDistances(graph,
+                                                               source));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void agreesWithGenericDijkstra() {
+        Random random = new Random(151L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(2_000, 6_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        int source = random.nextInt(graph.size());
+        
+        double[] distances =
+                new DeltaSteppingAlgorithm(
+                        DeltaSteppingAlgorithm.estimateDelta(graph))
+                        .computeDistances(graph, source);
+        
+        DijkstrasAlgorithm<Integer, Double> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < 200; i++) {
+            int target = random.nextInt(graph.size());
+            double expectedDistance;
+            
+            try {
+                expectedDistance =
+                        CsrGraphs.getPathCost(
+                                referencePathfinder.findShortestPath(
+                                        source,
+                                        target,
+                                        adapter.getChildrenArcExpander(),
+                                        adapter.getWeightFunction(),
+                                        Double::compare,
+                                        workspace),
+                                graph);
+            } catch (IllegalStateException ex) {
+                expectedDistance = Double.POSITIVE_INFINITY;
+            }
+            
+            assertEquals(expectedDistance, distances[target], 1e-9);
+        }
+    }
+    
+    @Test
+    public void handlesZeroWeightsAndUnreachableNodes() {
+        CsrGraph graph = new CsrGraph.Builder(5).addArc(0, 1, 0.0)
+                                                .addArc(1, 2, 3.0)
+                                                .addArc(0, 2, 5.0)
+                                                .addArc(2, 3, 0.0)
+                                                .addArc(4, 0, 1.0)
+                                                .build();
+        
+        double[] distances =
+                new DeltaSteppingAlgorithm(1.0).computeDistances(graph, 0);
+        
+        assertEquals(0.0, distances[0], 0.0);
+        assertEquals(0.0, distances[1], 0.0);
+        assertEquals(3.0, distances[2], 0.0);
+        assertEquals(3.0, distances[3], 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, distances[4], 0.0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNonPositiveDelta() {
+        new DeltaSteppingAlgorithm(0.0);
+    }
+    
+    private static void checkAgainstDijkstra(CsrGraph graph,
+                                             int source,
+                                             double[] distances) {
+        assertArrayEquals(CsrGraphs.getDijkstraDistances(graph, source),
+                          distances,
+                          1e-9);
+    }
+}
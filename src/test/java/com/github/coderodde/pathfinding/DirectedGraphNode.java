@@ -0,0 +1,59 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class DirectedGraphNode {
+    
+    private static int nodeIdCounter = 0;
+    private final int id;
+    
+    private final Map<DirectedGraphNode, Integer> outgoingArcs =
+          new HashMap<>();
+    
+    private final Map<DirectedGraphNode, Integer> incomingArcs =
+          new HashMap<>();
+    
+    DirectedGraphNode() {
+        this.id = nodeIdCounter++;
+    }
+    
+    int getId() {
+        return id;
+    }
+    
+    void addChild(DirectedGraphNode child, int weight) {
+        outgoingArcs.put(child, weight);
+        child.incomingArcs.put(this, weight);
+    }
+    
+    List<DirectedGraphNode> getChildren() {
+        return new ArrayList<>(outgoingArcs.keySet());
+    }
+    
+    List<DirectedGraphNode> getParents() {
+        return new ArrayList<>(incomingArcs.keySet());
+    }
+    
+    Integer getWeightTo(DirectedGraphNode headNode) {
+        return outgoingArcs.get(headNode);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("[DirectedGraphNode id = %d]", id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        DirectedGraphNode other = (DirectedGraphNode) obj;
+        return this.id == other.id;
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+
+class DirectedGraphNodeChildrenExpander 
+        implements NodeExpander<DirectedGraphNode> {
+
+    @Override
+    public List<DirectedGraphNode> expand(DirectedGraphNode node) {
+        return node.getChildren();
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.coderodde.pathfinding;
+
+class DirectedGraphWeightFunction
+        implements WeightFunction<DirectedGraphNode, Integer> {
+
+    @Override
+    public Integer getWeight(DirectedGraphNode tail, DirectedGraphNode head) {
+        return tail.getWeightTo(head);
+    }
+
+    @Override
+    public Integer getZero() {
+        return 0;
+    }
+
+    @Override
+    public Integer getInfinity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Integer sum(Integer w1, Integer w2) {
+        return w1 + w2;
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the random {@link DirectedGraphNode} graphs shared by the tests of
+ * the object graph search engines.
+ */
+final class DirectedGraphs {
+    
+    private DirectedGraphs() {
+        
+    }
+    
+    static int getPathCost(List<DirectedGraphNode> path) {
+        int cost = 0;
+        
+        for (int i = 0; i < path.size() - 1; i++) {
+            cost += path.get(i).getWeightTo(path.get(i + 1));
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Returns a random graph whose arcs weigh less than one hundred.
+     */
+    static List<DirectedGraphNode> getRandomGraph(int nodes,
+                                                  int arcs,
+                                                  Random random) {
+        List<DirectedGraphNode> graph = new ArrayList<>(nodes);
+        
+        for (int i = 0; i < nodes; i++) {
+            graph.add(new DirectedGraphNode());
+        }
+        
+        for (int i = 0; i < arcs; i++) {
+            DirectedGraphNode tail = choose(graph, random);
+            DirectedGraphNode head = choose(graph, random);
+            tail.addChild(head, random.nextInt(100));
+        }
+        
+        return graph;
+    }
+    
+    static <T> T choose(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
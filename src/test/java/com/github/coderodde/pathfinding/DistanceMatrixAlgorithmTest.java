@@ -0,0 +1,155 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class DistanceMatrixAlgorithmTest {
+    
+    @Test
+    public void agreesWithDijkstraWhenSearchingForwards() {
+        checkRandomGraph(8, 30, new Random(97L));
+    }
+    
+    @Test
+    public void agreesWithDijkstraWhenSearchingBackwards() {
+        checkRandomGraph(30, 8, new Random(101L));
+    }
+    
+    @Test
+    public void singleThreadedPoolAgreesWithCommonPool() {
+        Random random = new Random(103L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(1_000, 4_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        List<Integer> sources = getRandomNodes(adapter, 20, random);
+        List<Integer> targets = getRandomNodes(adapter, 20, random);
+        DistanceMatrixAlgorithm<Integer> algorithm =
+                new DistanceMatrixAlgorithm<>();
+        
+        DistanceMatrix expectedMatrix =
+                algorithm.computeDistanceMatrix(
+                        sources,
+                        targets,
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander(),
+                        adapter.getNodeIndexer());
+        
+        ForkJoinPool pool = new ForkJoinPool(1);
+        
+        try {
+            DistanceMatrix matrix =
+                    algorithm.computeDistanceMatrix(
+                            sources,
+                            targets,
+                            adapter.getDoubleChildrenArcExpander(),
+                            adapter.getDoubleParentsArcExpander(),
+                            adapter.getNodeIndexer(),
+                            pool);
+            
+            for (int row = 0; row < sources.size(); row++) {
+                for (int column = 0; column < targets.size(); column++) {
+                    assertEquals(expectedMatrix.getDistance(row, column),
+                                 matrix.getDistance(row, column),
+                                 0.0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void emptySourceListYieldsEmptyMatrix() {
+        StaticGraphAdapter adapter =
+                new StaticGraphAdapter(new CsrGraph.Builder(2).build());
+        
+        DistanceMatrix matrix =
+                new DistanceMatrixAlgorithm<Integer>().computeDistanceMatrix(
+                        new ArrayList<>(),
+                        List.of(0, 1),
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander(),
+                        adapter.getNodeIndexer());
+        
+        assertEquals(0, matrix.getNumberOfRows());
+        assertEquals(2, matrix.getNumberOfColumns());
+    }
+    
+    /**
+     * Checks every matrix entry against the cost of the path returned by the
+     * Dijkstra's algorithm. The node lists may contain duplicates.
+     */
+    private static void checkRandomGraph(int numberOfSources,
+                                         int numberOfTargets,
+                                         Random random) {
+        CsrGraph graph = CsrGraphs.getRandomGraph(2_000, 5_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        List<Integer> sources =
+                getRandomNodes(adapter, numberOfSources, random);
+        
+        List<Integer> targets =
+                getRandomNodes(adapter, numberOfTargets, random);
+        
+        targets.add(sources.get(0));
+        targets.add(targets.get(0));
+        
+        DistanceMatrix matrix =
+                new DistanceMatrixAlgorithm<Integer>().computeDistanceMatrix(
+                        sources,
+                        targets,
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander(),
+                        adapter.getNodeIndexer());
+        
+        assertEquals(sources.size(), matrix.getNumberOfRows());
+        assertEquals(targets.size(), matrix.getNumberOfColumns());
+        
+        DoubleDijkstrasAlgorithm<Integer> referencePathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleArcExpander<Integer> childrenExpander =
+                adapter.getDoubleChildrenArcExpander();
+        
+        for (int row = 0; row < sources.size(); row++) {
+            for (int column = 0; column < targets.size(); column++) {
+                double expectedDistance;
+                
+                try {
+                    expectedDistance =
+                            CsrGraphs.getPathCost(
+                                    referencePathfinder.findShortestPath(
+                                            sources.get(row),
+                                            targets.get(column),
+                                            childrenExpander,
+                                            workspace),
+                                    graph);
+                } catch (IllegalStateException ex) {
+                    expectedDistance = Double.POSITIVE_INFINITY;
+                }
+                
+                assertEquals(expectedDistance,
+                             matrix.getDistance(row, column),
+                             1e-9);
+            }
+        }
+    }
+    
+    static List<Integer> getRandomNodes(StaticGraphAdapter adapter,
+                                        int count,
+                                        Random random) {
+        List<Integer> nodes = new ArrayList<>(count);
+        
+        for (int i = 0; i < count; i++) {
+            nodes.add(adapter.getNode(
+                    random.nextInt(adapter.getNodeIndexer().size())));
+        }
+        
+        return nodes;
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class DoubleDijkstrasAlgorithmTest {
+    
+    private static final int GRAPH_SIZE = 2_000;
+    private static final int ARCS = 10_000;
+    
+    private static final DijkstrasAlgorithm<DirectedGraphNode, Integer>
+            referencePathfinder = new DijkstrasAlgorithm<>();
+    
+    private static final DoubleDijkstrasAlgorithm<DirectedGraphNode>
+            pathfinder1 = new DoubleDijkstrasAlgorithm<>();
+    
+    private static final DoubleBidirectionalDijkstrasAlgorithm<
+                                DirectedGraphNode>
+            pathfinder2 = new DoubleBidirectionalDijkstrasAlgorithm<>();
+    
+    private static final DirectedGraphNodeChildrenExpander childrenExpander =
+            new DirectedGraphNodeChildrenExpander();
+    
+    private static final DirectedGraphNodeParentsExpander parentsExpander =
+            new DirectedGraphNodeParentsExpander();
+    
+    private static final DirectedGraphWeightFunction weightFunction =
+            new DirectedGraphWeightFunction();
+    
+    private static final DoubleWeightFunction<DirectedGraphNode>
+            doubleWeightFunction = (tail, head) -> tail.getWeightTo(head);
+    
+    @Test
+    public void singleNodeGraphNoSelfLoop() {
+        DirectedGraphNode node = new DirectedGraphNode();
+        
+        assertEquals(List.of(node),
+                     pathfinder1.findShortestPath(node,
+                                                  node,
+                                                  childrenExpander,
+                                                  doubleWeightFunction));
+        
+        assertEquals(List.of(node),
+                     pathfinder2.findShortestPath(node,
+                                                  node,
+                                                  childrenExpander,
+                                                  parentsExpander,
+                                                  doubleWeightFunction));
+    }
+    
+    @Test
+    public void fiveNodeGraph() {
+        DirectedGraphNode s = new DirectedGraphNode();
+        DirectedGraphNode a = new DirectedGraphNode();
+        DirectedGraphNode b = new DirectedGraphNode();
+        DirectedGraphNode c = new DirectedGraphNode();
+        DirectedGraphNode t = new DirectedGraphNode();
+        
+        s.addChild(a, 6);
+        a.addChild(t, 4);
+        
+        s.addChild(b, 3);
+        b.addChild(c, 3);
+        c.addChild(t, 3);
+        
+        List<DirectedGraphNode> expectedPath = List.of(s, b, c, t);
+        
+        assertEquals(expectedPath,
+                     pathfinder1.findShortestPath(s,
+                                                  t,
+                                                  childrenExpander,
+                                                  doubleWeightFunction));
+        
+        assertEquals(expectedPath,
+                     pathfinder2.findShortestPath(s,
+                                                  t,
+                                                  childrenExpander,
+                                                  parentsExpander,
+                                                  doubleWeightFunction));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnUnreachableTarget() {
+        DirectedGraphNode source = new DirectedGraphNode();
+        DirectedGraphNode target = new DirectedGraphNode();
+        target.addChild(source, 1);
+        
+        pathfinder2.findShortestPath(source,
+                                     target,
+                                     childrenExpander,
+                                     parentsExpander,
+                                     doubleWeightFunction);
+    }
+    
+    @Test
+    public void bruteForceComparisonToDijkstra() {
+        Random random = new Random(17L);
+        
+        for (int i = 0; i < 10; i++) {
+            List<DirectedGraphNode> graph =
+                    DirectedGraphs.getRandomGraph(GRAPH_SIZE, ARCS, random);
+            
+            DirectedGraphNode source = DirectedGraphs.choose(graph, random);
+            DirectedGraphNode target = DirectedGraphs.choose(graph, random);
+            
+            Integer expectedCost = null;
+            Double cost1 = null;
+            Double cost2 = null;
+            
+            try {
+                expectedCost = DirectedGraphs.getPathCost(
+                        referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                childrenExpander,
+                                weightFunction,
+                                Integer::compare));
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            try {
+                cost1 = (double) DirectedGraphs.getPathCost(
+                        pathfinder1.findShortestPath(
+                                source,
+                                target,
+                                childrenExpander,
+                                doubleWeightFunction));
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            try {
+                cost2 = (double) DirectedGraphs.getPathCost(
+                        pathfinder2.findShortestPath(
+                                source,
+                                target,
+                                childrenExpander,
+                                parentsExpander,
+                                doubleWeightFunction));
+            } catch (IllegalStateException ex) {
+            
+            }
+            
+            if (expectedCost == null) {
+                assertNull(cost1);
+                assertNull(cost2);
+            } else {
+                assertEquals(expectedCost.doubleValue(), cost1, 0.0);
+                assertEquals(expectedCost.doubleValue(), cost2, 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GraphLoaderTest {
+    
+    private static final int[] CHUNK_SIZES = { 1, 7, 64, 4096,
+                                               GraphLoader.DEFAULT_CHUNK_SIZE };
+    
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    @Test
+    public void loadsDimacsGraphs() throws IOException {
+        Random random = new Random(193L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(
+                500,
+                3_000,
+                random,
+                () -> random.nextInt(1_000));
+        List<String> lines = new ArrayList<>();
+        
+        for (int tail = 0; tail < graph.size(); tail++) {
+            for (int arc = graph.getOutgoingArcsBegin(tail);
+                     arc < graph.getOutgoingArcsEnd(tail);
+                     arc++) {
+                lines.add(String.format("a %d %d %d",
+                                        tail + 1,
+                                        graph.getArcHead(arc) + 1,
+                                        (long) graph.getArcWeight(arc)));
+            }
+        }
+        
+        Collections.shuffle(lines, random);
+        lines.add(0, "c A random graph.");
+        lines.add(1, String.format("p sp %d %d",
+                                   graph.size(),
+                                   graph.getNumberOfArcs()));
+        
+        Path file = write(String.join("\n", lines) + "\n");
+        
+        for (int chunkSize : CHUNK_SIZES) {
+            GraphLoader loader = getLoader(chunkSize);
+            assertGraphsEqual(graph, loader.loadDimacsGraph(file));
+            assertEquals(Files.size(file), loader.getLastBytesRead());
+            assertTrue(loader.getLastThroughput() > 0.0);
+        }
+    }
+    
+    @Test
+    public void loadsDimacsCoordinates() throws IOException {
+        Path file = write("c Coordinates.\r\n" +
+                          "p aux sp co 3\r\n" +
+                          "v 1 -73530767 41085396\r\n" +
+                          "v 3 12 -5\r\n");
+        
+        for (int chunkSize : CHUNK_SIZES) {
+            GraphLoader.Coordinates coordinates =
+                    getLoader(chunkSize).loadDimacsCoordinates(file);
+            
+            assertEquals(3, coordinates.size());
+            assertArrayEquals(new double[]{ -73530767.0, 0.0, 12.0 },
+                              coordinates.getXs(),
+                              0.0);
+            assertArrayEquals(new double[]{ 41085396.0, 0.0, -5.0 },
+                              coordinates.getYs(),
+                              0.0);
+        }
+    }
+    
+    @Test
+    public void loadsEdgeLists() throws IOException {
+        Random random = new Random(197L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(400, 2_000, random);
+        StringBuilder stringBuilder = new StringBuilder("# An edge list.\n");
+        
+        for (int tail = 0; tail < graph.size(); tail++) {
+            for (int arc = graph.getOutgoingArcsBegin(tail);
+                     arc < graph.getOutgoingArcsEnd(tail);
+                     arc++) {
+                stringBuilder.append(tail)
+                             .append('\t')
+                             .append(graph.getArcHead(arc))
+                             .append(' ')
+                             .append(graph.getArcWeight(arc))
+                             .append(random.nextBoolean() ? "\r\n" : "\n");
+                
+                if (random.nextInt(100) == 0) {
+                    stringBuilder.append("% A comment.\n\n");
+                }
+            }
+        }
+        
+        // The last line has no line break:
+        stringBuilder.setLength(stringBuilder.length() - 1);
+        
+        Path file = write(stringBuilder.toString());
+        
+        for (int chunkSize : CHUNK_SIZES) {
+            assertGraphsEqual(graph, getLoader(chunkSize).loadEdgeList(file));
+        }
+    }
+    
+    @Test
+    public void parsesWeightsInAllNotations() throws IOException {
+        CsrGraph graph = getLoader(3).loadEdgeList(
+                write("0 1\n" +
+                      "1 2 2.5\n" +
+                      "2 3 1e2\n" +
+                      "3 4 0.12345678901234567890\n" +
+                      "4 5 +7.\n"));
+        
+        assertEquals(6, graph.size());
+        assertEquals(1.0, graph.getWeight(0, 1), 0.0);
+        assertEquals(2.5, graph.getWeight(1, 2), 0.0);
+        assertEquals(100.0, graph.getWeight(2, 3), 0.0);
+        assertEquals(0.12345678901234567890, graph.getWeight(3, 4), 0.0);
+        assertEquals(7.0, graph.getWeight(4, 5), 0.0);
+    }
+    
+    @Test
+    public void loadedGraphAnswersQueries() throws IOException {
+        Path file = write("p sp 4 4\n" +
+                          "a 1 2 1\n" +
+                          "a 2 4 5\n" +
+                          "a 1 3 2\n" +
+                          "a 3 4 2\n");
+        
+        StaticGraphAdapter adapter =
+                new StaticGraphAdapter(getLoader(8).loadDimacsGraph(file));
+        
+        List<Integer> path =
+                new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                        .findShortestPath(0,
+                                          3,
+                                          adapter.getChildrenArcExpander(),
+                                          adapter.getParentsArcExpander(),
+                                          adapter.getWeightFunction(),
+                                          Double::compare,
+                                          new SearchWorkspace<>(
+                                                  adapter.getNodeIndexer()));
+        
+        assertEquals(List.of(0, 2, 3), path);
+    }
+    
+    @Test
+    public void rejectsMalformedFiles() throws IOException {
+        expectMalformedDimacsGraph("a 1 2 3\n");
+        expectMalformedDimacsGraph("p sp 2 1\na 1 3 1\n");
+        expectMalformedDimacsGraph("p sp 2 1\na 1 2 -1\n");
+        expectMalformedDimacsGraph("p sp 2 1\na 1 two 1\n");
+        expectMalformedDimacsGraph("p sp 2 1\nx 1 2 1\n");
+        expectMalformedDimacsGraph("p sp 2 1\np sp 2 1\n");
+        expectMalformedDimacsGraph("p max 2 1\n");
+        
+        try {
+            getLoader(4).loadEdgeList(write("0 1\n1 2 3 oops\n-1 0\n"));
+            fail("A malformed edge list was loaded.");
+        } catch (IOException ex) {
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNonPositiveChunkSize() {
+        new GraphLoader(ForkJoinPool.commonPool(), 0);
+    }
+    
+    private void expectMalformedDimacsGraph(String content)
+            throws IOException {
+        try {
+            getLoader(5).loadDimacsGraph(write(content));
+        } catch (IOException ex) {
+            return;
+        }
+        
+        fail("A malformed DIMACS graph was loaded: " + content);
+    }
+    
+    private Path write(String content) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+    
+    private static GraphLoader getLoader(int chunkSize) {
+        return new GraphLoader(new ForkJoinPool(4), chunkSize);
+    }
+    
+    private static void assertGraphsEqual(StaticGraph expected,
+                                          StaticGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getNumberOfArcs(), actual.getNumberOfArcs());
+        
+        for (int node = 0; node < expected.size(); node++) {
+            assertEquals(expected.getOutgoingArcsBegin(node),
+                         actual.getOutgoingArcsBegin(node));
+            assertEquals(expected.getIncomingArcsBegin(node),
+                         actual.getIncomingArcsBegin(node));
+        }
+        
+        for (int arc = 0; arc < expected.getNumberOfArcs(); arc++) {
+            assertEquals(expected.getArcHead(arc), actual.getArcHead(arc));
+            assertEquals(expected.getArcWeight(arc),
+                         actual.getArcWeight(arc),
+                         0.0);
+            assertEquals(expected.getIncomingArcTail(arc),
+                         actual.getIncomingArcTail(arc));
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class IndexedHeapTest {
+    
+    private static final int ELEMENTS = 500;
+    private static final int OPERATIONS = 20_000;
+    private static final int MAXIMUM_WEIGHT = 100;
+    
+    @Test
+    public void daryHeapMatchesReference() {
+        for (int degree = 2; degree <= 5; degree++) {
+            checkAgainstReference(
+                    new DaryHeap<Integer>(degree, Integer::compare),
+                    new Random(degree));
+        }
+    }
+    
+    @Test
+    public void pairingHeapMatchesReference() {
+        checkAgainstReference(new PairingHeap<Integer>(Integer::compare),
+                              new Random(31L));
+    }
+    
+    @Test
+    public void doubleDaryHeapMatchesReference() {
+        for (int degree = 2; degree <= 5; degree++) {
+            checkAgainstReference(new DoubleDaryHeap(degree),
+                                  new Random(degree));
+        }
+    }
+    
+    @Test
+    public void doublePairingHeapMatchesReference() {
+        checkAgainstReference(new DoublePairingHeap(), new Random(37L));
+    }
+    
+    @Test
+    public void clearRemovesAllElements() {
+        IndexedHeap<Integer> heap = new PairingHeap<>(Integer::compare);
+        
+        for (int element = 0; element < 100; element++) {
+            heap.insert(element, 100 - element);
+        }
+        
+        heap.extractMinimum();
+        heap.clear();
+        
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+        heap.insert(3, 1);
+        assertEquals(3, heap.extractMinimum());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void decreaseKeyRejectsLargerKeys() {
+        DoubleIndexedHeap heap = new DoubleDaryHeap();
+        heap.insert(1, 2.0);
+        heap.decreaseKey(1, 3.0);
+    }
+    
+    @Test
+    public void pathfindersAgreeOnPairingHeaps() {
+        Random random = new Random(41L);
+        DijkstrasAlgorithm<DirectedGraphNode, Integer> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        BidirectionalDijkstrasAlgorithm<DirectedGraphNode, Integer>
+                pathfinder =
+                new BidirectionalDijkstrasAlgorithm<>(PairingHeap::new);
+        
+        DoubleBidirectionalDijkstrasAlgorithm<DirectedGraphNode>
+                doublePathfinder =
+                new DoubleBidirectionalDijkstrasAlgorithm<>(
+                        DoublePairingHeap::new);
+        
+        DirectedGraphNodeChildrenExpander childrenExpander =
+                new DirectedGraphNodeChildrenExpander();
+        
+        DirectedGraphNodeParentsExpander parentsExpander =
+                new DirectedGraphNodeParentsExpander();
+        
+        DirectedGraphWeightFunction weightFunction =
+                new DirectedGraphWeightFunction();
+        
+        for (int i = 0; i < 10; i++) {
+            List<DirectedGraphNode> graph =
+                    DirectedGraphs.getRandomGraph(1_000,
+                                                  5_000,
+                                                  random);
+            
+            DirectedGraphNode source =
+                    DirectedGraphs.choose(graph, random);
+            
+            DirectedGraphNode target =
+                    DirectedGraphs.choose(graph, random);
+            
+            int expectedCost;
+            
+            try {
+                expectedCost = DirectedGraphs.getPathCost(
+                        referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                childrenExpander,
+                                weightFunction,
+                                Integer::compare));
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 pathfinder.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         weightFunction,
+                                         Integer::compare)));
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 doublePathfinder.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         (tail, head) ->
+                                                 tail.getWeightTo(head))));
+        }
+    }
+    
+    @Test
+    public void dialHeapMatchesMonotoneReference() {
+        checkAgainstMonotoneReference(new DialHeap<Integer>(MAXIMUM_WEIGHT),
+                                      new Random(43L));
+    }
+    
+    @Test
+    public void radixHeapMatchesMonotoneReference() {
+        checkAgainstMonotoneReference(new RadixHeap<Integer>(),
+                                      new Random(47L));
+    }
+    
+    @Test
+    public void monotoneHeapsSurviveClear() {
+        List<IndexedHeap<Integer>> heaps =
+                List.of(new DialHeap<>(MAXIMUM_WEIGHT), new RadixHeap<>());
+        
+        for (IndexedHeap<Integer> heap : heaps) {
+            heap.insert(1, 70);
+            heap.insert(2, 90);
+            assertEquals(1, heap.extractMinimum());
+            heap.clear();
+            
+            assertTrue(heap.isEmpty());
+            heap.insert(2, 5);
+            heap.insert(1, 3);
+            assertEquals(Integer.valueOf(3), heap.getMinimumKey());
+            assertEquals(1, heap.extractMinimum());
+            assertEquals(2, heap.extractMinimum());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void dialHeapRejectsKeysOutOfRange() {
+        IndexedHeap<Integer> heap = new DialHeap<>(10);
+        heap.insert(0, 5);
+        heap.extractMinimum();
+        heap.insert(1, 16);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void radixHeapRejectsKeysBelowMinimum() {
+        IndexedHeap<Integer> heap = new RadixHeap<>();
+        heap.insert(0, 5);
+        heap.extractMinimum();
+        heap.insert(1, 4);
+    }
+    
+    @Test
+    public void pathfindersAgreeOnMonotoneHeaps() {
+        Random random = new Random(53L);
+        DijkstrasAlgorithm<DirectedGraphNode, Integer> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        List<IndexedHeapFactory<Integer>> heapFactories =
+                List.of(DialHeap.getFactory(MAXIMUM_WEIGHT),
+                        RadixHeap.getFactory());
+        
+        DirectedGraphNodeChildrenExpander childrenExpander =
+                new DirectedGraphNodeChildrenExpander();
+        
+        DirectedGraphNodeParentsExpander parentsExpander =
+                new DirectedGraphNodeParentsExpander();
+        
+        DirectedGraphWeightFunction weightFunction =
+                new DirectedGraphWeightFunction();
+        
+        for (int i = 0; i < 10; i++) {
+            List<DirectedGraphNode> graph =
+                    DirectedGraphs.getRandomGraph(1_000,
+                                                  5_000,
+                                                  random);
+            
+            DirectedGraphNode source =
+                    DirectedGraphs.choose(graph, random);
+            
+            DirectedGraphNode target =
+                    DirectedGraphs.choose(graph, random);
+            
+            int expectedCost;
+            
+            try {
+                expectedCost = DirectedGraphs.getPathCost(
+                        referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                childrenExpander,
+                                weightFunction,
+                                Integer::compare));
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            for (IndexedHeapFactory<Integer> heapFactory : heapFactories) {
+                assertEquals(expectedCost,
+                             DirectedGraphs.getPathCost(
+                                     new DijkstrasAlgorithm<
+                                             DirectedGraphNode,
+                                             Integer>(heapFactory)
+                                             .findShortestPath(
+                                                     source,
+                                                     target,
+                                                     childrenExpander,
+                                                     weightFunction,
+                                                     Integer::compare)));
+                
+                assertEquals(expectedCost,
+                             DirectedGraphs.getPathCost(
+                                     new BidirectionalDijkstrasAlgorithm<
+                                             DirectedGraphNode,
+                                             Integer>(heapFactory)
+                                             .findShortestPath(
+                                                     source,
+                                                     target,
+                                                     childrenExpander,
+                                                     parentsExpander,
+                                                     weightFunction,
+                                                     Integer::compare)));
+            }
+        }
+    }
+    
+    /**
+     * Runs random operations on the input monotone heap, never inserting a
+     * key below the last minimum key nor above it by more than
+     * {@link #MAXIMUM_WEIGHT}.
+     */
+    private static void checkAgainstMonotoneReference(
+            IndexedHeap<Integer> heap,
+            Random random) {
+        Integer[] referenceKeys = new Integer[ELEMENTS];
+        int lastMinimumKey = 0;
+        
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            int element = random.nextInt(ELEMENTS);
+            
+            if (random.nextInt(3) == 0 && !heap.isEmpty()) {
+                int minimumKey = heap.getMinimumKey();
+                int minimumElement = heap.extractMinimum();
+                assertEquals(minimumKey, (int) referenceKeys[minimumElement]);
+                assertEquals(minimumKey, getMinimum(referenceKeys));
+                referenceKeys[minimumElement] = null;
+                lastMinimumKey = minimumKey;
+            } else if (referenceKeys[element] == null) {
+                int key = lastMinimumKey + random.nextInt(MAXIMUM_WEIGHT + 1);
+                heap.insert(element, key);
+                referenceKeys[element] = key;
+            } else {
+                int key = Math.max(lastMinimumKey,
+                                   referenceKeys[element] -
+                                           random.nextInt(10));
+                heap.decreaseKey(element, key);
+                referenceKeys[element] = key;
+            }
+            
+            assertEquals(
+                    Arrays.stream(referenceKeys).filter(k -> k != null).count(),
+                    heap.size());
+        }
+    }
+    
+    private static void checkAgainstReference(IndexedHeap<Integer> heap,
+                                              Random random) {
+        Integer[] referenceKeys = new Integer[ELEMENTS];
+        
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            int element = random.nextInt(ELEMENTS);
+            
+            if (random.nextInt(3) == 0 && !heap.isEmpty()) {
+                int minimumKey = heap.getMinimumKey();
+                int minimumElement = heap.extractMinimum();
+                assertEquals(minimumKey, (int) referenceKeys[minimumElement]);
+                assertEquals(minimumKey, getMinimum(referenceKeys));
+                referenceKeys[minimumElement] = null;
+            } else if (referenceKeys[element] == null) {
+                int key = random.nextInt(1_000);
+                heap.insert(element, key);
+                referenceKeys[element] = key;
+            } else {
+                int key = referenceKeys[element] - random.nextInt(10);
+                heap.decreaseKey(element, key);
+                referenceKeys[element] = key;
+            }
+            
+            assertEquals(
+                    Arrays.stream(referenceKeys).filter(k -> k != null).count(),
+                    heap.size());
+        }
+    }
+    
+    private static void checkAgainstReference(DoubleIndexedHeap heap,
+                                              Random random) {
+        Double[] referenceKeys = new Double[ELEMENTS];
+        
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            int element = random.nextInt(ELEMENTS);
+            
+            if (random.nextInt(3) == 0 && !heap.isEmpty()) {
+                double minimumKey = heap.getMinimumKey();
+                int minimumElement = heap.extractMinimum();
+                assertEquals(minimumKey, referenceKeys[minimumElement], 0.0);
+                referenceKeys[minimumElement] = null;
+                
+                for (Double key : referenceKeys) {
+                    assertTrue(key == null || key >= minimumKey);
+                }
+            } else if (referenceKeys[element] == null) {
+                double key = random.nextDouble();
+                heap.insert(element, key);
+                referenceKeys[element] = key;
+            } else {
+                double key = referenceKeys[element] - random.nextDouble();
+                heap.decreaseKey(element, key);
+                referenceKeys[element] = key;
+            }
+        }
+    }
+    
+    private static int getMinimum(Integer[] keys) {
+        int minimum = Integer.MAX_VALUE;
+        
+        for (Integer key : keys) {
+            if (key != null) {
+                minimum = Math.min(minimum, key);
+            }
+        }
+        
+        return minimum;
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedCsrGraphTest {
+    
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    @Test
+    public void mappedGraphEqualsWrittenGraph() throws IOException {
+        Random random = new Random(181L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(3_000, 15_000, random);
+        MappedCsrGraph mappedGraph = writeAndOpen(graph);
+        
+        assertEquals(graph.size(), mappedGraph.size());
+        assertEquals(graph.getNumberOfArcs(), mappedGraph.getNumberOfArcs());
+        
+        for (int node = 0; node < graph.size(); node++) {
+            assertEquals(graph.getOutgoingArcsBegin(node),
+                         mappedGraph.getOutgoingArcsBegin(node));
+            assertEquals(graph.getOutgoingArcsEnd(node),
+                         mappedGraph.getOutgoingArcsEnd(node));
+            assertEquals(graph.getIncomingArcsBegin(node),
+                         mappedGraph.getIncomingArcsBegin(node));
+            assertEquals(graph.getIncomingArcsEnd(node),
+                         mappedGraph.getIncomingArcsEnd(node));
+        }
+        
+        for (int arc = 0; arc < graph.getNumberOfArcs(); arc++) {
+            assertEquals(graph.getArcHead(arc), mappedGraph.getArcHead(arc));
+            assertEquals(graph.getArcWeight(arc),
+                         mappedGraph.getArcWeight(arc),
+                         0.0);
+            assertEquals(graph.getIncomingArcTail(arc),
+                         mappedGraph.getIncomingArcTail(arc));
+            assertEquals(graph.getIncomingArcWeight(arc),
+                         mappedGraph.getIncomingArcWeight(arc),
+                         0.0);
+        }
+        
+        for (int i = 0; i < 10_000; i++) {
+            int tail = random.nextInt(graph.size());
+            int head = random.nextInt(graph.size());
+            
+            assertEquals(graph.getWeight(tail, head),
+                         mappedGraph.getWeight(tail, head),
+                         0.0);
+        }
+    }
+    
+    @Test
+    public void mappedGraphAnswersQueries() throws IOException {
+        Random random = new Random(191L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(2_000, 8_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        StaticGraphAdapter mappedAdapter =
+                new StaticGraphAdapter(writeAndOpen(graph));
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        for (int i = 0; i < 50; i++) {
+            int source = random.nextInt(graph.size());
+            int target = random.nextInt(graph.size());
+            List<Integer> expectedPath;
+            
+            try {
+                expectedPath = pathfinder.findShortestPath(
+                        adapter.getNode(source),
+                        adapter.getNode(target),
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander(),
+                        new DoubleSearchWorkspace<>(
+                                adapter.getNodeIndexer()));
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            List<Integer> path = pathfinder.findShortestPath(
+                    mappedAdapter.getNode(source),
+                    mappedAdapter.getNode(target),
+                    mappedAdapter.getDoubleChildrenArcExpander(),
+                    mappedAdapter.getDoubleParentsArcExpander(),
+                    new DoubleSearchWorkspace<>(
+                            mappedAdapter.getNodeIndexer()));
+            
+            assertEquals(CsrGraphs.getPathCost(expectedPath, graph),
+                         CsrGraphs.getPathCost(path, graph),
+                         1e-9);
+        }
+    }
+    
+    @Test
+    public void emptyGraphRoundTrips() throws IOException {
+        MappedCsrGraph mappedGraph =
+                writeAndOpen(new CsrGraph.Builder(0).build());
+        
+        assertEquals(0, mappedGraph.size());
+        assertEquals(0, mappedGraph.getNumberOfArcs());
+    }
+    
+    @Test
+    public void rejectsCorruptFiles() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        MappedCsrGraph.write(new CsrGraph.Builder(3).addArc(0, 1, 1.0)
+                                                    .addArc(1, 2, 2.0)
+                                                    .build(),
+                             file);
+        
+        byte[] bytes = Files.readAllBytes(file);
+        
+        expectInvalid(Arrays.copyOf(bytes, 10));
+        expectInvalid(Arrays.copyOf(bytes, bytes.length - 1));
+        
+        byte[] badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        expectInvalid(badMagic);
+        
+        byte[] badVersion = bytes.clone();
+        ByteBuffer.wrap(badVersion)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .putInt(Integer.BYTES, MappedCsrGraph.VERSION + 1);
+        expectInvalid(badVersion);
+    }
+    
+    private MappedCsrGraph writeAndOpen(StaticGraph graph)
+            throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        MappedCsrGraph.write(graph, file);
+        return MappedCsrGraph.open(file);
+    }
+    
+    private void expectInvalid(byte[] bytes) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, bytes);
+        
+        try {
+            MappedCsrGraph.open(file);
+        } catch (IOException ex) {
+            return;
+        }
+        
+        fail("A corrupt graph file was opened.");
+    }
+}
@@ -0,0 +1,310 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class NearestTargetTest {
+    
+    private static final int NODES = 2_000;
+    private static final int ARCS = 6_000;
+    private static final int QUERIES = 50;
+    private static final int TARGETS = 40;
+    
+    @Test
+    public void nearestTargetsAgreeWithShortestPathTree() {
+        Random random = new Random(137L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            List<Integer> targets = getRandomNodes(random);
+            
+            DoubleShortestPathTree<Integer> tree =
+                    pathfinder.computeShortestPathTree(
+                            source,
+                            adapter.getDoubleChildrenArcExpander(),
+                            workspace);
+            
+            List<Double> expectedDistances = new ArrayList<>();
+            
+            for (int position = 0; position < tree.size(); position++) {
+                if (targets.contains(tree.getNode(position))) {
+                    expectedDistances.add(tree.getDistanceAt(position));
+                }
+            }
+            
+            int k = 1 + random.nextInt(5);
+            
+            List<DoubleNearestTarget<Integer>> nearestTargets =
+                    pathfinder.findNearestTargets(
+                            source,
+                            targets,
+                            k,
+                            adapter.getDoubleChildrenArcExpander(),
+                            workspace);
+            
+            assertEquals(Math.min(k, expectedDistances.size()),
+                         nearestTargets.size());
+            
+            for (int j = 0; j < nearestTargets.size(); j++) {
+                DoubleNearestTarget<Integer> nearestTarget = 
+                        nearestTargets.get(j);
+                List<Integer> path = nearestTarget.getPath();
+                
+                assertTrue(targets.contains(nearestTarget.getNode()));
+                assertEquals(expectedDistances.get(j),
+                             nearestTarget.getDistance(),
+                             0.0);
+                
+                assertEquals(source, path.get(0));
+                assertEquals(nearestTarget.getNode(),
+                             path.get(path.size() - 1));
+                
+                assertEquals(nearestTarget.getDistance(),
+                             CsrGraphs.getPathCost(path, graph),
+                             1e-9);
+            }
+        }
+    }
+    
+    @Test
+    public void multiSourceSearchFindsTheNearestTarget() {
+        Random random = new Random(139L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            List<Integer> targets = getRandomNodes(random);
+            
+            List<DoubleNearestTarget<Integer>> expectedTargets =
+                    pathfinder.findNearestTargets(
+                            source,
+                            targets,
+                            1,
+                            adapter.getDoubleChildrenArcExpander(),
+                            workspace);
+            
+            DoubleNearestTarget<Integer> nearestTarget;
+            
+            try {
+                nearestTarget =
+                        pathfinder.findNearestTarget(
+                                source,
+                                targets,
+                                adapter.getDoubleParentsArcExpander(),
+                                workspace);
+            } catch (IllegalStateException ex) {
+                assertTrue(expectedTargets.isEmpty());
+                continue;
+            }
+            
+            List<Integer> path = nearestTarget.getPath();
+            
+            assertEquals(expectedTargets.get(0).getDistance(),
+                         nearestTarget.getDistance(),
+                         1e-9);
+            
+            assertTrue(targets.contains(nearestTarget.getNode()));
+            assertEquals(source, path.get(0));
+            assertEquals(nearestTarget.getNode(), path.get(path.size() - 1));
+            assertEquals(nearestTarget.getDistance(),
+                         CsrGraphs.getPathCost(path, graph),
+                         1e-9);
+        }
+    }
+    
+    @Test
+    public void sourceAmongTargetsIsNearest() {
+        CsrGraph graph = new CsrGraph.Builder(3).addArc(0, 1, 1.0)
+                                                .addArc(1, 2, 1.0)
+                                                .build();
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleNearestTarget<Integer> nearestTarget =
+                new DoubleDijkstrasAlgorithm<Integer>().findNearestTarget(
+                        1,
+                        List.of(2, 1),
+                        adapter.getDoubleParentsArcExpander(),
+                        workspace);
+        
+        assertEquals(Integer.valueOf(1), nearestTarget.getNode());
+        assertEquals(0.0, nearestTarget.getDistance(), 0.0);
+        assertEquals(List.of(1), nearestTarget.getPath());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsWhenNoTargetIsReachable() {
+        CsrGraph graph = new CsrGraph.Builder(3).addArc(1, 0, 1.0)
+                                                .addArc(2, 0, 1.0)
+                                                .build();
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        new DoubleDijkstrasAlgorithm<Integer>().findNearestTarget(
+                0,
+                List.of(1, 2),
+                adapter.getDoubleParentsArcExpander(),
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer()));
+    }
+    
+    @Test
+    public void genericNearestTargetsAgreeWithPrimitiveSearch() {
+        Random random = new Random(149L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DijkstrasAlgorithm<Integer, Double> pathfinder = 
+                new DijkstrasAlgorithm<>();
+        
+        DoubleDijkstrasAlgorithm<Integer> referencePathfinder = 
+                new DoubleDijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> referenceWorkspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            List<Integer> targets = getRandomNodes(random);
+            int k = 1 + random.nextInt(5);
+            
+            List<NearestTarget<Integer, Double>> nearestTargets = 
+                    pathfinder.findNearestTargets(
+                            source,
+                            targets,
+                            k,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            List<DoubleNearestTarget<Integer>> expectedTargets = 
+                    referencePathfinder.findNearestTargets(
+                            source,
+                            targets,
+                            k,
+                            adapter.getDoubleChildrenArcExpander(),
+                            referenceWorkspace);
+            
+            assertEquals(expectedTargets.size(), nearestTargets.size());
+            
+            for (int j = 0; j < nearestTargets.size(); j++) {
+                NearestTarget<Integer, Double> nearestTarget = 
+                        nearestTargets.get(j);
+                
+                DoubleNearestTarget<Integer> expectedTarget = 
+                        expectedTargets.get(j);
+                
+                assertEquals(expectedTarget.getNode(), nearestTarget.getNode());
+                assertEquals(expectedTarget.getDistance(),
+                             nearestTarget.getDistance(),
+                             0.0);
+                
+                assertEquals(expectedTarget.getPath(), nearestTarget.getPath());
+            }
+        }
+    }
+    
+    @Test
+    public void genericMultiSourceSearchAgreesWithPrimitiveSearch() {
+        Random random = new Random(151L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DijkstrasAlgorithm<Integer, Double> pathfinder = 
+                new DijkstrasAlgorithm<>();
+        
+        DoubleDijkstrasAlgorithm<Integer> referencePathfinder = 
+                new DoubleDijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> referenceWorkspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        int reachableQueries = 0;
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            List<Integer> targets = getRandomNodes(random);
+            DoubleNearestTarget<Integer> expectedTarget;
+            
+            try {
+                expectedTarget = 
+                        referencePathfinder.findNearestTarget(
+                                source,
+                                targets,
+                                adapter.getDoubleParentsArcExpander(),
+                                referenceWorkspace);
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            NearestTarget<Integer, Double> nearestTarget = 
+                    pathfinder.findNearestTarget(
+                            source,
+                            targets,
+                            adapter.getParentsArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            assertEquals(expectedTarget.getNode(), nearestTarget.getNode());
+            assertEquals(expectedTarget.getDistance(),
+                         nearestTarget.getDistance(),
+                         0.0);
+            
+            assertEquals(expectedTarget.getPath(), nearestTarget.getPath());
+            reachableQueries++;
+        }
+        
+        assertTrue(reachableQueries > QUERIES / 2);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void genericThrowsWhenNoTargetIsReachable() {
+        CsrGraph graph = new CsrGraph.Builder(3).addArc(1, 0, 1.0)
+                                                .addArc(2, 0, 1.0)
+                                                .build();
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        new DijkstrasAlgorithm<Integer, Double>().findNearestTarget(
+                0,
+                List.of(1, 2),
+                adapter.getParentsArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                new SearchWorkspace<>(adapter.getNodeIndexer()));
+    }
+    
+    private static List<Integer> getRandomNodes(Random random) {
+        List<Integer> nodes = new ArrayList<>(TARGETS);
+        
+        for (int i = 0; i < TARGETS; i++) {
+            nodes.add(random.nextInt(NODES));
+        }
+        
+        return nodes;
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class ParallelBidirectionalDijkstrasAlgorithmTest {
+    
+    private static final int GRAPHS = 10;
+    private static final int QUERIES = 50;
+    
+    @Test
+    public void bruteForceComparisonToDijkstra() {
+        Random random = new Random(13L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        DoubleDijkstrasAlgorithm<Integer> referencePathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        ParallelBidirectionalDijkstrasAlgorithm<Integer> pathfinder =
+                new ParallelBidirectionalDijkstrasAlgorithm<>(
+                        DoubleDaryHeap.getFactory(DoubleDaryHeap.DEFAULT_DEGREE),
+                        executor);
+        
+        try {
+            for (int i = 0; i < GRAPHS; i++) {
+                CsrGraph graph = 
+                        CsrGraphs.getRandomGraph(2_000, 6_000, random);
+                
+                StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+                ParallelSearchWorkspace<Integer> workspace = 
+                        new ParallelSearchWorkspace<>(adapter.getNodeIndexer());
+                
+                for (int j = 0; j < QUERIES; j++) {
+                    checkQuery(referencePathfinder, 
+                               pathfinder, 
+                               adapter, 
+                               workspace, 
+                               random);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void fiveNodeGraph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(5);
+        builder.addArc(0, 1, 6.0);
+        builder.addArc(1, 4, 4.0);
+        builder.addArc(0, 2, 3.0);
+        builder.addArc(2, 3, 3.0);
+        builder.addArc(3, 4, 3.0);
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(builder.build());
+        
+        assertEquals(List.of(0, 2, 3, 4),
+                     new ParallelBidirectionalDijkstrasAlgorithm<Integer>()
+                             .findShortestPath(
+                                     adapter.getNode(0),
+                                     adapter.getNode(4),
+                                     adapter.getDoubleChildrenArcExpander(),
+                                     adapter.getDoubleParentsArcExpander(),
+                                     new ParallelSearchWorkspace<>(
+                                             adapter.getNodeIndexer())));
+    }
+    
+    private static void checkQuery(
+            DoubleDijkstrasAlgorithm<Integer> referencePathfinder,
+            ParallelBidirectionalDijkstrasAlgorithm<Integer> pathfinder,
+            StaticGraphAdapter adapter,
+            ParallelSearchWorkspace<Integer> workspace,
+            Random random) {
+        
+        StaticGraph graph = adapter.getGraph();
+        Integer source = adapter.getNode(random.nextInt(graph.size()));
+        Integer target = adapter.getNode(random.nextInt(graph.size()));
+        
+        List<Integer> expectedPath = null;
+        List<Integer> path = null;
+        
+        try {
+            expectedPath = referencePathfinder.findShortestPath(
+                    source,
+                    target,
+                    adapter.getDoubleChildrenArcExpander());
+        } catch (IllegalStateException ex) {
+        
+        }
+        
+        try {
+            path = pathfinder.findShortestPath(
+                    source,
+                    target,
+                    adapter.getDoubleChildrenArcExpander(),
+                    adapter.getDoubleParentsArcExpander(),
+                    workspace);
+        } catch (IllegalStateException ex) {
+        
+        }
+        
+        if (expectedPath == null) {
+            assertNull(path);
+        } else {
+            assertEquals(source, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+            assertEquals(CsrGraphs.getPathCost(expectedPath, graph),
+                         CsrGraphs.getPathCost(path, graph),
+                         1e-9);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class SearchBudgetTest {
+    
+    private static final int CHAIN_LENGTH = 100_000;
+    
+    @Test
+    public void generousBudgetDoesNotChangeTheResult() {
+        Random random = new Random(157L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(2_000, 8_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setTimeout(1, TimeUnit.HOURS)
+                        .setMaximumSettledNodes(graph.size())
+                        .setMaximumDistance(Double.MAX_VALUE)
+                        .setCancellationToken(new CancellationToken())
+                        .build();
+        
+        for (int i = 0; i < 50; i++) {
+            Integer source = random.nextInt(graph.size());
+            Integer target = random.nextInt(graph.size());
+            List<Integer> expectedPath;
+            
+            try {
+                expectedPath = findPathForward(adapter,
+                                               source,
+                                               target,
+                                               workspace,
+                                               SearchBudget.unlimited());
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            double expectedCost = CsrGraphs.getPathCost(expectedPath,
+                                                           graph);
+            
+            assertEquals(expectedCost,
+                         CsrGraphs.getPathCost(
+                                 findPathForward(adapter,
+                                                 source,
+                                                 target,
+                                                 workspace,
+                                                 budget),
+                                 graph),
+                         1e-9);
+            
+            assertEquals(expectedCost,
+                         CsrGraphs.getPathCost(
+                                 findPathBidirectional(adapter,
+                                                       source,
+                                                       target,
+                                                       workspace,
+                                                       budget),
+                                 graph),
+                         1e-9);
+        }
+    }
+    
+    @Test
+    public void settledNodeCapStopsBothSearches() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumSettledNodes(100)
+                        .build();
+        
+        SearchBudgetExceededException ex =
+                expectExceeded(() -> findPathForward(adapter,
+                                                     0,
+                                                     CHAIN_LENGTH - 1,
+                                                     workspace,
+                                                     budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.SETTLED_NODES,
+                     ex.getReason());
+        assertEquals(100L, ex.getSettledCount());
+        
+        ex = expectExceeded(() -> findPathBidirectional(adapter,
+                                                        0,
+                                                        CHAIN_LENGTH - 1,
+                                                        workspace,
+                                                        budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.SETTLED_NODES,
+                     ex.getReason());
+        assertEquals(100L, ex.getSettledCount());
+        
+        // The workspace stays usable after an interrupted search:
+        assertEquals(List.of(10, 11, 12),
+                     findPathForward(adapter, 10, 12, workspace, budget));
+    }
+    
+    @Test
+    public void maximumDistanceBoundsThePath() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumDistance(50.0)
+                        .build();
+        
+        assertEquals(51, findPathForward(adapter, 0, 50, workspace, budget)
+                                 .size());
+        assertEquals(51,
+                     findPathBidirectional(adapter, 0, 50, workspace, budget)
+                             .size());
+        
+        SearchBudgetExceededException ex =
+                expectExceeded(() -> findPathForward(adapter,
+                                                     0,
+                                                     51,
+                                                     workspace,
+                                                     budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.DISTANCE,
+                     ex.getReason());
+        
+        ex = expectExceeded(() -> findPathBidirectional(adapter,
+                                                        0,
+                                                        51,
+                                                        workspace,
+                                                        budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.DISTANCE,
+                     ex.getReason());
+    }
+    
+    @Test
+    public void cancelledTokenStopsTheSearch() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setCancellationToken(cancellationToken)
+                        .build();
+        
+        SearchBudgetExceededException ex =
+                expectExceeded(() -> findPathBidirectional(
+                        adapter,
+                        0,
+                        CHAIN_LENGTH - 1,
+                        new SearchWorkspace<>(adapter.getNodeIndexer()),
+                        budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.CANCELLED,
+                     ex.getReason());
+        assertEquals(0L, ex.getSettledCount());
+    }
+    
+    @Test
+    public void elapsedTimeoutStopsTheSearch() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setTimeout(0L, TimeUnit.NANOSECONDS)
+                        .build();
+        
+        SearchBudgetExceededException ex =
+                expectExceeded(() -> findPathForward(
+                        adapter,
+                        0,
+                        CHAIN_LENGTH - 1,
+                        new SearchWorkspace<>(adapter.getNodeIndexer()),
+                        budget));
+        
+        assertEquals(SearchBudgetExceededException.Reason.DEADLINE,
+                     ex.getReason());
+    }
+    
+    @Test
+    public void exhaustedBudgetStillReturnsFoundPath() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumSettledNodes(0)
+                        .setTimeout(0L, TimeUnit.NANOSECONDS)
+                        .build();
+        
+        assertEquals(List.of(7),
+                     findPathForward(adapter, 7, 7, workspace, budget));
+        assertEquals(List.of(7),
+                     findPathBidirectional(adapter, 7, 7, workspace, budget));
+        
+        SearchBudget<Double> oneNodeBudget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumSettledNodes(1)
+                        .build();
+        
+        // The target is reached by settling the source only:
+        assertEquals(List.of(7, 8),
+                     findPathForward(adapter, 7, 8, workspace, oneNodeBudget));
+    }
+    
+    @Test
+    public void searchReportsExceededBudgetInTheResult() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumSettledNodes(100)
+                        .build();
+        
+        SearchResult<Integer, Double> result =
+                new DijkstrasAlgorithm<Integer, Double>().search(
+                        0,
+                        CHAIN_LENGTH - 1,
+                        adapter.getChildrenArcExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare,
+                        workspace,
+                        budget);
+        
+        assertTrue(result.isBudgetExceeded());
+        assertEquals(SearchBudgetExceededException.Reason.SETTLED_NODES,
+                     result.getBudgetExceededReason());
+        assertEquals(100, result.getSettledCount());
+        assertFalse(result.isReachable());
+        assertFalse(result.hasPath());
+        
+        result = new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                .searchDistance(0,
+                                CHAIN_LENGTH - 1,
+                                adapter.getChildrenArcExpander(),
+                                adapter.getParentsArcExpander(),
+                                adapter.getWeightFunction(),
+                                Double::compare,
+                                workspace,
+                                budget);
+        
+        assertTrue(result.isBudgetExceeded());
+        assertEquals(SearchBudgetExceededException.Reason.SETTLED_NODES,
+                     result.getBudgetExceededReason());
+        assertEquals(100, result.getSettledCount());
+        
+        result = new DijkstrasAlgorithm<Integer, Double>().search(
+                0,
+                50,
+                adapter.getChildrenArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                workspace,
+                budget);
+        
+        assertFalse(result.isBudgetExceeded());
+        assertNull(result.getBudgetExceededReason());
+        assertEquals(51, result.getPath().size());
+    }
+    
+    @Test
+    public void exceededBudgetHasNoStackTrace() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(getChain());
+        
+        SearchBudget<Double> budget =
+                new SearchBudget.Builder<Double>()
+                        .setMaximumSettledNodes(10)
+                        .build();
+        
+        SearchBudgetExceededException ex =
+                expectExceeded(() -> findPathForward(
+                        adapter,
+                        0,
+                        CHAIN_LENGTH - 1,
+                        new SearchWorkspace<>(adapter.getNodeIndexer()),
+                        budget));
+        
+        assertEquals(0, ex.getStackTrace().length);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNegativeSettledNodeCap() {
+        new SearchBudget.Builder<Double>().setMaximumSettledNodes(-1);
+    }
+    
+    private static List<Integer> findPathForward(
+            StaticGraphAdapter adapter,
+            Integer source,
+            Integer target,
+            SearchWorkspace<Integer, Double> workspace,
+            SearchBudget<Double> budget) {
+        return new DijkstrasAlgorithm<Integer, Double>().findShortestPath(
+                source,
+                target,
+                adapter.getChildrenArcExpander(),
+                adapter.getWeightFunction(),
+                Double::compare,
+                workspace,
+                budget);
+    }
+    
+    private static List<Integer> findPathBidirectional(
+            StaticGraphAdapter adapter,
+            Integer source,
+            Integer target,
+            SearchWorkspace<Integer, Double> workspace,
+            SearchBudget<Double> budget) {
+        return new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                .findShortestPath(source,
+                                  target,
+                                  adapter.getChildrenArcExpander(),
+                                  adapter.getParentsArcExpander(),
+                                  adapter.getWeightFunction(),
+                                  Double::compare,
+                                  workspace,
+                                  budget);
+    }
+    
+    private static SearchBudgetExceededException expectExceeded(
+            Runnable query) {
+        try {
+            query.run();
+        } catch (SearchBudgetExceededException ex) {
+            return ex;
+        }
+        
+        fail("The search budget was not exceeded.");
+        return null;
+    }
+    
+    /**
+     * Returns the path graph {@code 0 -> 1 -> ... -> CHAIN_LENGTH - 1} with
+     * unit arc weights.
+     */
+    private static CsrGraph getChain() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(CHAIN_LENGTH);
+        
+        for (int node = 0; node + 1 < CHAIN_LENGTH; node++) {
+            builder.addArc(node, node + 1, 1.0);
+        }
+        
+        return builder.build();
+    }
+}
@@ -0,0 +1,278 @@
+package com.github.coderodde.pathfinding;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SearchListenerTest {
+    
+    private static final int NODES = 2_000;
+    private static final int ARCS = 8_000;
+    private static final int QUERIES = 50;
+    
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    @Test
+    public void metricsAgreeWithTheResults() {
+        Random random = new Random(179L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        RecordingListener listener = new RecordingListener();
+        
+        assertNull(workspace.getLastMetrics());
+        workspace.setSearchListener(listener);
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            Integer target = random.nextInt(NODES);
+            
+            SearchResult<Integer, Double> result = 
+                    new DijkstrasAlgorithm<Integer, Double>()
+                            .search(source, 
+                                    target, 
+                                    adapter.getChildrenArcExpander(), 
+                                    adapter.getWeightFunction(), 
+                                    Double::compare, 
+                                    workspace);
+            
+            SearchMetrics metrics = workspace.getLastMetrics();
+            
+            assertSame(metrics, listener.metrics);
+            assertFalse(metrics.isBidirectional());
+            assertTrue(metrics.isCompleted());
+            assertEquals(result.isReachable(), metrics.isReachable());
+            assertEquals(result.getForwardSettledCount(), 
+                         metrics.getForwardSettledCount());
+            assertEquals(0, metrics.getBackwardSettledCount());
+            assertEquals(metrics.getForwardSettledCount(), 
+                         listener.forwardDistances.size());
+            assertNonDecreasing(listener.forwardDistances);
+            
+            // Every settled node but the source was inserted via an arc:
+            assertTrue(metrics.getForwardHeapInsertionCount() >= 
+                       metrics.getForwardSettledCount());
+            assertTrue(metrics.getForwardRelaxationCount() >= 
+                       metrics.getForwardHeapInsertionCount() - 1 + 
+                       metrics.getForwardDecreaseKeyCount());
+            assertEquals(0, metrics.getMeetingPointUpdateCount());
+            assertEquals(SearchMetrics.NOT_MET, 
+                         metrics.getSettledCountAtFirstMeeting());
+            
+            listener.clear();
+            
+            result = new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                            .search(source, 
+                                    target, 
+                                    adapter.getChildrenArcExpander(), 
+                                    adapter.getParentsArcExpander(),
+                                    adapter.getWeightFunction(), 
+                                    Double::compare, 
+                                    workspace);
+            
+            metrics = workspace.getLastMetrics();
+            
+            assertTrue(metrics.isBidirectional());
+            assertEquals(result.isReachable(), metrics.isReachable());
+            assertEquals(result.getForwardSettledCount(), 
+                         metrics.getForwardSettledCount());
+            assertEquals(result.getBackwardSettledCount(), 
+                         metrics.getBackwardSettledCount());
+            assertEquals(metrics.getForwardSettledCount(), 
+                         listener.forwardDistances.size());
+            assertEquals(metrics.getBackwardSettledCount(), 
+                         listener.backwardDistances.size());
+            assertNonDecreasing(listener.forwardDistances);
+            assertNonDecreasing(listener.backwardDistances);
+            
+            if (result.isReachable() && !source.equals(target)) {
+                assertTrue(metrics.getMeetingPointUpdateCount() > 0);
+                assertTrue(metrics.getSettledCountAtFirstMeeting() <= 
+                           result.getSettledCount());
+            }
+            
+            listener.clear();
+        }
+    }
+    
+    @Test
+    public void reportsQueriesStoppedByTheBudget() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(1_000);
+        
+        for (int node = 0; node + 1 < 1_000; node++) {
+            builder.addArc(node, node + 1, 1.0);
+        }
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(builder.build());
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        RecordingListener listener = new RecordingListener();
+        workspace.setSearchListener(listener);
+        
+        SearchResult<Integer, Double> result = 
+                new DijkstrasAlgorithm<Integer, Double>()
+                        .search(0, 
+                                999, 
+                                adapter.getChildrenArcExpander(), 
+                                adapter.getWeightFunction(), 
+                                Double::compare, 
+                                workspace,
+                                new SearchBudget.Builder<Double>()
+                                        .setMaximumSettledNodes(10)
+                                        .build());
+        
+        assertTrue(result.isBudgetExceeded());
+        assertEquals(1, listener.finishedCount);
+        assertFalse(listener.metrics.isCompleted());
+        assertFalse(listener.metrics.isReachable());
+        assertEquals(10, listener.metrics.getForwardSettledCount());
+    }
+    
+    @Test
+    public void removingTheListenerStopsTheMetrics() {
+        Random random = new Random(181L);
+        StaticGraphAdapter adapter = 
+                new StaticGraphAdapter(
+                        CsrGraphs.getRandomGraph(100, 400, random));
+        
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        RecordingListener listener = new RecordingListener();
+        workspace.setSearchListener(listener);
+        searchBidirectionally(adapter, 0, 99, workspace);
+        workspace.setSearchListener(null);
+        searchBidirectionally(adapter, 0, 98, workspace);
+        
+        assertEquals(1, listener.finishedCount);
+    }
+    
+    @Test
+    public void flightRecorderListenerCommitsAnEventPerQuery() 
+            throws Exception {
+        StaticGraphAdapter adapter = 
+                new StaticGraphAdapter(
+                        CsrGraphs.getRandomGraph(NODES, 
+                                                    ARCS, 
+                                                    new Random(191L)));
+        
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        workspace.setSearchListener(new FlightRecorderSearchListener());
+        
+        // Disabled events are not recorded:
+        searchBidirectionally(adapter, 1, 2, workspace);
+        
+        Path file = temporaryFolder.newFile("search.jfr").toPath();
+        List<SearchMetrics> expectedMetrics = new ArrayList<>();
+        
+        try (Recording recording = new Recording()) {
+            recording.enable(SearchEvent.NAME);
+            recording.start();
+            
+            for (int i = 0; i < 10; i++) {
+                searchBidirectionally(adapter, i, NODES - 1 - i, workspace);
+                expectedMetrics.add(workspace.getLastMetrics());
+            }
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = new ArrayList<>();
+        
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals(SearchEvent.NAME)) {
+                events.add(event);
+            }
+        }
+        
+        assertEquals(10, events.size());
+        
+        RecordedEvent event = events.get(9);
+        SearchMetrics metrics = expectedMetrics.get(9);
+        
+        assertEquals("9", event.getString("source"));
+        assertEquals(String.valueOf(NODES - 10), event.getString("target"));
+        assertTrue(event.getBoolean("bidirectional"));
+        assertEquals(metrics.getForwardSettledCount(), 
+                     event.getInt("forwardSettledCount"));
+        assertEquals(metrics.getBackwardRelaxationCount(), 
+                     event.getLong("backwardRelaxationCount"));
+        assertEquals(metrics.getElapsedNanos(), 
+                     event.getDuration("searchTime").toNanos());
+        
+        // The event spans the query, so its duration is at least about the
+        // search time read from another clock:
+        assertTrue(event.getDuration().toNanos() > 0);
+        assertTrue(2 * event.getDuration().toNanos() >= 
+                   metrics.getElapsedNanos());
+    }
+    
+    private static void searchBidirectionally(
+            StaticGraphAdapter adapter,
+            Integer source,
+            Integer target,
+            SearchWorkspace<Integer, Double> workspace) {
+        new BidirectionalDijkstrasAlgorithm<Integer, Double>()
+                .searchDistance(source, 
+                                target, 
+                                adapter.getChildrenArcExpander(), 
+                                adapter.getParentsArcExpander(),
+                                adapter.getWeightFunction(), 
+                                Double::compare, 
+                                workspace);
+    }
+    
+    private static void assertNonDecreasing(List<Double> distances) {
+        for (int i = 1; i < distances.size(); i++) {
+            assertTrue(distances.get(i - 1) <= distances.get(i));
+        }
+    }
+    
+    private static final class RecordingListener 
+            implements SearchListener<Integer, Double> {
+        
+        final List<Double> forwardDistances = new ArrayList<>();
+        final List<Double> backwardDistances = new ArrayList<>();
+        SearchMetrics metrics;
+        int finishedCount;
+        
+        @Override
+        public void onNodeSettled(Integer node, 
+                                  Double distance, 
+                                  boolean forward) {
+            (forward ? forwardDistances : backwardDistances).add(distance);
+        }
+        
+        @Override
+        public void onSearchFinished(Integer source, 
+                                     Integer target, 
+                                     SearchMetrics metrics) {
+            this.metrics = metrics;
+            finishedCount++;
+        }
+        
+        void clear() {
+            forwardDistances.clear();
+            backwardDistances.clear();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SearchResultTest {
+    
+    private static final int NODES = 2_000;
+    private static final int ARCS = 6_000;
+    private static final int QUERIES = 100;
+    
+    @Test
+    public void resultsAgreeWithFindShortestPath() {
+        Random random = new Random(163L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DijkstrasAlgorithm<Integer, Double> pathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        BidirectionalDijkstrasAlgorithm<Integer, Double>
+                bidirectionalPathfinder =
+                new BidirectionalDijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        int unreachableQueries = 0;
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = random.nextInt(NODES);
+            Integer target = random.nextInt(NODES);
+            
+            SearchResult<Integer, Double> result =
+                    search(pathfinder, adapter, source, target, workspace);
+            
+            SearchResult<Integer, Double> distanceResult =
+                    pathfinder.searchDistance(
+                            source,
+                            target,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            SearchResult<Integer, Double> bidirectionalResult =
+                    search(bidirectionalPathfinder,
+                           adapter,
+                           source,
+                           target,
+                           workspace);
+            
+            assertEquals(workspace.getForwardSettledCount(),
+                         bidirectionalResult.getForwardSettledCount());
+            assertEquals(workspace.getBackwardSettledCount(),
+                         bidirectionalResult.getBackwardSettledCount());
+            
+            SearchResult<Integer, Double> bidirectionalDistanceResult =
+                    bidirectionalPathfinder.searchDistance(
+                            source,
+                            target,
+                            adapter.getChildrenArcExpander(),
+                            adapter.getParentsArcExpander(),
+                            adapter.getWeightFunction(),
+                            Double::compare,
+                            workspace);
+            
+            assertFalse(distanceResult.hasPath());
+            assertFalse(bidirectionalDistanceResult.hasPath());
+            
+            List<Integer> expectedPath;
+            
+            try {
+                expectedPath =
+                        pathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getChildrenArcExpander(),
+                                adapter.getWeightFunction(),
+                                Double::compare,
+                                workspace);
+            } catch (IllegalStateException ex) {
+                unreachableQueries++;
+                
+                assertFalse(result.isReachable());
+                assertFalse(result.hasPath());
+                assertFalse(distanceResult.isReachable());
+                assertFalse(bidirectionalResult.isReachable());
+                assertFalse(bidirectionalDistanceResult.isReachable());
+                assertEquals(Double.POSITIVE_INFINITY,
+                             result.getCost(),
+                             0.0);
+                assertEquals(Double.POSITIVE_INFINITY,
+                             bidirectionalResult.getCost(),
+                             0.0);
+                continue;
+            }
+            
+            double expectedCost = CsrGraphs.getPathCost(expectedPath,
+                                                           graph);
+            
+            assertTrue(result.isReachable());
+            assertEquals(expectedCost, result.getCost(), 1e-9);
+            assertEquals(expectedCost, distanceResult.getCost(), 1e-9);
+            assertEquals(expectedCost, bidirectionalResult.getCost(), 1e-9);
+            assertEquals(expectedCost,
+                         bidirectionalDistanceResult.getCost(),
+                         1e-9);
+            
+            // Both lazy paths were invalidated by the later queries, so
+            // rerun each search right before asking for its path:
+            assertEquals(expectedPath,
+                         search(pathfinder,
+                                adapter,
+                                source,
+                                target,
+                                workspace).getPath());
+            
+            List<Integer> bidirectionalPath =
+                    search(bidirectionalPathfinder,
+                           adapter,
+                           source,
+                           target,
+                           workspace).getPath();
+            
+            assertEquals(source, bidirectionalPath.get(0));
+            assertEquals(target,
+                         bidirectionalPath.get(bidirectionalPath.size() - 1));
+            assertEquals(expectedCost,
+                         CsrGraphs.getPathCost(bidirectionalPath, graph),
+                         1e-9);
+        }
+        
+        assertTrue(unreachableQueries > 0);
+    }
+    
+    @Test
+    public void pathIsCachedAndSourceEqualToTargetIsHandled() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(
+                new CsrGraph.Builder(3).addArc(0, 1, 1.0)
+                                       .addArc(1, 2, 2.0)
+                                       .build());
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        SearchResult<Integer, Double> result =
+                search(new DijkstrasAlgorithm<>(), adapter, 0, 2, workspace);
+        
+        assertEquals(3.0, result.getCost(), 0.0);
+        assertEquals(2, result.getSettledCount());
+        assertEquals(List.of(0, 1, 2), result.getPath());
+        
+        // The path stays available once it has been traced back:
+        search(new DijkstrasAlgorithm<>(), adapter, 1, 2, workspace);
+        assertEquals(List.of(0, 1, 2), result.getPath());
+        
+        SearchResult<Integer, Double> trivialResult =
+                search(new BidirectionalDijkstrasAlgorithm<>(),
+                       adapter,
+                       1,
+                       1,
+                       workspace);
+        
+        assertEquals(0.0, trivialResult.getCost(), 0.0);
+        assertEquals(List.of(1), trivialResult.getPath());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void stalePathThrows() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(
+                new CsrGraph.Builder(3).addArc(0, 1, 1.0)
+                                       .addArc(1, 2, 2.0)
+                                       .build());
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        BidirectionalDijkstrasAlgorithm<Integer, Double> pathfinder =
+                new BidirectionalDijkstrasAlgorithm<>();
+        
+        SearchResult<Integer, Double> result =
+                search(pathfinder, adapter, 0, 2, workspace);
+        
+        search(pathfinder, adapter, 2, 0, workspace);
+        result.getPath();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void distanceOnlyResultHasNoPath() {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(
+                new CsrGraph.Builder(2).addArc(0, 1, 1.0).build());
+        
+        new DijkstrasAlgorithm<Integer, Double>()
+                .searchDistance(0,
+                                1,
+                                adapter.getChildrenArcExpander(),
+                                adapter.getWeightFunction(),
+                                Double::compare,
+                                new SearchWorkspace<>(
+                                        adapter.getNodeIndexer()))
+                .getPath();
+    }
+    
+    private static SearchResult<Integer, Double> search(
+            DijkstrasAlgorithm<Integer, Double> pathfinder,
+            StaticGraphAdapter adapter,
+            Integer source,
+            Integer target,
+            SearchWorkspace<Integer, Double> workspace) {
+        return pathfinder.search(source,
+                                 target,
+                                 adapter.getChildrenArcExpander(),
+                                 adapter.getWeightFunction(),
+                                 Double::compare,
+                                 workspace);
+    }
+    
+    private static SearchResult<Integer, Double> search(
+            BidirectionalDijkstrasAlgorithm<Integer, Double> pathfinder,
+            StaticGraphAdapter adapter,
+            Integer source,
+            Integer target,
+            SearchWorkspace<Integer, Double> workspace) {
+        return pathfinder.search(source,
+                                 target,
+                                 adapter.getChildrenArcExpander(),
+                                 adapter.getParentsArcExpander(),
+                                 adapter.getWeightFunction(),
+                                 Double::compare,
+                                 workspace);
+    }
+}
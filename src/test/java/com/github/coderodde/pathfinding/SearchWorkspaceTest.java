@@ -0,0 +1,215 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class SearchWorkspaceTest {
+    
+    private static final int QUERIES = 50;
+    
+    private final DijkstrasAlgorithm<DirectedGraphNode, Integer>
+            pathfinder1 = new DijkstrasAlgorithm<>();
+    
+    private final BidirectionalDijkstrasAlgorithm<DirectedGraphNode, Integer>
+            pathfinder2 = new BidirectionalDijkstrasAlgorithm<>();
+    
+    private final DoubleDijkstrasAlgorithm<DirectedGraphNode>
+            pathfinder3 = new DoubleDijkstrasAlgorithm<>();
+    
+    private final DoubleBidirectionalDijkstrasAlgorithm<DirectedGraphNode>
+            pathfinder4 = new DoubleBidirectionalDijkstrasAlgorithm<>();
+    
+    private final DirectedGraphNodeChildrenExpander childrenExpander =
+            new DirectedGraphNodeChildrenExpander();
+    
+    private final DirectedGraphNodeParentsExpander parentsExpander =
+            new DirectedGraphNodeParentsExpander();
+    
+    private final DirectedGraphWeightFunction weightFunction =
+            new DirectedGraphWeightFunction();
+    
+    private final DoubleWeightFunction<DirectedGraphNode>
+            doubleWeightFunction = (tail, head) -> tail.getWeightTo(head);
+    
+    @Test
+    public void reusedWorkspacesMatchFreshSearches() {
+        Random random = new Random(23L);
+        
+        List<DirectedGraphNode> graph =
+                DirectedGraphs.getRandomGraph(1_000,
+                                              4_000,
+                                              random);
+        
+        SearchWorkspace<DirectedGraphNode, Integer> workspace =
+                new SearchWorkspace<>();
+        
+        DoubleSearchWorkspace<DirectedGraphNode> doubleWorkspace =
+                new DoubleSearchWorkspace<>();
+        
+        for (int i = 0; i < QUERIES; i++) {
+            DirectedGraphNode source =
+                    DirectedGraphs.choose(graph, random);
+            
+            DirectedGraphNode target =
+                    DirectedGraphs.choose(graph, random);
+            
+            int expectedCost;
+            
+            try {
+                expectedCost = DirectedGraphs.getPathCost(
+                        pathfinder1.findShortestPath(source,
+                                                     target,
+                                                     childrenExpander,
+                                                     weightFunction,
+                                                     Integer::compare));
+            } catch (IllegalStateException ex) {
+                // Make sure a failed search does not leak into the next one:
+                expectUnreachable(source, target, workspace, doubleWorkspace);
+                continue;
+            }
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 pathfinder1.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         weightFunction,
+                                         Integer::compare,
+                                         workspace)));
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 pathfinder2.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         weightFunction,
+                                         Integer::compare,
+                                         workspace)));
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 pathfinder3.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         doubleWeightFunction,
+                                         doubleWorkspace)));
+            
+            assertEquals(expectedCost,
+                         DirectedGraphs.getPathCost(
+                                 pathfinder4.findShortestPath(
+                                         source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         doubleWeightFunction,
+                                         doubleWorkspace)));
+        }
+    }
+    
+    @Test
+    public void suppliedIndexerMatchesHashingIndexer() {
+        Random random = new Random(29L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(1_000, 4_000, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        DijkstrasAlgorithm<Integer, Double> referencePathfinder =
+                new DijkstrasAlgorithm<>();
+        
+        BidirectionalDijkstrasAlgorithm<Integer, Double> pathfinder =
+                new BidirectionalDijkstrasAlgorithm<>();
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> doublePathfinder =
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace =
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> doubleWorkspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = adapter.getNode(random.nextInt(graph.size()));
+            Integer target = adapter.getNode(random.nextInt(graph.size()));
+            List<Integer> expectedPath;
+            
+            try {
+                expectedPath = referencePathfinder.findShortestPath(
+                        source,
+                        target,
+                        adapter.getChildrenExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare);
+            } catch (IllegalStateException ex) {
+                continue;
+            }
+            
+            double expectedCost = CsrGraphs.getPathCost(expectedPath, 
+                                                           graph);
+            
+            assertEquals(expectedCost,
+                         CsrGraphs.getPathCost(
+                                 pathfinder.findShortestPath(
+                                         source,
+                                         target,
+                                         adapter.getChildrenExpander(),
+                                         adapter.getParentsExpander(),
+                                         adapter.getWeightFunction(),
+                                         Double::compare,
+                                         workspace),
+                                 graph),
+                         1e-9);
+            
+            assertEquals(expectedCost,
+                         CsrGraphs.getPathCost(
+                                 doublePathfinder.findShortestPath(
+                                         source,
+                                         target,
+                                         adapter.getChildrenExpander(),
+                                         adapter.getParentsExpander(),
+                                         adapter.getDoubleWeightFunction(),
+                                         doubleWorkspace),
+                                 graph),
+                         1e-9);
+        }
+    }
+    
+    private void expectUnreachable(
+            DirectedGraphNode source,
+            DirectedGraphNode target,
+            SearchWorkspace<DirectedGraphNode, Integer> workspace,
+            DoubleSearchWorkspace<DirectedGraphNode> doubleWorkspace) {
+        
+        int failures = 0;
+        
+        try {
+            pathfinder2.findShortestPath(source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         weightFunction,
+                                         Integer::compare,
+                                         workspace);
+        } catch (IllegalStateException ex) {
+            failures++;
+        }
+        
+        try {
+            pathfinder4.findShortestPath(source,
+                                         target,
+                                         childrenExpander,
+                                         parentsExpander,
+                                         doubleWeightFunction,
+                                         doubleWorkspace);
+        } catch (IllegalStateException ex) {
+            failures++;
+        }
+        
+        assertEquals(2, failures);
+    }
+}
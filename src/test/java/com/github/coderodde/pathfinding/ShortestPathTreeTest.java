@@ -0,0 +1,328 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ShortestPathTreeTest {
+    
+    private static final int NODES = 2_000;
+    private static final int ARCS = 5_000;
+    private static final int DENSE_ARCS = 10_000;
+    
+    @Test
+    public void fullTreeAgreesWithDijkstra() {
+        Random random = new Random(113L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        Integer source = random.nextInt(NODES);
+        DoubleShortestPathTree<Integer> tree =
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getDoubleChildrenArcExpander(),
+                        workspace);
+        
+        assertEquals(source, tree.getSource());
+        assertEquals(0.0, tree.getDistance(source), 0.0);
+        assertNull(tree.getParent(source));
+        
+        for (int position = 1; position < tree.size(); position++) {
+            assertTrue(tree.getDistanceAt(position - 1) <=
+                       tree.getDistanceAt(position));
+        }
+        
+        // The tree stays valid while the workspace is reused:
+        for (Integer node = 0; node < NODES; node++) {
+            double expectedDistance;
+            
+            try {
+                expectedDistance =
+                        CsrGraphs.getPathCost(
+                                pathfinder.findShortestPath(
+                                        source,
+                                        node,
+                                        adapter.getDoubleChildrenArcExpander(),
+                                        workspace),
+                                graph);
+            } catch (IllegalStateException ex) {
+                assertFalse(tree.contains(node));
+                assertEquals(Double.POSITIVE_INFINITY,
+                             tree.getDistance(node),
+                             0.0);
+                continue;
+            }
+            
+            assertTrue(tree.contains(node));
+            assertEquals(expectedDistance, tree.getDistance(node), 1e-9);
+            
+            List<Integer> path = tree.getPath(node);
+            assertEquals(source, path.get(0));
+            assertEquals(node, path.get(path.size() - 1));
+            assertEquals(expectedDistance,
+                         CsrGraphs.getPathCost(path, graph),
+                         1e-9);
+        }
+    }
+    
+    @Test
+    public void radiusBoundsTheTree() {
+        Random random = new Random(127L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        Integer source = random.nextInt(NODES);
+        double radius = 150.0;
+        
+        DoubleShortestPathTree<Integer> fullTree =
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getDoubleChildrenArcExpander(),
+                        workspace);
+        
+        DoubleShortestPathTree<Integer> tree =
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getDoubleChildrenArcExpander(),
+                        radius,
+                        workspace);
+        
+        assertTrue(tree.size() < fullTree.size());
+        
+        for (int position = 0; position < fullTree.size(); position++) {
+            Integer node = fullTree.getNode(position);
+            double distance = fullTree.getDistanceAt(position);
+            
+            assertEquals(distance <= radius, tree.contains(node));
+            
+            if (distance <= radius) {
+                assertEquals(distance, tree.getDistance(node), 0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void stopsOnceAllTargetsAreSettled() {
+        Random random = new Random(131L);
+        CsrGraph graph = CsrGraphs.getRandomGraph(NODES, ARCS, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DoubleDijkstrasAlgorithm<Integer> pathfinder =
+                new DoubleDijkstrasAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> workspace =
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        Integer source = random.nextInt(NODES);
+        
+        DoubleShortestPathTree<Integer> fullTree =
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getDoubleChildrenArcExpander(),
+                        workspace);
+        
+        // Pick reachable targets, one of them twice:
+        List<Integer> targets = new ArrayList<>();
+        
+        for (int i = 0; i < 5; i++) {
+            targets.add(fullTree.getNode(random.nextInt(fullTree.size() / 4)));
+        }
+        
+        targets.add(targets.get(0));
+        double maximumDistance = 0.0;
+        
+        for (Integer target : targets) {
+            maximumDistance = Math.max(maximumDistance,
+                                       fullTree.getDistance(target));
+        }
+        
+        DoubleShortestPathTree<Integer> tree =
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getDoubleChildrenArcExpander(),
+                        targets,
+                        workspace);
+        
+        assertTrue(tree.size() < fullTree.size());
+        assertEquals(maximumDistance,
+                     tree.getDistanceAt(tree.size() - 1),
+                     0.0);
+        
+        for (Integer target : targets) {
+            assertEquals(fullTree.getDistance(target),
+                         tree.getDistance(target),
+                         0.0);
+        }
+    }
+    
+    @Test
+    public void unreachableTargetSettlesTheComponent() {
+        CsrGraph graph = new CsrGraph.Builder(4).addArc(0, 1, 1.0)
+                                                .addArc(1, 2, 1.0)
+                                                .addArc(3, 0, 1.0)
+                                                .build();
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        DoubleShortestPathTree<Integer> tree =
+                new DoubleDijkstrasAlgorithm<Integer>()
+                        .computeShortestPathTree(
+                                0,
+                                adapter.getDoubleChildrenArcExpander(),
+                                List.of(3),
+                                new DoubleSearchWorkspace<>(
+                                        adapter.getNodeIndexer()));
+        
+        assertEquals(3, tree.size());
+        assertFalse(tree.contains(3));
+        assertEquals(List.of(0, 1, 2), tree.getPath(2));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNegativeRadius() {
+        StaticGraphAdapter adapter =
+                new StaticGraphAdapter(new CsrGraph.Builder(1).build());
+        
+        new DoubleDijkstrasAlgorithm<Integer>().computeShortestPathTree(
+                0,
+                adapter.getDoubleChildrenArcExpander(),
+                -1.0,
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer()));
+    }
+    
+    @Test
+    public void genericTreeAgreesWithPrimitiveTree() {
+        Random random = new Random(137L);
+        CsrGraph graph = 
+                CsrGraphs.getRandomGraph(NODES, DENSE_ARCS, random);
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        Integer source = random.nextInt(NODES);
+        
+        ShortestPathTree<Integer, Double> tree = 
+                new DijkstrasAlgorithm<Integer, Double>()
+                        .computeShortestPathTree(
+                                source,
+                                adapter.getChildrenArcExpander(),
+                                adapter.getWeightFunction(),
+                                Double::compare,
+                                new SearchWorkspace<>(
+                                        adapter.getNodeIndexer()));
+        
+        DoubleShortestPathTree<Integer> expectedTree = 
+                new DoubleDijkstrasAlgorithm<Integer>()
+                        .computeShortestPathTree(
+                                source,
+                                adapter.getDoubleChildrenArcExpander(),
+                                new DoubleSearchWorkspace<>(
+                                        adapter.getNodeIndexer()));
+        
+        assertTrue(tree.size() > NODES / 2);
+        assertEquals(expectedTree.size(), tree.size());
+        assertEquals(source, tree.getSource());
+        assertNull(tree.getParent(source));
+        
+        for (int position = 0; position < tree.size(); position++) {
+            assertEquals(expectedTree.getNode(position), 
+                         tree.getNode(position));
+            
+            assertEquals(expectedTree.getDistanceAt(position), 
+                         tree.getDistanceAt(position), 
+                         0.0);
+        }
+        
+        for (Integer node = 0; node < NODES; node++) {
+            assertEquals(expectedTree.contains(node), tree.contains(node));
+            assertEquals(expectedTree.getDistance(node), 
+                         tree.getDistance(node), 
+                         0.0);
+            
+            if (tree.contains(node)) {
+                assertEquals(expectedTree.getPath(node), tree.getPath(node));
+            }
+        }
+    }
+    
+    @Test
+    public void genericRadiusAndTargetsBoundTheTree() {
+        Random random = new Random(139L);
+        CsrGraph graph = 
+                CsrGraphs.getRandomGraph(NODES, DENSE_ARCS, random);
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        DijkstrasAlgorithm<Integer, Double> pathfinder = 
+                new DijkstrasAlgorithm<>();
+        
+        SearchWorkspace<Integer, Double> workspace = 
+                new SearchWorkspace<>(adapter.getNodeIndexer());
+        
+        Integer source = random.nextInt(NODES);
+        ShortestPathTree<Integer, Double> fullTree = 
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getChildrenArcExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare,
+                        workspace);
+        
+        double radius = fullTree.getDistanceAt(fullTree.size() / 2);
+        ShortestPathTree<Integer, Double> radiusTree = 
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getChildrenArcExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare,
+                        radius,
+                        workspace);
+        
+        assertEquals(fullTree.size() / 2 + 1, radiusTree.size());
+        
+        for (int position = 0; position < radiusTree.size(); position++) {
+            assertEquals(fullTree.getNode(position), 
+                         radiusTree.getNode(position));
+        }
+        
+        // Pick reachable targets, one of them twice:
+        List<Integer> targets = new ArrayList<>();
+        int lastPosition = 0;
+        
+        for (int i = 0; i < 5; i++) {
+            int position = random.nextInt(fullTree.size() / 4);
+            lastPosition = Math.max(lastPosition, position);
+            targets.add(fullTree.getNode(position));
+        }
+        
+        targets.add(targets.get(0));
+        
+        ShortestPathTree<Integer, Double> targetTree = 
+                pathfinder.computeShortestPathTree(
+                        source,
+                        adapter.getChildrenArcExpander(),
+                        adapter.getWeightFunction(),
+                        Double::compare,
+                        targets,
+                        workspace);
+        
+        assertEquals(lastPosition + 1, targetTree.size());
+        
+        for (Integer target : targets) {
+            assertEquals(fullTree.getDistance(target), 
+                         targetTree.getDistance(target), 
+                         0.0);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.coderodde.pathfinding.alt;
+
+import com.github.coderodde.pathfinding.BidirectionalAStarAlgorithm;
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.DoubleBidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleSearchWorkspace;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import static com.github.coderodde.pathfinding.CsrGraphs.getDijkstraDistances;
+import static com.github.coderodde.pathfinding.CsrGraphs.getPathCost;
+import static com.github.coderodde.pathfinding.CsrGraphs.getRandomGraph;
+import static com.github.coderodde.pathfinding.CsrGraphs.getRandomGridGraph;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LandmarkTableTest {
+    
+    private static final int WIDTH = 60;
+    private static final int HEIGHT = 60;
+    private static final int LANDMARKS = 8;
+    private static final int QUERIES = 100;
+    private static final int RANDOM_GRAPHS = 5;
+    
+    @Test
+    public void lowerBoundsNeverExceedDistances() {
+        Random random = new Random(43L);
+        CsrGraph graph = getRandomGraph(1_000, 4_000, random);
+        
+        for (LandmarkSelection selection : LandmarkSelection.values()) {
+            LandmarkTable table = 
+                    LandmarkTable.compute(graph, LANDMARKS, selection, random);
+            
+            assertEquals(LANDMARKS, table.getNumberOfLandmarks());
+            
+            for (int i = 0; i < 20; i++) {
+                int source = random.nextInt(graph.size());
+                double[] distances = getDijkstraDistances(graph, source);
+                
+                for (int target = 0; target < graph.size(); target++) {
+                    double distance = distances[target];
+                    double lowerBound = table.getLowerBound(source, target);
+                    
+                    assertTrue(lowerBound >= 0.0);
+                    assertTrue(lowerBound <= distance);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void altAgreesWithDijkstraAndSettlesFewerNodes() {
+        Random random = new Random(47L);
+        CsrGraph graph = getRandomGridGraph(WIDTH, HEIGHT, random);
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> referencePathfinder = 
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        BidirectionalAStarAlgorithm<Integer> pathfinder = 
+                new BidirectionalAStarAlgorithm<>();
+        
+        DoubleSearchWorkspace<Integer> referenceWorkspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> workspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        for (LandmarkSelection selection : LandmarkSelection.values()) {
+            LandmarkTable table = 
+                    LandmarkTable.compute(graph, LANDMARKS, selection, random);
+            
+            long referenceSettled = 0L;
+            long settled = 0L;
+            
+            for (int i = 0; i < QUERIES; i++) {
+                Integer source = adapter.getNode(random.nextInt(graph.size()));
+                Integer target = adapter.getNode(random.nextInt(graph.size()));
+                
+                List<Integer> expectedPath = 
+                        referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getDoubleChildrenArcExpander(),
+                                adapter.getDoubleParentsArcExpander(),
+                                referenceWorkspace);
+                
+                List<Integer> path = 
+                        pathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getDoubleChildrenArcExpander(),
+                                adapter.getDoubleParentsArcExpander(),
+                                table,
+                                workspace);
+                
+                double expectedCost = getPathCost(expectedPath, graph);
+                
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                
+                assertEquals(expectedCost, getPathCost(path, graph), 0.0);
+                
+                referenceSettled += 
+                        referenceWorkspace.getForwardSettledCount() + 
+                        referenceWorkspace.getBackwardSettledCount();
+                
+                settled += workspace.getForwardSettledCount() + 
+                           workspace.getBackwardSettledCount();
+            }
+            
+            assertTrue(2 * settled < referenceSettled);
+        }
+    }
+    
+    /**
+     * The random weights are fractional, so a bound that is consistent only 
+     * up to a rounding error lets ALT return a slightly longer path.
+     */
+    @Test
+    public void altCostsMatchDijkstraExactlyOnRandomGraphs() {
+        Random random = new Random(59L);
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> referencePathfinder =
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        BidirectionalAStarAlgorithm<Integer> pathfinder =
+                new BidirectionalAStarAlgorithm<>();
+        
+        for (int graphIndex = 0; graphIndex < RANDOM_GRAPHS; graphIndex++) {
+            CsrGraph graph = getRandomGraph(2_000, 10_000, random);
+            StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+            
+            DoubleSearchWorkspace<Integer> workspace =
+                    new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+            
+            for (LandmarkSelection selection : LandmarkSelection.values()) {
+                LandmarkTable table = LandmarkTable.compute(graph, 
+                                                            LANDMARKS, 
+                                                            selection, 
+                                                            random);
+                
+                int reachableQueries = 0;
+                
+                for (int i = 0; i < QUERIES; i++) {
+                    Integer source = 
+                            adapter.getNode(random.nextInt(graph.size()));
+                    
+                    Integer target = 
+                            adapter.getNode(random.nextInt(graph.size()));
+                    
+                    List<Integer> expectedPath;
+                    
+                    try {
+                        expectedPath = referencePathfinder.findShortestPath(
+                                source,
+                                target,
+                                adapter.getDoubleChildrenArcExpander(),
+                                adapter.getDoubleParentsArcExpander(),
+                                workspace);
+                    } catch (IllegalStateException ex) {
+                        continue;
+                    }
+                    
+                    List<Integer> path =
+                            pathfinder.findShortestPath(
+                                    source,
+                                    target,
+                                    adapter.getDoubleChildrenArcExpander(),
+                                    adapter.getDoubleParentsArcExpander(),
+                                    table,
+                                    workspace);
+                    
+                    assertEquals(getPathCost(expectedPath, graph),
+                                 getPathCost(path, graph),
+                                 0.0);
+                    
+                    reachableQueries++;
+                }
+                
+                assertTrue(reachableQueries > QUERIES / 2);
+            }
+        }
+    }
+    
+    @Test
+    public void suppliedLandmarksMatchSelectedLandmarks() {
+        Random random = new Random(53L);
+        CsrGraph graph = getRandomGraph(500, 2_000, random);
+        LandmarkTable selectedTable = 
+                LandmarkTable.compute(graph, 
+                                      LANDMARKS, 
+                                      LandmarkSelection.AVOID, 
+                                      random);
+        
+        int[] landmarks = new int[LANDMARKS];
+        
+        for (int i = 0; i < LANDMARKS; i++) {
+            landmarks[i] = selectedTable.getLandmark(i);
+        }
+        
+        LandmarkTable table = 
+                LandmarkTable.compute(graph, landmarks, Runnable::run);
+        
+        for (int i = 0; i < LANDMARKS; i++) {
+            for (int node = 0; node < graph.size(); node++) {
+                assertEquals(selectedTable.getDistanceFromLandmark(i, node),
+                             table.getDistanceFromLandmark(i, node),
+                             0.0);
+                
+                assertEquals(selectedTable.getDistanceToLandmark(i, node),
+                             table.getDistanceToLandmark(i, node),
+                             0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.DistanceMatrix;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import static com.github.coderodde.pathfinding.CsrGraphs.getDijkstraDistances;
+import static com.github.coderodde.pathfinding.CsrGraphs.getRandomGraph;
+import static com.github.coderodde.pathfinding.ch.ContractionHierarchyTest.getRandomGridGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ContractionHierarchyDistanceMatrixAlgorithmTest {
+    
+    @Test
+    public void agreesWithDijkstraOnRandomGraphs() {
+        Random random = new Random(107L);
+        
+        for (int i = 0; i < 3; i++) {
+            CsrGraph graph = getRandomGraph(500, 1_500, random);
+            checkAgainstDijkstra(graph,
+                                 new ContractionHierarchyBuilder(graph)
+                                         .build(),
+                                 random);
+        }
+    }
+    
+    @Test
+    public void agreesWithDijkstraOnCustomizedGrid() {
+        Random random = new Random(109L);
+        CsrGraph graph = getRandomGridGraph(random);
+        
+        ContractionHierarchy hierarchy =
+                new CustomizableContractionHierarchy(graph)
+                        .customize(new StaticGraphAdapter(graph)
+                                .getDoubleWeightFunction());
+        
+        checkAgainstDijkstra(graph, hierarchy, random);
+    }
+    
+    /**
+     * Compares the bucket-based matrix with the distances computed by the
+     * one-to-all Dijkstra's algorithm. The target list contains duplicates
+     * and the first source.
+     */
+    private static void checkAgainstDijkstra(CsrGraph graph,
+                                             ContractionHierarchy hierarchy,
+                                             Random random) {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        
+        for (int i = 0; i < 25; i++) {
+            sources.add(random.nextInt(graph.size()));
+            targets.add(random.nextInt(graph.size()));
+        }
+        
+        targets.add(sources.get(0));
+        targets.add(targets.get(0));
+        
+        DistanceMatrix matrix =
+                new ContractionHierarchyDistanceMatrixAlgorithm<>(
+                        hierarchy,
+                        adapter.getNodeIndexer())
+                        .computeDistanceMatrix(sources, targets);
+        
+        for (int row = 0; row < sources.size(); row++) {
+            double[] expectedDistances =
+                    getDijkstraDistances(graph, sources.get(row));
+            
+            for (int column = 0; column < targets.size(); column++) {
+                assertEquals(expectedDistances[targets.get(column)],
+                             matrix.getDistance(row, column),
+                             1e-9);
+            }
+        }
+    }
+}
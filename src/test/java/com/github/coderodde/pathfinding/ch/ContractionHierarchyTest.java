@@ -0,0 +1,153 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.CsrGraphs;
+import com.github.coderodde.pathfinding.DoubleBidirectionalDijkstrasAlgorithm;
+import com.github.coderodde.pathfinding.DoubleSearchWorkspace;
+import com.github.coderodde.pathfinding.StaticGraph;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import static com.github.coderodde.pathfinding.CsrGraphs.getPathCost;
+import static com.github.coderodde.pathfinding.CsrGraphs.getRandomGraph;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ContractionHierarchyTest {
+    
+    private static final int WIDTH = 60;
+    private static final int HEIGHT = 60;
+    private static final int QUERIES = 200;
+    
+    @Test
+    public void agreesWithDijkstraOnRandomGraphs() {
+        Random random = new Random(59L);
+        
+        for (int i = 0; i < 5; i++) {
+            CsrGraph graph = getRandomGraph(500, 1_500, random);
+            checkAgainstDijkstra(graph, 
+                                 new ContractionHierarchyBuilder(graph)
+                                         .build(), 
+                                 random);
+        }
+    }
+    
+    @Test
+    public void smallSettleLimitOnlyAddsShortcuts() {
+        Random random = new Random(61L);
+        CsrGraph graph = getRandomGridGraph(random);
+        
+        ContractionHierarchy hierarchy = 
+                new ContractionHierarchyBuilder(graph).build();
+        
+        ContractionHierarchy limitedHierarchy = 
+                new ContractionHierarchyBuilder(graph)
+                        .setWitnessSearchSettleLimit(1)
+                        .build();
+        
+        assertTrue(limitedHierarchy.getNumberOfShortcuts() >= 
+                   hierarchy.getNumberOfShortcuts());
+        
+        checkAgainstDijkstra(graph, limitedHierarchy, random);
+    }
+    
+    @Test
+    public void settlesFewerNodesOnGrids() {
+        Random random = new Random(67L);
+        CsrGraph graph = getRandomGridGraph(random);
+        
+        ContractionHierarchy hierarchy = 
+                new ContractionHierarchyBuilder(graph).build();
+        
+        long[] settledCounts = checkAgainstDijkstra(graph, hierarchy, random);
+        assertTrue(5 * settledCounts[1] < settledCounts[0]);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnUnreachableTarget() {
+        CsrGraph graph = new CsrGraph.Builder(3).addArc(0, 1, 1.0)
+                                                .addArc(2, 1, 1.0)
+                                                .build();
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        new ContractionHierarchyAlgorithm<>(
+                new ContractionHierarchyBuilder(graph).build(),
+                adapter.getNodeIndexer())
+                .findShortestPath(0, 2);
+    }
+    
+    /**
+     * Checks the hierarchy against the bidirectional Dijkstra's algorithm and
+     * returns the numbers of nodes settled by the two algorithms.
+     */
+    static long[] checkAgainstDijkstra(StaticGraph graph, 
+                                       ContractionHierarchy hierarchy,
+                                       Random random) {
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        DoubleBidirectionalDijkstrasAlgorithm<Integer> referencePathfinder = 
+                new DoubleBidirectionalDijkstrasAlgorithm<>();
+        
+        ContractionHierarchyAlgorithm<Integer> pathfinder = 
+                new ContractionHierarchyAlgorithm<>(hierarchy, 
+                                                    adapter.getNodeIndexer());
+        
+        DoubleSearchWorkspace<Integer> referenceWorkspace = 
+                new DoubleSearchWorkspace<>(adapter.getNodeIndexer());
+        
+        ContractionHierarchyWorkspace workspace = 
+                new ContractionHierarchyWorkspace(hierarchy);
+        
+        long[] settledCounts = new long[2];
+        
+        for (int i = 0; i < QUERIES; i++) {
+            Integer source = adapter.getNode(random.nextInt(graph.size()));
+            Integer target = adapter.getNode(random.nextInt(graph.size()));
+            List<Integer> expectedPath;
+            
+            try {
+                expectedPath = referencePathfinder.findShortestPath(
+                        source,
+                        target,
+                        adapter.getDoubleChildrenArcExpander(),
+                        adapter.getDoubleParentsArcExpander(),
+                        referenceWorkspace);
+            } catch (IllegalStateException ex) {
+                try {
+                    pathfinder.findShortestPath(source, target, workspace);
+                } catch (IllegalStateException ex2) {
+                    continue;
+                }
+                
+                throw new AssertionError("Found a path to an unreachable " + 
+                                         "target.");
+            }
+            
+            List<Integer> path = 
+                    pathfinder.findShortestPath(source, target, workspace);
+            
+            assertEquals(source, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+            assertEquals(getPathCost(expectedPath, graph),
+                         getPathCost(path, graph),
+                         1e-9);
+            
+            settledCounts[0] += referenceWorkspace.getForwardSettledCount() + 
+                                referenceWorkspace.getBackwardSettledCount();
+            
+            settledCounts[1] += workspace.getForwardSettledCount() + 
+                                workspace.getBackwardSettledCount();
+        }
+        
+        return settledCounts;
+    }
+    
+    /**
+     * Returns a strongly connected grid whose arcs weigh between one and two.
+     */
+    static CsrGraph getRandomGridGraph(Random random) {
+        return CsrGraphs.getRandomGridGraph(WIDTH, HEIGHT, random);
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.coderodde.pathfinding.ch;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.StaticGraphAdapter;
+import static com.github.coderodde.pathfinding.CsrGraphs.getRandomGraph;
+import static com.github.coderodde.pathfinding.ch.ContractionHierarchyTest.checkAgainstDijkstra;
+import static com.github.coderodde.pathfinding.ch.ContractionHierarchyTest.getRandomGridGraph;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CustomizableContractionHierarchyTest {
+    
+    @Test
+    public void ranksFormPermutation() {
+        CsrGraph graph = getRandomGraph(1_000, 3_000, new Random(71L));
+        CustomizableContractionHierarchy hierarchy =
+                new CustomizableContractionHierarchy(graph);
+        
+        boolean[] taken = new boolean[graph.size()];
+        
+        for (int node = 0; node < graph.size(); node++) {
+            int rank = hierarchy.getRank(node);
+            assertFalse(taken[rank]);
+            taken[rank] = true;
+        }
+    }
+    
+    @Test
+    public void agreesWithDijkstraOnRandomGraphs() {
+        Random random = new Random(73L);
+        
+        for (int i = 0; i < 5; i++) {
+            CsrGraph graph = getRandomGraph(500, 1_500, random);
+            
+            ContractionHierarchy hierarchy =
+                    new CustomizableContractionHierarchy(graph)
+                            .customize(new StaticGraphAdapter(graph)
+                                    .getDoubleWeightFunction());
+            
+            checkAgainstDijkstra(graph, hierarchy, random);
+        }
+    }
+    
+    @Test
+    public void recustomizationAgreesWithDijkstraOnGrids() {
+        Random random = new Random(79L);
+        CsrGraph graph = getRandomGridGraph(random);
+        CustomizableContractionHierarchy hierarchy =
+                new CustomizableContractionHierarchy(graph);
+        
+        long[] settledCounts =
+                checkAgainstDijkstra(graph,
+                                     hierarchy.customize(
+                                             new StaticGraphAdapter(graph)
+                                                     .getDoubleWeightFunction()),
+                                     random);
+        
+        assertTrue(5 * settledCounts[1] < settledCounts[0]);
+        
+        // Same topology, new weights:
+        CsrGraph otherGraph = getRandomGridGraph(random);
+        
+        checkAgainstDijkstra(otherGraph,
+                             hierarchy.customize(
+                                     new StaticGraphAdapter(otherGraph)
+                                             .getDoubleWeightFunction()),
+                             random);
+    }
+    
+    @Test
+    public void sequentialAndParallelCustomizationsAgree() {
+        CsrGraph graph = getRandomGridGraph(new Random(83L));
+        CustomizableContractionHierarchy customizableHierarchy =
+                new CustomizableContractionHierarchy(graph);
+        
+        StaticGraphAdapter adapter = new StaticGraphAdapter(graph);
+        
+        ContractionHierarchy sequentialHierarchy =
+                customizableHierarchy.customize(
+                        adapter.getDoubleWeightFunction(),
+                        Runnable::run);
+        
+        ContractionHierarchy parallelHierarchy =
+                customizableHierarchy.customize(
+                        adapter.getDoubleWeightFunction());
+        
+        assertEquals(sequentialHierarchy.getNumberOfArcs(),
+                     parallelHierarchy.getNumberOfArcs());
+        
+        ContractionHierarchyAlgorithm<Integer> sequentialPathfinder =
+                new ContractionHierarchyAlgorithm<>(sequentialHierarchy,
+                                                    adapter.getNodeIndexer());
+        
+        ContractionHierarchyAlgorithm<Integer> parallelPathfinder =
+                new ContractionHierarchyAlgorithm<>(parallelHierarchy,
+                                                    adapter.getNodeIndexer());
+        
+        Random random = new Random(89L);
+        
+        for (int i = 0; i < 100; i++) {
+            Integer source = random.nextInt(graph.size());
+            Integer target = random.nextInt(graph.size());
+            
+            assertEquals(
+                    sequentialPathfinder.findShortestPath(source, target),
+                    parallelPathfinder.findShortestPath(source, target));
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNegativeWeights() {
+        CsrGraph graph = new CsrGraph.Builder(2).addArc(0, 1, 1.0).build();
+        
+        new CustomizableContractionHierarchy(graph)
+                .customize((tail, head) -> -1.0);
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import com.github.coderodde.pathfinding.StaticGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class GraphGeneratorTest {
+    
+    @Test
+    public void sameSeedYieldsSameGraph() {
+        GridGraphGenerator gridGenerator = 
+                new GridGraphGenerator(30, 20).setDepth(3)
+                                              .setObstacleDensity(0.2)
+                                              .setWeightNoise(0.5);
+        
+        GeometricGraphGenerator geometricGenerator =
+                new GeometricGraphGenerator(2_000).setWeightNoise(0.3);
+        
+        BarabasiAlbertGraphGenerator barabasiAlbertGenerator = 
+                new BarabasiAlbertGraphGenerator(2_000);
+        
+        assertSameGraph(gridGenerator.generate(11L).getGraph(),
+                        gridGenerator.generate(11L).getGraph());
+        
+        assertSameGraph(geometricGenerator.generate(13L).getGraph(),
+                        geometricGenerator.generate(13L).getGraph());
+        
+        assertSameGraph(barabasiAlbertGenerator.generate(17L).getGraph(),
+                        barabasiAlbertGenerator.generate(17L).getGraph());
+    }
+    
+    @Test
+    public void gridJoinsFreeNeighbourCells() {
+        GeneratedGraph generatedGraph = 
+                new GridGraphGenerator(17, 13).setDepth(4)
+                                              .setObstacleDensity(0.25)
+                                              .setWeightNoise(1.0)
+                                              .generate(19L);
+        
+        CsrGraph graph = generatedGraph.getGraph();
+        double[] xs = generatedGraph.getXs();
+        double[] ys = generatedGraph.getYs();
+        double[] zs = generatedGraph.getZs();
+        int isolatedNodes = 0;
+        
+        assertEquals(17 * 13 * 4, graph.size());
+        
+        for (int node = 0; node < graph.size(); node++) {
+            assertEquals(node, (int) ((zs[node] * 13 + ys[node]) * 17 + 
+                                      xs[node]));
+            
+            if (graph.getOutDegree(node) == 0) {
+                isolatedNodes++;
+            }
+            
+            assertEquals(graph.getOutDegree(node), graph.getInDegree(node));
+            
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                double distance = Math.abs(xs[node] - xs[head]) +
+                                  Math.abs(ys[node] - ys[head]) +
+                                  Math.abs(zs[node] - zs[head]);
+                
+                assertEquals(1.0, distance, 0.0);
+                assertTrue(graph.getArcWeight(arc) >= 1.0);
+                assertTrue(graph.getArcWeight(arc) < 2.0);
+            }
+        }
+        
+        // About a quarter of the cells are obstacles:
+        assertTrue(isolatedNodes > graph.size() / 5);
+        assertTrue(isolatedNodes < graph.size() / 3);
+        
+        CsrGraph freeGrid = new GridGraphGenerator(17, 13).generate(19L)
+                                                         .getGraph();
+        
+        assertEquals(2 * (16 * 13 + 17 * 12), freeGrid.getNumberOfArcs());
+    }
+    
+    @Test
+    public void geometricGraphIsRoadLike() {
+        int nodes = 20_000;
+        GeneratedGraph generatedGraph = 
+                new GeometricGraphGenerator(nodes).setAverageDegree(5.0)
+                                                  .setWeightNoise(0.5)
+                                                  .generate(23L);
+        
+        CsrGraph graph = generatedGraph.getGraph();
+        double[] xs = generatedGraph.getXs();
+        double[] ys = generatedGraph.getYs();
+        double radius = Math.sqrt(5.0 / (Math.PI * nodes));
+        
+        assertTrue(generatedGraph.hasCoordinates());
+        assertEquals(nodes, graph.size());
+        
+        // The border nodes have fewer neighbours:
+        double averageDegree = (double) graph.getNumberOfArcs() / nodes;
+        assertTrue(averageDegree > 4.5);
+        assertTrue(averageDegree < 5.2);
+        
+        for (int node = 0; node < nodes; node++) {
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                double distance = Math.hypot(xs[node] - xs[head],
+                                             ys[node] - ys[head]);
+                
+                assertTrue(distance < radius);
+                assertTrue(graph.getArcWeight(arc) >= distance);
+                assertTrue(graph.getArcWeight(arc) <= 1.5 * distance);
+                assertTrue(graph.getWeight(head, node) >= distance);
+            }
+        }
+    }
+    
+    @Test
+    public void barabasiAlbertGraphHasPowerLawDegrees() {
+        int nodes = 20_000;
+        GeneratedGraph generatedGraph = 
+                new BarabasiAlbertGraphGenerator(nodes).setEdgesPerNode(2)
+                                                       .setWeightRange(1.0, 
+                                                                       2.0)
+                                                       .generate(29L);
+        
+        CsrGraph graph = generatedGraph.getGraph();
+        int maximumDegree = 0;
+        
+        assertFalse(generatedGraph.hasCoordinates());
+        assertNull(generatedGraph.getXs());
+        assertEquals(nodes, graph.size());
+        
+        // The initial triangle has three edges, and every other node brings
+        // two new edges:
+        assertEquals(2 * (3 + 2 * (nodes - 3)), graph.getNumberOfArcs());
+        
+        for (int node = 0; node < nodes; node++) {
+            maximumDegree = Math.max(maximumDegree, graph.getOutDegree(node));
+            
+            assertTrue(graph.getOutDegree(node) >= 2);
+            
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                
+                assertEquals(graph.getArcWeight(arc), 
+                             graph.getWeight(head, node),
+                             0.0);
+            }
+        }
+        
+        // A random graph of the same density would have no node of a degree
+        // much above 15:
+        assertTrue(maximumDegree > 100);
+    }
+    
+    private static void assertSameGraph(StaticGraph expected, 
+                                        StaticGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getNumberOfArcs(), actual.getNumberOfArcs());
+        
+        for (int node = 0; node < expected.size(); node++) {
+            assertEquals(expected.getOutgoingArcsBegin(node),
+                         actual.getOutgoingArcsBegin(node));
+        }
+        
+        for (int arc = 0; arc < expected.getNumberOfArcs(); arc++) {
+            assertEquals(expected.getArcHead(arc), actual.getArcHead(arc));
+            assertEquals(expected.getArcWeight(arc), 
+                         actual.getArcWeight(arc),
+                         0.0);
+        }
+    }
+}
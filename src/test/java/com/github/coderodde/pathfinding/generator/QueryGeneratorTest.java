@@ -0,0 +1,140 @@
+package com.github.coderodde.pathfinding.generator;
+
+import com.github.coderodde.pathfinding.CsrGraph;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class QueryGeneratorTest {
+    
+    private static final int QUERIES = 100;
+    
+    private final CsrGraph graph = 
+            new GridGraphGenerator(60, 50).setObstacleDensity(0.3)
+                                          .setWeightNoise(1.0)
+                                          .generate(31L)
+                                          .getGraph();
+    
+    @Test
+    public void randomQueriesHaveReachableTargets() {
+        QuerySet querySet = new QueryGenerator(graph)
+                .generateRandomQueries(QUERIES, 37L);
+        
+        assertEquals(QUERIES, querySet.size());
+        assertSameQueries(querySet, new QueryGenerator(graph)
+                .generateRandomQueries(QUERIES, 37L));
+        
+        for (int i = 0; i < QUERIES; i++) {
+            double[] distances = getDistances(querySet.getSource(i));
+            
+            assertTrue(querySet.getSource(i) != querySet.getTarget(i));
+            assertTrue(distances[querySet.getTarget(i)] 
+                    < Double.POSITIVE_INFINITY);
+        }
+    }
+    
+    @Test
+    public void localQueriesHaveCloseTargets() {
+        int maximumRank = 20;
+        QuerySet querySet = new QueryGenerator(graph)
+                .generateLocalQueries(QUERIES, maximumRank, 41L);
+        
+        assertEquals(QUERIES, querySet.size());
+        
+        for (int i = 0; i < QUERIES; i++) {
+            int rank = getRank(querySet.getSource(i), querySet.getTarget(i));
+            
+            assertTrue(rank >= 1);
+            assertTrue(rank <= maximumRank);
+        }
+    }
+    
+    @Test
+    public void dijkstraRankQueriesHaveRequestedRanks() {
+        QuerySet[] querySets = new QueryGenerator(graph)
+                .generateDijkstraRankQueries(QUERIES / 4, 43L);
+        
+        // The ranks are 1, 2, 4, ..., 2048 below the 3000 nodes:
+        assertEquals(12, querySets.length);
+        assertEquals(QUERIES / 4, querySets[0].size());
+        
+        for (int logRank = 0; logRank < querySets.length; logRank++) {
+            QuerySet querySet = querySets[logRank];
+            
+            for (int i = 0; i < querySet.size(); i++) {
+                // The weights are continuous, so no two distances tie:
+                assertEquals(1 << logRank, 
+                             getRank(querySet.getSource(i),
+                                     querySet.getTarget(i)));
+            }
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnGraphWithoutArcs() {
+        new QueryGenerator(new CsrGraph.Builder(10).build())
+                .generateRandomQueries(1, 47L);
+    }
+    
+    /**
+     * Returns the number of nodes closer to the source than the target,
+     * excluding the source itself.
+     */
+    private int getRank(int source, int target) {
+        double[] distances = getDistances(source);
+        int rank = 0;
+        
+        for (int node = 0; node < graph.size(); node++) {
+            if (node != source && distances[node] < distances[target]) {
+                rank++;
+            }
+        }
+        
+        return rank + 1;
+    }
+    
+    private double[] getDistances(int source) {
+        double[] distances = new double[graph.size()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        PriorityQueue<double[]> queue = 
+                new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        
+        queue.add(new double[]{ 0.0, source });
+        
+        while (!queue.isEmpty()) {
+            double[] entry = queue.remove();
+            int node = (int) entry[1];
+            
+            if (entry[0] > distances[node]) {
+                continue;
+            }
+            
+            for (int arc = graph.getOutgoingArcsBegin(node);
+                     arc < graph.getOutgoingArcsEnd(node);
+                     arc++) {
+                int head = graph.getArcHead(arc);
+                double distance = entry[0] + graph.getArcWeight(arc);
+                
+                if (distance < distances[head]) {
+                    distances[head] = distance;
+                    queue.add(new double[]{ distance, head });
+                }
+            }
+        }
+        
+        return distances;
+    }
+    
+    private static void assertSameQueries(QuerySet expected, 
+                                          QuerySet actual) {
+        assertEquals(expected.size(), actual.size());
+        
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getSource(i), actual.getSource(i));
+            assertEquals(expected.getTarget(i), actual.getTarget(i));
+        }
+    }
+}